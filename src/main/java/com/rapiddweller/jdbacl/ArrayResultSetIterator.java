@@ -26,6 +26,7 @@
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.stream.Stream;
 
 /**
  * Provides a {@link ResultSet}'s rows as {@link Object} arrays.<br/><br/>
@@ -36,7 +37,7 @@
 public class ArrayResultSetIterator extends ConvertingIterator<ResultSet, Object[]> implements TabularIterator {
 
   public ArrayResultSetIterator(Connection connection, String query) {
-    super(new QueryIterator(query, connection, 500), new ResultSetConverter<>(Object[].class, false));
+    super(new QueryIterator(query, connection, 500), new CompiledResultSetConverter<>(Object[].class, false));
   }
 
   @Override
@@ -44,4 +45,9 @@ public String[] getColumnNames() {
     return ((QueryIterator) source).getColumnLabels();
   }
 
+  /** @return a {@link Stream} of the remaining rows, which closes the statement on {@link Stream#close()} */
+  public Stream<Object[]> stream() {
+    return BatchingSpliterator.stream(this, BatchingSpliterator.DEFAULT_BATCH_SIZE);
+  }
+
 }
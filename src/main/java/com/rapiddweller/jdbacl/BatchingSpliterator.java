@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Spliterator} over one or more iterators, e.g. of query results.
+ * Several sources are split among each other, a single source is split by fetching blocks of elements,
+ * which are then processed in parallel while the source is read further.<br/><br/>
+ * Created: 17.10.2026 17:35:24
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class BatchingSpliterator<E> implements Spliterator<E> {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private static final int CHARACTERISTICS = ORDERED | NONNULL;
+
+  private final List<? extends Iterator<E>> sources;
+  private final int batchSize;
+  private int index;
+  private final int end;
+
+  public BatchingSpliterator(Iterator<E> source, int batchSize) {
+    this(Collections.singletonList(source), batchSize);
+  }
+
+  /** @param sources the iterators of which the elements are provided one after the other */
+  public BatchingSpliterator(List<? extends Iterator<E>> sources, int batchSize) {
+    this(sources, batchSize, 0, sources.size());
+  }
+
+  private BatchingSpliterator(List<? extends Iterator<E>> sources, int batchSize, int index, int end) {
+    if (batchSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal batch size: " + batchSize);
+    }
+    this.sources = sources;
+    this.batchSize = batchSize;
+    this.index = index;
+    this.end = end;
+  }
+
+  // streams ---------------------------------------------------------------------------------------------------------
+
+  /** Creates a sequential {@link Stream} of the elements, which closes the source on {@link Stream#close()}. */
+  public static <T> Stream<T> stream(Iterator<T> source, int batchSize) {
+    return stream(Collections.singletonList(source), batchSize);
+  }
+
+  /** Creates a sequential {@link Stream} of the elements of all sources,
+   *  which closes all sources on {@link Stream#close()}. */
+  public static <T> Stream<T> stream(List<? extends Iterator<T>> sources, int batchSize) {
+    return StreamSupport.stream(new BatchingSpliterator<>(sources, batchSize), false)
+        .onClose(() -> close(sources));
+  }
+
+  private static void close(List<? extends Iterator<?>> sources) {
+    for (Iterator<?> source : sources) {
+      if (source instanceof Closeable) {
+        IOUtil.close((Closeable) source);
+      }
+    }
+  }
+
+  // Spliterator interface -------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean tryAdvance(Consumer<? super E> action) {
+    for (; index < end; index++) {
+      Iterator<E> source = sources.get(index);
+      if (source.hasNext()) {
+        action.accept(source.next());
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super E> action) {
+    for (; index < end; index++) {
+      Iterator<E> source = sources.get(index);
+      while (source.hasNext()) {
+        action.accept(source.next());
+      }
+    }
+  }
+
+  /** Splits off the first half of the remaining sources or, for a single source, the next block of elements. */
+  @Override
+  public Spliterator<E> trySplit() {
+    if (end - index > 1) {
+      int mid = (index + end) >>> 1;
+      Spliterator<E> prefix = new BatchingSpliterator<>(sources, batchSize, index, mid);
+      index = mid;
+      return prefix;
+    }
+    if (index == end) {
+      return null;
+    }
+    Iterator<E> source = sources.get(index);
+    Object[] batch = new Object[batchSize];
+    int n = 0;
+    while (n < batchSize && source.hasNext()) {
+      batch[n++] = source.next();
+    }
+    return (n > 0 ? Spliterators.spliterator(batch, 0, n, CHARACTERISTICS) : null);
+  }
+
+  @Override
+  public long estimateSize() {
+    return (index < end ? Long.MAX_VALUE : 0);
+  }
+
+  @Override
+  public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+}
@@ -0,0 +1,334 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Holds a batch of query result rows in column vectors.
+ * Integral columns are held in long arrays, floating point columns in double arrays and
+ * character columns in String arrays, so their values are neither boxed nor converted.
+ * Null values are flagged in a bitmap per column. All other columns are held as objects.
+ * The vectors are reused for each batch, so their content is only valid until the next batch is read.<br/><br/>
+ * Created: 17.10.2026 17:26:54
+ * @author Volker Bergmann
+ * @since 1.1.17
+ * @see ColumnBatchIterator
+ */
+public final class ColumnBatch {
+
+  /** The type of vector by which a column is represented */
+  public enum VectorType {
+    LONG, DOUBLE, STRING, OBJECT
+  }
+
+  private final String[] columnNames;
+  private final VectorType[] types;
+  private final int capacity;
+  private final long[][] longs;
+  private final double[][] doubles;
+  private final String[][] strings;
+  private final Object[][] objects;
+  private final long[][] nulls;
+  private int size;
+
+  public ColumnBatch(String[] columnNames, VectorType[] types, int capacity) {
+    if (columnNames.length != types.length) {
+      throw ExceptionFactory.getInstance().illegalArgument("Column names and types do not match");
+    }
+    if (capacity <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal capacity: " + capacity);
+    }
+    int n = columnNames.length;
+    this.columnNames = columnNames.clone();
+    this.types = types.clone();
+    this.capacity = capacity;
+    this.longs = new long[n][];
+    this.doubles = new double[n][];
+    this.strings = new String[n][];
+    this.objects = new Object[n][];
+    this.nulls = new long[n][(capacity + 63) >>> 6];
+    for (int i = 0; i < n; i++) {
+      switch (types[i]) {
+        case LONG:
+          longs[i] = new long[capacity];
+          break;
+        case DOUBLE:
+          doubles[i] = new double[capacity];
+          break;
+        case STRING:
+          strings[i] = new String[capacity];
+          break;
+        default:
+          objects[i] = new Object[capacity];
+      }
+    }
+    this.size = 0;
+  }
+
+  /** Creates a batch with vector types chosen by the column types of the result set. */
+  public static ColumnBatch of(ResultSetMetaData metaData, int capacity) throws SQLException {
+    int n = metaData.getColumnCount();
+    String[] names = new String[n];
+    VectorType[] types = new VectorType[n];
+    for (int i = 0; i < n; i++) {
+      names[i] = metaData.getColumnLabel(i + 1);
+      types[i] = vectorTypeOf(metaData.getColumnType(i + 1), metaData.getPrecision(i + 1), metaData.getScale(i + 1));
+    }
+    return new ColumnBatch(names, types, capacity);
+  }
+
+  /** Determines the vector type for a JDBC column type ({@link Types}).
+   *  Decimal values are only mapped to longs if they have no fraction digits and fit into a long,
+   *  otherwise they are kept as {@link java.math.BigDecimal}s in order to retain their precision. */
+  public static VectorType vectorTypeOf(int sqlType, int precision, int scale) {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+        return VectorType.LONG;
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return (scale == 0 && precision > 0 && precision <= 18 ? VectorType.LONG : VectorType.OBJECT);
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return VectorType.DOUBLE;
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return VectorType.STRING;
+      default:
+        return VectorType.OBJECT;
+    }
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  /** @return the number of rows in the batch */
+  public int size() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getColumnCount() {
+    return columnNames.length;
+  }
+
+  public String getColumnName(int column) {
+    return columnNames[column];
+  }
+
+  public String[] getColumnNames() {
+    return columnNames.clone();
+  }
+
+  /** @return the index of the column with the given name (ignoring case) or -1 if there is no such column */
+  public int indexOf(String columnName) {
+    for (int i = 0; i < columnNames.length; i++) {
+      if (columnNames[i].equalsIgnoreCase(columnName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  public VectorType getType(int column) {
+    return types[column];
+  }
+
+  // cell access -----------------------------------------------------------------------------------------------------
+
+  public boolean isNull(int column, int row) {
+    return (nulls[column][row >>> 6] & (1L << row)) != 0;
+  }
+
+  /** @return the cell value as long, or 0 if it is null */
+  public long getLong(int column, int row) {
+    switch (types[column]) {
+      case LONG:
+        return longs[column][row];
+      case DOUBLE:
+        return (long) doubles[column][row];
+      case STRING:
+        String text = strings[column][row];
+        return (text != null ? Long.parseLong(text.trim()) : 0L);
+      default:
+        return numberAt(column, row).longValue();
+    }
+  }
+
+  /** @return the cell value as double, or 0 if it is null */
+  public double getDouble(int column, int row) {
+    switch (types[column]) {
+      case LONG:
+        return longs[column][row];
+      case DOUBLE:
+        return doubles[column][row];
+      case STRING:
+        String text = strings[column][row];
+        return (text != null ? Double.parseDouble(text.trim()) : 0.);
+      default:
+        return numberAt(column, row).doubleValue();
+    }
+  }
+
+  public String getString(int column, int row) {
+    if (isNull(column, row)) {
+      return null;
+    }
+    switch (types[column]) {
+      case LONG:
+        return String.valueOf(longs[column][row]);
+      case DOUBLE:
+        return String.valueOf(doubles[column][row]);
+      case STRING:
+        return strings[column][row];
+      default:
+        return String.valueOf(objects[column][row]);
+    }
+  }
+
+  /** @return the cell value as object, boxing primitive values */
+  public Object getObject(int column, int row) {
+    if (isNull(column, row)) {
+      return null;
+    }
+    switch (types[column]) {
+      case LONG:
+        return longs[column][row];
+      case DOUBLE:
+        return doubles[column][row];
+      case STRING:
+        return strings[column][row];
+      default:
+        return objects[column][row];
+    }
+  }
+
+  // vector access ---------------------------------------------------------------------------------------------------
+
+  /** @return the long vector of the column. Only the first {@link #size()} elements are valid
+   *  and elements which are flagged as null are 0. */
+  public long[] getLongVector(int column) {
+    return vector(longs, column, VectorType.LONG);
+  }
+
+  /** @return the double vector of the column. Only the first {@link #size()} elements are valid
+   *  and elements which are flagged as null are 0. */
+  public double[] getDoubleVector(int column) {
+    return vector(doubles, column, VectorType.DOUBLE);
+  }
+
+  /** @return the String vector of the column. Only the first {@link #size()} elements are valid. */
+  public String[] getStringVector(int column) {
+    return vector(strings, column, VectorType.STRING);
+  }
+
+  /** @return the bitmap of null values in the column, in which bit (row % 64) of element (row / 64) flags a row */
+  public long[] getNullBitmap(int column) {
+    return nulls[column];
+  }
+
+  // reading rows ----------------------------------------------------------------------------------------------------
+
+  void clear() {
+    for (long[] bitmap : nulls) {
+      Arrays.fill(bitmap, 0, (size + 63) >>> 6, 0L);
+    }
+    size = 0;
+  }
+
+  boolean isFull() {
+    return (size == capacity);
+  }
+
+  /** Appends the current row of the result set. */
+  void readRow(ResultSet resultSet) throws SQLException {
+    int row = size;
+    for (int i = 0; i < types.length; i++) {
+      boolean isNull;
+      switch (types[i]) {
+        case LONG:
+          longs[i][row] = resultSet.getLong(i + 1);
+          isNull = resultSet.wasNull();
+          break;
+        case DOUBLE:
+          doubles[i][row] = resultSet.getDouble(i + 1);
+          isNull = resultSet.wasNull();
+          break;
+        case STRING:
+          strings[i][row] = resultSet.getString(i + 1);
+          isNull = (strings[i][row] == null);
+          break;
+        default:
+          objects[i][row] = resultSet.getObject(i + 1);
+          isNull = (objects[i][row] == null);
+      }
+      if (isNull) {
+        nulls[i][row >>> 6] |= 1L << row;
+      }
+    }
+    size++;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private Number numberAt(int column, int row) {
+    Object value = objects[column][row];
+    if (value == null) {
+      return 0;
+    } else if (value instanceof Number) {
+      return (Number) value;
+    } else {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Column " + columnNames[column] + " is not numeric: " + value.getClass().getName());
+    }
+  }
+
+  private <T> T vector(T[] vectors, int column, VectorType expectedType) {
+    if (types[column] != expectedType) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Column " + columnNames[column] + " is of type " + types[column] + ", not " + expectedType);
+    }
+    return vectors[column];
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + Arrays.toString(columnNames) + '[' + size + ']';
+  }
+
+}
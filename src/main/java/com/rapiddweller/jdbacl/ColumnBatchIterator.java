@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a {@link ResultSet} in batches of rows, which are provided as primitive column vectors.
+ * Each call to {@link #next()} refills and returns the same {@link ColumnBatch} instance,
+ * so reading a result set allocates no objects for integral and floating point values.<br/><br/>
+ * Created: 17.10.2026 17:26:54
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class ColumnBatchIterator implements HeavyweightIterator<ColumnBatch> {
+
+  private final ResultSet resultSet;
+  private final String query;
+  private final int batchSize;
+  private ColumnBatch batch;
+  private Boolean hasNext;
+  private boolean closed;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public ColumnBatchIterator(String query, Connection connection, int batchSize) {
+    this(executeQuery(query, connection, batchSize), query, batchSize);
+  }
+
+  public ColumnBatchIterator(ResultSet resultSet, String query, int batchSize) {
+    if (resultSet == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("resultSet is null");
+    }
+    if (batchSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal batch size: " + batchSize);
+    }
+    this.resultSet = resultSet;
+    this.query = query;
+    this.batchSize = batchSize;
+    this.hasNext = null;
+    this.closed = false;
+  }
+
+  private static ResultSet executeQuery(String query, Connection connection, int fetchSize) {
+    try {
+      Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      return statement.executeQuery(query);
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Error in query: " + query, e);
+    }
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** @return the batch which is filled by each call to {@link #next()} */
+  public ColumnBatch getBatch() {
+    if (batch == null) {
+      try {
+        batch = ColumnBatch.of(resultSet.getMetaData(), batchSize);
+      } catch (SQLException e) {
+        throw ExceptionFactory.getInstance().dbQueryFailed("Error querying column meta data of: " + query, e);
+      }
+    }
+    return batch;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (hasNext != null) {
+      return hasNext;
+    }
+    if (closed) {
+      return false;
+    }
+    try {
+      hasNext = resultSet.next();
+      if (!hasNext) {
+        close();
+      }
+      return hasNext;
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Error in query: " + query, e);
+    }
+  }
+
+  /** Reads up to batchSize rows into the batch and returns it.
+   *  The content of the batch is overwritten by the next call. */
+  @Override
+  public ColumnBatch next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more row available. Use hasNext() for checking availability.");
+    }
+    ColumnBatch result = getBatch();
+    result.clear();
+    try {
+      boolean available;
+      do {
+        result.readRow(resultSet);
+        available = resultSet.next();
+      } while (available && !result.isFull());
+      hasNext = available;
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Error in query: " + query, e);
+    }
+    if (!hasNext) {
+      close();
+    }
+    return result;
+  }
+
+  @Override
+  public void remove() {
+    throw ExceptionFactory.getInstance().illegalOperation("Not supported");
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    hasNext = false;
+    DBUtil.closeResultSetAndStatement(resultSet);
+    closed = true;
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + query + ']';
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.ArrayFormat;
+import com.rapiddweller.common.ConversionException;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * {@link ResultSetConverter} which inspects the {@link ResultSetMetaData} only once per result set
+ * and reads each column with a reader that was chosen for its type, e.g. {@link ResultSet#getLong(int)}
+ * or {@link ResultSet#getString(int)}, instead of calling {@link ResultSet#getObject(int)} for each cell.
+ * A specialized reader is only used if the driver reports the Java class which the reader returns,
+ * so the cell values are the same as the ones of getObject().
+ * An instance must not be used by several threads concurrently.<br/><br/>
+ * Created: 17.10.2026 17:44:46
+ * @param <E> the type of the conversion result
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class CompiledResultSetConverter<E> extends ResultSetConverter<E> {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompiledResultSetConverter.class);
+
+  static final ColumnReader OBJECT_READER = ResultSet::getObject;
+
+  private ResultSet compiledResultSet;
+  private ColumnReader[] readers;
+
+  public CompiledResultSetConverter(Class<E> targetType) {
+    this(targetType, true);
+  }
+
+  public CompiledResultSetConverter(Class<E> targetType, boolean simplifying) {
+    super(targetType, simplifying);
+  }
+
+  // Converter interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E convert(ResultSet resultSet) throws ConversionException {
+    Object[] tmp;
+    try {
+      tmp = readRow(resultSet);
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().conversionFailed("result set", e);
+    }
+    if (targetType.isArray()) {
+      return (E) tmp;
+    } else {
+      return (E) (!isSimplifying() || tmp.length > 1 ? tmp : (tmp.length == 1 ? tmp[0] : null));
+    }
+  }
+
+  /** Reads the cells of the current row, compiling the column readers if the result set is a new one. */
+  public Object[] readRow(ResultSet resultSet) throws SQLException {
+    if (resultSet != compiledResultSet) {
+      readers = compile(resultSet.getMetaData());
+      compiledResultSet = resultSet;
+    }
+    Object[] cells = new Object[readers.length];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = readers[i].read(resultSet, i + 1);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Converted: {}", ArrayFormat.format(cells));
+    }
+    return cells;
+  }
+
+  // column readers --------------------------------------------------------------------------------------------------
+
+  /** Reads the value of a result set column. */
+  @FunctionalInterface
+  interface ColumnReader {
+    Object read(ResultSet resultSet, int columnIndex) throws SQLException;
+  }
+
+  static ColumnReader[] compile(ResultSetMetaData metaData) throws SQLException {
+    ColumnReader[] result = new ColumnReader[metaData.getColumnCount()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = readerFor(metaData.getColumnType(i + 1), columnClassName(metaData, i + 1));
+    }
+    return result;
+  }
+
+  static ColumnReader readerFor(int sqlType, String columnClassName) {
+    switch (sqlType) {
+      case Types.INTEGER:
+        return (Integer.class.getName().equals(columnClassName) ? CompiledResultSetConverter::readInt : OBJECT_READER);
+      case Types.BIGINT:
+        return (Long.class.getName().equals(columnClassName) ? CompiledResultSetConverter::readLong : OBJECT_READER);
+      case Types.DOUBLE:
+      case Types.FLOAT:
+        return (Double.class.getName().equals(columnClassName) ? CompiledResultSetConverter::readDouble : OBJECT_READER);
+      case Types.BOOLEAN:
+        return (Boolean.class.getName().equals(columnClassName) ? CompiledResultSetConverter::readBoolean : OBJECT_READER);
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+        return (BigDecimal.class.getName().equals(columnClassName) ? ResultSet::getBigDecimal : OBJECT_READER);
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return (String.class.getName().equals(columnClassName) ? ResultSet::getString : OBJECT_READER);
+      case Types.TIMESTAMP:
+        return (Timestamp.class.getName().equals(columnClassName) ? ResultSet::getTimestamp : OBJECT_READER);
+      case Types.DATE:
+        return (java.sql.Date.class.getName().equals(columnClassName) ? ResultSet::getDate : OBJECT_READER);
+      case Types.TIME:
+        return (Time.class.getName().equals(columnClassName) ? ResultSet::getTime : OBJECT_READER);
+      default:
+        return OBJECT_READER;
+    }
+  }
+
+  private static Object readInt(ResultSet resultSet, int columnIndex) throws SQLException {
+    int value = resultSet.getInt(columnIndex);
+    return (resultSet.wasNull() ? null : value);
+  }
+
+  private static Object readLong(ResultSet resultSet, int columnIndex) throws SQLException {
+    long value = resultSet.getLong(columnIndex);
+    return (resultSet.wasNull() ? null : value);
+  }
+
+  private static Object readDouble(ResultSet resultSet, int columnIndex) throws SQLException {
+    double value = resultSet.getDouble(columnIndex);
+    return (resultSet.wasNull() ? null : value);
+  }
+
+  private static Object readBoolean(ResultSet resultSet, int columnIndex) throws SQLException {
+    boolean value = resultSet.getBoolean(columnIndex);
+    return (resultSet.wasNull() ? null : value);
+  }
+
+  /** @return the Java class name the driver reports for the column, or null if it does not support the call */
+  private static String columnClassName(ResultSetMetaData metaData, int columnIndex) {
+    try {
+      return metaData.getColumnClassName(columnIndex);
+    } catch (SQLException | RuntimeException e) {
+      return null;
+    }
+  }
+
+}
@@ -42,7 +42,6 @@
 import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.common.converter.ToStringConverter;
 import com.rapiddweller.common.debug.Debug;
-import com.rapiddweller.common.depend.DependencyModel;
 import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.common.iterator.ConvertingIterator;
 import com.rapiddweller.jdbacl.model.DBConstraint;
@@ -64,6 +63,7 @@
 import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -78,6 +78,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static com.rapiddweller.jdbacl.SQLUtil.createCatSchTabString;
 
@@ -285,6 +286,43 @@ public static PreparedStatement prepareStatement(
     return statement;
   }
 
+  /** @return the statement cache of a connection created by {@link #wrapWithPooledConnection(Connection, boolean)},
+   *  which includes the connections of the connect() methods, or null for other connections */
+  public static StatementCache getStatementCache(Connection connection) {
+    if (Proxy.isProxyClass(connection.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(connection);
+      if (handler instanceof PooledConnectionHandler) {
+        return ((PooledConnectionHandler) handler).getStatementCache();
+      }
+    }
+    return null;
+  }
+
+  /** Provides a prepared statement for the SQL, reusing one from the connection's {@link StatementCache}
+   *  if possible. It must be handed back with {@link #releaseStatement(Connection, String, PreparedStatement)}. */
+  public static PreparedStatement acquireStatement(Connection connection, String sql) throws SQLException {
+    sqlLogger.debug(sql);
+    StatementCache cache = getStatementCache(connection);
+    return (cache != null ? cache.acquire(sql) : connection.prepareStatement(sql));
+  }
+
+  /** Returns a statement of {@link #acquireStatement(Connection, String)} to the connection's cache,
+   *  or closes it if the connection has no cache. */
+  public static void releaseStatement(Connection connection, String sql, PreparedStatement statement) {
+    StatementCache cache = getStatementCache(connection);
+    if (cache != null) {
+      cache.release(sql, statement);
+    } else {
+      close(statement);
+    }
+  }
+
+  public static void bindParameters(PreparedStatement statement, Object... params) throws SQLException {
+    for (int i = 0; i < params.length; i++) {
+      statement.setObject(i + 1, params[i]);
+    }
+  }
+
   public static void close(Statement statement) {
     if (statement != null) {
       try {
@@ -366,8 +404,9 @@ public static Object parseAndSimplifyResultSet(ResultSet resultSet) throws SQLEx
 
   public static List<Object[]> parseResultSet(ResultSet resultSet) throws SQLException {
     List<Object[]> rows = new ArrayList<>();
+    CompiledResultSetConverter<Object[]> converter = new CompiledResultSetConverter<>(Object[].class, false);
     while (resultSet.next()) {
-      rows.add(parseResultRow(resultSet));
+      rows.add(converter.readRow(resultSet));
     }
     return rows;
   }
@@ -460,6 +499,36 @@ public static Object queryScalar(String query, Connection connection) {
     }
   }
 
+  /** Variant of {@link #queryLong(String, Connection)} for SQL with '?' parameters
+   *  which reuses the prepared statement of the connection's {@link StatementCache}. */
+  public static Long queryLong(String sql, Connection connection, Object... params) {
+    return AnyConverter.convert(queryScalar(sql, connection, params), Long.class);
+  }
+
+  /** Variant of {@link #queryScalar(String, Connection)} for SQL with '?' parameters
+   *  which reuses the prepared statement of the connection's {@link StatementCache}. */
+  public static Object queryScalar(String sql, Connection connection, Object... params) {
+    PreparedStatement statement = null;
+    try {
+      statement = acquireStatement(connection, sql);
+      bindParameters(statement, params);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next()) {
+          throw ExceptionFactory.getInstance().unexpectedQueryResult("Query has an empty result: " + sql, null);
+        }
+        Object value = resultSet.getObject(1);
+        if (resultSet.next()) {
+          throw ExceptionFactory.getInstance().unexpectedQueryResult("Expected exactly one row, but found more for query: " + sql, null);
+        }
+        return value;
+      }
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().unexpectedQueryResult(DATABASE_QUERY_FAILED_COLON + sql, e);
+    } finally {
+      releaseStatement(connection, sql, statement);
+    }
+  }
+
   public static DBExecutionResult executeScriptFile(
       String scriptUri, String encoding, Connection connection, boolean ignoreComments, ErrorHandler errorHandler) {
     return executeScriptFile(scriptUri, encoding, ';', connection, ignoreComments, errorHandler);
@@ -611,6 +680,20 @@ public static List<Object[]> query(String query, Connection connection) throws S
     }
   }
 
+  /** Variant of {@link #query(String, Connection)} for SQL with '?' parameters
+   *  which reuses the prepared statement of the connection's {@link StatementCache}. */
+  public static List<Object[]> query(String sql, Connection connection, Object... params) throws SQLException {
+    PreparedStatement statement = acquireStatement(connection, sql);
+    try {
+      bindParameters(statement, params);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return parseResultSet(resultSet);
+      }
+    } finally {
+      releaseStatement(connection, sql, statement);
+    }
+  }
+
   public static Object[] querySingleRow(String query, Connection connection) throws SQLException {
     ResultSet resultSet = null;
     try {
@@ -642,10 +725,28 @@ public static void assertNext(ResultSet resultSet, String query)
 
   public static HeavyweightIterator<Object[]> iterateQueryResults(String query, Connection connection) throws SQLException {
     ResultSet resultSet = connection.createStatement().executeQuery(query);
-    ResultSetConverter<Object[]> converter = new ResultSetConverter<>(Object[].class);
+    ResultSetConverter<Object[]> converter = new CompiledResultSetConverter<>(Object[].class);
     return new ConvertingIterator<>(new ResultSetIterator(resultSet), converter);
   }
 
+  /** @return a {@link Stream} of the query results, which must be closed if it is not consumed completely.
+   *  The stream can be made parallel, in which case blocks of rows are processed concurrently. */
+  public static Stream<Object[]> streamQueryResults(String query, Connection connection) throws SQLException {
+    return BatchingSpliterator.stream(iterateQueryResults(query, connection), BatchingSpliterator.DEFAULT_BATCH_SIZE);
+  }
+
+  /** Iterates the query results while the following rows are fetched in a background thread,
+   *  see {@link PrefetchingIterator}. */
+  public static HeavyweightIterator<Object[]> prefetchQueryResults(String query, Connection connection, int batchSize)
+      throws SQLException {
+    return new PrefetchingIterator<>(iterateQueryResults(query, connection), batchSize, 2);
+  }
+
+  /** Iterates the query results in batches of primitive column vectors, see {@link ColumnBatchIterator}. */
+  public static ColumnBatchIterator iterateColumnBatches(String query, Connection connection, int batchSize) {
+    return new ColumnBatchIterator(query, connection, batchSize);
+  }
+
   public static ResultSet executeQuery(String query, Connection connection) {
     Statement statement = null;
     try {
@@ -710,12 +811,10 @@ public static void logMetaData(Connection connection) {
     }
   }
 
+  /** Orders the tables so that referenced tables come first, breaking cycles preferably at nullable foreign keys.
+   *  Use a {@link DependencySorter} for finding out which cycles have been broken. */
   public static List<DBTable> dependencyOrderedTables(TableHolder tableHolder) {
-    DependencyModel<DBTable> model = new DependencyModel<>();
-    for (DBTable table : tableHolder.getTables()) {
-      model.addNode(table);
-    }
-    return model.dependencyOrderedObjects(true);
+    return DependencySorter.sort(tableHolder).getTables();
   }
 
   public static boolean equivalent(DBUniqueConstraint uk, DBPrimaryKeyConstraint pk) {
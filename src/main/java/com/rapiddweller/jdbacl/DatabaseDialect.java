@@ -26,6 +26,7 @@
 
 package com.rapiddweller.jdbacl;
 
+import com.rapiddweller.common.ArrayFormat;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.exception.ExceptionFactory;
@@ -41,8 +42,12 @@
 import org.slf4j.Logger;
 
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -51,7 +56,9 @@
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.rapiddweller.jdbacl.SQLUtil.appendColumnName;
@@ -363,6 +370,16 @@ public boolean supportsRegex() {
     return false;
   }
 
+  /** Tells if the database supports IN conditions on row values like <code>(A, B) IN ((1, 2), (3, 4))</code> */
+  public boolean supportsRowValueInList() {
+    return false;
+  }
+
+  /** Tells if the database supports the window function <code>ROW_NUMBER() OVER (ORDER BY ...)</code> */
+  public boolean supportsRowNumberWindow() {
+    return false;
+  }
+
   /** Renders a query condition for a regular expression.
    *  @param expression a column name or a SQL value expression to be checked with a regular expression
    *  @param not        if set to true, the query fits expressions which do not match the regular expression
@@ -423,6 +440,228 @@ public List<DBPackage> queryPackages(DBSchema schema, Connection connection) {
 
   public abstract void restrictRownums(int rowOffset, int rowCount, Query query);
 
+  /** Renders a clause which limits an ordered query to its first rows, e.g. <code>LIMIT 100</code>.
+   *  It is appended after the ORDER BY clause.
+   *  @return the clause, or null if the database has none. In that case keyset pagination is not available. */
+  public String renderRowLimitClause(int rowCount) {
+    return null;
+  }
+
+  /** Renders a query for one chunk of a keyset pagination: It selects the first rows of a table
+   *  ordered by the key columns, and optionally only the rows whose key is greater than a key
+   *  which is provided as '?' parameters by {@link SQLUtil#keyComparisonParameters(Object[])}.
+   *  @param afterKey true for selecting rows after a key, false for the first chunk
+   *  @return the query, or null if the dialect has no usable keyset pattern */
+  public String renderKeysetQuery(String tableName, String[] keyColumnNames, boolean afterKey, int rowCount) {
+    String limit = renderRowLimitClause(rowCount);
+    if (limit == null) {
+      return null;
+    }
+    StringBuilder builder = new StringBuilder("SELECT * FROM ").append(tableName);
+    if (afterKey) {
+      builder.append(" WHERE ").append(SQLUtil.renderKeyComparison(keyColumnNames, ">"));
+    }
+    return builder.append(" ORDER BY ").append(ArrayFormat.format(keyColumnNames)).append(' ').append(limit)
+        .toString();
+  }
+
+  // schema fingerprint ----------------------------------------------------------------------------------------------
+
+  /** Renders a query whose result changes whenever the structure of a schema changes,
+   *  e.g. when a table, column, constraint or index is created, altered or dropped.
+   *  The query must be much cheaper than a full meta data import.
+   *  @param catalog the name of the catalog to check, or null for the default
+   *  @param schema  the name of the schema to check, or null for the default
+   *  @return the query, or null if the database does not provide a cheap way to detect schema changes */
+  public String renderSchemaFingerprintQuery(String catalog, String schema) {
+    return null;
+  }
+
+  /** Renders a query which provides change markers for each table of a schema,
+   *  e.g. the time of the last DDL operation on the table or a list of its columns and constraints.
+   *  The first column of the result set must be the table name, the result must be sorted by table name.
+   *  @param catalog the name of the catalog to check, or null for the default
+   *  @param schema  the name of the schema to check
+   *  @return the query, or null if the database does not provide a cheap way to detect table changes */
+  public String renderTableFingerprintQuery(String catalog, String schema) {
+    return null;
+  }
+
+  /** Executes the {@link #renderSchemaFingerprintQuery(String, String)} and condenses its result to a hash value.
+   *  @return the fingerprint or null if the dialect does not support fingerprint queries */
+  public String querySchemaFingerprint(String catalog, String schema, Connection connection) throws SQLException {
+    String query = renderSchemaFingerprintQuery(catalog, schema);
+    if (query == null) {
+      return null;
+    }
+    MessageDigest digest = createFingerprintDigest();
+    ResultSet resultSet = DBUtil.executeQuery(query, connection);
+    try {
+      int columnCount = resultSet.getMetaData().getColumnCount();
+      while (resultSet.next()) {
+        updateFingerprint(digest, resultSet, 1, columnCount);
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+    return toHex(digest);
+  }
+
+  /** Executes the {@link #renderTableFingerprintQuery(String, String)} and condenses the result rows
+   *  of each table to a hash value.
+   *  @return a map of table names to fingerprints or null if the dialect does not support fingerprint queries */
+  public Map<String, String> queryTableFingerprints(String catalog, String schema, Connection connection)
+      throws SQLException {
+    String query = renderTableFingerprintQuery(catalog, schema);
+    if (query == null) {
+      return null;
+    }
+    Map<String, MessageDigest> digests = new LinkedHashMap<>();
+    ResultSet resultSet = DBUtil.executeQuery(query, connection);
+    try {
+      int columnCount = resultSet.getMetaData().getColumnCount();
+      while (resultSet.next()) {
+        MessageDigest digest = digests.computeIfAbsent(resultSet.getString(1), k -> createFingerprintDigest());
+        updateFingerprint(digest, resultSet, 2, columnCount);
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+    Map<String, String> result = new LinkedHashMap<>(digests.size() * 2);
+    for (Map.Entry<String, MessageDigest> entry : digests.entrySet()) {
+      result.put(entry.getKey(), toHex(entry.getValue()));
+    }
+    return result;
+  }
+
+  private static MessageDigest createFingerprintDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw ExceptionFactory.getInstance().programmerStateError("SHA-1 not supported", e);
+    }
+  }
+
+  private static void updateFingerprint(MessageDigest digest, ResultSet resultSet, int firstColumn, int lastColumn)
+      throws SQLException {
+    for (int i = firstColumn; i <= lastColumn; i++) {
+      digest.update(String.valueOf(resultSet.getObject(i)).getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+    }
+    digest.update((byte) '\n');
+  }
+
+  private static String toHex(MessageDigest digest) {
+    return String.format("%040x", new BigInteger(1, digest.digest()));
+  }
+
+  /** Renders a query which describes each column, constraint, key column and index column of a schema
+   *  in one text line, based on the standard views INFORMATION_SCHEMA.COLUMNS, TABLE_CONSTRAINTS
+   *  and KEY_COLUMN_USAGE. Dialects can aggregate the lines to a single value for a schema fingerprint.
+   *  @param schema         the schema to check, or null for checking all schemas
+   *  @param indexItemQuery an optional vendor specific query which renders one line for each index column
+   *                        and is appended with 'UNION ALL', or null
+   *  @return the query, providing the lines in the column ITEM */
+  protected static String renderInformationSchemaItemQuery(String schema, String indexItemQuery) {
+    String columnQuery = "SELECT 'C|' || TABLE_NAME || '|' || COLUMN_NAME || '|' || " +
+        "CAST(ORDINAL_POSITION AS VARCHAR(20)) || '|' || CAST(DATA_TYPE AS VARCHAR(200)) || '|' || " +
+        "COALESCE(CAST(COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION) AS VARCHAR(20)), '') || '|' || " +
+        "COALESCE(CAST(NUMERIC_SCALE AS VARCHAR(20)), '') || '|' || IS_NULLABLE || '|' || " +
+        "COALESCE(CAST(COLUMN_DEFAULT AS VARCHAR(4000)), '') AS ITEM " +
+        "FROM INFORMATION_SCHEMA.COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    String constraintQuery = "SELECT 'T|' || TABLE_NAME || '|' || CONSTRAINT_NAME || '|' || CONSTRAINT_TYPE " +
+        "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    String keyQuery = "SELECT 'K|' || TABLE_NAME || '|' || CONSTRAINT_NAME || '|' || COLUMN_NAME || '|' || " +
+        "CAST(ORDINAL_POSITION AS VARCHAR(20)) " +
+        "FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    StringBuilder builder = new StringBuilder(columnQuery)
+        .append(" UNION ALL ").append(constraintQuery)
+        .append(" UNION ALL ").append(keyQuery);
+    if (indexItemQuery != null) {
+      builder.append(" UNION ALL ").append(indexItemQuery);
+    }
+    return builder.toString();
+  }
+
+  /** Renders a fingerprint query over the standard views INFORMATION_SCHEMA.COLUMNS,
+   *  TABLE_CONSTRAINTS and KEY_COLUMN_USAGE, which are supported by many databases.
+   *  The query is used as table fingerprint query.
+   *  @param schema     the schema to check, or null for checking all schemas
+   *  @param indexQuery an optional vendor specific query for index columns
+   *                    which is appended with 'UNION ALL', or null
+   *  @return the query */
+  protected static String renderInformationSchemaFingerprintQuery(String schema, String indexQuery) {
+    String columnQuery = "SELECT TABLE_NAME, 'C' AS KIND, COLUMN_NAME AS ITEM, " +
+        "CAST(ORDINAL_POSITION AS VARCHAR(20)) AS POS, CAST(DATA_TYPE AS VARCHAR(200)) AS DETAIL1, " +
+        "CAST(COALESCE(CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION) AS VARCHAR(20)) AS DETAIL2, " +
+        "CAST(NUMERIC_SCALE AS VARCHAR(20)) AS DETAIL3, " +
+        "CAST(IS_NULLABLE || ':' || COALESCE(COLUMN_DEFAULT, '') AS VARCHAR(4000)) AS DETAIL4 " +
+        "FROM INFORMATION_SCHEMA.COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    String constraintQuery = "SELECT TABLE_NAME, 'T', CONSTRAINT_NAME, CAST(NULL AS VARCHAR(20)), " +
+        "CAST(CONSTRAINT_TYPE AS VARCHAR(200)), CAST(NULL AS VARCHAR(20)), CAST(NULL AS VARCHAR(20)), " +
+        "CAST(NULL AS VARCHAR(4000)) " +
+        "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    String keyQuery = "SELECT TABLE_NAME, 'K', CONSTRAINT_NAME, CAST(ORDINAL_POSITION AS VARCHAR(20)), " +
+        "CAST(COLUMN_NAME AS VARCHAR(200)), CAST(NULL AS VARCHAR(20)), CAST(NULL AS VARCHAR(20)), " +
+        "CAST(NULL AS VARCHAR(4000)) " +
+        "FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    StringBuilder builder = new StringBuilder(columnQuery)
+        .append(" UNION ALL ").append(constraintQuery)
+        .append(" UNION ALL ").append(keyQuery);
+    if (indexQuery != null) {
+      builder.append(" UNION ALL ").append(indexQuery);
+    }
+    return builder.append(" ORDER BY 1, 2, 3, 4").toString();
+  }
+
+  /** Renders a case-insensitive comparison of a schema name column with a schema name.
+   *  @return the condition with the given prefix, or an empty string if the schema is null */
+  protected static String schemaCondition(String prefix, String columnName, String schema) {
+    if (schema == null) {
+      return "";
+    }
+    return prefix + "UPPER(" + columnName + ") = '" + schema.replace("'", "''").toUpperCase() + "'";
+  }
+
+
+  // catalog queries for bulk meta data import -----------------------------------------------------------------------
+
+  /** Renders a query which retrieves the columns of all tables of a schema in one round trip.
+   *  The result set must provide at least the first 13 columns of
+   *  {@link DatabaseMetaData#getColumns(String, String, String, String)} in the same order and with the same meaning.
+   *  @param catalog the name of the catalog to query, or null for the default
+   *  @param schema  the name of the schema to query
+   *  @return the query, or null if the dialect has no catalog query and
+   *      the columns shall be retrieved by JDBC {@link DatabaseMetaData} */
+  public String renderColumnsQuery(String catalog, String schema) {
+    return null;
+  }
+
+  /** Renders a query which retrieves the primary key columns of all tables of a schema in one round trip.
+   *  The result set must be laid out like the one of {@link DatabaseMetaData#getPrimaryKeys(String, String, String)}.
+   *  @return the query, or null if the dialect has no catalog query for primary keys */
+  public String renderPrimaryKeysQuery(String catalog, String schema) {
+    return null;
+  }
+
+  /** Renders a query which retrieves the index columns of all tables of a schema in one round trip,
+   *  including the ones of unique and primary key constraints.
+   *  The result set must provide at least the first 13 columns of
+   *  {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}.
+   *  @return the query, or null if the dialect has no catalog query for indexes */
+  public String renderIndexesQuery(String catalog, String schema) {
+    return null;
+  }
+
+  /** Renders a query which retrieves the foreign key columns of all tables of a schema in one round trip.
+   *  The result set must provide at least the first 14 columns of
+   *  {@link DatabaseMetaData#getImportedKeys(String, String, String)},
+   *  the columns of a composite foreign key must appear in the order of their KEY_SEQ.
+   *  @return the query, or null if the dialect has no catalog query for foreign keys */
+  public String renderImportedKeysQuery(String catalog, String schema) {
+    return null;
+  }
+
   /** returns a database dialect's special type name for a primitive type. */
   public String getSpecialType(String type) {
     return type;
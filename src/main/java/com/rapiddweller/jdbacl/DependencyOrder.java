@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBTable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a {@link DependencySorter}: The tables in an order in which each table follows the tables it references,
+ * the cycles which had to be resolved for that and the foreign keys which have been ignored for resolving them.<br/><br/>
+ * Created: 17.10.2026 17:20:13
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class DependencyOrder {
+
+  private final List<DBTable> tables;
+  private final List<List<DBTable>> cycles;
+  private final List<DBForeignKeyConstraint> brokenForeignKeys;
+  private final List<DBForeignKeyConstraint> brokenMandatoryForeignKeys;
+
+  DependencyOrder(List<DBTable> tables, List<List<DBTable>> cycles,
+                  List<DBForeignKeyConstraint> brokenForeignKeys, List<DBForeignKeyConstraint> brokenMandatoryForeignKeys) {
+    this.tables = Collections.unmodifiableList(tables);
+    this.cycles = Collections.unmodifiableList(cycles);
+    this.brokenForeignKeys = Collections.unmodifiableList(brokenForeignKeys);
+    this.brokenMandatoryForeignKeys = Collections.unmodifiableList(brokenMandatoryForeignKeys);
+  }
+
+  /** @return the tables ordered so that referenced tables come first, except for the broken foreign keys */
+  public List<DBTable> getTables() {
+    return tables;
+  }
+
+  /** @return the strongly connected components of the foreign key graph with more than one table,
+   *  each in the order of {@link #getTables()} */
+  public List<List<DBTable>> getCycles() {
+    return cycles;
+  }
+
+  /** @return all foreign keys whose referee table does not precede the owner table in {@link #getTables()} */
+  public List<DBForeignKeyConstraint> getBrokenForeignKeys() {
+    return brokenForeignKeys;
+  }
+
+  /** @return the broken foreign keys with a non-nullable column, which cannot be populated in a second pass */
+  public List<DBForeignKeyConstraint> getBrokenMandatoryForeignKeys() {
+    return brokenMandatoryForeignKeys;
+  }
+
+  public boolean isAcyclic() {
+    return cycles.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return tables.size() + " tables, " + cycles.size() + " cycles, " + brokenForeignKeys.size() + " broken foreign keys"
+        + (brokenMandatoryForeignKeys.isEmpty() ? "" : " (" + brokenMandatoryForeignKeys.size() + " mandatory)");
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.TableHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Processes the tables of a {@link TableHolder} in parallel while respecting their foreign key dependencies:
+ * A table's task is started as soon as the tasks of all tables it references have finished,
+ * so independent branches of the schema are processed concurrently on a bounded number of threads.
+ * Cycles are broken by a {@link DependencySorter}, preferably at nullable foreign keys: Such a reference is ignored
+ * for scheduling and reported to {@link TableTask#update(DBTable, List)} in a second pass after all tables
+ * have been processed, e.g. for setting the foreign key values which could not be inserted before.
+ * Self references and references to tables outside the table holder are not regarded as dependencies.
+ * A cycle of non-nullable foreign keys cannot be resolved and causes an exception before any task is started.<br/><br/>
+ * Created: 17.10.2026 17:16:57
+ * @author Volker Bergmann
+ * @see DBUtil#dependencyOrderedTables(TableHolder)
+ * @since 1.1.17
+ */
+public class DependencyScheduler {
+
+  private final int threads;
+  private final Executor executor;
+
+  /** Creates a scheduler which uses a dedicated pool of the given number of threads for each run. */
+  public DependencyScheduler(int threads) {
+    if (threads < 1) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal thread count: " + threads);
+    }
+    this.threads = threads;
+    this.executor = null;
+  }
+
+  /** Creates a scheduler which uses an executor provided and managed by the caller. */
+  public DependencyScheduler(Executor executor) {
+    this.threads = 0;
+    this.executor = executor;
+  }
+
+  public static List<DBForeignKeyConstraint> run(TableHolder tableHolder, int threads, TableTask task) {
+    return new DependencyScheduler(threads).run(tableHolder, task);
+  }
+
+  /** Runs the task for each table of the table holder and returns the foreign keys that have been deferred
+   *  for breaking cycles. The call returns when all tasks have finished. If a task fails, no further tables
+   *  are started and the failure is reported after the running tasks have finished. */
+  public List<DBForeignKeyConstraint> run(TableHolder tableHolder, TableTask task) {
+    DependencyOrder order = DependencySorter.sort(tableHolder);
+    List<DBForeignKeyConstraint> mandatory = order.getBrokenMandatoryForeignKeys();
+    if (!mandatory.isEmpty()) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Cyclic dependency of non-nullable foreign keys: " + fkNames(mandatory));
+    }
+    List<Node> nodes = buildGraph(order);
+    ExecutorService ownExecutor = (executor == null ? Executors.newFixedThreadPool(threads) : null);
+    try {
+      Executor target = (executor != null ? executor : ownExecutor);
+      execute(nodes, target, node -> task.process(node.table), true);
+      List<Node> deferring = new ArrayList<>();
+      for (Node node : nodes) {
+        if (!node.deferredFKs.isEmpty()) {
+          deferring.add(node);
+        }
+      }
+      execute(deferring, target, node -> task.update(node.table, node.deferredFKs), false);
+      return order.getBrokenForeignKeys();
+    } finally {
+      if (ownExecutor != null) {
+        ownExecutor.shutdown();
+      }
+    }
+  }
+
+  // graph construction ----------------------------------------------------------------------------------------------
+
+  /** Creates the nodes in dependency order, so that tables are started in that order as far as possible.
+   *  The foreign keys which the sorter has broken become deferred foreign keys instead of dependencies. */
+  private static List<Node> buildGraph(DependencyOrder order) {
+    List<DBTable> tables = order.getTables();
+    Map<DBTable, Node> nodeMap = new IdentityHashMap<>(tables.size());
+    List<Node> nodes = new ArrayList<>(tables.size());
+    for (DBTable table : tables) {
+      Node node = new Node(table);
+      nodeMap.put(table, node);
+      nodes.add(node);
+    }
+    Set<DBForeignKeyConstraint> broken = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (DBForeignKeyConstraint fk : order.getBrokenForeignKeys()) {
+      broken.add(fk);
+      nodeMap.get(fk.getTable()).deferredFKs.add(fk);
+    }
+    for (Node node : nodes) {
+      Set<Node> providers = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (DBForeignKeyConstraint fk : node.table.getForeignKeyConstraints()) {
+        Node provider = nodeMap.get(fk.getRefereeTable());
+        if (provider != null && provider != node && !broken.contains(fk) && providers.add(provider)) {
+          node.pendingProviders++;
+          provider.dependents.add(node);
+        }
+      }
+    }
+    return nodes;
+  }
+
+  private static List<String> fkNames(List<DBForeignKeyConstraint> fks) {
+    List<String> names = new ArrayList<>(fks.size());
+    for (DBForeignKeyConstraint fk : fks) {
+      names.add(fk.getTable().getName() + '.' + fk.getName());
+    }
+    return names;
+  }
+
+  // execution -------------------------------------------------------------------------------------------------------
+
+  private static void execute(List<Node> nodes, Executor executor, NodeAction action, boolean respectDependencies) {
+    BlockingQueue<Node> finished = new LinkedBlockingQueue<>();
+    int running = 0;
+    Throwable failure = null;
+    DBTable failedTable = null;
+    for (Node node : nodes) {
+      if (!respectDependencies || node.pendingProviders == 0) {
+        submit(node, executor, action, finished);
+        running++;
+      }
+    }
+    try {
+      while (running > 0) {
+        Node node = finished.take();
+        running--;
+        if (node.error != null) {
+          if (failure == null) {
+            failure = node.error;
+            failedTable = node.table;
+          }
+        } else if (respectDependencies && failure == null) {
+          for (Node dependent : node.dependents) {
+            if (--dependent.pendingProviders == 0) {
+              submit(dependent, executor, action, finished);
+              running++;
+            }
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationFailed("Interrupted while processing tables", e);
+    }
+    if (failure != null) {
+      throw ExceptionFactory.getInstance().operationFailed("Failed to process table " + failedTable.getName(), failure);
+    }
+  }
+
+  private static void submit(Node node, Executor executor, NodeAction action, BlockingQueue<Node> finished) {
+    Runnable job = () -> {
+      try {
+        action.apply(node);
+      } catch (Throwable t) {
+        node.error = t;
+      } finally {
+        finished.add(node);
+      }
+    };
+    try {
+      executor.execute(job);
+    } catch (RejectedExecutionException e) {
+      node.error = e;
+      finished.add(node);
+    }
+  }
+
+  private interface NodeAction {
+    void apply(Node node) throws Exception;
+  }
+
+  /** Scheduling state of a table. Fields are only modified by the scheduling thread, except for {@link #error},
+   *  which is published to the scheduling thread by the queue of finished nodes. */
+  private static class Node {
+
+    final DBTable table;
+    final List<Node> dependents = new ArrayList<>();
+    final List<DBForeignKeyConstraint> deferredFKs = new ArrayList<>();
+    int pendingProviders;
+    Throwable error;
+
+    Node(DBTable table) {
+      this.table = table;
+    }
+  }
+
+  /** The processing of a single table, which is called by several threads for different tables concurrently. */
+  public interface TableTask {
+
+    void process(DBTable table) throws Exception;
+
+    /** Is called after all tables have been processed, for each table with foreign keys
+     *  which have been ignored in {@link #process(DBTable)} for breaking a dependency cycle.
+     *  Tables are updated in parallel. The default implementation does nothing. */
+    default void update(DBTable table, List<DBForeignKeyConstraint> deferredForeignKeys) throws Exception {
+      // nothing to do by default
+    }
+  }
+
+}
@@ -0,0 +1,385 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.TableHolder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorts tables by their foreign key dependencies in O(V+E), so that each table follows the tables it references.
+ * The foreign key graph is decomposed into strongly connected components with Tarjan's algorithm.
+ * The components are emitted in dependency order, the tables of each cyclic component are ordered
+ * by breaking as few of its internal foreign keys as possible, preferring nullable ones
+ * (see {@link DBUtil#containsMandatoryColumn(com.rapiddweller.jdbacl.model.DBConstraint)}).
+ * The {@link DependencyOrder} reports the cycles and the broken foreign keys.
+ * Self references and references to tables which are not sorted are ignored.
+ * The foreign keys of a table are read when it is added to the sorter, later modifications are not regarded.
+ * After {@link #add(DBTable)}ing a table which is only referencing or only referenced by other tables,
+ * its position is determined without sorting again.<br/><br/>
+ * Created: 17.10.2026 17:20:13
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class DependencySorter {
+
+  private final Map<DBTable, Node> nodeMap;
+  private final List<Node> nodes;
+  private final Map<DBTable, List<Edge>> unresolvedEdges;
+
+  private List<DBTable> tables;
+  private List<List<DBTable>> cycles;
+  private List<DBForeignKeyConstraint> brokenForeignKeys;
+  private List<DBForeignKeyConstraint> brokenMandatoryForeignKeys;
+
+  public DependencySorter(TableHolder tableHolder) {
+    this.nodeMap = new IdentityHashMap<>();
+    this.nodes = new ArrayList<>();
+    this.unresolvedEdges = new IdentityHashMap<>();
+    this.tables = null;
+    List<Node> added = new ArrayList<>();
+    for (DBTable table : tableHolder.getTables()) {
+      Node node = addNode(table);
+      if (node != null) {
+        added.add(node);
+      }
+    }
+    for (Node node : added) {
+      addEdges(node);
+    }
+  }
+
+  public static DependencyOrder sort(TableHolder tableHolder) {
+    return new DependencySorter(tableHolder).sort();
+  }
+
+  /** Sorts all tables of the graph. */
+  public DependencyOrder sort() {
+    for (Node node : nodes) {
+      node.reset();
+    }
+    this.tables = new ArrayList<>(nodes.size());
+    this.cycles = new ArrayList<>();
+    this.brokenForeignKeys = new ArrayList<>();
+    this.brokenMandatoryForeignKeys = new ArrayList<>();
+    int componentId = 0;
+    for (List<Node> component : components()) {
+      if (component.size() == 1) {
+        Node node = component.get(0);
+        node.placed = true;
+        tables.add(node.table);
+      } else {
+        cycles.add(orderCycle(component, componentId));
+      }
+      componentId++;
+    }
+    return result();
+  }
+
+  /** Adds a table to the graph and returns the new order. */
+  public DependencyOrder add(DBTable table) {
+    if (tables == null) {
+      Node node = addNode(table);
+      if (node != null) {
+        addEdges(node);
+      }
+      return sort();
+    }
+    Node node = addNode(table);
+    if (node == null) {
+      return result();
+    }
+    addEdges(node);
+    if (node.incoming.isEmpty()) {
+      // no table depends on the new one, so it can simply be appended
+      tables.add(table);
+    } else if (node.outgoing.isEmpty()) {
+      // the new table depends on no other table and can precede all
+      tables.add(0, table);
+    } else {
+      return sort();
+    }
+    node.placed = true;
+    return result();
+  }
+
+  // graph construction ----------------------------------------------------------------------------------------------
+
+  private Node addNode(DBTable table) {
+    if (nodeMap.containsKey(table)) {
+      return null;
+    }
+    Node node = new Node(table, nodes.size());
+    nodeMap.put(table, node);
+    nodes.add(node);
+    return node;
+  }
+
+  private void addEdges(Node node) {
+    DBTable table = node.table;
+    for (DBForeignKeyConstraint fk : table.getForeignKeyConstraints()) {
+      DBTable referee = fk.getRefereeTable();
+      if (referee != table) {
+        Edge edge = new Edge(fk, node, DBUtil.containsMandatoryColumn(fk));
+        Node target = nodeMap.get(referee);
+        if (target != null) {
+          edge.link(target);
+        } else {
+          unresolvedEdges.computeIfAbsent(referee, k -> new ArrayList<>()).add(edge);
+        }
+      }
+    }
+    // make the processing independent of the hash order of the foreign key set
+    node.outgoing.sort(Comparator.comparingInt((Edge e) -> e.to.index)
+        .thenComparing(e -> Arrays.toString(e.fk.getColumnNames())));
+    List<Edge> waiting = unresolvedEdges.remove(table);
+    if (waiting != null) {
+      for (Edge edge : waiting) {
+        edge.link(node);
+      }
+    }
+  }
+
+  // Tarjan's algorithm ----------------------------------------------------------------------------------------------
+
+  /** Determines the strongly connected components in an order in which referenced components come first.
+   *  The algorithm is implemented iteratively for coping with long reference chains. */
+  private List<List<Node>> components() {
+    List<List<Node>> components = new ArrayList<>();
+    int index = 0;
+    Deque<Node> stack = new ArrayDeque<>();
+    Deque<Node> path = new ArrayDeque<>();
+    Deque<Iterator<Edge>> iterators = new ArrayDeque<>();
+    for (Node root : nodes) {
+      if (root.visitIndex >= 0) {
+        continue;
+      }
+      root.visitIndex = root.lowLink = index++;
+      stack.push(root);
+      root.onStack = true;
+      path.push(root);
+      iterators.push(root.outgoing.iterator());
+      while (!path.isEmpty()) {
+        Node node = path.peek();
+        Iterator<Edge> iterator = iterators.peek();
+        if (iterator.hasNext()) {
+          Node provider = iterator.next().to;
+          if (provider.visitIndex < 0) {
+            provider.visitIndex = provider.lowLink = index++;
+            stack.push(provider);
+            provider.onStack = true;
+            path.push(provider);
+            iterators.push(provider.outgoing.iterator());
+          } else if (provider.onStack) {
+            node.lowLink = Math.min(node.lowLink, provider.visitIndex);
+          }
+        } else {
+          path.pop();
+          iterators.pop();
+          if (!path.isEmpty()) {
+            Node parent = path.peek();
+            parent.lowLink = Math.min(parent.lowLink, node.lowLink);
+          }
+          if (node.lowLink == node.visitIndex) {
+            List<Node> component = new ArrayList<>();
+            Node member;
+            do {
+              member = stack.pop();
+              member.onStack = false;
+              member.component = components.size();
+              component.add(member);
+            } while (member != node);
+            components.add(component);
+          }
+        }
+      }
+    }
+    return components;
+  }
+
+  // cycle breaking --------------------------------------------------------------------------------------------------
+
+  /** Orders the tables of a cyclic component topologically. When no table is free of pending references,
+   *  one with only nullable pending references is placed and these references are broken.
+   *  Only if there is none, the table with the fewest mandatory pending references is chosen. */
+  private List<DBTable> orderCycle(List<Node> component, int componentId) {
+    component.sort(Comparator.comparingInt(node -> node.index));
+    Deque<Node> ready = new ArrayDeque<>();
+    Deque<Node> relaxable = new ArrayDeque<>();
+    for (Node node : component) {
+      for (Edge edge : node.outgoing) {
+        if (edge.to.component == componentId) {
+          if (edge.mandatory) {
+            node.pendingMandatory++;
+          } else {
+            node.pendingNullable++;
+          }
+        }
+      }
+      enqueue(node, ready, relaxable);
+    }
+    List<DBTable> result = new ArrayList<>(component.size());
+    while (result.size() < component.size()) {
+      Node node = poll(ready, relaxable);
+      if (node == null) {
+        node = leastMandatory(component);
+      }
+      if (node.pendingMandatory + node.pendingNullable > 0) {
+        for (Edge edge : node.outgoing) {
+          if (edge.to.component == componentId && !edge.to.placed) {
+            brokenForeignKeys.add(edge.fk);
+            if (edge.mandatory) {
+              brokenMandatoryForeignKeys.add(edge.fk);
+            }
+          }
+        }
+      }
+      node.placed = true;
+      result.add(node.table);
+      tables.add(node.table);
+      for (Edge edge : node.incoming) {
+        Node dependent = edge.from;
+        if (dependent.component == componentId && !dependent.placed) {
+          if (edge.mandatory) {
+            dependent.pendingMandatory--;
+          } else {
+            dependent.pendingNullable--;
+          }
+          enqueue(dependent, ready, relaxable);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static void enqueue(Node node, Deque<Node> ready, Deque<Node> relaxable) {
+    if (node.pendingMandatory + node.pendingNullable == 0) {
+      ready.add(node);
+    } else if (node.pendingMandatory == 0 && !node.relaxable) {
+      node.relaxable = true;
+      relaxable.add(node);
+    }
+  }
+
+  private static Node poll(Deque<Node> ready, Deque<Node> relaxable) {
+    while (!ready.isEmpty()) {
+      Node node = ready.poll();
+      if (!node.placed) {
+        return node;
+      }
+    }
+    while (!relaxable.isEmpty()) {
+      Node node = relaxable.poll();
+      if (!node.placed) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  private static Node leastMandatory(List<Node> component) {
+    Node result = null;
+    for (Node node : component) {
+      if (!node.placed && (result == null || node.pendingMandatory < result.pendingMandatory)) {
+        result = node;
+      }
+    }
+    return result;
+  }
+
+  private DependencyOrder result() {
+    List<List<DBTable>> cycleCopy = new ArrayList<>(cycles.size());
+    for (List<DBTable> cycle : cycles) {
+      cycleCopy.add(new ArrayList<>(cycle));
+    }
+    return new DependencyOrder(new ArrayList<>(tables), cycleCopy,
+        new ArrayList<>(brokenForeignKeys), new ArrayList<>(brokenMandatoryForeignKeys));
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private static class Node {
+
+    final DBTable table;
+    final int index;
+    final List<Edge> outgoing = new ArrayList<>();
+    final List<Edge> incoming = new ArrayList<>();
+
+    int visitIndex;
+    int lowLink;
+    boolean onStack;
+    int component;
+    int pendingMandatory;
+    int pendingNullable;
+    boolean relaxable;
+    boolean placed;
+
+    Node(DBTable table, int index) {
+      this.table = table;
+      this.index = index;
+      reset();
+    }
+
+    void reset() {
+      visitIndex = -1;
+      lowLink = -1;
+      onStack = false;
+      component = -1;
+      pendingMandatory = 0;
+      pendingNullable = 0;
+      relaxable = false;
+      placed = false;
+    }
+  }
+
+  /** A foreign key reference from a table to the table it depends on. */
+  private static class Edge {
+
+    final DBForeignKeyConstraint fk;
+    final Node from;
+    final boolean mandatory;
+    Node to;
+
+    Edge(DBForeignKeyConstraint fk, Node from, boolean mandatory) {
+      this.fk = fk;
+      this.from = from;
+      this.mandatory = mandatory;
+    }
+
+    void link(Node target) {
+      this.to = target;
+      from.outgoing.add(this);
+      target.incoming.add(this);
+    }
+  }
+
+}
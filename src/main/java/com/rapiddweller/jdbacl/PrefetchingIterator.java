@@ -0,0 +1,271 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the elements of a {@link HeavyweightIterator} in a background thread, so that fetching
+ * and converting the next rows of a query overlaps with the consumer's processing of the current ones.
+ * The producer thread collects the elements in batches and hands them over in a bounded queue,
+ * blocking when the consumer falls behind. Consumed batches are recycled.
+ * Exceptions of the source are rethrown to the consumer. On {@link #close()}, the producer stops
+ * and closes the source in its own thread, which is awaited.
+ * The source must provide a distinct object for each element, e.g. a {@link com.rapiddweller.jdbacl.model.DBRowIterator}
+ * or a {@link ResultSetConverter}-based iterator, not a {@link ResultSetIterator}.<br/><br/>
+ * Created: 17.10.2026 17:28:27
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class PrefetchingIterator<E> implements HeavyweightIterator<E> {
+
+  private static final Logger logger = LoggerFactory.getLogger(PrefetchingIterator.class);
+
+  private static final long POLL_MILLIS = 100;
+
+  private final HeavyweightIterator<E> source;
+  private final int batchSize;
+  private final BlockingQueue<Batch> filled;
+  private final BlockingQueue<Batch> free;
+  private Thread producer;
+  private volatile boolean closed;
+  private Batch current;
+  private int position;
+  private boolean finished;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public PrefetchingIterator(HeavyweightIterator<E> source) {
+    this(source, 100, 2);
+  }
+
+  /** @param batchSize the number of elements which are handed over at once
+   *  @param bufferedBatches the number of batches the producer may read ahead of the consumer */
+  public PrefetchingIterator(HeavyweightIterator<E> source, int batchSize, int bufferedBatches) {
+    if (source == null) {
+      throw ExceptionFactory.getInstance().illegalArgument("source is null");
+    }
+    if (batchSize <= 0 || bufferedBatches <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Illegal batch configuration: " + batchSize + " x " + bufferedBatches);
+    }
+    this.source = source;
+    this.batchSize = batchSize;
+    this.filled = new ArrayBlockingQueue<>(bufferedBatches);
+    this.free = new ArrayBlockingQueue<>(bufferedBatches + 1);
+    this.closed = false;
+    this.current = null;
+    this.position = 0;
+    this.finished = false;
+  }
+
+  // Iterator interface ----------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (current != null && position < current.size) {
+      return true;
+    }
+    if (finished) {
+      return false;
+    }
+    start();
+    recycle(current);
+    current = null;
+    Batch batch = take();
+    if (batch.failure != null) {
+      finished = true;
+      close();
+      if (batch.failure instanceof RuntimeException) {
+        throw (RuntimeException) batch.failure;
+      } else if (batch.failure instanceof Error) {
+        throw (Error) batch.failure;
+      } else {
+        throw ExceptionFactory.getInstance().operationFailed("Prefetching failed for " + source, batch.failure);
+      }
+    }
+    if (batch.size == 0) {
+      finished = true;
+      close();
+      return false;
+    }
+    current = batch;
+    position = 0;
+    return true;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more element available. Use hasNext() for checking availability.");
+    }
+    E result = (E) current.elements[position];
+    current.elements[position++] = null;
+    return result;
+  }
+
+  @Override
+  public void remove() {
+    throw ExceptionFactory.getInstance().illegalOperation("Not supported");
+  }
+
+  /** Stops the producer and waits until it has closed the source. */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (producer == null) {
+      IOUtil.close(source);
+      return;
+    }
+    filled.clear();
+    try {
+      producer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // producer --------------------------------------------------------------------------------------------------------
+
+  /** Starts prefetching without waiting for the first call to {@link #hasNext()}. */
+  public synchronized PrefetchingIterator<E> start() {
+    if (producer == null && !closed) {
+      producer = new Thread(this::produce, "prefetch-" + source);
+      producer.setDaemon(true);
+      producer.start();
+    }
+    return this;
+  }
+
+  private void produce() {
+    Batch batch = null;
+    try {
+      boolean available = true;
+      while (available && !closed) {
+        batch = allocate();
+        while (batch.size < batchSize && (available = source.hasNext())) {
+          E element = source.next();
+          batch.elements[batch.size++] = element;
+        }
+        if (batch.size > 0) {
+          hand(batch);
+        }
+        batch = null;
+      }
+      hand(new Batch(0));
+    } catch (Throwable t) {
+      logger.debug("Prefetching failed for {}", source, t);
+      // the elements read before the failure are provided first
+      if (batch != null && batch.size > 0) {
+        hand(batch);
+      }
+      Batch failure = new Batch(0);
+      failure.failure = t;
+      hand(failure);
+    } finally {
+      IOUtil.close(source);
+    }
+  }
+
+  /** Puts a batch into the queue, waiting for space as long as the iterator is not closed. */
+  private void hand(Batch batch) {
+    try {
+      while (!closed) {
+        if (filled.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closed = true;
+    }
+  }
+
+  private Batch take() {
+    try {
+      Batch batch;
+      do {
+        batch = filled.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      } while (batch == null && producer.isAlive());
+      if (batch == null) {
+        // the producer may have put its last batch right before terminating
+        batch = filled.poll();
+      }
+      return (batch != null ? batch : new Batch(0));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationFailed("Interrupted while waiting for " + source, e);
+    }
+  }
+
+  private Batch allocate() {
+    Batch batch = free.poll();
+    return (batch != null ? batch : new Batch(batchSize));
+  }
+
+  private void recycle(Batch batch) {
+    if (batch != null && batch.elements.length == batchSize) {
+      Arrays.fill(batch.elements, 0, batch.size, null);
+      batch.size = 0;
+      free.offer(batch);
+    }
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + source + ']';
+  }
+
+  // helper class ----------------------------------------------------------------------------------------------------
+
+  private static final class Batch {
+
+    final Object[] elements;
+    int size;
+    Throwable failure;
+
+    Batch(int capacity) {
+      this.elements = new Object[capacity];
+      this.size = 0;
+    }
+  }
+
+}
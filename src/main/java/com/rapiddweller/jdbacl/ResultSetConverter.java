@@ -56,6 +56,10 @@ public ResultSetConverter(Class<E> targetType, boolean simplifying) {
     this.simplifying = simplifying;
   }
 
+  public boolean isSimplifying() {
+    return simplifying;
+  }
+
   // Converter interface ---------------------------------------------------------------------------------------------
 
   @Override
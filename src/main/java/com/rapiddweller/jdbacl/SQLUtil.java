@@ -273,6 +273,54 @@ public static String renderWhereClause(String[] columnNames, Object[] values, Da
     return builder.toString();
   }
 
+  /** Renders a lexicographic comparison of the columns with the key values,
+   *  e.g. <code>A > 1 OR (A = 1 AND B >= 2)</code> for the operator <code>&gt;=</code>.
+   *  @param operator one of <code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code> and <code>&gt;=</code> */
+  public static String renderKeyComparison(String[] columnNames, Object[] key, String operator, DatabaseDialect dialect) {
+    return renderKeyComparison(columnNames, key, 0, operator, dialect);
+  }
+
+  private static String renderKeyComparison(
+      String[] columnNames, Object[] key, int index, String operator, DatabaseDialect dialect) {
+    String column = columnNames[index];
+    String value = dialect.formatValue(key[index]);
+    if (index == columnNames.length - 1) {
+      return column + ' ' + operator + ' ' + value;
+    }
+    String strictOperator = operator.substring(0, 1);
+    return column + ' ' + strictOperator + ' ' + value + " OR (" + column + " = " + value +
+        AND + "(" + renderKeyComparison(columnNames, key, index + 1, operator, dialect) + "))";
+  }
+
+  /** Renders a lexicographic comparison of the columns with a key given as '?' parameters,
+   *  e.g. <code>A &gt; ? OR (A = ? AND (B &gt; ?))</code>.
+   *  The parameter values are provided by {@link #keyComparisonParameters(Object[])}.
+   *  @param operator one of <code>&lt;</code>, <code>&lt;=</code>, <code>&gt;</code> and <code>&gt;=</code> */
+  public static String renderKeyComparison(String[] columnNames, String operator) {
+    return renderKeyComparison(columnNames, 0, operator);
+  }
+
+  private static String renderKeyComparison(String[] columnNames, int index, String operator) {
+    String column = columnNames[index];
+    if (index == columnNames.length - 1) {
+      return column + ' ' + operator + " ?";
+    }
+    String strictOperator = operator.substring(0, 1);
+    return column + ' ' + strictOperator + " ? OR (" + column + " = ?" +
+        AND + "(" + renderKeyComparison(columnNames, index + 1, operator) + "))";
+  }
+
+  /** @return the parameter values for a comparison rendered by {@link #renderKeyComparison(String[], String)} */
+  public static Object[] keyComparisonParameters(Object[] key) {
+    Object[] result = new Object[key.length * 2 - 1];
+    for (int i = 0; i < key.length - 1; i++) {
+      result[2 * i] = key[i];
+      result[2 * i + 1] = key[i];
+    }
+    result[result.length - 1] = key[key.length - 1];
+    return result;
+  }
+
   public static Boolean mutatesDataOrStructure(String sql) {
     sql = normalizeSQL(sql);
     // ALTER SESSION does not change data or structure
@@ -0,0 +1,173 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.LogCategoriesConstants;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the {@link PreparedStatement}s of a connection by their SQL text.
+ * A statement is taken out of the cache by {@link #acquire(String)} and handed back by
+ * {@link #release(String, PreparedStatement)}, so a statement is never used by two callers at the same time.
+ * Idle statements are evicted in least-recently-used order when the capacity is exceeded,
+ * and all of them are closed when the cache is closed.<br/><br/>
+ * Created: 17.10.2026 17:42:53
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public final class StatementCache implements Closeable {
+
+  private static final Logger jdbcLogger = LoggerFactory.getLogger(LogCategoriesConstants.JDBC);
+
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private final Connection connection;
+  private final boolean readOnly;
+  private final int capacity;
+  private final LinkedHashMap<String, PreparedStatement> idleStatements;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+  private boolean closed;
+
+  public StatementCache(Connection connection, boolean readOnly, int capacity) {
+    if (capacity <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal statement cache capacity: " + capacity);
+    }
+    this.connection = connection;
+    this.readOnly = readOnly;
+    this.capacity = capacity;
+    // in insertion order, since each release re-inserts a statement, the eldest entry is the least recently used
+    this.idleStatements = new LinkedHashMap<>(16, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+        if (size() > StatementCache.this.capacity) {
+          evictionCount++;
+          closeQuietly(eldest.getKey(), eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+    this.closed = false;
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** @return the number of idle statements in the cache */
+  public synchronized int size() {
+    return idleStatements.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  // statement handling ----------------------------------------------------------------------------------------------
+
+  /** Takes a statement for the given SQL out of the cache or prepares a new one if none is idle.
+   *  The caller must hand it back with {@link #release(String, PreparedStatement)} instead of closing it. */
+  public synchronized PreparedStatement acquire(String sql) throws SQLException {
+    if (closed) {
+      throw ExceptionFactory.getInstance().illegalOperation("Statement cache is closed");
+    }
+    PreparedStatement statement = idleStatements.remove(sql);
+    if (statement != null) {
+      hitCount++;
+      return statement;
+    }
+    missCount++;
+    return DBUtil.prepareStatement(connection, sql, readOnly);
+  }
+
+  /** Returns a statement to the cache. It is closed if the cache is closed or already holds an idle
+   *  statement for the same SQL. */
+  public synchronized void release(String sql, PreparedStatement statement) {
+    if (statement == null) {
+      return;
+    }
+    if (closed || idleStatements.containsKey(sql)) {
+      closeQuietly(sql, statement);
+      return;
+    }
+    try {
+      statement.clearParameters();
+      idleStatements.put(sql, statement);
+    } catch (SQLException e) {
+      closeQuietly(sql, statement);
+    }
+  }
+
+  @Override
+  public void close() {
+    Map<String, PreparedStatement> statements;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      statements = new LinkedHashMap<>(idleStatements);
+      idleStatements.clear();
+    }
+    for (Map.Entry<String, PreparedStatement> entry : statements.entrySet()) {
+      closeQuietly(entry.getKey(), entry.getValue());
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static void closeQuietly(String sql, PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      jdbcLogger.error("Error closing statement: " + sql, e);
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return getClass().getSimpleName() + "[size=" + idleStatements.size() + ", capacity=" + capacity +
+        ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+  }
+
+}
@@ -108,4 +108,19 @@ public void restrictRownums(int firstRowIndex, int rowCount, Query query) {
         "DB2Dialect.applyRownumRestriction() is not implemented");
   }
 
+  @Override
+  public String renderRowLimitClause(int rowCount) {
+    return "FETCH FIRST " + rowCount + " ROWS ONLY";
+  }
+
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsRowNumberWindow() {
+    return true;
+  }
+
 }
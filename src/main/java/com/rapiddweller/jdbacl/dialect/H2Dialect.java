@@ -176,6 +176,54 @@ public void restrictRownums(int rowOffset, int rowCount, Query query) {
     }
   }
 
+  @Override
+  public String renderRowLimitClause(int rowCount) {
+    return "LIMIT " + rowCount;
+  }
+
+  @Override
+  public String renderSchemaFingerprintQuery(String catalog, String schema) {
+    // H2 hashes the sorted item lines itself, so only the hash value is transferred
+    String indexItemQuery = "SELECT 'I|' || TABLE_NAME || '|' || INDEX_NAME || '|' || COLUMN_NAME || '|' || " +
+        "CAST(ORDINAL_POSITION AS VARCHAR(20)) || '|' || CAST(IS_UNIQUE AS VARCHAR(20)) " +
+        "FROM INFORMATION_SCHEMA.INDEX_COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    return "SELECT RAWTOHEX(HASH('SHA-256', STRING_AGG(ITEM, CHAR(10) ORDER BY ITEM))) FROM (" +
+        renderInformationSchemaItemQuery(schema, indexItemQuery) + ") ITEMS";
+  }
+
+  @Override
+  public String renderTableFingerprintQuery(String catalog, String schema) {
+    String indexQuery = "SELECT TABLE_NAME, 'I', INDEX_NAME, CAST(ORDINAL_POSITION AS VARCHAR(20)), " +
+        "CAST(COLUMN_NAME AS VARCHAR(200)), CAST(IS_UNIQUE AS VARCHAR(20)), CAST(NULL AS VARCHAR(20)), " +
+        "CAST(NULL AS VARCHAR(4000)) " +
+        "FROM INFORMATION_SCHEMA.INDEX_COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema);
+    return renderInformationSchemaFingerprintQuery(schema, indexQuery);
+  }
+
+  // H2's JDBC driver retrieves primary keys and indexes only table by table, so they are queried from the
+  // INFORMATION_SCHEMA. Columns are left to the JDBC meta data, which imports them schema-wide already, and
+  // foreign keys as well, since H2 generates the rows of its INFORMATION_SCHEMA tables on each access,
+  // which would make the necessary join of KEY_COLUMN_USAGE with itself expensive
+
+  @Override
+  public String renderPrimaryKeysQuery(String catalog, String schema) {
+    return "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION AS KEY_SEQ, " +
+        "CONSTRAINT_NAME AS PK_NAME FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE " +
+        "WHERE (CONSTRAINT_SCHEMA, CONSTRAINT_NAME) IN (SELECT CONSTRAINT_SCHEMA, CONSTRAINT_NAME " +
+        "FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS WHERE CONSTRAINT_TYPE = 'PRIMARY KEY')" +
+        schemaCondition(" AND ", "TABLE_SCHEMA", schema) + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+  }
+
+  @Override
+  public String renderIndexesQuery(String catalog, String schema) {
+    return "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, NOT IS_UNIQUE AS NON_UNIQUE, " +
+        "TABLE_CATALOG AS INDEX_QUALIFIER, INDEX_NAME, 3 AS TYPE, ORDINAL_POSITION, COLUMN_NAME, " +
+        "CASE ORDERING_SPECIFICATION WHEN 'DESC' THEN 'D' ELSE 'A' END AS ASC_OR_DESC, " +
+        "0 AS CARDINALITY, 0 AS PAGES, NULL AS FILTER_CONDITION " +
+        "FROM INFORMATION_SCHEMA.INDEX_COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEMA", schema) +
+        " ORDER BY TABLE_NAME, NON_UNIQUE, INDEX_NAME, ORDINAL_POSITION";
+  }
+
   @Override
   public String getSpecialType(String type) {
     if ("long".equals(type)) {
@@ -184,4 +232,14 @@ public String getSpecialType(String type) {
       return super.getSpecialType(type);
     }
   }
+
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsRowNumberWindow() {
+    return true;
+  }
 }
@@ -42,4 +42,9 @@ public String regexQuery(String expression, boolean not, String regex) {
     return (not ? "NOT " : "") + "REGEXP_MATCHES(" + expression + ", '" + regex + "')";
   }
 
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
+
 }
@@ -189,6 +189,65 @@ public void restrictRownums(int rowOffset, int rowCount, Query query) {
     }
   }
 
+  @Override
+  public String renderRowLimitClause(int rowCount) {
+    return "LIMIT " + rowCount;
+  }
+
+  @Override
+  public String renderSchemaFingerprintQuery(String catalog, String schema) {
+    // HSQLDB has no hash function, so it concatenates the sorted item lines to a single value
+    // which is hashed by the client
+    String indexItemQuery = "SELECT 'I|' || TABLE_NAME || '|' || INDEX_NAME || '|' || COLUMN_NAME || '|' || " +
+        "CAST(ORDINAL_POSITION AS VARCHAR(20)) || '|' || CAST(NON_UNIQUE AS VARCHAR(20)) " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO" + schemaCondition(" WHERE ", "TABLE_SCHEM", schema);
+    return "SELECT GROUP_CONCAT(ITEM ORDER BY ITEM SEPARATOR '\n') FROM (" +
+        renderInformationSchemaItemQuery(schema, indexItemQuery) + ") ITEMS";
+  }
+
+  @Override
+  public String renderTableFingerprintQuery(String catalog, String schema) {
+    String indexQuery = "SELECT TABLE_NAME, 'I', INDEX_NAME, CAST(ORDINAL_POSITION AS VARCHAR(20)), " +
+        "CAST(COLUMN_NAME AS VARCHAR(200)), CAST(NON_UNIQUE AS VARCHAR(20)), CAST(NULL AS VARCHAR(20)), " +
+        "CAST(NULL AS VARCHAR(4000)) " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO" + schemaCondition(" WHERE ", "TABLE_SCHEM", schema);
+    return renderInformationSchemaFingerprintQuery(schema, indexQuery);
+  }
+
+  // HSQLDB's JDBC meta data is based on the following system tables, which can be queried for a whole schema at once
+
+  @Override
+  public String renderColumnsQuery(String catalog, String schema) {
+    return "SELECT TABLE_CAT, TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, DATA_TYPE, TYPE_NAME, COLUMN_SIZE, " +
+        "BUFFER_LENGTH, DECIMAL_DIGITS, NUM_PREC_RADIX, NULLABLE, REMARKS, COLUMN_DEF " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_COLUMNS" + schemaCondition(" WHERE ", "TABLE_SCHEM", schema) +
+        " ORDER BY TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
+  }
+
+  @Override
+  public String renderPrimaryKeysQuery(String catalog, String schema) {
+    return "SELECT TABLE_CAT, TABLE_SCHEM, TABLE_NAME, COLUMN_NAME, KEY_SEQ, PK_NAME " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_PRIMARYKEYS" + schemaCondition(" WHERE ", "TABLE_SCHEM", schema) +
+        " ORDER BY TABLE_NAME, KEY_SEQ";
+  }
+
+  @Override
+  public String renderIndexesQuery(String catalog, String schema) {
+    return "SELECT TABLE_CAT, TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, INDEX_QUALIFIER, INDEX_NAME, TYPE, " +
+        "ORDINAL_POSITION, COLUMN_NAME, ASC_OR_DESC, CARDINALITY, PAGES, FILTER_CONDITION " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO" + schemaCondition(" WHERE ", "TABLE_SCHEM", schema) +
+        " ORDER BY TABLE_NAME, NON_UNIQUE, INDEX_NAME, ORDINAL_POSITION";
+  }
+
+  @Override
+  public String renderImportedKeysQuery(String catalog, String schema) {
+    return "SELECT PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, PKCOLUMN_NAME, " +
+        "FKTABLE_CAT, FKTABLE_SCHEM, FKTABLE_NAME, FKCOLUMN_NAME, KEY_SEQ, UPDATE_RULE, DELETE_RULE, " +
+        "FK_NAME, PK_NAME, DEFERRABILITY " +
+        "FROM INFORMATION_SCHEMA.SYSTEM_CROSSREFERENCE" + schemaCondition(" WHERE ", "FKTABLE_SCHEM", schema) +
+        " ORDER BY PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, KEY_SEQ";
+  }
+
   @Override
   public String getSpecialType(String type) {
     if ("long".equals(type)) {
@@ -95,6 +95,11 @@ public void restrictRownums(int firstRowIndex, int rowCount, Query query) {
         "MySQLDialect.applyRownumRestriction() is not implemented");
   }
 
+  @Override
+  public String renderRowLimitClause(int rowCount) {
+    return "LIMIT " + rowCount;
+  }
+
   @Override
   public String getSpecialType(String type) {
     if ("long".equals(type)) {
@@ -102,4 +107,9 @@ public String getSpecialType(String type) {
     }
     return super.getSpecialType(type);
   }
+
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
 }
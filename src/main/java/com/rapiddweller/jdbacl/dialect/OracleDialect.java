@@ -367,6 +367,27 @@ public void restrictRownums(int firstRowIndex, int rowCount, Query query) {
     query.and(condition);
   }
 
+  @Override
+  public String renderSchemaFingerprintQuery(String catalog, String schema) {
+    // LAST_DDL_TIME reflects changes of the object itself and of its columns, constraints and indexes,
+    // the object count reflects dropped objects
+    return "SELECT COUNT(*), MAX(LAST_DDL_TIME) FROM ALL_OBJECTS WHERE " + ownerCondition(schema);
+  }
+
+  @Override
+  public String renderTableFingerprintQuery(String catalog, String schema) {
+    return "SELECT OBJECT_NAME, LAST_DDL_TIME FROM ALL_OBJECTS " +
+        "WHERE OBJECT_TYPE IN ('TABLE', 'VIEW') AND " + ownerCondition(schema) + " ORDER BY OBJECT_NAME";
+  }
+
+  private static String ownerCondition(String schema) {
+    if (schema == null) {
+      return "OWNER = USER";
+    }
+    String quoted = schema.replace("'", "''");
+    return "OWNER IN ('" + quoted + "', '" + quoted.toUpperCase() + "')";
+  }
+
   @Override
   public String trim(String expression) {
     return "TRIM(" + expression + ")";
@@ -382,4 +403,14 @@ public String getSpecialType(String type) {
       return super.getSpecialType(type);
     }
   }
+
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsRowNumberWindow() {
+    return true;
+  }
 }
\ No newline at end of file
@@ -161,6 +161,43 @@ public void restrictRownums(int firstRowIndex, int rowCount, Query query) {
         "PostgreSQLDialect.applyRownumRestriction() is not implemented");
   }
 
+  @Override
+  public String renderRowLimitClause(int rowCount) {
+    return "LIMIT " + rowCount;
+  }
+
+  @Override
+  public String renderSchemaFingerprintQuery(String catalog, String schema) {
+    // Each DDL statement updates the catalog rows it touches and thus assigns them a new transaction id (xmin),
+    // the row counts reflect dropped objects
+    return "SELECT " +
+        "(SELECT COUNT(*) FROM pg_class c WHERE c.relnamespace = n.oid), " +
+        "(SELECT MAX(c.xmin::text::bigint) FROM pg_class c WHERE c.relnamespace = n.oid), " +
+        "(SELECT COUNT(*) FROM pg_attribute a JOIN pg_class c ON c.oid = a.attrelid WHERE c.relnamespace = n.oid), " +
+        "(SELECT MAX(a.xmin::text::bigint) FROM pg_attribute a JOIN pg_class c ON c.oid = a.attrelid " +
+        "WHERE c.relnamespace = n.oid), " +
+        "(SELECT COUNT(*) FROM pg_constraint co WHERE co.connamespace = n.oid), " +
+        "(SELECT MAX(co.xmin::text::bigint) FROM pg_constraint co WHERE co.connamespace = n.oid) " +
+        "FROM pg_namespace n WHERE " + namespaceCondition(schema);
+  }
+
+  @Override
+  public String renderTableFingerprintQuery(String catalog, String schema) {
+    return "SELECT c.relname, c.xmin::text, c.relnatts, " +
+        "(SELECT MAX(a.xmin::text::bigint) FROM pg_attribute a WHERE a.attrelid = c.oid), " +
+        "(SELECT COUNT(*) FROM pg_constraint co WHERE co.conrelid = c.oid), " +
+        "(SELECT MAX(co.xmin::text::bigint) FROM pg_constraint co WHERE co.conrelid = c.oid), " +
+        "(SELECT COUNT(*) FROM pg_index i WHERE i.indrelid = c.oid), " +
+        "(SELECT MAX(i.xmin::text::bigint) FROM pg_index i WHERE i.indrelid = c.oid) " +
+        "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+        "WHERE c.relkind IN ('r', 'p', 'v', 'm') AND " + namespaceCondition(schema) + " ORDER BY c.relname";
+  }
+
+  private static String namespaceCondition(String schema) {
+    return (schema != null ? "lower(n.nspname) = '" + schema.replace("'", "''").toLowerCase() + "'"
+        : "n.nspname = current_schema()");
+  }
+
   @Override
   public String getSpecialType(String type) {
     if ("long".equals(type)) {
@@ -171,4 +208,14 @@ public String getSpecialType(String type) {
       return super.getSpecialType(type);
     }
   }
+
+  @Override
+  public boolean supportsRowValueInList() {
+    return true;
+  }
+
+  @Override
+  public boolean supportsRowNumberWindow() {
+    return true;
+  }
 }
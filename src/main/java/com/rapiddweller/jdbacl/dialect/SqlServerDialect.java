@@ -109,4 +109,9 @@ public void restrictRownums(int firstRowIndex, int rowCount,
         "SqlServerDialect.applyRownumRestriction() is not implemented");
   }
 
+  @Override
+  public boolean supportsRowNumberWindow() {
+    return true;
+  }
+
 }
@@ -29,6 +29,7 @@
 import com.rapiddweller.common.iterator.ConvertingIterator;
 import com.rapiddweller.common.iterator.TabularIterator;
 import com.rapiddweller.jdbacl.ArrayResultSetIterator;
+import com.rapiddweller.jdbacl.CompiledResultSetConverter;
 import com.rapiddweller.jdbacl.DatabaseDialect;
 import com.rapiddweller.jdbacl.DatabaseDialectManager;
 import com.rapiddweller.jdbacl.QueryIterator;
@@ -160,7 +161,7 @@ protected HeavyweightIterator<Object> createParentPkIterator(Connection connecti
       query.append(ArrayFormat.format(parentTable.getPKColumnNames()));
       query.append(" from ").append(parentTable);
       Iterator<ResultSet> rawIterator = new QueryIterator(query.toString(), connection, 100);
-      ResultSetConverter<Object> converter = new ResultSetConverter<>(Object.class, true);
+      ResultSetConverter<Object> converter = new CompiledResultSetConverter<>(Object.class, true);
       return new ConvertingIterator<>(rawIterator, converter);
     }
 
@@ -0,0 +1,158 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Array-backed, ordered storage of the columns of a {@link DBTable} with case-insensitive lookup by name.
+ * Narrow tables are searched linearly, wider ones get a hash index, which is maintained on each modification,
+ * so that lookups do not modify the structure.<br/><br/>
+ * Created: 17.10.2026 17:14:30
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+final class ColumnList {
+
+  private static final DBColumn[] EMPTY = new DBColumn[0];
+  private static final int INDEX_THRESHOLD = 16;
+
+  private DBColumn[] columns;
+  private int size;
+  private Map<String, Integer> index;
+
+  ColumnList() {
+    this.columns = EMPTY;
+    this.size = 0;
+    this.index = null;
+  }
+
+  int size() {
+    return size;
+  }
+
+  DBColumn get(String name) {
+    int i = indexOf(name);
+    return (i >= 0 ? columns[i] : null);
+  }
+
+  /** Adds a column or replaces the one with the same name. */
+  void put(DBColumn column) {
+    int i = indexOf(column.getName());
+    if (i >= 0) {
+      columns[i] = column;
+      return;
+    }
+    if (size == columns.length) {
+      columns = Arrays.copyOf(columns, Math.max(4, size + (size >> 1)));
+    }
+    columns[size] = column;
+    if (index != null) {
+      index.put(key(column.getName()), size);
+    }
+    size++;
+    if (index == null && size > INDEX_THRESHOLD) {
+      buildIndex();
+    }
+  }
+
+  /** Releases spare capacity, for example after the import of the table's columns. */
+  void trimToSize() {
+    if (columns.length > size) {
+      columns = (size > 0 ? Arrays.copyOf(columns, size) : EMPTY);
+    }
+  }
+
+  /** @return an unmodifiable view of the columns in their order of definition */
+  List<DBColumn> values() {
+    return new ColumnView(columns, size);
+  }
+
+  String[] names() {
+    String[] names = new String[size];
+    for (int i = 0; i < size; i++) {
+      names[i] = columns[i].getName();
+    }
+    return names;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private int indexOf(String name) {
+    if (name == null) {
+      return -1;
+    }
+    if (index != null) {
+      Integer i = index.get(key(name));
+      return (i != null ? i : -1);
+    }
+    for (int i = 0; i < size; i++) {
+      if (name.equalsIgnoreCase(columns[i].getName())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void buildIndex() {
+    Map<String, Integer> newIndex = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      newIndex.put(key(columns[i].getName()), i);
+    }
+    this.index = newIndex;
+  }
+
+  private static String key(String name) {
+    return name.toUpperCase(Locale.ROOT);
+  }
+
+  private static final class ColumnView extends AbstractList<DBColumn> implements RandomAccess {
+
+    private final DBColumn[] columns;
+    private final int size;
+
+    ColumnView(DBColumn[] columns, int size) {
+      this.columns = columns;
+      this.size = size;
+    }
+
+    @Override
+    public DBColumn get(int i) {
+      if (i < 0 || i >= size) {
+        throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size);
+      }
+      return columns[i];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+}
@@ -27,11 +27,16 @@
 package com.rapiddweller.jdbacl.model;
 
 import com.rapiddweller.common.Named;
+import com.rapiddweller.common.OrderedSet;
 import com.rapiddweller.common.collection.OrderedNameMap;
 import com.rapiddweller.common.exception.ExceptionFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a JDBC catalog.<br/><br/>
@@ -41,6 +46,8 @@
 public class DBCatalog extends AbstractCompositeDBObject<DBSchema> implements Named {
 
   final OrderedNameMap<DBSchema> schemas;
+  private final NameIndex index;
+  private final StructureCache<List<DBTable>> tableList;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -54,10 +61,12 @@ public DBCatalog(String name) {
 
   public DBCatalog(String name, Database owner) {
     super(name, "catalog", owner);
+    this.schemas = OrderedNameMap.createCaseIgnorantMap();
+    this.index = new NameIndex();
+    this.tableList = new StructureCache<>(this::collectTables);
     if (owner != null) {
       owner.addCatalog(this);
     }
-    this.schemas = OrderedNameMap.createCaseIgnorantMap();
   }
 
   // properties ------------------------------------------------------------------------------------------------------
@@ -108,35 +117,65 @@ public DBSchema getSchema(String schemaName) {
   }
 
   public void addSchema(DBSchema schema) {
-    schemas.put(schema.getName(), schema);
+    DBSchema previous = schemas.put(schema.getName(), schema);
+    if (previous != null && previous != schema) {
+      schemaRemoved(previous);
+    }
     schema.setOwner(this);
+    index.addSchema(schema);
+    tableList.invalidate();
+    if (getDatabase() != null) {
+      getDatabase().schemaAdded(schema);
+    }
   }
 
   public void removeSchema(DBSchema schema) {
-    schemas.remove(schema.getName());
+    // remove by the map's own key, since the case-ignorant map does not normalize the key on removal
+    Map.Entry<String, DBSchema> entry = schemas.getEntry(schema.getName());
+    if (entry != null && entry.getValue() == schema) {
+      schemas.remove(entry.getKey());
+      schemaRemoved(schema);
+    }
+  }
+
+  private void schemaRemoved(DBSchema schema) {
+    index.removeSchema(schema);
+    tableList.invalidate();
+    if (getDatabase() != null) {
+      getDatabase().schemaRemoved(schema);
+    }
   }
 
   // table operations ------------------------------------------------------------------------------------------------
 
+  /** @return a new list of the tables of all schemas, copied from the {@link #getUnmodifiableTables()} */
   public List<DBTable> getTables() {
-    List<DBTable> tables = new ArrayList<>();
+    return new ArrayList<>(getUnmodifiableTables());
+  }
+
+  /** @return an unmodifiable list of the tables of all schemas, which is cached until the next structural change,
+   *  so repeated calls do not copy anything */
+  public List<DBTable> getUnmodifiableTables() {
+    return tableList.get();
+  }
+
+  private List<DBTable> collectTables() {
+    List<DBTable> result = new ArrayList<>();
     for (DBSchema schema : getSchemas()) {
-      tables.addAll(schema.getTables());
+      result.addAll(schema.getTables());
     }
-    return tables;
+    return Collections.unmodifiableList(result);
   }
 
   public DBTable getTable(String name) {
     return getTable(name, true);
   }
 
+  /** Looks up a table by its plain name or by its qualified name ('schema.table' or 'catalog.schema.table'). */
   public DBTable getTable(String name, boolean required) {
-    for (DBSchema schema : getSchemas()) {
-      for (DBTable table : schema.getTables()) {
-        if (table.getName().equals(name)) {
-          return table;
-        }
-      }
+    DBTable table = index.getTable(name);
+    if (table != null) {
+      return table;
     }
     if (required) {
       throw ExceptionFactory.getInstance().objectNotFound("Table '" + name + "'");
@@ -150,6 +189,59 @@ public void removeTable(String tableName) {
     table.getSchema().removeTable(table);
   }
 
+  void tableAdded(DBTable table, DBSchema schema) {
+    index.addTable(table, schema);
+    tableList.invalidate();
+    if (getDatabase() != null) {
+      getDatabase().tableAdded(table, schema);
+    }
+  }
+
+  void tableRemoved(DBTable table, DBSchema schema) {
+    index.removeTable(table, schema);
+    tableList.invalidate();
+    if (getDatabase() != null) {
+      getDatabase().tableRemoved(table, schema);
+    }
+  }
+
+  // referrer derivation ---------------------------------------------------------------------------------------------
+
+  /** Tells if the foreign keys of all tables are present in the model. */
+  boolean areFKsAvailable() {
+    for (DBTable table : getTables()) {
+      if (!table.areFKsAvailable()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Derives the referrers of all tables from the foreign keys of the catalog in a single pass.
+   *  Tables whose referrers are present already keep them, since they are maintained on foreign key changes. */
+  synchronized void deriveReferrers() {
+    // the referrers are collected before they are published, so that concurrent readers never see a partial set
+    Map<DBTable, Set<DBTable>> pending = new IdentityHashMap<>();
+    for (DBTable table : getTables()) {
+      if (table.areReferrersImported()) {
+        pending.put(table, new OrderedSet<>());
+      }
+    }
+    for (DBTable table : getTables()) {
+      for (DBForeignKeyConstraint fk : table.getForeignKeyConstraints()) {
+        Set<DBTable> referrers = pending.get(fk.getRefereeTable());
+        if (referrers != null) {
+          referrers.add(table);
+        }
+      }
+    }
+    for (Map.Entry<DBTable, Set<DBTable>> entry : pending.entrySet()) {
+      entry.getKey().setDerivedReferrers(entry.getValue());
+    }
+  }
+
+  // sequence operations ---------------------------------------------------------------------------------------------
+
   public List<DBSequence> getSequences() {
     List<DBSequence> sequences = new ArrayList<>();
     for (DBSchema schema : getSchemas()) {
@@ -158,4 +250,26 @@ public List<DBSequence> getSequences() {
     return sequences;
   }
 
+  /** Looks up a sequence by its plain name or by its qualified name ('schema.sequence' or 'catalog.schema.sequence'). */
+  public DBSequence getSequence(String name) {
+    if (getDatabase() != null) {
+      getDatabase().haveSequencesImported();
+    }
+    return index.getSequence(name);
+  }
+
+  void sequenceAdded(DBSequence sequence, DBSchema schema) {
+    index.addSequence(sequence, schema);
+    if (getDatabase() != null) {
+      getDatabase().sequenceAdded(sequence, schema);
+    }
+  }
+
+  void sequenceRemoved(DBSequence sequence, DBSchema schema) {
+    index.removeSequence(sequence, schema);
+    if (getDatabase() != null) {
+      getDatabase().sequenceRemoved(sequence, schema);
+    }
+  }
+
 }
@@ -49,7 +49,8 @@ public class DBColumn extends AbstractDBTableComponent {
   protected String defaultValue;
   protected boolean versionColumn;
 
-  protected final List<DBUniqueConstraint> ukConstraints; // constraints may be unnamed, so a Map does not make sense
+  // constraints may be unnamed, so a Map does not make sense. Most columns have none or one, so it grows from zero
+  protected final List<DBUniqueConstraint> ukConstraints;
   protected DBNotNullConstraint notNullConstraint;
 
   // constructors ----------------------------------------------------------------------------------------------------
@@ -87,7 +88,7 @@ public DBColumn(String name, DBTable table, DBDataType type, Integer size, Integ
     this.fractionDigits = fractionDigits;
     this.doc = null;
     this.defaultValue = null;
-    this.ukConstraints = new ArrayList<>();
+    this.ukConstraints = new ArrayList<>(0);
     this.notNullConstraint = null;
     this.versionColumn = false;
   }
@@ -31,10 +31,13 @@
 
 import java.sql.Types;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Represents a database column type.<br/><br/>
+ * Represents a database column type.
+ * Instances are flyweights which are shared by all columns of the same type, even across databases.<br/><br/>
  * Created: 06.01.2007 10:12:29
  * @author Volker Bergmann
  */
@@ -133,8 +136,9 @@ public class DBDataType implements Named {
       "INTERVAL", Types.OTHER // ANSI SQL
   );
 
-  private static final HashMap<TypeDescriptor, DBDataType> INSTANCES_BY_TYPE_AND_NAME = new HashMap<>();
-  private static final HashMap<String, DBDataType> INSTANCES_BY_NAME = new HashMap<>();
+  // the registries are accessed concurrently by parallel and lazy imports
+  private static final Map<TypeDescriptor, DBDataType> INSTANCES_BY_TYPE_AND_NAME = new ConcurrentHashMap<>();
+  private static final Map<String, DBDataType> INSTANCES_BY_NAME = new ConcurrentHashMap<>();
   private final String name;
   private final int jdbcType;
 
@@ -157,12 +161,15 @@ public static DBDataType getInstance(int jdbcType, String name) {
     TypeDescriptor descriptor = new TypeDescriptor(jdbcType, name.toUpperCase());
     DBDataType result = INSTANCES_BY_TYPE_AND_NAME.get(descriptor);
     if (result == null) {
-      result = new DBDataType(jdbcType, name);
-      INSTANCES_BY_TYPE_AND_NAME.put(descriptor, result);
-      if (result.jdbcType != descriptor.jdbcType) {
-        // since some DBs return improver types, we might have mapped it to another JDBC type,
-        // so let's store it with both values to ensure consistency of the 'outside' view with the 'inside'.
-        INSTANCES_BY_TYPE_AND_NAME.put(new TypeDescriptor(jdbcType, name), result);
+      DBDataType candidate = new DBDataType(jdbcType, name);
+      result = INSTANCES_BY_TYPE_AND_NAME.putIfAbsent(descriptor, candidate);
+      if (result == null) {
+        result = candidate;
+        if (result.jdbcType != descriptor.jdbcType) {
+          // since some DBs return improver types, we might have mapped it to another JDBC type,
+          // so let's store it with both values to ensure consistency of the 'outside' view with the 'inside'.
+          INSTANCES_BY_TYPE_AND_NAME.putIfAbsent(new TypeDescriptor(jdbcType, name), result);
+        }
       }
     }
     return result;
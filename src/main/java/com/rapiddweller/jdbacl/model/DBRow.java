@@ -22,12 +22,21 @@
 package com.rapiddweller.jdbacl.model;
 
 import com.rapiddweller.common.Assert;
-import com.rapiddweller.common.collection.OrderedNameMap;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
- * Represents a row in a database table.<br/><br/>
+ * Represents a row in a database table.
+ * The cell values are held in an array which is described by a {@link DBRowLayout}.
+ * Rows of a query share the layout of the query, rows created with {@link #DBRow(DBTable)}
+ * get a private layout which grows with the cells that are set.
+ * For reading numeric columns without boxing each value, use a {@link com.rapiddweller.jdbacl.ColumnBatchIterator}.<br/><br/>
  * Created: 23.07.2010 07:29:14
  * @author Volker Bergmann
  * @since 0.6.3
@@ -35,11 +44,24 @@
 public class DBRow {
 
   DBTable table;
-  final OrderedNameMap<Object> cells;
+  private DBRowLayout layout;
+  private boolean sharedLayout;
+  private Object[] values;
 
   public DBRow(DBTable table) {
     this.table = table;
-    this.cells = OrderedNameMap.createCaseIgnorantMap();
+    this.layout = DBRowLayout.createPrivate();
+    this.sharedLayout = false;
+    this.values = new Object[0];
+  }
+
+  /** Creates a row with a shared layout, taking ownership of the values array. */
+  public DBRow(DBTable table, DBRowLayout layout, Object[] values) {
+    Assert.equals(layout.size(), values.length, "mismatch of column and value counts");
+    this.table = table;
+    this.layout = layout;
+    this.sharedLayout = true;
+    this.values = values;
   }
 
   public DBTable getTable() {
@@ -51,15 +73,25 @@ public DBRow withTable(DBTable table) {
     return this;
   }
 
+  public DBRowLayout getLayout() {
+    return layout;
+  }
+
+  /** @return a live view of the cells by column name */
   public Map<String, Object> getCells() {
-    return cells;
+    return new CellMap();
   }
 
   public Object[] getPKValues() {
-    return getCellValues(table.getPKColumnNames());
+    int[] indexes = layout.pkIndexes(table);
+    return (indexes != null ? getCellValues(indexes) : getCellValues(table.getPKColumnNames()));
   }
 
   public Object getPKValue() {
+    int[] indexes = layout.pkIndexes(table);
+    if (indexes != null) {
+      return (indexes.length == 1 ? getCellValue(indexes[0]) : getCellValues(indexes));
+    }
     String[] columnNames = table.getPKColumnNames();
     if (columnNames.length == 1) {
       return getCellValue(columnNames[0]);
@@ -69,6 +101,10 @@ public Object getPKValue() {
   }
 
   public Object getFKValue(DBForeignKeyConstraint fk) {
+    int[] indexes = layout.fkIndexes(fk);
+    if (indexes != null) {
+      return (indexes.length == 1 ? getCellValue(indexes[0]) : getCellValues(indexes));
+    }
     String[] columnNames = fk.getColumnNames();
     if (columnNames.length == 1) {
       return getCellValue(columnNames[0]);
@@ -88,7 +124,8 @@ public void setFKValue(DBForeignKeyConstraint fkConstraint, Object fkValue) {
   }
 
   public Object[] getFKComponents(DBForeignKeyConstraint fk) {
-    return getCellValues(fk.getColumnNames());
+    int[] indexes = layout.fkIndexes(fk);
+    return (indexes != null ? getCellValues(indexes) : getCellValues(fk.getColumnNames()));
   }
 
   public void setCellValues(String[] columnNames, Object[] cellValues) {
@@ -101,22 +138,50 @@ public void setCellValues(String[] columnNames, Object[] cellValues) {
   private Object[] getCellValues(String[] columnNames) {
     Object[] result = new Object[columnNames.length];
     for (int i = 0; i < columnNames.length; i++) {
-      result[i] = cells.get(columnNames[i]);
+      result[i] = getCellValue(columnNames[i]);
+    }
+    return result;
+  }
+
+  private Object[] getCellValues(int[] indexes) {
+    Object[] result = new Object[indexes.length];
+    for (int i = 0; i < indexes.length; i++) {
+      result[i] = getCellValue(indexes[i]);
     }
     return result;
   }
 
   public Object getCellValue(String columnName) {
-    return cells.get(columnName);
+    return getCellValue(layout.indexOf(columnName));
+  }
+
+  /** @return the value of the cell with the given index in the {@link #getLayout() layout} or null if it is -1 */
+  public Object getCellValue(int index) {
+    return (index >= 0 ? values[index] : null);
+  }
+
+  public boolean isNull(String columnName) {
+    return (getCellValue(columnName) == null);
   }
 
   public void setCellValue(String columnName, Object value) {
-    cells.put(columnName, value);
+    int index = layout.indexOf(columnName);
+    if (index < 0) {
+      if (sharedLayout) {
+        layout = layout.privateCopy();
+        sharedLayout = false;
+      }
+      index = layout.add(columnName);
+      if (index >= values.length) {
+        values = Arrays.copyOf(values, layout.size() + 4);
+      }
+    }
+    values[index] = value;
   }
 
   @Override
   public String toString() {
-    return table.getName() + cells.values();
+    return table.getName() + Arrays.toString(Arrays.copyOf(values, layout.size()));
   }
 
   public void setPKValue(Object newPK) {
@@ -128,4 +193,61 @@ public void setPKValue(Object newPK) {
     }
   }
 
+  /** Map view of the cells, which supports reading, adding and updating cells. */
+  private class CellMap extends AbstractMap<String, Object> {
+
+    @Override
+    public Object get(Object key) {
+      return (key instanceof String ? getCellValue((String) key) : null);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return (key instanceof String && layout.indexOf((String) key) >= 0);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+      Object previous = getCellValue(key);
+      setCellValue(key, value);
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return layout.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return new AbstractSet<Entry<String, Object>>() {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+          return new Iterator<Entry<String, Object>>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+              return index < layout.size();
+            }
+
+            @Override
+            public Entry<String, Object> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              int i = index++;
+              return new SimpleImmutableEntry<>(layout.getColumnName(i), values[i]);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return layout.size();
+        }
+      };
+    }
+  }
+
 }
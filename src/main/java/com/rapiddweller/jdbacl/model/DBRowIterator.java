@@ -24,16 +24,20 @@
 import com.rapiddweller.common.HeavyweightIterator;
 import com.rapiddweller.common.LogCategoriesConstants;
 import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.BatchingSpliterator;
 import com.rapiddweller.jdbacl.DBUtil;
 import com.rapiddweller.jdbacl.ResultSetIterator;
+import com.rapiddweller.jdbacl.StatementCache;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.stream.Stream;
 
 /**
  * Iterates through the rows of a database.<br/><br/>
@@ -49,20 +53,83 @@ public class DBRowIterator implements HeavyweightIterator<DBRow> {
   private ResultSet resultSet;
   private final ResultSetMetaData resultSetMetaData;
   private final ResultSetIterator resultSetIterator;
+  private DBRowLayout layout;
+  private final String sql;
+  private final Connection connection;
+  private final PreparedStatement cachedStatement;
   private boolean closed;
 
   public DBRowIterator(DBTable table, Connection connection, String whereClause) {
+    this(table, connection, whereClause, null);
+  }
+
+  /** @param orderBy a comma-separated list of columns by which to order the rows, or null */
+  public DBRowIterator(DBTable table, Connection connection, String whereClause, String orderBy) {
+    this(table, connection, renderQuery(table, whereClause, orderBy), 0); // renders 'SELECT * FROM <table>'
+  }
+
+  /** Executes a complete query for rows of the table, returning at most maxRows rows if it is positive. */
+  static DBRowIterator forQuery(DBTable table, Connection connection, String sql, int maxRows) {
+    return new DBRowIterator(table, connection, sql, maxRows);
+  }
+
+  /** Iterates the rows matching a where clause with '?' parameters, reusing the prepared statement
+   *  of the connection's {@link StatementCache}. */
+  public static DBRowIterator withParameters(DBTable table, Connection connection, String whereClause,
+                                             Object... params) {
+    return forParameterizedQuery(table, connection, renderQuery(table, whereClause, null), params);
+  }
+
+  /** Executes a complete query for rows of the table with '?' parameters, reusing the prepared statement
+   *  of the connection's {@link StatementCache}. */
+  static DBRowIterator forParameterizedQuery(DBTable table, Connection connection, String sql, Object... params) {
+    try {
+      PreparedStatement statement = DBUtil.acquireStatement(connection, sql);
+      try {
+        DBUtil.bindParameters(statement, params);
+        return new DBRowIterator(table, statement.executeQuery(), sql, connection, statement);
+      } catch (SQLException | RuntimeException e) {
+        DBUtil.releaseStatement(connection, sql, statement);
+        throw e;
+      }
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Error querying table " + table, e);
+    }
+  }
+
+  private DBRowIterator(DBTable table, Connection connection, String sql, int maxRows) {
+    this(table, executeQuery(connection, sql, maxRows), sql, null, null);
+  }
+
+  private DBRowIterator(DBTable table, ResultSet resultSet, String sql,
+                        Connection connection, PreparedStatement cachedStatement) {
     this.table = table;
-    String sql = renderQuery(table, whereClause); // renders 'SELECT * FROM <table>'
+    this.resultSet = resultSet;
+    this.sql = sql;
+    this.connection = connection;
+    this.cachedStatement = cachedStatement;
     try {
-      Statement statement = connection.createStatement(
-          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
-      statement.setFetchSize(1000);
-      this.resultSet = statement.executeQuery(sql);
       this.resultSetMetaData = resultSet.getMetaData();
       this.resultSetIterator = new ResultSetIterator(resultSet, sql);
       this.closed = false;
-      // Statement must remain open and will be closed indirectly in the close() method
+      // Statement must remain open and will be closed or released in the close() method
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Meta data query failed", e);
+    }
+  }
+
+  private static ResultSet executeQuery(Connection connection, String sql, int maxRows) {
+    sqlLogger.debug(sql);
+    try {
+      Statement statement = connection.createStatement(
+          ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+      if (maxRows > 0) {
+        statement.setMaxRows(maxRows);
+        statement.setFetchSize(Math.min(maxRows, 1000));
+      } else {
+        statement.setFetchSize(1000);
+      }
+      return statement.executeQuery(sql);
     } catch (SQLException e) {
       throw ExceptionFactory.getInstance().dbQueryFailed("Meta data query failed", e);
     }
@@ -70,6 +137,7 @@ public DBRowIterator(DBTable table, Connection connection, String whereClause) {
 
   public DBRowIterator withTable(DBTable table) {
     this.table = table;
+    this.layout = null;
     return this;
   }
 
@@ -89,18 +157,38 @@ public boolean hasNext() {
   public DBRow next() {
     try {
       resultSetIterator.next();
-      DBRow row = new DBRow(table);
-      int columnCount = resultSetMetaData.getColumnCount();
-      for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
-        String columnName = resultSetMetaData.getColumnName(columnIndex);
-        row.setCellValue(columnName, resultSet.getObject(columnIndex));
+      DBRowLayout rowLayout = getLayout();
+      Object[] values = new Object[rowLayout.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = resultSet.getObject(i + 1);
       }
-      return row;
+      return new DBRow(table, rowLayout, values);
     } catch (SQLException e) {
       throw ExceptionFactory.getInstance().dbQueryFailed("Error querying table " + table, e);
     }
   }
 
+  /** @return a {@link Stream} of the remaining rows, which closes the statement on {@link Stream#close()} */
+  public Stream<DBRow> stream() {
+    return BatchingSpliterator.stream(this, BatchingSpliterator.DEFAULT_BATCH_SIZE);
+  }
+
+  /** @return the column layout which is shared by all rows of this iterator */
+  public DBRowLayout getLayout() {
+    if (layout == null) {
+      try {
+        String[] columnNames = new String[resultSetMetaData.getColumnCount()];
+        for (int i = 0; i < columnNames.length; i++) {
+          columnNames[i] = resultSetMetaData.getColumnName(i + 1);
+        }
+        layout = DBRowLayout.of(table, columnNames);
+      } catch (SQLException e) {
+        throw ExceptionFactory.getInstance().dbQueryFailed("Error reading result set meta data of table " + table, e);
+      }
+    }
+    return layout;
+  }
+
   @Override
   public void remove() {
     throw ExceptionFactory.getInstance().programmerUnsupported("remove() is not supported by " + getClass());
@@ -109,18 +197,28 @@ public void remove() {
   @Override
   public void close() {
     if (!closed) {
-      DBUtil.closeResultSetAndStatement(resultSet);
+      if (cachedStatement != null) {
+        try {
+          DBUtil.close(resultSet);
+        } finally {
+          DBUtil.releaseStatement(connection, sql, cachedStatement);
+        }
+      } else {
+        DBUtil.closeResultSetAndStatement(resultSet);
+      }
       resultSet = null;
       closed = true;
     }
   }
 
-  private String renderQuery(DBTable table, String whereClause) {
+  private static String renderQuery(DBTable table, String whereClause, String orderBy) {
     String sql = "SELECT * FROM " + table.getName();
     if (whereClause != null) {
       sql += " WHERE " + whereClause;
     }
-    sqlLogger.debug(sql);
+    if (orderBy != null) {
+      sql += " ORDER BY " + orderBy;
+    }
     return sql;
   }
 
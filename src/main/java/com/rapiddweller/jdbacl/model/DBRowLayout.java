@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps the column names of {@link DBRow}s to the indexes of their cell values.
+ * A layout is determined once for a query and shared by all rows it returns, so that each row
+ * only needs an array of cell values. Name lookup is case-insensitive. For the primary key and
+ * the foreign keys of the table, the cell indexes are computed once per layout.
+ * Layouts created by {@link #of(DBTable, String[])} are immutable and can be shared by threads.<br/><br/>
+ * Created: 17.10.2026 17:24:32
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public final class DBRowLayout {
+
+  private static final String[] NO_NAMES = new String[0];
+  private static final int[] NO_INDEXES = new int[0];
+
+  private final DBTable table;
+  private String[] columnNames;
+  private int size;
+  private final Map<String, Integer> indexes;
+  // key indexes are determined on first use, so that plain scans do not require the table's constraints
+  private volatile int[] pkIndexes;
+  private volatile Map<DBForeignKeyConstraint, int[]> fkIndexes;
+
+  private DBRowLayout(DBTable table, String[] columnNames) {
+    this.table = table;
+    this.columnNames = columnNames;
+    this.size = columnNames.length;
+    this.indexes = new HashMap<>(Math.max(16, columnNames.length * 2));
+    for (int i = 0; i < columnNames.length; i++) {
+      indexes.put(key(columnNames[i]), i);
+    }
+  }
+
+  /** Creates a shared layout for rows of the given table with the given columns in the given order. */
+  public static DBRowLayout of(DBTable table, String[] columnNames) {
+    return new DBRowLayout(table, columnNames.clone());
+  }
+
+  /** Creates an empty layout which is extended by a single {@link DBRow} on demand. */
+  static DBRowLayout createPrivate() {
+    return new DBRowLayout(null, NO_NAMES);
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public DBTable getTable() {
+    return table;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public String getColumnName(int index) {
+    return columnNames[index];
+  }
+
+  public String[] getColumnNames() {
+    return Arrays.copyOf(columnNames, size);
+  }
+
+  /** @return the index of the column with the given name or -1 if there is no such column */
+  public int indexOf(String columnName) {
+    if (columnName == null) {
+      return -1;
+    }
+    Integer index = indexes.get(key(columnName));
+    return (index != null ? index : -1);
+  }
+
+  // key indexes -----------------------------------------------------------------------------------------------------
+
+  /** @return the cell indexes of the primary key columns of the table, -1 for columns which are not present,
+   *  or null if the layout was not created for the table */
+  int[] pkIndexes(DBTable rowTable) {
+    if (table == null || rowTable != table) {
+      return null;
+    }
+    int[] result = pkIndexes;
+    if (result == null) {
+      result = indexesOf(table.getPKColumnNames());
+      pkIndexes = result;
+    }
+    return result;
+  }
+
+  /** @return the cell indexes of the foreign key's columns, -1 for columns which are not present,
+   *  or null if the foreign key was not known when the layout was created */
+  int[] fkIndexes(DBForeignKeyConstraint fk) {
+    if (table == null) {
+      return null;
+    }
+    Map<DBForeignKeyConstraint, int[]> result = fkIndexes;
+    if (result == null) {
+      result = new IdentityHashMap<>();
+      for (DBForeignKeyConstraint tableFK : table.getForeignKeyConstraints()) {
+        result.put(tableFK, indexesOf(tableFK.getColumnNames()));
+      }
+      fkIndexes = result;
+    }
+    return result.get(fk);
+  }
+
+  int[] indexesOf(String[] names) {
+    if (names.length == 0) {
+      return NO_INDEXES;
+    }
+    int[] result = new int[names.length];
+    for (int i = 0; i < names.length; i++) {
+      result[i] = indexOf(names[i]);
+    }
+    return result;
+  }
+
+  // private layouts -------------------------------------------------------------------------------------------------
+
+  /** Appends a column to a private layout. Shared layouts must not be modified. */
+  int add(String columnName) {
+    if (size == columnNames.length) {
+      columnNames = Arrays.copyOf(columnNames, Math.max(4, size * 2));
+    }
+    columnNames[size] = columnName;
+    indexes.put(key(columnName), size);
+    return size++;
+  }
+
+  /** @return a private copy of this layout, which can be extended */
+  DBRowLayout privateCopy() {
+    return new DBRowLayout(null, getColumnNames());
+  }
+
+  private static String key(String columnName) {
+    return columnName.toUpperCase(Locale.ROOT);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(getColumnNames());
+  }
+
+}
@@ -30,6 +30,7 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a JDBC database schema.<br/><br/>
@@ -52,14 +53,14 @@ public DBSchema(String name) {
 
   public DBSchema(String name, DBCatalog catalog) {
     super(name, "schema");
-    if (catalog != null) {
-      catalog.addSchema(this);
-    }
     this.components = new ArrayList<>();
     this.tables = OrderedNameMap.createCaseIgnorantMap();
     this.sequences = OrderedNameMap.createCaseIgnorantMap();
     this.triggers = OrderedNameMap.createCaseIgnorantMap();
     this.packages = OrderedNameMap.createCaseIgnorantMap();
+    if (catalog != null) {
+      catalog.addSchema(this);
+    }
   }
 
   // properties ------------------------------------------------------------------------------------------------------
@@ -112,12 +113,26 @@ public DBTable getTable(String tableName) {
   }
 
   public void addTable(DBTable table) {
-    tables.put(table.getName(), table);
+    DBTable previous = tables.put(table.getName(), table);
     components.add(table);
+    DBCatalog catalog = getCatalog();
+    if (catalog != null) {
+      if (previous != null && previous != table) {
+        catalog.tableRemoved(previous, this);
+      }
+      catalog.tableAdded(table, this);
+    }
   }
 
   public void removeTable(DBTable table) {
-    tables.remove(table.getName());
+    // remove by the map's own key, since the case-ignorant map does not normalize the key on removal
+    Map.Entry<String, DBTable> entry = tables.getEntry(table.getName());
+    if (entry != null && entry.getValue() == table) {
+      tables.remove(entry.getKey());
+      if (getCatalog() != null) {
+        getCatalog().tableRemoved(table, this);
+      }
+    }
     components.remove(table);
   }
 
@@ -135,8 +150,20 @@ public void addSequence(DBSequence sequence) {
   }
 
   public void receiveSequence(DBSequence sequence) {
-    this.sequences.put(sequence.getName(), sequence);
+    DBSequence previous = this.sequences.put(sequence.getName(), sequence);
     components.add(sequence);
+    DBCatalog catalog = getCatalog();
+    if (catalog != null) {
+      if (previous != null && previous != sequence) {
+        catalog.sequenceRemoved(previous, this);
+      }
+      catalog.sequenceAdded(sequence, this);
+    }
+  }
+
+  /** Provides the sequences which have been added so far, without triggering a sequence import. */
+  List<DBSequence> getReceivedSequences() {
+    return sequences.values();
   }
 
   // trigger operations ----------------------------------------------------------------------------------------------
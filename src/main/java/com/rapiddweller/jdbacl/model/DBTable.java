@@ -28,9 +28,7 @@
 
 import com.rapiddweller.common.ArrayFormat;
 import com.rapiddweller.common.Assert;
-import com.rapiddweller.common.CollectionUtil;
 import com.rapiddweller.common.HeavyweightIterator;
-import com.rapiddweller.common.NameUtil;
 import com.rapiddweller.common.NullSafeComparator;
 import com.rapiddweller.common.OrderedSet;
 import com.rapiddweller.common.StringUtil;
@@ -41,6 +39,7 @@
 import com.rapiddweller.common.iterator.ConvertingIterator;
 import com.rapiddweller.common.iterator.TabularIterator;
 import com.rapiddweller.jdbacl.ArrayResultSetIterator;
+import com.rapiddweller.jdbacl.CompiledResultSetConverter;
 import com.rapiddweller.jdbacl.DBUtil;
 import com.rapiddweller.jdbacl.DatabaseDialect;
 import com.rapiddweller.jdbacl.QueryIterator;
@@ -57,10 +56,16 @@
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
- * Represents a database table.<br/><br/>
+ * Represents a database table.
+ * The table details are imported lazily on first access, each kind of detail by a single thread,
+ * so that a table can be shared by concurrent readers.<br/><br/>
  * Created: 06.01.2007 08:58:49
  * @author Volker Bergmann
  */
@@ -68,18 +73,28 @@ public class DBTable extends AbstractCompositeDBObject<DBTableComponent>
     implements ContainerComponent, MultiColumnObject, Dependent<DBTable> {
 
   private static final String[] EMPTY_ARRAY = new String[0];
+  /** The number of primary keys queried in one statement by {@link #queryByPKs(Collection, Connection, DatabaseDialect)} */
+  public static final int DEFAULT_PK_CHUNK_SIZE = 100;
 
   private final TableType tableType;
   private final JDBCDBImporter importer;
 
-  private OrderedNameMap<DBColumn> columns;
-  private boolean pkImported;
+  private ColumnList columns;
   private DBPrimaryKeyConstraint pk;
+  // unique constraints, indexes and foreign keys are allocated on the first addition, null means 'none'
   private OrderedSet<DBUniqueConstraint> uniqueConstraints;
   private OrderedSet<DBForeignKeyConstraint> foreignKeyConstraints;
   private OrderedNameMap<DBIndex> indexes;
-  private Set<DBTable> referrers;
+  private volatile Set<DBTable> referrers;
   private List<DBCheckConstraint> checkConstraints;
+  private volatile TableDetailsLoader detailsLoader;
+
+  private final LoadState columnsState;
+  private final LoadState pkState;
+  private final LoadState indexesState;
+  private final LoadState fksState;
+  private final LoadState referrersState;
+  private final LoadState detailsState;
 
   public DBTable(String name) {
     this(name, TableType.TABLE, null);
@@ -95,7 +110,12 @@ public DBTable(String name, TableType type, String doc, DBSchema schema, JDBCDBI
     this.name = name;
     this.tableType = type;
     this.doc = doc;
-    this.pkImported = false;
+    this.columnsState = new LoadState(false);
+    this.pkState = new LoadState(false);
+    this.indexesState = new LoadState(false);
+    this.fksState = new LoadState(false);
+    this.referrersState = new LoadState(false);
+    this.detailsState = new LoadState(true);
     if (schema != null) {
       schema.addTable(this);
     }
@@ -112,10 +132,16 @@ public List<DBTableComponent> getComponents() {
       result.add(pk);
     }
     haveIndexesImported();
-    result.addAll(uniqueConstraints);
-    result.addAll(indexes.values());
+    if (uniqueConstraints != null) {
+      result.addAll(uniqueConstraints);
+    }
+    if (indexes != null) {
+      result.addAll(indexes.values());
+    }
     haveFKsImported();
-    result.addAll(foreignKeyConstraints);
+    if (foreignKeyConstraints != null) {
+      result.addAll(foreignKeyConstraints);
+    }
     return result;
   }
 
@@ -138,13 +164,24 @@ public TableType getTableType() {
     return tableType;
   }
 
+  /** Discards the columns, primary key, unique constraints, indexes and foreign keys of the table,
+   *  so that they are imported again on the next access. */
+  public void resetDetails() {
+    setDetailsLoader(null);
+    setColumnsImported(false);
+    this.pk = null;
+    setPKImported(false);
+    setIndexesImported(false);
+    setFKsImported(false);
+  }
+
 
   // column methods --------------------------------------------------------------------------------------------------
 
   @Override
   public String[] getColumnNames() {
     haveColumnsImported();
-    return CollectionUtil.toArray(NameUtil.getNames(columns.values()), String.class);
+    return columns.names();
   }
 
   public List<DBColumn> getColumns() {
@@ -182,48 +219,58 @@ public void addColumn(DBColumn column) {
   }
 
   public void receiveColumn(DBColumn column) {
+    haveDetailsLoaded();
     if (columns == null) {
-      columns = OrderedNameMap.createCaseIgnorantMap();
+      columns = new ColumnList();
+      columnsState.setLoaded(true);
     }
     column.setTable(this);
-    columns.put(column.getName(), column);
+    columns.put(column);
   }
 
   public boolean areColumnsImported() {
-    return (columns != null);
+    haveDetailsLoaded();
+    return columnsState.isLoaded();
   }
 
   public void setColumnsImported(boolean columnsImported) {
     if (columnsImported) {
-      this.columns = OrderedNameMap.<DBColumn>createCaseIgnorantMap();
+      this.columns = new ColumnList();
     } else {
       this.columns = null;
     }
+    columnsState.setLoaded(columnsImported);
   }
 
   public void haveColumnsImported() {
-    if (columns == null) {
-      columns = OrderedNameMap.createCaseIgnorantMap();
-      if (importer != null) {
-        importer.importColumnsOfTable(this, new ColReceiver());
-      }
+    haveDetailsLoaded();
+    columnsState.load(this::importColumns);
+  }
+
+  private void importColumns() {
+    columns = new ColumnList();
+    if (importer != null) {
+      importer.importColumnsOfTable(this, new ColReceiver());
     }
+    columns.trimToSize();
   }
 
-  class ColReceiver implements JDBCDBImporter.ColumnReceiver {
+  /** Adds received columns to the table they are reported for, so one instance can serve many tables. */
+  public static class BulkColReceiver implements JDBCDBImporter.ColumnReceiver {
     @Override
     public void receiveColumn(String columnName, DBDataType dataType,
                               Integer columnSize, Integer fractionDigits, boolean nullable,
                               String defaultValue, String comment, DBTable table) {
       DBColumn column = new DBColumn(columnName, table, dataType, columnSize, fractionDigits);
-      column.setTable(DBTable.this);
-      columns.put(column.getName(), column);
       column.setDoc(comment);
       column.setNullable(nullable);
       column.setDefaultValue(defaultValue);
     }
   }
 
+  class ColReceiver extends BulkColReceiver {
+  }
+
 
   // primary key -----------------------------------------------------------------------------------------------------
 
@@ -243,30 +290,34 @@ public String[] getPKColumnNames() {
   }
 
   public boolean isPKImported() {
-    return pkImported;
+    haveDetailsLoaded();
+    return pkState.isLoaded();
   }
 
   public void setPKImported(boolean pkImported) {
-    this.pkImported = pkImported;
+    pkState.setLoaded(pkImported);
   }
 
   public void havePKImported() {
-    if (!isPKImported()) {
-      haveColumnsImported();
-      if (importer != null) {
-        importer.importPrimaryKeyOfTable(this, new PKRec());
-      }
-      pkImported = true;
+    haveDetailsLoaded();
+    pkState.load(this::importPK);
+  }
+
+  private void importPK() {
+    haveColumnsImported();
+    if (importer != null) {
+      importer.importPrimaryKeyOfTable(this, new PKRec());
     }
   }
 
-  class PKRec implements JDBCDBImporter.PKReceiver {
+  /** Sets received primary keys on the table they are reported for, so one instance can serve many tables. */
+  public static class BulkPKRec implements JDBCDBImporter.PKReceiver {
 
     @Override
     public void receivePK(String pkName, boolean deterministicName, String[] columnNames, DBTable table) {
       DBPrimaryKeyConstraint pk = new DBPrimaryKeyConstraint(null, pkName, deterministicName, columnNames);
-      DBTable.this.pk = pk;
-      pk.setTable(DBTable.this);
+      table.pk = pk;
+      pk.setTable(table);
       for (String columnName : columnNames) {
         DBColumn column = table.getColumn(columnName);
         column.addUkConstraint(pk);
@@ -275,12 +326,15 @@ public void receivePK(String pkName, boolean deterministicName, String[] columnN
 
   }
 
+  class PKRec extends BulkPKRec {
+  }
+
 
   // uniqueConstraint operations -------------------------------------------------------------------------------------
 
   public Set<DBUniqueConstraint> getUniqueConstraints(boolean includePK) {
     haveIndexesImported();
-    Set<DBUniqueConstraint> result = new HashSet<>(uniqueConstraints);
+    Set<DBUniqueConstraint> result = (uniqueConstraints != null ? new HashSet<>(uniqueConstraints) : new HashSet<>());
     if (includePK && pk != null) {
       result.add(pk);
     }
@@ -292,9 +346,11 @@ public DBUniqueConstraint getUniqueConstraint(String[] columnNames) {
     if (pk != null && StringUtil.equalsIgnoreCase(columnNames, pk.getColumnNames())) {
       return pk;
     }
-    for (DBUniqueConstraint constraint : uniqueConstraints) {
-      if (StringUtil.equalsIgnoreCase(columnNames, constraint.getColumnNames())) {
-        return constraint;
+    if (uniqueConstraints != null) {
+      for (DBUniqueConstraint constraint : uniqueConstraints) {
+        if (StringUtil.equalsIgnoreCase(columnNames, constraint.getColumnNames())) {
+          return constraint;
+        }
       }
     }
     return null;
@@ -305,9 +361,11 @@ public DBUniqueConstraint getUniqueConstraint(String name) {
     if (name.equalsIgnoreCase(pk.getName())) {
       return pk;
     }
-    for (DBUniqueConstraint constraint : uniqueConstraints) {
-      if (name.equals(constraint.getName())) {
-        return constraint;
+    if (uniqueConstraints != null) {
+      for (DBUniqueConstraint constraint : uniqueConstraints) {
+        if (name.equals(constraint.getName())) {
+          return constraint;
+        }
       }
     }
     return null;
@@ -319,12 +377,17 @@ public void addUniqueConstraint(DBUniqueConstraint uk) {
     if (uk instanceof DBPrimaryKeyConstraint) {
       setPrimaryKey((DBPrimaryKeyConstraint) uk);
     }
+    if (uniqueConstraints == null) {
+      uniqueConstraints = new OrderedSet<>();
+    }
     uniqueConstraints.add(uk);
   }
 
   public void removeUniqueConstraint(DBUniqueConstraint constraint) {
     haveIndexesImported();
-    uniqueConstraints.remove(constraint.getName());
+    if (uniqueConstraints != null) {
+      uniqueConstraints.remove(constraint.getName());
+    }
   }
 
 
@@ -332,52 +395,57 @@ public void removeUniqueConstraint(DBUniqueConstraint constraint) {
 
   public List<DBIndex> getIndexes() {
     haveIndexesImported();
-    return new ArrayList<>(indexes.values());
+    return (indexes != null ? new ArrayList<>(indexes.values()) : new ArrayList<>());
   }
 
   public DBIndex getIndex(String indexName) {
     haveIndexesImported();
-    return indexes.get(indexName);
+    return (indexes != null ? indexes.get(indexName) : null);
   }
 
   public void addIndex(DBIndex index) {
     haveIndexesImported();
     index.setTable(this);
+    if (indexes == null) {
+      indexes = OrderedNameMap.createCaseIgnorantMap();
+    }
     indexes.put(index.getName(), index);
   }
 
   public void removeIndex(DBIndex index) {
     haveIndexesImported();
-    indexes.remove(index.getName());
+    if (indexes != null) {
+      indexes.remove(index.getName());
+    }
   }
 
   private void haveIndexesImported() {
-    if (!areIndexesImported()) {
-      haveColumnsImported();
-      this.uniqueConstraints = new OrderedSet<>();
-      this.indexes = OrderedNameMap.createCaseIgnorantMap();
-      JDBCDBImporter.IndexReceiver receiver = new IdxReceiver();
-      if (importer != null) {
-        importer.importIndexesOfTable(this, false, receiver);
-      }
+    haveDetailsLoaded();
+    indexesState.load(this::importIndexes);
+  }
+
+  private void importIndexes() {
+    haveColumnsImported();
+    this.uniqueConstraints = null;
+    this.indexes = null;
+    JDBCDBImporter.IndexReceiver receiver = new IdxReceiver();
+    if (importer != null) {
+      importer.importIndexesOfTable(this, false, receiver);
     }
   }
 
   public boolean areIndexesImported() {
-    return (this.indexes != null);
+    haveDetailsLoaded();
+    return indexesState.isLoaded();
   }
 
   public void setIndexesImported(boolean indexesImported) {
-    if (indexesImported) {
-      this.uniqueConstraints = new OrderedSet<>();
-      this.indexes = OrderedNameMap.createCaseIgnorantMap();
-    } else {
-      this.uniqueConstraints = null;
-      this.indexes = null;
-    }
+    this.uniqueConstraints = null;
+    this.indexes = null;
+    indexesState.setLoaded(indexesImported);
   }
 
-  static class IdxReceiver implements JDBCDBImporter.IndexReceiver {
+  public static class IdxReceiver implements JDBCDBImporter.IndexReceiver {
     @Override
     public void receiveIndex(DBIndexInfo indexInfo, boolean deterministicName, DBTable table, DBSchema schema) {
       DBIndex index;
@@ -403,14 +471,16 @@ public void receiveIndex(DBIndexInfo indexInfo, boolean deterministicName, DBTab
 
   public Set<DBForeignKeyConstraint> getForeignKeyConstraints() {
     haveFKsImported();
-    return new HashSet<>(foreignKeyConstraints);
+    return (foreignKeyConstraints != null ? new HashSet<>(foreignKeyConstraints) : new HashSet<>());
   }
 
   public DBForeignKeyConstraint getForeignKeyConstraint(String... columnNames) {
     haveFKsImported();
-    for (DBForeignKeyConstraint fk : foreignKeyConstraints) {
-      if (StringUtil.equalsIgnoreCase(fk.getColumnNames(), columnNames)) {
-        return fk;
+    if (foreignKeyConstraints != null) {
+      for (DBForeignKeyConstraint fk : foreignKeyConstraints) {
+        if (StringUtil.equalsIgnoreCase(fk.getColumnNames(), columnNames)) {
+          return fk;
+        }
       }
     }
     throw ExceptionFactory.getInstance().objectNotFound("Table '" + name + "' has no foreign key " +
@@ -420,43 +490,101 @@ public DBForeignKeyConstraint getForeignKeyConstraint(String... columnNames) {
   public void addForeignKey(DBForeignKeyConstraint constraint) {
     haveFKsImported();
     constraint.setTable(this);
-    foreignKeyConstraints.add(constraint);
+    receiveFK(constraint);
   }
 
   public void removeForeignKeyConstraint(DBForeignKeyConstraint constraint) {
     haveFKsImported();
-    foreignKeyConstraints.remove(constraint);
+    if (foreignKeyConstraints != null && foreignKeyConstraints.remove(constraint)) {
+      fkRemoved(constraint);
+    }
   }
 
-  private void haveFKsImported() {
-    if (!areFKsImported()) {
-      haveColumnsImported();
-      havePKImported();
+  private void receiveFK(DBForeignKeyConstraint fk) {
+    if (foreignKeyConstraints == null) {
       foreignKeyConstraints = new OrderedSet<>();
-      if (importer != null) {
-        importer.importImportedKeys(this, new FKRec());
+    }
+    foreignKeyConstraints.add(fk);
+    fkAdded(fk);
+  }
+
+  /** Registers this table as referrer of the foreign key's referee if the referee's referrers are present,
+   *  otherwise they are determined when needed. */
+  private void fkAdded(DBForeignKeyConstraint fk) {
+    DBTable referee = fk.getRefereeTable();
+    Set<DBTable> refereeReferrers = (referee != null ? referee.referrers : null);
+    if (refereeReferrers != null) {
+      refereeReferrers.add(this);
+    }
+    foreignKeysChanged();
+  }
+
+  private void fkRemoved(DBForeignKeyConstraint fk) {
+    foreignKeysChanged();
+    DBTable referee = fk.getRefereeTable();
+    Set<DBTable> refereeReferrers = (referee != null ? referee.referrers : null);
+    if (refereeReferrers != null) {
+      for (DBForeignKeyConstraint other : foreignKeyConstraints) {
+        if (other.getRefereeTable() == referee) {
+          return; // the table still refers to the referee by another foreign key
+        }
       }
+      refereeReferrers.remove(this);
+    }
+  }
+
+  private void foreignKeysChanged() {
+    DBSchema schema = getSchema();
+    DBCatalog catalog = (schema != null ? schema.getCatalog() : null);
+    Database database = (catalog != null ? catalog.getDatabase() : null);
+    if (database != null) {
+      database.foreignKeysChanged();
+    }
+  }
+
+  private void haveFKsImported() {
+    haveDetailsLoaded();
+    fksState.load(this::importFKs);
+  }
+
+  private void importFKs() {
+    haveColumnsImported();
+    havePKImported();
+    foreignKeyConstraints = null;
+    if (importer != null) {
+      importer.importImportedKeys(this, new FKRec());
     }
   }
 
   public boolean areFKsImported() {
-    return (foreignKeyConstraints != null);
+    haveDetailsLoaded();
+    return fksState.isLoaded();
+  }
+
+  /** Tells if the foreign keys of the table are known without querying the database. */
+  boolean areFKsAvailable() {
+    return (importer == null || areFKsImported());
   }
 
   public void setFKsImported(boolean fksImported) {
-    this.foreignKeyConstraints = (fksImported ? new OrderedSet<>() : null);
+    this.foreignKeyConstraints = null;
+    fksState.setLoaded(fksImported);
   }
 
-  class FKRec implements JDBCDBImporter.FKReceiver {
+  /** Adds received foreign keys to the table they are reported for, so one instance can serve many tables. */
+  public static class BulkFKRec implements JDBCDBImporter.FKReceiver {
 
     @Override
     public void receiveFK(DBForeignKeyConstraint fk, DBTable table) {
-      foreignKeyConstraints.add(fk);
       fk.setTable(table);
+      table.receiveFK(fk);
     }
 
   }
 
+  class FKRec extends BulkFKRec {
+  }
+
   // check constraint operations -------------------------------------------------------------------------------------
 
   public List<DBCheckConstraint> getCheckConstraints() {
@@ -475,6 +603,7 @@ public void addCheckConstraint(DBCheckConstraint checkConstraint) {
   }
 
   private void haveChecksImported() {
+    haveDetailsLoaded();
     if (!areChecksImported()) {
       getCatalog().getDatabase().haveChecksImported();
     }
@@ -495,6 +624,7 @@ public void setChecksImported(boolean checksImported) {
   }
 
   public void receiveCheckConstraint(DBCheckConstraint check) {
+    haveDetailsLoaded();
     if (this.checkConstraints == null) {
       this.checkConstraints = new ArrayList<>();
     }
@@ -515,16 +645,37 @@ public void addReferrer(DBTable referrer) {
   }
 
   public void receiveReferrer(DBTable referrer) {
-    if (referrers == null) {
-      referrers = new OrderedSet<>();
+    haveDetailsLoaded();
+    Set<DBTable> set = referrers;
+    if (set == null) {
+      set = new CopyOnWriteArraySet<>();
+      referrers = set;
+      referrersState.setLoaded(true);
+    }
+    set.add(referrer);
+  }
+
+  public void removeReferrer(DBTable referrer) {
+    haveDetailsLoaded();
+    Set<DBTable> set = referrers;
+    if (set != null) {
+      set.remove(referrer);
     }
-    referrers.add(referrer);
   }
 
   private void haveReferrersImported() {
-    if (areReferrersImported()) {
+    haveDetailsLoaded();
+    referrersState.load(this::importReferrers);
+  }
+
+  private void importReferrers() {
+    DBCatalog catalog = (getSchema() != null ? getCatalog() : null);
+    if (catalog != null && catalog.areFKsAvailable()) {
+      // all foreign keys are known, so the referrers of all tables are derived without querying the database
+      catalog.deriveReferrers();
+    } else {
       haveFKsImported();
-      referrers = new OrderedSet<>();
+      referrers = new CopyOnWriteArraySet<>();
       if (importer != null) {
         importer.importRefererTables(this, new RefReceiver());
       }
@@ -532,17 +683,25 @@ private void haveReferrersImported() {
   }
 
   public boolean areReferrersImported() {
-    return (referrers == null);
+    haveDetailsLoaded();
+    return !referrersState.isLoaded();
   }
 
   public void setReferrersImported(boolean referrersImported) {
     if (referrersImported) {
       if (referrers == null) {
-        referrers = new OrderedSet<>();
+        referrers = new CopyOnWriteArraySet<>();
       }
     } else {
       referrers = null;
     }
+    referrersState.setLoaded(referrersImported);
+  }
+
+  /** Sets the referrers which the catalog derived from the foreign keys of all tables. */
+  void setDerivedReferrers(Collection<DBTable> derived) {
+    this.referrers = new CopyOnWriteArraySet<>(derived);
+    referrersState.setLoaded(true);
   }
 
   class RefReceiver implements JDBCDBImporter.ReferrerReceiver {
@@ -554,6 +713,32 @@ public void receiveReferrer(String fktableName, DBTable table) {
   }
 
 
+  // details loading -----------------------------------------------------------------------------------------------
+
+  /** Defers the table details to a loader which provides them on the first access to any of them.
+   *  Details which the loader does not provide are imported from the database as usual. */
+  public void setDetailsLoader(TableDetailsLoader detailsLoader) {
+    this.detailsLoader = detailsLoader;
+    detailsState.setLoaded(detailsLoader == null);
+  }
+
+  public boolean areDetailsLoaded() {
+    return detailsState.isLoaded();
+  }
+
+  private void haveDetailsLoaded() {
+    detailsState.load(this::loadDetails);
+  }
+
+  private void loadDetails() {
+    TableDetailsLoader loader = this.detailsLoader;
+    if (loader != null) {
+      loader.loadDetails(this);
+      this.detailsLoader = null;
+    }
+  }
+
+
   // implementation of the 'Dependent' interface ---------------------------------------------------------------------
 
   @Override
@@ -583,6 +768,30 @@ public DBRowIterator queryRows(String whereClause, Connection connection) {
     return new DBRowIterator(this, connection, whereClause);
   }
 
+  /** @return a {@link Stream} of all rows, which must be closed if it is not consumed completely */
+  public Stream<DBRow> streamRows(Connection connection) {
+    return allRows(connection).stream();
+  }
+
+  /** @return a {@link Stream} of the rows matching the where clause,
+   *  which must be closed if it is not consumed completely */
+  public Stream<DBRow> streamRows(String whereClause, Connection connection) {
+    return queryRows(whereClause, connection).stream();
+  }
+
+  /** Iterates all rows in chunks of separate queries, see {@link KeysetRowIterator}.
+   *  @param resumeToken the position after which to continue a previous iteration or null */
+  public KeysetRowIterator pagedRows(int chunkSize, KeysetRowIterator.ResumeToken resumeToken,
+                                     Connection connection, DatabaseDialect dialect) {
+    return new KeysetRowIterator(this, connection, dialect, chunkSize, resumeToken);
+  }
+
+  /** Creates a scan of the table in primary key ranges, each on a connection from the supplier. */
+  public PartitionedTableScan partitionedScan(
+      int partitionCount, Supplier<Connection> connectionSupplier, DatabaseDialect dialect) {
+    return new PartitionedTableScan(this, partitionCount, connectionSupplier, dialect);
+  }
+
   public long getRowCount(Connection connection) {
     return DBUtil.countRows(this, connection);
   }
@@ -593,8 +802,14 @@ public DBRow queryByPK(Object pk, Connection connection, DatabaseDialect dialect
       throw ExceptionFactory.getInstance().objectNotFound("Table " + name + " has no primary key");
     }
     Object[] pkComponents = (pk.getClass().isArray() ? (Object[]) pk : new Object[] {pk});
-    String whereClause = SQLUtil.renderWhereClause(pkColumnNames, pkComponents, dialect);
-    DBRowIterator iterator = new DBRowIterator(this, connection, whereClause);
+    StringBuilder whereClause = new StringBuilder();
+    for (int i = 0; i < pkColumnNames.length; i++) {
+      if (i > 0) {
+        whereClause.append(SQLUtil.AND);
+      }
+      whereClause.append(pkColumnNames[i]).append(" = ?");
+    }
+    DBRowIterator iterator = DBRowIterator.withParameters(this, connection, whereClause.toString(), pkComponents);
     if (!iterator.hasNext()) {
       throw ExceptionFactory.getInstance().objectNotFound("No " + name + " row with id (" + Arrays.toString(pkComponents) + ")");
     }
@@ -603,6 +818,17 @@ public DBRow queryByPK(Object pk, Connection connection, DatabaseDialect dialect
     return result;
   }
 
+  /** Queries the rows of many primary keys with few database round trips.
+   *  @return the rows found, mapped by the requested primary key objects in request order;
+   *  keys without a row are not contained */
+  public Map<Object, DBRow> queryByPKs(Collection<?> pks, Connection connection, DatabaseDialect dialect) {
+    return queryByPKs(pks, DEFAULT_PK_CHUNK_SIZE, connection, dialect);
+  }
+
+  public Map<Object, DBRow> queryByPKs(Collection<?> pks, int chunkSize, Connection connection, DatabaseDialect dialect) {
+    return PKBatchQuery.query(this, pks, chunkSize, connection, dialect);
+  }
+
   public TabularIterator query(String query, Connection connection) {
     Assert.notEmpty(query, "query");
     return new ArrayResultSetIterator(connection, query);
@@ -611,7 +837,7 @@ public TabularIterator query(String query, Connection connection) {
   public HeavyweightIterator<Object> queryPKValues(Connection connection) {
     String query = "select " + ArrayFormat.format(getPKColumnNames()) + " from " + name;
     Iterator<ResultSet> rawIterator = new QueryIterator(query, connection, 100);
-    ResultSetConverter<Object> converter = new ResultSetConverter<>(Object.class, true);
+    ResultSetConverter<Object> converter = new CompiledResultSetConverter<>(Object.class, true);
     return new ConvertingIterator<>(rawIterator, converter);
   }
 
@@ -27,7 +27,6 @@
 package com.rapiddweller.jdbacl.model;
 
 import com.rapiddweller.common.exception.ExceptionFactory;
-import com.rapiddweller.common.StringUtil;
 import com.rapiddweller.common.collection.OrderedNameMap;
 import com.rapiddweller.common.version.VersionNumber;
 import com.rapiddweller.jdbacl.DatabaseDialect;
@@ -37,9 +36,12 @@
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a database.<br/><br/>
@@ -58,12 +60,17 @@ public class Database extends AbstractCompositeDBObject<DBCatalog> implements Ta
   private Set<String> reservedWords;
 
   private final OrderedNameMap<DBCatalog> catalogs;
+  private final NameIndex index;
+  private final StructureCache<List<DBTable>> tableList;
+  private final StructureCache<ForeignKeyGraph> foreignKeyGraph;
 
   private final JDBCDBImporter importer;
-  private boolean sequencesImported;
-  private boolean triggersImported;
-  private boolean packagesImported;
-  private boolean checksImported;
+  private boolean compact;
+  private final Map<String, String> identifiers;
+  private volatile boolean sequencesImported;
+  private volatile boolean triggersImported;
+  private volatile boolean packagesImported;
+  private volatile boolean checksImported;
 
 
   // constructors ----------------------------------------------------------------------------------------------------
@@ -80,11 +87,16 @@ public Database(String name, JDBCDBImporter importer, boolean prepopulate) {
     try {
       this.reservedWords = null;
       this.catalogs = OrderedNameMap.createCaseIgnorantMap();
+      this.index = new NameIndex();
+      this.tableList = new StructureCache<>(this::collectTables);
+      this.foreignKeyGraph = new StructureCache<>(() -> new ForeignKeyGraph(getUnmodifiableTables()));
       this.sequencesImported = false;
       this.triggersImported = false;
       this.packagesImported = false;
       this.checksImported = false;
       this.importer = importer;
+      this.identifiers = new ConcurrentHashMap<>();
+      this.compact = (importer != null && importer.isCompact());
       if (importer != null) {
         this.productName = importer.getDatabaseProductName();
         this.productVersion = importer.getDatabaseProductVersion();
@@ -92,6 +104,7 @@ public Database(String name, JDBCDBImporter importer, boolean prepopulate) {
         if (prepopulate) {
           importer.importCatalogs(this);
           importer.importSchemas(this);
+          importer.importTableDetails(this);
         }
       }
     } catch (Exception e) {
@@ -112,10 +125,18 @@ public String getDatabaseProductName() {
     return productName;
   }
 
+  public void setDatabaseProductName(String productName) {
+    this.productName = productName;
+  }
+
   public VersionNumber getDatabaseProductVersion() {
     return productVersion;
   }
 
+  public void setDatabaseProductVersion(VersionNumber productVersion) {
+    this.productVersion = productVersion;
+  }
+
   public Date getImportDate() {
     return importDate;
   }
@@ -169,6 +190,25 @@ public JDBCDBImporter getImporter() {
     return importer;
   }
 
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /** In compact mode, identifiers of the model are interned by {@link #internIdentifier(String)}. */
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
+
+  /** In compact mode, returns the canonical instance of a name, so that the many equal column names
+   *  of different tables share one String. Otherwise the name is returned as is. */
+  public String internIdentifier(String name) {
+    if (!compact || name == null) {
+      return name;
+    }
+    String canonical = identifiers.putIfAbsent(name, name);
+    return (canonical != null ? canonical : name);
+  }
+
   // CompositeDBObject implementation --------------------------------------------------------------------------------
 
   @Override
@@ -188,26 +228,47 @@ public DBCatalog getCatalog(String catalogName) {
 
   public void addCatalog(DBCatalog catalog) {
     catalog.setDatabase(this);
-    catalogs.put(catalog.getName(), catalog);
+    DBCatalog previous = catalogs.put(catalog.getName(), catalog);
+    if (previous != null && previous != catalog) {
+      previous.setOwner(null);
+      index.removeCatalog(previous);
+    }
+    index.addCatalog(catalog);
+    structureChanged();
   }
 
   public void removeCatalog(DBCatalog catalog) {
-    catalogs.remove(catalog.getName());
+    // remove by the map's own key, since the case-ignorant map does not normalize the key on removal
+    Map.Entry<String, DBCatalog> entry = catalogs.getEntry(catalog.getName());
+    if (entry != null && entry.getValue() == catalog) {
+      catalogs.remove(entry.getKey());
+      index.removeCatalog(catalog);
+      structureChanged();
+    }
     catalog.setOwner(null);
   }
 
   // schema operations -----------------------------------------------------------------------------------------------
 
+  /** Looks up a schema by its plain name or by its qualified name ('catalog.schema'). */
   public DBSchema getSchema(String schemaName) {
-    for (DBCatalog catalog : getCatalogs()) {
-      DBSchema schema = catalog.getSchema(schemaName);
-      if (schema != null) {
-        return schema;
-      }
+    DBSchema schema = index.getSchema(schemaName);
+    if (schema != null) {
+      return schema;
     }
     throw ExceptionFactory.getInstance().objectNotFound("Schema '" + schemaName + "'");
   }
 
+  void schemaAdded(DBSchema schema) {
+    index.addSchema(schema);
+    structureChanged();
+  }
+
+  void schemaRemoved(DBSchema schema) {
+    index.removeSchema(schema);
+    structureChanged();
+  }
+
   // table operations ------------------------------------------------------------------------------------------------
 
   @Override
@@ -215,16 +276,27 @@ public List<DBTable> getTables() {
     return getTables(true);
   }
 
+  /** @return a new list of all tables, copied from the {@link #getUnmodifiableTables()} */
   @Override
   public List<DBTable> getTables(boolean recursive) {
     if (!recursive) {
       return new ArrayList<>();
     }
-    List<DBTable> tables = new ArrayList<>();
+    return new ArrayList<>(getUnmodifiableTables());
+  }
+
+  /** @return an unmodifiable list of all tables, which is cached until the next structural change,
+   *  so repeated calls do not copy anything */
+  public List<DBTable> getUnmodifiableTables() {
+    return tableList.get();
+  }
+
+  private List<DBTable> collectTables() {
+    List<DBTable> result = new ArrayList<>();
     for (DBCatalog catalog : getCatalogs()) {
-      tables.addAll(catalog.getTables());
+      result.addAll(catalog.getUnmodifiableTables());
     }
-    return tables;
+    return Collections.unmodifiableList(result);
   }
 
   @Override
@@ -232,13 +304,21 @@ public DBTable getTable(String name) {
     return getTable(name, true);
   }
 
+  /** @return an index of the foreign keys between all tables for path searches, which is built on first use
+   *  and cached until tables or foreign keys are added or removed */
+  public ForeignKeyGraph getForeignKeyGraph() {
+    return foreignKeyGraph.get();
+  }
+
+  void foreignKeysChanged() {
+    foreignKeyGraph.invalidate();
+  }
+
+  /** Looks up a table by its plain name or by its qualified name ('schema.table' or 'catalog.schema.table'). */
   public DBTable getTable(String name, boolean required) {
-    for (DBCatalog catalog : getCatalogs()) {
-      for (DBTable table : catalog.getTables()) {
-        if (StringUtil.equalsIgnoreCase(table.getName(), name)) {
-          return table;
-        }
-      }
+    DBTable table = index.getTable(name);
+    if (table != null) {
+      return table;
     }
     if (required) {
       throw ExceptionFactory.getInstance().objectNotFound("Table '" + name + "'");
@@ -252,6 +332,21 @@ public void removeTable(String tableName) {
     table.getSchema().removeTable(table);
   }
 
+  void tableAdded(DBTable table, DBSchema schema) {
+    index.addTable(table, schema);
+    structureChanged();
+  }
+
+  void tableRemoved(DBTable table, DBSchema schema) {
+    index.removeTable(table, schema);
+    structureChanged();
+  }
+
+  private void structureChanged() {
+    tableList.invalidate();
+    foreignKeyGraph.invalidate();
+  }
+
 
   // sequences -------------------------------------------------------------------------------------------------------
 
@@ -273,6 +368,24 @@ public List<DBSequence> getSequences(boolean recursive) {
     return sequences;
   }
 
+  /** Looks up a sequence by its plain name or by its qualified name ('schema.sequence' or 'catalog.schema.sequence'). */
+  public DBSequence getSequence(String name, boolean required) {
+    haveSequencesImported();
+    DBSequence sequence = index.getSequence(name);
+    if (sequence == null && required) {
+      throw ExceptionFactory.getInstance().objectNotFound("Sequence '" + name + "'");
+    }
+    return sequence;
+  }
+
+  void sequenceAdded(DBSequence sequence, DBSchema schema) {
+    index.addSequence(sequence, schema);
+  }
+
+  void sequenceRemoved(DBSequence sequence, DBSchema schema) {
+    index.removeSequence(sequence, schema);
+  }
+
   public synchronized void haveSequencesImported() {
     if (!sequencesImported) {
       if (importer != null) {
@@ -0,0 +1,374 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable index of the foreign key references between a set of tables for fast path searches.
+ * Tables are numbered by ordinal and the references of each table are held in adjacency arrays
+ * in both directions. Shortest paths follow foreign keys from the referer to the referee table
+ * and are returned as {@link ForeignKeyPath}s. Search results are memoized, so that repeated queries
+ * for the same tables are cheap. The index reflects the foreign keys present at construction time,
+ * see {@link Database#getForeignKeyGraph()} for a cached instance. It can be used by concurrent threads.<br/><br/>
+ * Created: 17.10.2026 17:22:39
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public final class ForeignKeyGraph {
+
+  private static final int[] NO_EDGES = new int[0];
+
+  private final DBTable[] tables;
+  private final Map<DBTable, Integer> ordinals;
+
+  private final DBForeignKeyConstraint[] edgeFKs;
+  private final int[] edgeSources;
+  private final int[] edgeTargets;
+  private final int[][] outgoing;
+  private final int[][] incoming;
+
+  /** breadth-first search trees by start table ordinal, see {@link #bfsTree(int)} */
+  private final Map<Integer, int[]> treeCache;
+  private final Map<Long, RequestedPaths> pathsCache;
+
+  public ForeignKeyGraph(List<DBTable> tables) {
+    int n = tables.size();
+    this.tables = new DBTable[n];
+    this.ordinals = new IdentityHashMap<>(n);
+    for (DBTable table : tables) {
+      if (!ordinals.containsKey(table)) {
+        this.tables[ordinals.size()] = table;
+        ordinals.put(table, ordinals.size());
+      }
+    }
+    List<DBForeignKeyConstraint> fks = new ArrayList<>();
+    List<Integer> sources = new ArrayList<>();
+    int[] outDegrees = new int[n];
+    int[] inDegrees = new int[n];
+    for (int source = 0; source < ordinals.size(); source++) {
+      List<DBForeignKeyConstraint> tableFKs = new ArrayList<>(this.tables[source].getForeignKeyConstraints());
+      // the foreign key set is unordered, so its elements are sorted for reproducible search results
+      tableFKs.sort(Comparator.comparing((DBForeignKeyConstraint fk) -> fk.getRefereeTable().getName())
+          .thenComparing(fk -> Arrays.toString(fk.getColumnNames())));
+      for (DBForeignKeyConstraint fk : tableFKs) {
+        Integer target = ordinals.get(fk.getRefereeTable());
+        if (target != null) {
+          fks.add(fk);
+          sources.add(source);
+          outDegrees[source]++;
+          inDegrees[target]++;
+        }
+      }
+    }
+    int m = fks.size();
+    this.edgeFKs = fks.toArray(new DBForeignKeyConstraint[m]);
+    this.edgeSources = new int[m];
+    this.edgeTargets = new int[m];
+    this.outgoing = new int[n][];
+    this.incoming = new int[n][];
+    for (int i = 0; i < n; i++) {
+      outgoing[i] = (outDegrees[i] > 0 ? new int[outDegrees[i]] : NO_EDGES);
+      incoming[i] = (inDegrees[i] > 0 ? new int[inDegrees[i]] : NO_EDGES);
+    }
+    int[] outFill = new int[n];
+    int[] inFill = new int[n];
+    for (int edge = 0; edge < m; edge++) {
+      int source = sources.get(edge);
+      int target = ordinals.get(edgeFKs[edge].getRefereeTable());
+      edgeSources[edge] = source;
+      edgeTargets[edge] = target;
+      outgoing[source][outFill[source]++] = edge;
+      incoming[target][inFill[target]++] = edge;
+    }
+    this.treeCache = new ConcurrentHashMap<>();
+    this.pathsCache = new ConcurrentHashMap<>();
+  }
+
+  public static ForeignKeyGraph of(TableHolder tableHolder) {
+    return new ForeignKeyGraph(tableHolder.getTables());
+  }
+
+  // structure -------------------------------------------------------------------------------------------------------
+
+  public int getTableCount() {
+    return ordinals.size();
+  }
+
+  public int getForeignKeyCount() {
+    return edgeFKs.length;
+  }
+
+  /** @return the ordinal of the table or -1 if it is not part of the graph */
+  public int ordinalOf(DBTable table) {
+    Integer ordinal = ordinals.get(table);
+    return (ordinal != null ? ordinal : -1);
+  }
+
+  public DBTable getTable(int ordinal) {
+    return tables[ordinal];
+  }
+
+  /** @return the foreign keys by which the table refers to other tables of the graph */
+  public List<DBForeignKeyConstraint> getForeignKeys(DBTable table) {
+    return fksOf(outgoing[ordinal(table)]);
+  }
+
+  /** @return the foreign keys by which other tables of the graph refer to the table */
+  public List<DBForeignKeyConstraint> getReferringForeignKeys(DBTable table) {
+    return fksOf(incoming[ordinal(table)]);
+  }
+
+  /** @return the tables which refer to the table */
+  public List<DBTable> getReferrers(DBTable table) {
+    int[] edges = incoming[ordinal(table)];
+    List<DBTable> result = new ArrayList<>(edges.length);
+    for (int edge : edges) {
+      DBTable referrer = tables[edgeSources[edge]];
+      if (!result.contains(referrer)) {
+        result.add(referrer);
+      }
+    }
+    return result;
+  }
+
+  // path search -----------------------------------------------------------------------------------------------------
+
+  /** @return a path with the least number of foreign key references from the start to the end table
+   *  or null if there is none. If start and end are the same table, a path without edges is returned. */
+  public ForeignKeyPath shortestPath(DBTable start, DBTable end) {
+    int source = ordinal(start);
+    int target = ordinal(end);
+    int[] tree = treeCache.computeIfAbsent(source, this::bfsTree);
+    if (source != target && tree[target] < 0) {
+      return null;
+    }
+    return toPath(start, pathTo(source, target, tree));
+  }
+
+  /** Finds the k shortest loop-free paths from the start to the end table with Yen's algorithm.
+   *  @return up to k paths, ordered by their length */
+  public List<ForeignKeyPath> shortestPaths(DBTable start, DBTable end, int k) {
+    if (k < 1) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal path count: " + k);
+    }
+    int source = ordinal(start);
+    int target = ordinal(end);
+    long key = ((long) source << 32) | target;
+    RequestedPaths paths = pathsCache.get(key);
+    // a cached result suffices if it has k paths or if its search found less paths than requested
+    if (paths == null || (paths.size() < k && paths.size() == paths.requested)) {
+      paths = yen(source, target, k);
+      pathsCache.merge(key, paths, (a, b) -> (a.requested >= b.requested ? a : b));
+    }
+    List<ForeignKeyPath> result = new ArrayList<>(Math.min(k, paths.size()));
+    for (int i = 0; i < k && i < paths.size(); i++) {
+      result.add(toPath(start, paths.get(i)));
+    }
+    return result;
+  }
+
+  public boolean isReachable(DBTable start, DBTable end) {
+    int source = ordinal(start);
+    int target = ordinal(end);
+    return (source == target || treeCache.computeIfAbsent(source, this::bfsTree)[target] >= 0);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private int ordinal(DBTable table) {
+    Integer ordinal = ordinals.get(table);
+    if (ordinal == null) {
+      throw ExceptionFactory.getInstance().objectNotFound("Table not found in foreign key graph: " + table);
+    }
+    return ordinal;
+  }
+
+  private List<DBForeignKeyConstraint> fksOf(int[] edges) {
+    List<DBForeignKeyConstraint> result = new ArrayList<>(edges.length);
+    for (int edge : edges) {
+      result.add(edgeFKs[edge]);
+    }
+    return result;
+  }
+
+  private ForeignKeyPath toPath(DBTable start, int[] edges) {
+    // paths are created on each call, since ForeignKeyPath is mutable
+    ForeignKeyPath result = new ForeignKeyPath(start.getName());
+    for (int edge : edges) {
+      result.addEdge(edgeFKs[edge]);
+    }
+    return result;
+  }
+
+  /** @return an array which holds for each table the last edge of a shortest path from the source or -1 */
+  private int[] bfsTree(int source) {
+    int[] tree = new int[tables.length];
+    Arrays.fill(tree, -1);
+    int[] queue = new int[tables.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = source;
+    boolean[] visited = new boolean[tables.length];
+    visited[source] = true;
+    while (head < tail) {
+      int node = queue[head++];
+      for (int edge : outgoing[node]) {
+        int next = edgeTargets[edge];
+        if (!visited[next]) {
+          visited[next] = true;
+          tree[next] = edge;
+          queue[tail++] = next;
+        }
+      }
+    }
+    return tree;
+  }
+
+  /** Breadth-first search which avoids the blocked nodes and edges.
+   *  @return the edges of a shortest path or null if there is none */
+  private int[] bfs(int source, int target, boolean[] blockedNodes, boolean[] blockedEdges) {
+    if (source == target) {
+      return NO_EDGES;
+    }
+    int[] parentEdge = new int[tables.length];
+    Arrays.fill(parentEdge, -1);
+    int[] queue = new int[tables.length];
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = source;
+    boolean[] visited = blockedNodes.clone();
+    visited[source] = true;
+    while (head < tail) {
+      int node = queue[head++];
+      for (int edge : outgoing[node]) {
+        int next = edgeTargets[edge];
+        if (!blockedEdges[edge] && !visited[next]) {
+          visited[next] = true;
+          parentEdge[next] = edge;
+          if (next == target) {
+            return pathTo(source, target, parentEdge);
+          }
+          queue[tail++] = next;
+        }
+      }
+    }
+    return null;
+  }
+
+  private int[] pathTo(int source, int target, int[] parentEdge) {
+    int length = 0;
+    for (int node = target; node != source; node = edgeSources[parentEdge[node]]) {
+      length++;
+    }
+    int[] path = new int[length];
+    for (int node = target; node != source; node = edgeSources[parentEdge[node]]) {
+      path[--length] = parentEdge[node];
+    }
+    return path;
+  }
+
+  private RequestedPaths yen(int source, int target, int k) {
+    List<int[]> result = new ArrayList<>();
+    int[] first = bfs(source, target, new boolean[tables.length], new boolean[edgeFKs.length]);
+    if (first == null) {
+      return new RequestedPaths(result, k);
+    }
+    result.add(first);
+    PriorityQueue<int[]> candidates = new PriorityQueue<>(Comparator.comparingInt(path -> path.length));
+    while (result.size() < k) {
+      int[] previous = result.get(result.size() - 1);
+      for (int i = 0; i < previous.length; i++) {
+        int spurNode = (i == 0 ? source : edgeTargets[previous[i - 1]]);
+        boolean[] blockedEdges = new boolean[edgeFKs.length];
+        for (int[] path : result) {
+          if (path.length > i && samePrefix(path, previous, i)) {
+            blockedEdges[path[i]] = true;
+          }
+        }
+        boolean[] blockedNodes = new boolean[tables.length];
+        for (int j = 0; j < i; j++) {
+          blockedNodes[edgeSources[previous[j]]] = true;
+        }
+        int[] spurPath = bfs(spurNode, target, blockedNodes, blockedEdges);
+        if (spurPath != null) {
+          int[] candidate = Arrays.copyOf(previous, i + spurPath.length);
+          System.arraycopy(spurPath, 0, candidate, i, spurPath.length);
+          if (!containsPath(candidates, candidate) && !containsPath(result, candidate)) {
+            candidates.add(candidate);
+          }
+        }
+      }
+      if (candidates.isEmpty()) {
+        break;
+      }
+      result.add(candidates.poll());
+    }
+    return new RequestedPaths(result, k);
+  }
+
+  private static boolean samePrefix(int[] path1, int[] path2, int length) {
+    for (int i = 0; i < length; i++) {
+      if (path1[i] != path2[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean containsPath(Iterable<int[]> paths, int[] path) {
+    for (int[] candidate : paths) {
+      if (Arrays.equals(candidate, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Remembers the number of paths requested by a search, for telling if more paths could exist. */
+  private static final class RequestedPaths extends ArrayList<int[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    final int requested;
+
+    RequestedPaths(List<int[]> paths, int requested) {
+      super(paths);
+      this.requested = requested;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + getTableCount() + " tables, " + getForeignKeyCount() + " foreign keys]";
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.ArrayFormat;
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.SQLUtil;
+import com.rapiddweller.jdbacl.sql.Query;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the rows of a table in chunks, each read by a separate short-lived query.
+ * For a table with primary key, the chunks are determined by keyset pagination:
+ * each query selects the rows with a key greater than the last one read
+ * (<code>WHERE pk &gt; ? ORDER BY pk</code>), limited to the chunk size in the SQL,
+ * as rendered by {@link DatabaseDialect#renderKeysetQuery(String, String[], boolean, int)}.
+ * The key is bound as parameters, so each chunk reuses the same prepared statement.
+ * For a table without primary key, or if the dialect has no keyset pattern, the rows are ordered
+ * by the key or all columns and the chunks are selected by row offset
+ * using {@link DatabaseDialect#restrictRownums(int, int, Query)}.
+ * After processing rows, a {@link ResumeToken} can be obtained by {@link #getResumeToken()} and persisted,
+ * so that an interrupted export can be continued after the last row processed.<br/><br/>
+ * Created: 17.10.2026 17:37:11
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class KeysetRowIterator implements HeavyweightIterator<DBRow> {
+
+  private final DBTable table;
+  private final Connection connection;
+  private final DatabaseDialect dialect;
+  private final int chunkSize;
+  private final String[] keyColumnNames;
+  private final boolean keyset;
+  private final String orderBy;
+  private final String firstChunkQuery;
+  private final String nextChunkQuery;
+  private DBRowIterator chunk;
+  private int chunkRowCount;
+  private Object[] lastKey;
+  private long rowCount;
+  private boolean closed;
+
+  public KeysetRowIterator(DBTable table, Connection connection, DatabaseDialect dialect, int chunkSize) {
+    this(table, connection, dialect, chunkSize, null);
+  }
+
+  /** @param resumeToken a token obtained from {@link #getResumeToken()} of a previous iteration over the same table,
+   *  or null for starting with the first row */
+  public KeysetRowIterator(DBTable table, Connection connection, DatabaseDialect dialect, int chunkSize,
+                           ResumeToken resumeToken) {
+    if (chunkSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal chunk size: " + chunkSize);
+    }
+    this.table = table;
+    this.connection = connection;
+    this.dialect = dialect;
+    this.chunkSize = chunkSize;
+    String[] pkColumnNames = table.getPKColumnNames();
+    boolean hasPK = (pkColumnNames.length > 0);
+    this.keyColumnNames = (hasPK ? pkColumnNames : table.getColumnNames());
+    this.orderBy = ArrayFormat.format(keyColumnNames);
+    String tableName = table.getName();
+    this.firstChunkQuery = (hasPK ? dialect.renderKeysetQuery(tableName, keyColumnNames, false, chunkSize) : null);
+    this.nextChunkQuery = (hasPK ? dialect.renderKeysetQuery(tableName, keyColumnNames, true, chunkSize) : null);
+    this.keyset = (firstChunkQuery != null);
+    if (resumeToken != null) {
+      if (keyset && resumeToken.lastKey == null && resumeToken.rowCount > 0) {
+        throw ExceptionFactory.getInstance().illegalArgument(
+            "Resume token has no key for table " + table.getName() + ": " + resumeToken);
+      }
+      this.lastKey = resumeToken.lastKey;
+      this.rowCount = resumeToken.rowCount;
+    }
+    this.closed = false;
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  /** @return true if chunks are selected by primary key, false if they are selected by row offset,
+   *  since the table has no primary key or the dialect has no keyset pattern */
+  public boolean isKeyset() {
+    return keyset;
+  }
+
+  /** @return a token for continuing the iteration after the last row returned by {@link #next()} */
+  public ResumeToken getResumeToken() {
+    return new ResumeToken(lastKey, rowCount);
+  }
+
+  // Iterator interface ----------------------------------------------------------------------------------------------
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (chunk == null) {
+      chunk = openChunk();
+      chunkRowCount = 0;
+    }
+    if (chunk.hasNext()) {
+      return true;
+    }
+    chunk.close();
+    chunk = null;
+    if (chunkRowCount < chunkSize) {
+      close();
+      return false;
+    }
+    // the chunk was full, so the table may contain more rows
+    return hasNext();
+  }
+
+  @Override
+  public DBRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more row available. Use hasNext() for checking availability.");
+    }
+    DBRow row = chunk.next();
+    chunkRowCount++;
+    rowCount++;
+    if (keyset) {
+      lastKey = row.getPKValues();
+    }
+    return row;
+  }
+
+  @Override
+  public void remove() {
+    throw ExceptionFactory.getInstance().programmerUnsupported("remove() is not supported by " + getClass());
+  }
+
+  @Override
+  public void close() {
+    if (chunk != null) {
+      chunk.close();
+      chunk = null;
+    }
+    closed = true;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private DBRowIterator openChunk() {
+    if (keyset) {
+      if (lastKey == null) {
+        return DBRowIterator.forParameterizedQuery(table, connection, firstChunkQuery);
+      } else {
+        return DBRowIterator.forParameterizedQuery(table, connection, nextChunkQuery,
+            SQLUtil.keyComparisonParameters(lastKey));
+      }
+    }
+    if (rowCount > Integer.MAX_VALUE) {
+      throw ExceptionFactory.getInstance().illegalOperation("Table " + table.getName() + " has more than " +
+          Integer.MAX_VALUE + " rows, which exceeds the row offsets supported by " + dialect.getDbType() +
+          ". Paginating it requires a primary key and a dialect with keyset pattern.");
+    }
+    Query query = new Query("*", table.getName());
+    query.addOption("ORDER BY " + orderBy);
+    dialect.restrictRownums((int) rowCount, chunkSize, query);
+    return DBRowIterator.forQuery(table, connection, query.toString(), chunkSize);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + table.getName() + ", " + getResumeToken() + ']';
+  }
+
+  // ResumeToken class -----------------------------------------------------------------------------------------------
+
+  /** Marks the position after the last row returned by a {@link KeysetRowIterator}. */
+  public static final class ResumeToken implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object[] lastKey;
+    private final long rowCount;
+
+    public ResumeToken(Object[] lastKey, long rowCount) {
+      this.lastKey = (lastKey != null ? lastKey.clone() : null);
+      this.rowCount = rowCount;
+    }
+
+    /** @return the primary key values of the last row returned or null */
+    public Object[] getLastKey() {
+      return (lastKey != null ? lastKey.clone() : null);
+    }
+
+    /** @return the number of rows returned */
+    public long getRowCount() {
+      return rowCount;
+    }
+
+    @Override
+    public String toString() {
+      return "rowCount=" + rowCount + (lastKey != null ? ", lastKey=" + Arrays.toString(lastKey) : "");
+    }
+  }
+
+}
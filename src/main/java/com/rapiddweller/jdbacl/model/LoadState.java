@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the import of a lazily loaded model component, so that it is loaded by a single thread
+ * even if several threads access it concurrently.
+ * Once the component is loaded, {@link #load(Runnable)} costs a single volatile read.
+ * Threads which find the component being loaded by another thread wait for it to finish,
+ * while nested calls of the loading thread itself return immediately.<br/><br/>
+ * Created: 17.10.2026 17:08:53
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+final class LoadState {
+
+  private static final int UNLOADED = 0;
+  private static final int LOADING = 1;
+  private static final int LOADED = 2;
+
+  private final AtomicInteger state;
+  private volatile Thread loader;
+
+  LoadState(boolean loaded) {
+    this.state = new AtomicInteger(loaded ? LOADED : UNLOADED);
+    this.loader = null;
+  }
+
+  boolean isLoaded() {
+    return (state.get() == LOADED);
+  }
+
+  /** Sets the state without loading, e.g. if an importer provides the component or it is discarded. */
+  void setLoaded(boolean loaded) {
+    state.set(loaded ? LOADED : UNLOADED);
+    wakeUpWaiters();
+  }
+
+  /** Runs the loader if the component has not been loaded yet. If the loader fails, the next call retries. */
+  void load(Runnable loadAction) {
+    while (true) {
+      int current = state.get();
+      if (current == LOADED || loader == Thread.currentThread()) {
+        return;
+      }
+      if (current == UNLOADED && state.compareAndSet(UNLOADED, LOADING)) {
+        runLoader(loadAction);
+        return;
+      }
+      awaitLoader();
+    }
+  }
+
+  private void runLoader(Runnable loadAction) {
+    loader = Thread.currentThread();
+    boolean success = false;
+    try {
+      loadAction.run();
+      success = true;
+    } finally {
+      loader = null;
+      // the state may have been set explicitly in the meantime, which takes precedence
+      state.compareAndSet(LOADING, success ? LOADED : UNLOADED);
+      wakeUpWaiters();
+    }
+  }
+
+  private synchronized void awaitLoader() {
+    try {
+      while (state.get() == LOADING) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationFailed("Interrupted while waiting for a component import", e);
+    }
+  }
+
+  private synchronized void wakeUpWaiters() {
+    notifyAll();
+  }
+
+}
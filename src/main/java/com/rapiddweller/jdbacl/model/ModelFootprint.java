@@ -0,0 +1,264 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the heap footprint of a {@link Database} model for comparing memory settings,
+ * e.g. the compact mode of the {@link com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter}.
+ * The object graph of the model is traversed without triggering any lazy import, counting each object once,
+ * so that shared objects like interned names and {@link DBDataType}s are accounted only once.
+ * Sizes are estimated for a 64 bit JVM with compressed references. Importers, connections and other
+ * objects outside of the model are not counted.<br/><br/>
+ * Created: 17.10.2026 17:14:30
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public final class ModelFootprint {
+
+  private static final int HEADER = 12;
+  private static final int REFERENCE = 4;
+  private static final int ARRAY_HEADER = 16;
+  private static final int HASH_ENTRY = 32;
+
+  private static final String MODEL_PACKAGE = DBTable.class.getPackage().getName() + '.';
+  private static final String COMMON_PACKAGE = "com.rapiddweller.common.";
+
+  private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+  private final int tableCount;
+  private final int columnCount;
+  private final long bytes;
+  private final long stringBytes;
+
+  private ModelFootprint(int tableCount, int columnCount, long bytes, long stringBytes) {
+    this.tableCount = tableCount;
+    this.columnCount = columnCount;
+    this.bytes = bytes;
+    this.stringBytes = stringBytes;
+  }
+
+  public static ModelFootprint of(Database database) {
+    return new Walker().walk(database);
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public int getTableCount() {
+    return tableCount;
+  }
+
+  /** @return the number of columns which have been imported */
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  /** @return the share of the bytes which is used by strings */
+  public long getStringBytes() {
+    return stringBytes;
+  }
+
+  public long getBytesPerTable() {
+    return (tableCount > 0 ? bytes / tableCount : 0);
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return bytes + " bytes for " + tableCount + " tables with " + columnCount + " columns ("
+        + getBytesPerTable() + " bytes per table, " + stringBytes + " bytes in strings)";
+  }
+
+  // graph traversal -------------------------------------------------------------------------------------------------
+
+  private static class Walker {
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private int tables;
+    private int columns;
+    private long bytes;
+    private long stringBytes;
+
+    ModelFootprint walk(Database database) {
+      push(database);
+      while (!pending.isEmpty()) {
+        Object object = pending.pop();
+        bytes += visit(object);
+      }
+      return new ModelFootprint(tables, columns, bytes, stringBytes);
+    }
+
+    private void push(Object object) {
+      if (object != null && !(object instanceof Class) && !(object instanceof Enum) && visited.add(object)) {
+        pending.push(object);
+      }
+    }
+
+    private long visit(Object object) {
+      if (object instanceof String) {
+        long size = stringSize((String) object);
+        stringBytes += size;
+        return size;
+      } else if (object.getClass().isArray()) {
+        return arraySize(object);
+      } else if (isTraversable(object.getClass())) {
+        if (object instanceof DBTable) {
+          tables++;
+        } else if (object instanceof DBColumn) {
+          columns++;
+        }
+        return objectSize(object);
+      } else if (object instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) object;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          push(entry.getKey());
+          push(entry.getValue());
+        }
+        return align(48) + hashTableSize(map.size());
+      } else if (object instanceof Collection) {
+        Collection<?> collection = (Collection<?>) object;
+        for (Object element : collection) {
+          push(element);
+        }
+        if (object instanceof RandomAccess) {
+          return align(24) + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+        } else {
+          return align(64) + hashTableSize(collection.size());
+        }
+      } else {
+        // boxed values, atomics and other small JDK objects which do not reference model objects
+        return 16;
+      }
+    }
+
+    private long objectSize(Object object) {
+      long size = HEADER;
+      for (Field field : fieldsOf(object.getClass())) {
+        Class<?> type = field.getType();
+        size += primitiveSize(type);
+        if (!type.isPrimitive()) {
+          try {
+            push(field.get(object));
+          } catch (IllegalAccessException e) {
+            // not accessible, so only the reference is counted
+          }
+        }
+      }
+      return align(size);
+    }
+
+    private long arraySize(Object array) {
+      int length = Array.getLength(array);
+      Class<?> componentType = array.getClass().getComponentType();
+      if (!componentType.isPrimitive()) {
+        for (int i = 0; i < length; i++) {
+          push(Array.get(array, i));
+        }
+      }
+      return align(ARRAY_HEADER + (long) primitiveSize(componentType) * length);
+    }
+
+    private static long stringSize(String string) {
+      boolean latin1 = true;
+      for (int i = 0; i < string.length() && latin1; i++) {
+        latin1 = (string.charAt(i) < 256);
+      }
+      return align(24) + align(ARRAY_HEADER + (long) string.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long hashTableSize(int size) {
+      int capacity = 16;
+      while (capacity * 3 / 4 < size) {
+        capacity <<= 1;
+      }
+      return align(ARRAY_HEADER + (long) REFERENCE * capacity) + (long) HASH_ENTRY * size;
+    }
+
+    private static boolean isTraversable(Class<?> type) {
+      String name = type.getName();
+      return (name.startsWith(MODEL_PACKAGE) && name.indexOf('.', MODEL_PACKAGE.length()) < 0)
+          || name.startsWith(COMMON_PACKAGE);
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+      return FIELDS.computeIfAbsent(type, t -> {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+          for (Field field : c.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && makeAccessible(field)) {
+              fields.add(field);
+            }
+          }
+        }
+        return fields;
+      });
+    }
+
+    private static boolean makeAccessible(Field field) {
+      try {
+        field.setAccessible(true);
+        return true;
+      } catch (RuntimeException e) {
+        return false;
+      }
+    }
+
+    private static int primitiveSize(Class<?> type) {
+      if (type == long.class || type == double.class) {
+        return 8;
+      } else if (type == int.class || type == float.class) {
+        return 4;
+      } else if (type == short.class || type == char.class) {
+        return 2;
+      } else if (type == byte.class || type == boolean.class) {
+        return 1;
+      } else {
+        return REFERENCE;
+      }
+    }
+
+    private static long align(long size) {
+      return (size + 7) & ~7L;
+    }
+  }
+
+}
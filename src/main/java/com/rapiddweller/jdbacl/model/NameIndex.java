@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive hash index of the schemas, tables and sequences of a {@link DBCatalog} or {@link Database}.
+ * Each object is resolvable by its plain name as well as by its qualified names
+ * ('schema.table' and 'catalog.schema.table'). If several schemas hold an object of the same name,
+ * a plain name lookup yields the one which was registered first.<br/><br/>
+ * Created: 17.10.2026 15:44:37
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+class NameIndex {
+
+  private final Map<String, List<DBSchema>> schemas;
+  private final Map<String, List<DBTable>> tables;
+  private final Map<String, List<DBSequence>> sequences;
+
+  NameIndex() {
+    this.schemas = new HashMap<>();
+    this.tables = new HashMap<>();
+    this.sequences = new HashMap<>();
+  }
+
+  // catalog operations ----------------------------------------------------------------------------------------------
+
+  void addCatalog(DBCatalog catalog) {
+    for (DBSchema schema : catalog.getSchemas()) {
+      addSchema(schema);
+    }
+  }
+
+  void removeCatalog(DBCatalog catalog) {
+    for (DBSchema schema : catalog.getSchemas()) {
+      removeSchema(schema);
+    }
+  }
+
+  // schema operations -----------------------------------------------------------------------------------------------
+
+  void addSchema(DBSchema schema) {
+    put(schema, keys(schema.getCatalog(), schema.getName()), schemas);
+    for (DBTable table : schema.getTables()) {
+      addTable(table, schema);
+    }
+    for (DBSequence sequence : schema.getReceivedSequences()) {
+      addSequence(sequence, schema);
+    }
+  }
+
+  void removeSchema(DBSchema schema) {
+    remove(schema, keys(schema.getCatalog(), schema.getName()), schemas);
+    for (DBTable table : schema.getTables()) {
+      removeTable(table, schema);
+    }
+    for (DBSequence sequence : schema.getReceivedSequences()) {
+      removeSequence(sequence, schema);
+    }
+  }
+
+  DBSchema getSchema(String name) {
+    return get(name, schemas);
+  }
+
+  // table operations ------------------------------------------------------------------------------------------------
+
+  void addTable(DBTable table, DBSchema schema) {
+    put(table, keys(schema, table.getName()), tables);
+  }
+
+  void removeTable(DBTable table, DBSchema schema) {
+    remove(table, keys(schema, table.getName()), tables);
+  }
+
+  DBTable getTable(String name) {
+    return get(name, tables);
+  }
+
+  // sequence operations ---------------------------------------------------------------------------------------------
+
+  void addSequence(DBSequence sequence, DBSchema schema) {
+    put(sequence, keys(schema, sequence.getName()), sequences);
+  }
+
+  void removeSequence(DBSequence sequence, DBSchema schema) {
+    remove(sequence, keys(schema, sequence.getName()), sequences);
+  }
+
+  DBSequence getSequence(String name) {
+    return get(name, sequences);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static <T> void put(T object, String[] keys, Map<String, List<T>> map) {
+    for (String key : keys) {
+      map.computeIfAbsent(key, k -> new ArrayList<>(1)).add(object);
+    }
+  }
+
+  private static <T> void remove(T object, String[] keys, Map<String, List<T>> map) {
+    for (String key : keys) {
+      List<T> candidates = map.get(key);
+      if (candidates != null) {
+        // DB objects implement equals() by name, so the matching entry is identified by identity
+        for (int i = 0; i < candidates.size(); i++) {
+          if (candidates.get(i) == object) {
+            candidates.remove(i);
+            break;
+          }
+        }
+        if (candidates.isEmpty()) {
+          map.remove(key);
+        }
+      }
+    }
+  }
+
+  private static <T> T get(String name, Map<String, List<T>> map) {
+    if (name == null) {
+      return null;
+    }
+    List<T> candidates = map.get(normalize(name));
+    return (candidates != null ? candidates.get(0) : null);
+  }
+
+  private static String[] keys(DBSchema schema, String name) {
+    String key = normalize(name);
+    if (schema == null || schema.getName() == null) {
+      return new String[] {key};
+    }
+    String schemaKey = normalize(schema.getName()) + '.' + key;
+    DBCatalog catalog = schema.getCatalog();
+    if (catalog == null || catalog.getName() == null) {
+      return new String[] {key, schemaKey};
+    }
+    return new String[] {key, schemaKey, normalize(catalog.getName()) + '.' + schemaKey};
+  }
+
+  private static String[] keys(DBCatalog catalog, String schemaName) {
+    String key = normalize(schemaName);
+    if (catalog == null || catalog.getName() == null) {
+      return new String[] {key};
+    }
+    return new String[] {key, normalize(catalog.getName()) + '.' + key};
+  }
+
+  private static String normalize(String name) {
+    return (name != null ? name.toLowerCase() : "");
+  }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.SQLUtil;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries the rows of a table for a collection of primary keys in chunks.
+ * Each chunk is queried with a single IN condition, for composite keys with row values
+ * (<code>(A, B) IN ((?, ?), (?, ?))</code>) if the database supports them, otherwise with an OR chain.
+ * All chunks are rendered with the same number of keys, so that a single prepared statement serves
+ * all of them and is reused from the connection's {@link com.rapiddweller.jdbacl.StatementCache}.<br/><br/>
+ * Created: 17.10.2026 17:40:35
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+class PKBatchQuery {
+
+  private PKBatchQuery() {
+    // private constructor for preventing instantiation
+  }
+
+  /** @return the rows found, mapped by the requested primary key objects in the order of the request */
+  static Map<Object, DBRow> query(DBTable table, Collection<?> pks, int chunkSize,
+                                  Connection connection, DatabaseDialect dialect) {
+    if (chunkSize <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal chunk size: " + chunkSize);
+    }
+    String[] pkColumnNames = table.getPKColumnNames();
+    if (pkColumnNames.length == 0) {
+      throw ExceptionFactory.getInstance().objectNotFound("Table " + table.getName() + " has no primary key");
+    }
+    // map the normalized keys to the requested key objects, dropping duplicates
+    Map<Object, Object> requests = new LinkedHashMap<>();
+    List<Object[]> keys = new ArrayList<>(pks.size());
+    for (Object pk : pks) {
+      Object[] components = (pk.getClass().isArray() ? (Object[]) pk : new Object[] {pk});
+      if (components.length != pkColumnNames.length) {
+        throw ExceptionFactory.getInstance().illegalArgument("Primary key of table " + table.getName() +
+            " has " + pkColumnNames.length + " components, but got " + Arrays.toString(components));
+      }
+      if (requests.putIfAbsent(normalizedKey(components), pk) == null) {
+        keys.add(components);
+      }
+    }
+    Map<Object, DBRow> result = new LinkedHashMap<>();
+    if (keys.isEmpty()) {
+      return result;
+    }
+    Map<Object, DBRow> rows = fetch(table, pkColumnNames, keys, Math.min(chunkSize, keys.size()), connection, dialect);
+    for (Map.Entry<Object, Object> request : requests.entrySet()) {
+      DBRow row = rows.get(request.getKey());
+      if (row != null) {
+        result.put(request.getValue(), row);
+      }
+    }
+    return result;
+  }
+
+  private static Map<Object, DBRow> fetch(DBTable table, String[] pkColumnNames, List<Object[]> keys, int chunkSize,
+                                          Connection connection, DatabaseDialect dialect) {
+    String sql = renderQuery(table, pkColumnNames, chunkSize, dialect);
+    Map<Object, DBRow> rows = new HashMap<>(keys.size() * 2);
+    PreparedStatement statement = null;
+    try {
+      statement = DBUtil.acquireStatement(connection, sql);
+      DBRowLayout layout = null;
+      for (int offset = 0; offset < keys.size(); offset += chunkSize) {
+        int paramIndex = 1;
+        for (int i = 0; i < chunkSize; i++) {
+          // the last chunk is padded by repeating its last key
+          Object[] key = keys.get(Math.min(offset + i, keys.size() - 1));
+          for (Object component : key) {
+            statement.setObject(paramIndex++, component);
+          }
+        }
+        try (ResultSet resultSet = statement.executeQuery()) {
+          if (layout == null) {
+            layout = layoutOf(table, resultSet.getMetaData());
+          }
+          while (resultSet.next()) {
+            Object[] values = new Object[layout.size()];
+            for (int i = 0; i < values.length; i++) {
+              values[i] = resultSet.getObject(i + 1);
+            }
+            DBRow row = new DBRow(table, layout, values);
+            rows.put(normalizedKey(row.getPKValues()), row);
+          }
+        }
+      }
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().dbQueryFailed("Error querying " + table.getName() + " rows by primary key", e);
+    } finally {
+      DBUtil.releaseStatement(connection, sql, statement);
+    }
+    return rows;
+  }
+
+  static String renderQuery(DBTable table, String[] pkColumnNames, int keyCount, DatabaseDialect dialect) {
+    StringBuilder builder = new StringBuilder("SELECT * FROM ").append(table.getName()).append(" WHERE ");
+    if (pkColumnNames.length == 1) {
+      builder.append(pkColumnNames[0]).append(" IN (");
+      appendPlaceholders(keyCount, builder);
+      builder.append(')');
+    } else if (dialect.supportsRowValueInList()) {
+      builder.append(SQLUtil.renderColumnNames(pkColumnNames)).append(" IN (");
+      for (int i = 0; i < keyCount; i++) {
+        if (i > 0) {
+          builder.append(", ");
+        }
+        builder.append('(');
+        appendPlaceholders(pkColumnNames.length, builder);
+        builder.append(')');
+      }
+      builder.append(')');
+    } else {
+      for (int i = 0; i < keyCount; i++) {
+        if (i > 0) {
+          builder.append(" OR ");
+        }
+        builder.append('(');
+        for (int j = 0; j < pkColumnNames.length; j++) {
+          if (j > 0) {
+            builder.append(SQLUtil.AND);
+          }
+          builder.append(pkColumnNames[j]).append(" = ?");
+        }
+        builder.append(')');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static void appendPlaceholders(int count, StringBuilder builder) {
+    for (int i = 0; i < count; i++) {
+      builder.append(i > 0 ? ", ?" : "?");
+    }
+  }
+
+  private static DBRowLayout layoutOf(DBTable table, ResultSetMetaData metaData) throws SQLException {
+    String[] columnNames = new String[metaData.getColumnCount()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = metaData.getColumnName(i + 1);
+    }
+    return DBRowLayout.of(table, columnNames);
+  }
+
+  /** Makes keys comparable independent of the Java types by which the database and the caller represent them,
+   *  e.g. Integer and Long. */
+  private static Object normalizedKey(Object[] components) {
+    if (components.length == 1) {
+      return normalize(components[0]);
+    }
+    Object[] result = new Object[components.length];
+    for (int i = 0; i < components.length; i++) {
+      result[i] = normalize(components[i]);
+    }
+    return Arrays.asList(result);
+  }
+
+  private static Object normalize(Object value) {
+    if (value instanceof Number) {
+      return new BigDecimal(value.toString()).stripTrailingZeros();
+    }
+    return value;
+  }
+
+}
@@ -0,0 +1,390 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.ArrayFormat;
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.BatchingSpliterator;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.PrefetchingIterator;
+import com.rapiddweller.jdbacl.SQLUtil;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Scans a table in partitions of its primary key range, each partition on a separate connection.
+ * For a single integral primary key column, the range between its minimum and maximum is split
+ * into equal intervals. For other primary keys, the split points are the quantiles of the
+ * ordered primary key values, which are selected by row number if the database supports it.
+ * The first and the last partition are open-ended, so that each row of the table belongs to exactly one partition.
+ * The partitions can be processed in parallel without order ({@link #openPartitions()},
+ * {@link #forEachParallel(Consumer)}) or as one iterator in primary key order ({@link #ordered()}).<br/><br/>
+ * Created: 17.10.2026 17:31:19
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class PartitionedTableScan {
+
+  private static final int PREFETCH_BATCH_SIZE = 500;
+
+  private final DBTable table;
+  private final int partitionCount;
+  private final Supplier<Connection> connectionSupplier;
+  private final DatabaseDialect dialect;
+  private final String[] pkColumnNames;
+  private List<String> partitionClauses;
+
+  /** @param connectionSupplier provides a new connection for each call. The scan closes the connections it obtains. */
+  public PartitionedTableScan(DBTable table, int partitionCount, Supplier<Connection> connectionSupplier,
+                              DatabaseDialect dialect) {
+    if (partitionCount <= 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Illegal partition count: " + partitionCount);
+    }
+    this.table = table;
+    this.partitionCount = partitionCount;
+    this.connectionSupplier = connectionSupplier;
+    this.dialect = dialect;
+    this.pkColumnNames = table.getPKColumnNames();
+    if (pkColumnNames.length == 0) {
+      throw ExceptionFactory.getInstance().illegalArgument("Table " + table.getName() + " has no primary key");
+    }
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public DBTable getTable() {
+    return table;
+  }
+
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  /** @return the WHERE clauses of the partitions in primary key order. There may be less partitions than
+   *  requested if the table has too few rows. A null clause stands for the complete table. */
+  public synchronized List<String> getPartitionClauses() {
+    if (partitionClauses == null) {
+      Connection connection = connectionSupplier.get();
+      try {
+        partitionClauses = Collections.unmodifiableList(computePartitionClauses(connection));
+      } catch (SQLException e) {
+        throw ExceptionFactory.getInstance().dbQueryFailed("Failed to partition table " + table.getName(), e);
+      } finally {
+        DBUtil.close(connection);
+      }
+    }
+    return partitionClauses;
+  }
+
+  // scan operations -------------------------------------------------------------------------------------------------
+
+  /** Opens a row iterator for each partition on a separate connection, which is closed with the iterator. */
+  public List<HeavyweightIterator<DBRow>> openPartitions() {
+    return openPartitions(null);
+  }
+
+  /** Provides the rows of all partitions as {@link Stream}, which must be closed if it is not consumed completely.
+   *  A parallel stream processes the partitions concurrently and splits each into blocks of rows. */
+  public Stream<DBRow> stream() {
+    return BatchingSpliterator.stream(openPartitions(), BatchingSpliterator.DEFAULT_BATCH_SIZE);
+  }
+
+  /** Provides all rows in primary key order. All partitions are queried and prefetched concurrently,
+   *  while the consumer reads them one after the other. */
+  public HeavyweightIterator<DBRow> ordered() {
+    List<HeavyweightIterator<DBRow>> partitions = openPartitions(ArrayFormat.format(pkColumnNames));
+    List<HeavyweightIterator<DBRow>> prefetching = new ArrayList<>(partitions.size());
+    for (HeavyweightIterator<DBRow> partition : partitions) {
+      prefetching.add(new PrefetchingIterator<>(partition, PREFETCH_BATCH_SIZE, 2).start());
+    }
+    return new PartitionSequence(prefetching);
+  }
+
+  /** Processes all partitions in parallel, one thread per partition. The consumer must be thread-safe.
+   *  If processing fails, the remaining partitions are cancelled and the first failure is rethrown. */
+  public void forEachParallel(Consumer<DBRow> consumer) {
+    List<HeavyweightIterator<DBRow>> partitions = openPartitions();
+    ExecutorService executor = Executors.newFixedThreadPool(partitions.size());
+    AtomicBoolean failed = new AtomicBoolean(false);
+    try {
+      List<Future<?>> futures = new ArrayList<>(partitions.size());
+      for (HeavyweightIterator<DBRow> partition : partitions) {
+        futures.add(executor.submit(() -> {
+          try {
+            while (!failed.get() && partition.hasNext()) {
+              consumer.accept(partition.next());
+            }
+          } catch (RuntimeException e) {
+            failed.set(true);
+            throw e;
+          } finally {
+            IOUtil.close(partition);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      throw ExceptionFactory.getInstance().operationFailed(
+          "Partitioned scan of table " + table.getName() + " failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationFailed(
+          "Partitioned scan of table " + table.getName() + " was interrupted", e);
+    } finally {
+      failed.set(true);
+      executor.shutdown();
+      partitions.forEach(IOUtil::close);
+    }
+  }
+
+  // partitioning ----------------------------------------------------------------------------------------------------
+
+  private List<HeavyweightIterator<DBRow>> openPartitions(String orderBy) {
+    List<HeavyweightIterator<DBRow>> result = new ArrayList<>();
+    try {
+      for (String clause : getPartitionClauses()) {
+        Connection connection = connectionSupplier.get();
+        try {
+          result.add(new PartitionIterator(new DBRowIterator(table, connection, clause, orderBy), connection));
+        } catch (RuntimeException e) {
+          DBUtil.close(connection);
+          throw e;
+        }
+      }
+      return result;
+    } catch (RuntimeException e) {
+      result.forEach(IOUtil::close);
+      throw e;
+    }
+  }
+
+  private List<String> computePartitionClauses(Connection connection) throws SQLException {
+    List<Object[]> splitKeys;
+    DBColumn pkColumn = (pkColumnNames.length == 1 ? table.getColumn(pkColumnNames[0]) : null);
+    if (pkColumn != null && pkColumn.getType() != null && pkColumn.getType().isInteger()) {
+      splitKeys = rangeSplitKeys(connection);
+    } else {
+      splitKeys = quantileSplitKeys(connection);
+    }
+    List<String> result = new ArrayList<>(splitKeys.size() + 1);
+    Object[] lowerBound = null;
+    for (Object[] splitKey : splitKeys) {
+      result.add(renderRange(lowerBound, splitKey));
+      lowerBound = splitKey;
+    }
+    result.add(renderRange(lowerBound, null));
+    return result;
+  }
+
+  /** Splits the interval between the minimum and maximum value of an integral primary key. */
+  private List<Object[]> rangeSplitKeys(Connection connection) throws SQLException {
+    String column = pkColumnNames[0];
+    Object[] bounds = DBUtil.querySingleRow(
+        "SELECT MIN(" + column + "), MAX(" + column + ") FROM " + table.getName(), connection);
+    List<Object[]> result = new ArrayList<>();
+    if (bounds[0] == null) {
+      return result;
+    }
+    BigInteger min = new BigInteger(bounds[0].toString());
+    BigInteger span = new BigInteger(bounds[1].toString()).subtract(min).add(BigInteger.ONE);
+    BigInteger n = BigInteger.valueOf(partitionCount);
+    BigInteger previous = min;
+    for (int i = 1; i < partitionCount; i++) {
+      BigInteger splitKey = min.add(span.multiply(BigInteger.valueOf(i)).divide(n));
+      if (splitKey.compareTo(previous) > 0) {
+        result.add(new Object[] { splitKey });
+        previous = splitKey;
+      }
+    }
+    return result;
+  }
+
+  /** Determines the primary key values at the quantiles of the table's rows in primary key order.
+   *  If the database supports <code>ROW_NUMBER()</code>, it selects only the rows at the quantiles,
+   *  otherwise the ordered primary key values are scanned up to the last quantile. */
+  private List<Object[]> quantileSplitKeys(Connection connection) throws SQLException {
+    long rowCount = DBUtil.queryLong("SELECT COUNT(*) FROM " + table.getName(), connection);
+    if (rowCount < 2 || partitionCount == 1) {
+      return new ArrayList<>();
+    }
+    List<Long> splitRowIndexes = splitRowIndexes(rowCount);
+    String columns = ArrayFormat.format(pkColumnNames);
+    String query;
+    if (dialect.supportsRowNumberWindow()) {
+      query = renderQuantileQuery(table.getName(), columns, splitRowIndexes);
+    } else {
+      query = "SELECT " + columns + " FROM " + table.getName() + " ORDER BY " + columns;
+    }
+    List<Object[]> result = new ArrayList<>(splitRowIndexes.size());
+    ResultSet resultSet = DBUtil.executeQuery(query, connection);
+    try {
+      long rowIndex = 0;
+      while (result.size() < splitRowIndexes.size() && resultSet.next()) {
+        if (dialect.supportsRowNumberWindow() || rowIndex == splitRowIndexes.get(result.size())) {
+          Object[] splitKey = new Object[pkColumnNames.length];
+          for (int i = 0; i < splitKey.length; i++) {
+            splitKey[i] = resultSet.getObject(i + 1);
+          }
+          result.add(splitKey);
+        }
+        rowIndex++;
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+    return result;
+  }
+
+  /** @return the ascending, distinct indexes of the first row of each partition after the first one */
+  private List<Long> splitRowIndexes(long rowCount) {
+    List<Long> result = new ArrayList<>(partitionCount - 1);
+    long previous = 0;
+    for (int partition = 1; partition < partitionCount; partition++) {
+      long index = Math.max(1, rowCount * partition / partitionCount);
+      if (index > previous) {
+        result.add(index);
+        previous = index;
+      }
+    }
+    return result;
+  }
+
+  /** Renders a query for the keys at the given row indexes of the table in key order. */
+  static String renderQuantileQuery(String tableName, String columns, List<Long> rowIndexes) {
+    StringBuilder rowNumbers = new StringBuilder();
+    for (Long rowIndex : rowIndexes) {
+      if (rowNumbers.length() > 0) {
+        rowNumbers.append(", ");
+      }
+      rowNumbers.append(rowIndex + 1);
+    }
+    return "SELECT " + columns + " FROM (SELECT " + columns + ", ROW_NUMBER() OVER (ORDER BY " + columns + ") " +
+        "AS ROW_NUM FROM " + tableName + ") ROW_NUMBERS WHERE ROW_NUM IN (" + rowNumbers + ") ORDER BY ROW_NUM";
+  }
+
+  private String renderRange(Object[] lowerBound, Object[] upperBound) {
+    if (lowerBound == null && upperBound == null) {
+      return null;
+    } else if (upperBound == null) {
+      return SQLUtil.renderKeyComparison(pkColumnNames, lowerBound, ">=", dialect);
+    } else if (lowerBound == null) {
+      return SQLUtil.renderKeyComparison(pkColumnNames, upperBound, "<", dialect);
+    } else {
+      return "(" + SQLUtil.renderKeyComparison(pkColumnNames, lowerBound, ">=", dialect) + ") AND (" +
+          SQLUtil.renderKeyComparison(pkColumnNames, upperBound, "<", dialect) + ")";
+    }
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  /** Iterates the rows of a partition and closes its connection when closed. */
+  private static final class PartitionIterator implements HeavyweightIterator<DBRow> {
+
+    private final DBRowIterator rows;
+    private final Connection connection;
+    private boolean closed;
+
+    PartitionIterator(DBRowIterator rows, Connection connection) {
+      this.rows = rows;
+      this.connection = connection;
+      this.closed = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !closed && rows.hasNext();
+    }
+
+    @Override
+    public DBRow next() {
+      return rows.next();
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!closed) {
+        rows.close();
+        DBUtil.close(connection);
+        closed = true;
+      }
+    }
+  }
+
+  /** Iterates the partitions one after the other. */
+  private static final class PartitionSequence implements HeavyweightIterator<DBRow> {
+
+    private final List<HeavyweightIterator<DBRow>> partitions;
+    private int index;
+
+    PartitionSequence(List<HeavyweightIterator<DBRow>> partitions) {
+      this.partitions = partitions;
+      this.index = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (index < partitions.size()) {
+        if (partitions.get(index).hasNext()) {
+          return true;
+        }
+        IOUtil.close(partitions.get(index++));
+      }
+      return false;
+    }
+
+    @Override
+    public DBRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more row available. Use hasNext() for checking availability.");
+      }
+      return partitions.get(index).next();
+    }
+
+    @Override
+    public void close() {
+      for (; index < partitions.size(); index++) {
+        IOUtil.close(partitions.get(index));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Caches a value which is derived from the structure of a model object, e.g. a list of its tables,
+ * until the next structural change.
+ * Each change increments a version counter and each cached value is stored with the version
+ * it was built from, so a value built concurrently with a change is never served afterwards.<br/><br/>
+ * Created: 17.10.2026 18:19:12
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+final class StructureCache<T> {
+
+  private final Supplier<T> builder;
+  private final AtomicInteger version;
+  private volatile Entry<T> entry;
+
+  StructureCache(Supplier<T> builder) {
+    this.builder = builder;
+    this.version = new AtomicInteger();
+    this.entry = null;
+  }
+
+  T get() {
+    int currentVersion = version.get(); // read before building, so that a change during the build invalidates it
+    Entry<T> cached = entry;
+    if (cached != null && cached.version == currentVersion) {
+      return cached.value;
+    }
+    T value = builder.get();
+    entry = new Entry<>(currentVersion, value);
+    return value;
+  }
+
+  void invalidate() {
+    version.incrementAndGet();
+    entry = null;
+  }
+
+  private static final class Entry<T> {
+
+    final int version;
+    final T value;
+
+    Entry(int version, T value) {
+      this.version = version;
+      this.value = value;
+    }
+  }
+
+}
@@ -26,6 +26,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Helper implementation for {@link TableHolder} and {@link SequenceHolder}.<br/><br/>
@@ -118,7 +119,11 @@ public void addTable(DBTable table) {
    * @param table the table
    */
   public void removeTable(DBTable table) {
-    tables.remove(table.getName());
+    // remove by the map's own key, since the case-ignorant map does not normalize the key on removal
+    Map.Entry<String, DBTable> entry = tables.getEntry(table.getName());
+    if (entry != null) {
+      tables.remove(entry.getKey());
+    }
   }
 
   // sequence operations ---------------------------------------------------------------------------------------------
@@ -0,0 +1,488 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.bin;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.model.DBCatalog;
+import com.rapiddweller.jdbacl.model.DBCheckConstraint;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBDataType;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBIndex;
+import com.rapiddweller.jdbacl.model.DBMetaDataExporter;
+import com.rapiddweller.jdbacl.model.DBPackage;
+import com.rapiddweller.jdbacl.model.DBPrimaryKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBProcedure;
+import com.rapiddweller.jdbacl.model.DBSchema;
+import com.rapiddweller.jdbacl.model.DBSequence;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.DBTrigger;
+import com.rapiddweller.jdbacl.model.DBUniqueConstraint;
+import com.rapiddweller.jdbacl.model.Database;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import static com.rapiddweller.jdbacl.model.bin.BinaryModelFormat.*;
+
+/**
+ * Saves a database meta data model in the compact binary format described in {@link BinaryModelFormat}.
+ * An indexed snapshot is not compressed, but carries a table of contents which allows for
+ * loading table details on demand. The target file is replaced only after the snapshot has been
+ * written completely, so readers never see a partial snapshot. On Unix-like systems, this also works
+ * while the old snapshot is mapped into memory by a {@link BinaryModelImporter}, which keeps reading
+ * the old file contents. Windows does not allow replacing a mapped file, so the export fails with an
+ * IOException until the mapping has been released by garbage collection, and the old snapshot stays in place.<br/><br/>
+ * Created: 17.10.2026 15:25:07
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class BinaryModelExporter implements DBMetaDataExporter {
+
+  private final File file;
+  private final boolean lazy;
+  private final boolean compressed;
+  private final boolean indexed;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public BinaryModelExporter(File file) {
+    this(file, true);
+  }
+
+  public BinaryModelExporter(File file, boolean lazy) {
+    this(file, lazy, true);
+  }
+
+  public BinaryModelExporter(File file, boolean lazy, boolean compressed) {
+    this(file, lazy, compressed, false);
+  }
+
+  public BinaryModelExporter(File file, boolean lazy, boolean compressed, boolean indexed) {
+    if (compressed && indexed) {
+      throw ExceptionFactory.getInstance().illegalArgument("An indexed snapshot cannot be compressed");
+    }
+    this.file = file;
+    this.lazy = lazy;
+    this.compressed = compressed;
+    this.indexed = indexed;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  @Override
+  public void export(Database database) throws IOException {
+    File tempFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+    try {
+      try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+        export(database, out);
+      }
+      Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+  }
+
+  public void export(Database database, OutputStream out) throws IOException {
+    DataOutputStream header = new DataOutputStream(out);
+    header.writeInt(MAGIC);
+    header.writeShort(VERSION);
+    header.writeByte(compressed ? FLAG_COMPRESSED : (indexed ? FLAG_INDEXED : 0));
+    header.flush();
+    if (compressed) {
+      DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+      new SectionWriter(deflater).writeDatabase(database);
+      deflater.finish();
+    } else {
+      new SectionWriter(out).writeDatabase(database);
+    }
+    out.flush();
+  }
+
+  // helper class ----------------------------------------------------------------------------------------------------
+
+  private class SectionWriter {
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream buffer;
+    private final DataOutputStream section;
+    private final Map<String, Integer> stringIds;
+    private final List<String> newStrings;
+
+    // table of contents of an indexed snapshot
+    private final List<Integer> stringOffsets;
+    private final Map<DBTable, Integer> tableOrdinals;
+    private final List<Integer> detailsOffsets;
+    private final List<List<Integer>> referrers;
+    private boolean referrersComplete;
+
+    SectionWriter(OutputStream out) {
+      this.out = new DataOutputStream(out);
+      this.buffer = new ByteArrayOutputStream();
+      this.section = new DataOutputStream(buffer);
+      this.stringIds = new HashMap<>();
+      this.newStrings = new ArrayList<>();
+      this.stringOffsets = new ArrayList<>();
+      this.tableOrdinals = new IdentityHashMap<>();
+      this.detailsOffsets = new ArrayList<>();
+      this.referrers = new ArrayList<>();
+      this.referrersComplete = true;
+    }
+
+    void writeDatabase(Database database) throws IOException {
+      writeString(database.getName());
+      writeString(database.getDatabaseProductName());
+      writeString(database.getDatabaseProductVersion() != null ? database.getDatabaseProductVersion().toString() : null);
+      section.writeLong(database.getImportDate() != null ? database.getImportDate().getTime() : Long.MIN_VALUE);
+      writeString(database.getUser());
+      writeString(database.getTableInclusionPattern());
+      writeString(database.getTableExclusionPattern());
+      section.writeByte((database.isChecksImported() ? CHECKS_IMPORTED : 0)
+          | (database.isSequencesImported() ? SEQUENCES_IMPORTED : 0)
+          | (database.isTriggersImported() ? TRIGGERS_IMPORTED : 0)
+          | (database.isPackagesImported() ? PACKAGES_IMPORTED : 0));
+      endSection(DATABASE);
+      // first write all names in order to have all referenced tables available on import...
+      for (DBCatalog catalog : database.getCatalogs()) {
+        writeString(catalog.getName());
+        endSection(CATALOG);
+        for (DBSchema schema : catalog.getSchemas()) {
+          writeString(schema.getName());
+          endSection(SCHEMA);
+          for (DBTable table : schema.getTables()) {
+            writeString(table.getName());
+            writeString(table.getTableType().name());
+            writeString(table.getDoc());
+            endSection(TABLE);
+            tableOrdinals.put(table, tableOrdinals.size());
+            detailsOffsets.add(-1);
+            referrers.add(new ArrayList<>());
+          }
+        }
+      }
+      // ...then the details
+      for (DBCatalog catalog : database.getCatalogs()) {
+        for (DBSchema schema : catalog.getSchemas()) {
+          writeSchemaDetails(schema, database);
+        }
+      }
+      endSection(END);
+      if (indexed) {
+        writeTableIndex();
+      }
+      out.flush();
+    }
+
+    private void writeTableIndex() throws IOException {
+      writeVarInt(stringOffsets.size(), section);
+      for (int offset : stringOffsets) {
+        section.writeInt(offset);
+      }
+      writeVarInt(detailsOffsets.size(), section);
+      for (int i = 0; i < detailsOffsets.size(); i++) {
+        section.writeInt(detailsOffsets.get(i));
+        if (referrersComplete) {
+          List<Integer> tableReferrers = referrers.get(i);
+          writeVarInt(tableReferrers.size() + 1, section);
+          for (int referrer : tableReferrers) {
+            writeVarInt(referrer, section);
+          }
+        } else {
+          writeVarInt(0, section); // the referrers are unknown
+        }
+      }
+      int offset = endSection(TABLE_INDEX);
+      out.writeInt(offset);
+    }
+
+    private void writeSchemaDetails(DBSchema schema, Database database) throws IOException {
+      for (DBTable table : schema.getTables()) {
+        writeTableDetails(table);
+      }
+      if (database.isSequencesImported()) {
+        for (DBSequence sequence : schema.getSequences(true)) {
+          writeSequence(sequence);
+        }
+      }
+      if (database.isTriggersImported()) {
+        for (DBTrigger trigger : schema.getTriggers()) {
+          writeTrigger(trigger);
+        }
+      }
+      if (database.isPackagesImported()) {
+        for (DBPackage pkg : schema.getPackages()) {
+          writePackage(pkg);
+        }
+      }
+    }
+
+    private void writeOwner(DBSchema schema) throws IOException {
+      writeString(schema.getCatalog().getName());
+      writeString(schema.getName());
+    }
+
+    private void writeTableDetails(DBTable table) throws IOException {
+      writeOwner(table.getSchema());
+      writeString(table.getName());
+      boolean columns = (!lazy || table.areColumnsImported());
+      if (!lazy) {
+        table.havePKImported();
+      }
+      boolean pk = table.isPKImported();
+      boolean fks = (!lazy || table.areFKsImported());
+      boolean indexes = (!lazy || table.areIndexesImported());
+      boolean checks = (!lazy || table.areChecksImported());
+      section.writeByte((columns ? COLUMNS_IMPORTED : 0) | (pk ? PK_IMPORTED : 0) | (fks ? FKS_IMPORTED : 0)
+          | (indexes ? INDEXES_IMPORTED : 0) | (checks ? TABLE_CHECKS_IMPORTED : 0));
+      if (columns) {
+        writeColumns(table.getColumns());
+      }
+      if (pk) {
+        DBPrimaryKeyConstraint pkConstraint = table.getPrimaryKeyConstraint();
+        section.writeBoolean(pkConstraint != null);
+        if (pkConstraint != null) {
+          writeString(pkConstraint.getName());
+          section.writeBoolean(pkConstraint.isNameDeterministic());
+          writeStrings(pkConstraint.getColumnNames());
+        }
+      }
+      if (indexes) {
+        writeUKsAndIndexes(table);
+      }
+      if (fks) {
+        writeFKs(table);
+      } else {
+        referrersComplete = false;
+      }
+      if (checks) {
+        List<DBCheckConstraint> checkConstraints = table.getCheckConstraints();
+        writeVarInt(checkConstraints.size(), section);
+        for (DBCheckConstraint check : checkConstraints) {
+          writeString(check.getName());
+          section.writeBoolean(check.isNameDeterministic());
+          writeString(check.getConditionText());
+        }
+      }
+      int offset = endSection(TABLE_DETAILS);
+      Integer ordinal = tableOrdinals.get(table);
+      if (ordinal != null) {
+        detailsOffsets.set(ordinal, offset);
+      }
+    }
+
+    private void writeColumns(List<DBColumn> columns) throws IOException {
+      writeVarInt(columns.size(), section);
+      for (DBColumn column : columns) {
+        writeString(column.getName());
+        DBDataType type = column.getType();
+        section.writeInt(type != null ? type.getJdbcType() : NO_TYPE);
+        writeString(type != null ? type.getName() : null);
+        writeOptionalInt(column.getSize(), section);
+        writeOptionalInt(column.getFractionDigits(), section);
+        section.writeBoolean(column.isNullable());
+        writeString(column.getDefaultValue());
+        writeString(column.getDoc());
+      }
+    }
+
+    private void writeUKsAndIndexes(DBTable table) throws IOException {
+      List<DBUniqueConstraint> uks = new ArrayList<>();
+      for (DBUniqueConstraint uk : table.getUniqueConstraints(false)) {
+        if (!(uk instanceof DBPrimaryKeyConstraint)) {
+          uks.add(uk);
+        }
+      }
+      writeVarInt(uks.size(), section);
+      for (DBUniqueConstraint uk : uks) {
+        writeString(uk.getName());
+        section.writeBoolean(uk.isNameDeterministic());
+        writeStrings(uk.getColumnNames());
+      }
+      List<DBIndex> indexes = table.getIndexes();
+      writeVarInt(indexes.size(), section);
+      for (DBIndex index : indexes) {
+        writeString(index.getName());
+        section.writeBoolean(index.isUnique());
+        section.writeBoolean(index.isNameDeterministic());
+        writeStrings(index.getColumnNames());
+      }
+    }
+
+    private void writeFKs(DBTable table) throws IOException {
+      Collection<DBForeignKeyConstraint> fks = table.getForeignKeyConstraints();
+      writeVarInt(fks.size(), section);
+      for (DBForeignKeyConstraint fk : fks) {
+        addReferrer(table, fk.getRefereeTable());
+        writeString(fk.getName());
+        section.writeBoolean(fk.isNameDeterministic());
+        writeStrings(fk.getColumnNames());
+        DBTable refereeTable = fk.getRefereeTable();
+        writeOwner(refereeTable.getSchema());
+        writeString(refereeTable.getName());
+        writeStrings(fk.getRefereeColumnNames());
+        section.writeByte(fk.getUpdateRule().ordinal());
+        section.writeByte(fk.getDeleteRule().ordinal());
+      }
+    }
+
+    private void addReferrer(DBTable referrer, DBTable referee) {
+      Integer refereeOrdinal = tableOrdinals.get(referee);
+      if (refereeOrdinal == null) {
+        referrersComplete = false; // the referee is not part of the snapshot
+        return;
+      }
+      List<Integer> tableReferrers = referrers.get(refereeOrdinal);
+      int referrerOrdinal = tableOrdinals.get(referrer);
+      if (!tableReferrers.contains(referrerOrdinal)) {
+        tableReferrers.add(referrerOrdinal);
+      }
+    }
+
+    private void writeSequence(DBSequence sequence) throws IOException {
+      writeOwner((DBSchema) sequence.getOwner());
+      writeString(sequence.getName());
+      writeBigInteger(sequence.getStart());
+      writeBigInteger(sequence.getIncrement());
+      writeBigInteger(sequence.getMaxValue());
+      writeBigInteger(sequence.getMinValue());
+      writeOptionalBoolean(sequence.isCycle(), section);
+      section.writeBoolean(sequence.getCache() != null);
+      if (sequence.getCache() != null) {
+        section.writeLong(sequence.getCache());
+      }
+      writeOptionalBoolean(sequence.isOrder(), section);
+      endSection(SEQUENCE);
+    }
+
+    private void writeTrigger(DBTrigger trigger) throws IOException {
+      writeOwner((DBSchema) trigger.getOwner());
+      writeString(trigger.getName());
+      writeString(trigger.getTriggerType());
+      writeString(trigger.getTriggeringEvent());
+      writeString(trigger.getTableOwner());
+      writeString(trigger.getBaseObjectType());
+      writeString(trigger.getTableName());
+      writeString(trigger.getColumnName());
+      writeString(trigger.getReferencingNames());
+      writeString(trigger.getWhenClause());
+      writeString(trigger.getStatus());
+      writeString(trigger.getDescription());
+      writeString(trigger.getActionType());
+      writeString(trigger.getTriggerBody());
+      endSection(TRIGGER);
+    }
+
+    private void writePackage(DBPackage pkg) throws IOException {
+      writeOwner(pkg.getSchema());
+      writeString(pkg.getName());
+      writeString(pkg.getSubObjectName());
+      writeString(pkg.getObjectId());
+      writeString(pkg.getDataObjectId());
+      writeString(pkg.getObjectType());
+      writeString(pkg.getStatus());
+      List<DBProcedure> procedures = pkg.getProcedures();
+      writeVarInt(procedures.size(), section);
+      for (DBProcedure procedure : procedures) {
+        writeString(procedure.getName());
+        writeString(procedure.getObjectId());
+        writeString(procedure.getSubProgramId());
+        writeString(procedure.getOverload());
+      }
+      endSection(PACKAGE);
+    }
+
+    private void writeBigInteger(BigInteger value) throws IOException {
+      writeString(value != null ? value.toString() : null);
+    }
+
+    private void writeStrings(String[] values) throws IOException {
+      writeVarInt(values.length, section);
+      for (String value : values) {
+        writeString(value);
+      }
+    }
+
+    private void writeString(String value) throws IOException {
+      if (value == null) {
+        writeVarInt(0, section);
+        return;
+      }
+      Integer id = stringIds.get(value);
+      if (id == null) {
+        id = stringIds.size() + 1;
+        stringIds.put(value, id);
+        newStrings.add(value);
+      }
+      writeVarInt(id, section);
+    }
+
+    /** Writes the current section, preceded by a strings section if necessary.
+     *  @return the offset of the section in the file, which is only meaningful for uncompressed snapshots */
+    private int endSection(int tag) throws IOException {
+      if (!newStrings.isEmpty()) {
+        // strings section must precede the section which references the strings
+        ByteArrayOutputStream stringBuffer = new ByteArrayOutputStream();
+        DataOutputStream strings = new DataOutputStream(stringBuffer);
+        writeVarInt(newStrings.size(), strings);
+        int[] relativeOffsets = new int[newStrings.size()];
+        for (int i = 0; i < relativeOffsets.length; i++) {
+          relativeOffsets[i] = strings.size();
+          writeUTF8(newStrings.get(i), strings);
+        }
+        writeSection(STRINGS, stringBuffer);
+        int payloadOffset = HEADER_SIZE + out.size() - stringBuffer.size();
+        for (int relativeOffset : relativeOffsets) {
+          stringOffsets.add(payloadOffset + relativeOffset);
+        }
+        newStrings.clear();
+      }
+      int offset = writeSection(tag, buffer);
+      buffer.reset();
+      return offset;
+    }
+
+    private int writeSection(int tag, ByteArrayOutputStream payload) throws IOException {
+      int offset = HEADER_SIZE + out.size();
+      out.writeByte(tag);
+      writeVarInt(payload.size(), out);
+      payload.writeTo(out);
+      return offset;
+    }
+
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.bin;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and primitive encodings of the binary meta data snapshot format.<br/><br/>
+ * A snapshot starts with a header of magic number, format version and flags.
+ * It is followed by a sequence of sections, each consisting of a tag byte,
+ * the payload length as variable-length integer and the payload itself.
+ * Strings are deduplicated: A payload references each string by its number
+ * in the string table, which is built from the {@link #STRINGS} sections
+ * preceding the sections that use them, so readers may safely skip sections they do not know.
+ * If the {@link #FLAG_COMPRESSED} flag is set, all data after the header is deflated.
+ * If the {@link #FLAG_INDEXED} flag is set instead, the data is followed by a {@link #TABLE_INDEX} section
+ * and a trailer holding the file offset of that section. The index provides the file offsets of each string
+ * and of each table's {@link #TABLE_DETAILS} section as well as the referrers of each table,
+ * so that a reader can decode table details on demand from a memory-mapped file.<br/><br/>
+ * Created: 17.10.2026 15:25:07
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+final class BinaryModelFormat {
+
+  static final int MAGIC = 0x4A44424D; // 'JDBM'
+  /** Version 2 added the {@link #FLAG_INDEXED} layout and the {@link #NO_TYPE} column type,
+   *  which readers of version 1 would misinterpret. */
+  static final int VERSION = 2;
+
+  static final int HEADER_SIZE = 7;
+
+  static final int FLAG_COMPRESSED = 1;
+  static final int FLAG_INDEXED = 2;
+
+  // section tags
+  static final int END = 0;
+  static final int STRINGS = 1;
+  static final int DATABASE = 2;
+  static final int CATALOG = 3;
+  static final int SCHEMA = 4;
+  static final int TABLE = 5;
+  static final int TABLE_DETAILS = 6;
+  static final int SEQUENCE = 7;
+  static final int TRIGGER = 8;
+  static final int PACKAGE = 9;
+  static final int TABLE_INDEX = 10;
+
+  // database flags
+  static final int CHECKS_IMPORTED = 1;
+  static final int SEQUENCES_IMPORTED = 2;
+  static final int TRIGGERS_IMPORTED = 4;
+  static final int PACKAGES_IMPORTED = 8;
+
+  /** JDBC type code written for columns without a data type, followed by a null type name. */
+  static final int NO_TYPE = Integer.MIN_VALUE;
+
+  // table flags
+  static final int COLUMNS_IMPORTED = 1;
+  static final int PK_IMPORTED = 2;
+  static final int FKS_IMPORTED = 4;
+  static final int INDEXES_IMPORTED = 8;
+  static final int TABLE_CHECKS_IMPORTED = 16;
+
+  private BinaryModelFormat() {
+    // private constructor to prevent instantiation
+  }
+
+  static void writeVarInt(int value, DataOutput out) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVarInt(DataInput in) throws IOException {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      result |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  static int readVarInt(ByteBuffer in) throws IOException {
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.get() & 0xFF;
+      result |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  /** Writes an optional non-negative integer, using 0 to represent null. */
+  static void writeOptionalInt(Integer value, DataOutput out) throws IOException {
+    writeVarInt(value != null ? value + 1 : 0, out);
+  }
+
+  static Integer readOptionalInt(DataInput in) throws IOException {
+    int value = readVarInt(in);
+    return (value != 0 ? value - 1 : null);
+  }
+
+  /** Writes an optional boolean as 0 for null, 1 for false and 2 for true. */
+  static void writeOptionalBoolean(Boolean value, DataOutput out) throws IOException {
+    out.writeByte(value == null ? 0 : (value ? 2 : 1));
+  }
+
+  static Boolean readOptionalBoolean(DataInput in) throws IOException {
+    int value = in.readUnsignedByte();
+    return (value == 0 ? null : value == 2);
+  }
+
+  static void writeUTF8(String value, DataOutput out) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length, out);
+    out.write(bytes);
+  }
+
+  static String readUTF8(DataInput in) throws IOException {
+    byte[] bytes = new byte[readVarInt(in)];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,618 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.bin;
+
+import com.rapiddweller.common.ImportFailedException;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.common.version.VersionNumber;
+import com.rapiddweller.jdbacl.model.DBCatalog;
+import com.rapiddweller.jdbacl.model.DBCheckConstraint;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBDataType;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBMetaDataImporter;
+import com.rapiddweller.jdbacl.model.DBNonUniqueIndex;
+import com.rapiddweller.jdbacl.model.DBPackage;
+import com.rapiddweller.jdbacl.model.DBPrimaryKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBProcedure;
+import com.rapiddweller.jdbacl.model.DBSchema;
+import com.rapiddweller.jdbacl.model.DBSequence;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.DBTrigger;
+import com.rapiddweller.jdbacl.model.DBUniqueConstraint;
+import com.rapiddweller.jdbacl.model.DBUniqueIndex;
+import com.rapiddweller.jdbacl.model.Database;
+import com.rapiddweller.jdbacl.model.FKChangeRule;
+import com.rapiddweller.jdbacl.model.TableType;
+import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+import static com.rapiddweller.jdbacl.model.bin.BinaryModelFormat.*;
+
+/**
+ * Imports a meta data model from a file in the binary format described in {@link BinaryModelFormat}.
+ * The file is memory-mapped and read in a single forward pass, section by section.
+ * If the snapshot is indexed, only the names of the tables are read on import and each table's details
+ * are decoded from the mapped file when they are accessed for the first time.<br/><br/>
+ * Created: 17.10.2026 15:25:07
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class BinaryModelImporter implements DBMetaDataImporter {
+
+  private final File file;
+  private final JDBCDBImporter realImporter;
+
+  public BinaryModelImporter(File file, JDBCDBImporter realImporter) {
+    this.file = file;
+    this.realImporter = realImporter;
+  }
+
+  @Override
+  public Database importDatabase() throws ImportFailedException {
+    try {
+      ByteBuffer buffer;
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        // the mapping stays valid after the channel has been closed
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+      InputStream in = new ByteBufferInputStream(buffer.duplicate());
+      int flags = readHeader(in);
+      if ((flags & FLAG_INDEXED) != 0) {
+        return new SectionReader(in, new TableOfContents(buffer)).readDatabase();
+      } else {
+        return readBody(in, flags);
+      }
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().importFailed("Metadata import failed", e);
+    }
+  }
+
+  public Database importDatabase(InputStream in) throws IOException {
+    return readBody(in, readHeader(in));
+  }
+
+  private static int readHeader(InputStream in) throws IOException {
+    DataInputStream header = new DataInputStream(in);
+    if (header.readInt() != MAGIC) {
+      throw new IOException("Not a binary meta data file");
+    }
+    int version = header.readUnsignedShort();
+    if (version > VERSION) {
+      throw new IOException("Unsupported binary meta data format version: " + version);
+    }
+    return header.readUnsignedByte();
+  }
+
+  private Database readBody(InputStream in, int flags) throws IOException {
+    InputStream body = ((flags & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(in) : in);
+    return new SectionReader(body, null).readDatabase();
+  }
+
+  private void loadDetails(TableOfContents toc, int ordinal, DBTable table) {
+    try {
+      DataInputStream details = toc.getDetails(ordinal);
+      if (details != null) {
+        new SectionReader(table.getCatalog().getDatabase(), toc, details).readTableDetails();
+      }
+      int[] referrers = toc.getReferrers(ordinal);
+      if (referrers != null) {
+        table.setReferrersImported(true);
+        for (int referrer : referrers) {
+          table.receiveReferrer(toc.getTable(referrer));
+        }
+      }
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().importFailed(
+          "Failed to load the details of table " + table.getName() + " from " + file, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    // nothing special to do
+  }
+
+  // helper class ----------------------------------------------------------------------------------------------------
+
+  private class SectionReader {
+
+    private final DataInputStream in;
+    private final List<String> strings;
+    private final TableOfContents toc;
+    private DataInputStream section;
+    private Database db;
+    private DBCatalog catalog;
+    private DBSchema schema;
+    private int tableCount;
+
+    /** Creates a reader for a whole snapshot. If a table of contents is provided,
+     *  the strings are resolved by the index and the table details are skipped. */
+    SectionReader(InputStream in, TableOfContents toc) {
+      this.in = new DataInputStream(in);
+      this.strings = new ArrayList<>();
+      this.toc = toc;
+      this.tableCount = 0;
+    }
+
+    /** Creates a reader for a single section of an indexed snapshot. */
+    SectionReader(Database db, TableOfContents toc, DataInputStream section) {
+      this.in = null;
+      this.strings = null;
+      this.toc = toc;
+      this.db = db;
+      this.section = section;
+    }
+
+    Database readDatabase() throws IOException {
+      int tag;
+      while ((tag = nextSection()) != END) {
+        switch (tag) {
+          case STRINGS:
+            if (toc == null) {
+              readStringTable();
+            }
+            break;
+          case DATABASE:
+            readDatabaseProperties();
+            break;
+          case CATALOG:
+            catalog = new DBCatalog(readString(), database());
+            break;
+          case SCHEMA:
+            schema = new DBSchema(readString(), catalog);
+            break;
+          case TABLE:
+            readTable();
+            break;
+          case TABLE_DETAILS:
+            if (toc == null) {
+              readTableDetails();
+            }
+            break;
+          case SEQUENCE:
+            readSequence();
+            break;
+          case TRIGGER:
+            readTrigger();
+            break;
+          case PACKAGE:
+            readPackage();
+            break;
+          default:
+            // sections of unknown type are skipped for compatibility with future versions
+        }
+      }
+      if (toc == null) {
+        scanReferers(database());
+      }
+      return db;
+    }
+
+    private int nextSection() throws IOException {
+      int tag = in.read();
+      if (tag < 0) {
+        throw new IOException("Unexpected end of binary meta data");
+      }
+      int length = readVarInt(in);
+      if (toc != null && (tag == STRINGS || tag == TABLE_DETAILS)) {
+        // the table of contents provides these on demand
+        in.skipBytes(length);
+        section = null;
+        return tag;
+      }
+      byte[] payload = new byte[length];
+      in.readFully(payload);
+      section = new DataInputStream(new ByteArrayInputStream(payload));
+      return tag;
+    }
+
+    private Database database() throws IOException {
+      if (db == null) {
+        throw new IOException("Database section missing");
+      }
+      return db;
+    }
+
+    private void readStringTable() throws IOException {
+      int count = readVarInt(section);
+      for (int i = 0; i < count; i++) {
+        strings.add(readUTF8(section));
+      }
+    }
+
+    private void readDatabaseProperties() throws IOException {
+      db = new Database(null, realImporter, false);
+      db.setName(readString());
+      String productName = readString();
+      String productVersion = readString();
+      if (realImporter == null) {
+        db.setDatabaseProductName(productName);
+        db.setDatabaseProductVersion(productVersion != null ? VersionNumber.valueOf(productVersion) : null);
+      }
+      long importDate = section.readLong();
+      if (importDate != Long.MIN_VALUE) {
+        db.setImportDate(new Date(importDate));
+      }
+      db.setUser(readString());
+      db.setTableInclusionPattern(readString());
+      db.setTableExclusionPattern(readString());
+      int flags = section.readUnsignedByte();
+      db.setChecksImported((flags & CHECKS_IMPORTED) != 0);
+      db.setSequencesImported((flags & SEQUENCES_IMPORTED) != 0);
+      db.setTriggersImported((flags & TRIGGERS_IMPORTED) != 0);
+      db.setPackagesImported((flags & PACKAGES_IMPORTED) != 0);
+    }
+
+    private void readTable() throws IOException {
+      String name = readString();
+      TableType type = TableType.valueOf(readString());
+      String doc = readString();
+      DBTable table = new DBTable(name, type, doc, schema, realImporter);
+      if (toc != null) {
+        int ordinal = tableCount++;
+        toc.setTable(ordinal, table);
+        table.setDetailsLoader(t -> loadDetails(toc, ordinal, t));
+      }
+    }
+
+    private DBSchema readOwner() throws IOException {
+      String catalogName = readString();
+      String schemaName = readString();
+      DBCatalog ownerCatalog = database().getCatalog(catalogName);
+      DBSchema owner = (ownerCatalog != null ? ownerCatalog.getSchema(schemaName) : null);
+      if (owner == null) {
+        throw new IOException("Schema not found: " + catalogName + '.' + schemaName);
+      }
+      return owner;
+    }
+
+    private DBTable readTableRef() throws IOException {
+      DBSchema owner = readOwner();
+      String tableName = readString();
+      DBTable table = owner.getTable(tableName);
+      if (table == null) {
+        throw new IOException("Table not found: " + owner.getName() + '.' + tableName);
+      }
+      return table;
+    }
+
+    private void readTableDetails() throws IOException {
+      DBTable table = readTableRef();
+      int flags = section.readUnsignedByte();
+      table.setColumnsImported((flags & COLUMNS_IMPORTED) != 0);
+      table.setPKImported((flags & PK_IMPORTED) != 0);
+      table.setFKsImported((flags & FKS_IMPORTED) != 0);
+      table.setIndexesImported((flags & INDEXES_IMPORTED) != 0);
+      table.setChecksImported((flags & TABLE_CHECKS_IMPORTED) != 0);
+      if ((flags & COLUMNS_IMPORTED) != 0) {
+        readColumns(table);
+      }
+      if ((flags & PK_IMPORTED) != 0 && section.readBoolean()) {
+        String name = readString();
+        boolean nameDeterministic = section.readBoolean();
+        new DBPrimaryKeyConstraint(table, name, nameDeterministic, readStrings());
+      }
+      if ((flags & INDEXES_IMPORTED) != 0) {
+        readUKsAndIndexes(table);
+      }
+      if ((flags & FKS_IMPORTED) != 0) {
+        readFKs(table);
+      }
+      if ((flags & TABLE_CHECKS_IMPORTED) != 0) {
+        int count = readVarInt(section);
+        for (int i = 0; i < count; i++) {
+          String name = readString();
+          boolean nameDeterministic = section.readBoolean();
+          new DBCheckConstraint(name, nameDeterministic, table, readString());
+        }
+      }
+    }
+
+    private void readColumns(DBTable table) throws IOException {
+      int count = readVarInt(section);
+      for (int i = 0; i < count; i++) {
+        String name = readString();
+        int jdbcType = section.readInt();
+        String typeName = readString();
+        DBDataType type = (jdbcType != NO_TYPE ? DBDataType.getInstance(jdbcType, typeName) : null);
+        Integer size = readOptionalInt(section);
+        Integer fractionDigits = readOptionalInt(section);
+        DBColumn column = new DBColumn(name, table, type, size, fractionDigits);
+        column.setNullable(section.readBoolean());
+        column.setDefaultValue(readString());
+        column.setDoc(readString());
+      }
+    }
+
+    private void readUKsAndIndexes(DBTable table) throws IOException {
+      int ukCount = readVarInt(section);
+      for (int i = 0; i < ukCount; i++) {
+        String name = readString();
+        boolean nameDeterministic = section.readBoolean();
+        new DBUniqueConstraint(table, name, nameDeterministic, readStrings());
+      }
+      int indexCount = readVarInt(section);
+      for (int i = 0; i < indexCount; i++) {
+        String name = readString();
+        boolean unique = section.readBoolean();
+        boolean nameDeterministic = section.readBoolean();
+        String[] columnNames = readStrings();
+        if (unique) {
+          new DBUniqueIndex(name, nameDeterministic, table.getUniqueConstraint(columnNames));
+        } else {
+          new DBNonUniqueIndex(name, nameDeterministic, table, columnNames);
+        }
+      }
+    }
+
+    private void readFKs(DBTable table) throws IOException {
+      int count = readVarInt(section);
+      FKChangeRule[] rules = FKChangeRule.values();
+      for (int i = 0; i < count; i++) {
+        String name = readString();
+        boolean nameDeterministic = section.readBoolean();
+        String[] columnNames = readStrings();
+        DBTable refereeTable = readTableRef();
+        String[] refereeColumnNames = readStrings();
+        DBForeignKeyConstraint fk = new DBForeignKeyConstraint(
+            name, nameDeterministic, table, columnNames, refereeTable, refereeColumnNames);
+        fk.setUpdateRule(rules[section.readUnsignedByte()]);
+        fk.setDeleteRule(rules[section.readUnsignedByte()]);
+      }
+    }
+
+    private void readSequence() throws IOException {
+      DBSchema owner = readOwner();
+      DBSequence sequence = new DBSequence(readString(), owner);
+      sequence.setStart(readBigInteger());
+      sequence.setIncrement(readBigInteger());
+      sequence.setMaxValue(readBigInteger());
+      sequence.setMinValue(readBigInteger());
+      sequence.setCycle(readOptionalBoolean(section));
+      if (section.readBoolean()) {
+        sequence.setCache(section.readLong());
+      }
+      sequence.setOrder(readOptionalBoolean(section));
+    }
+
+    private void readTrigger() throws IOException {
+      DBSchema owner = readOwner();
+      DBTrigger trigger = new DBTrigger(readString(), null);
+      owner.receiveTrigger(trigger);
+      trigger.setOwner(owner);
+      trigger.setTriggerType(readString());
+      trigger.setTriggeringEvent(readString());
+      trigger.setTableOwner(readString());
+      trigger.setBaseObjectType(readString());
+      trigger.setTableName(readString());
+      trigger.setColumnName(readString());
+      trigger.setReferencingNames(readString());
+      trigger.setWhenClause(readString());
+      trigger.setStatus(readString());
+      trigger.setDescription(readString());
+      trigger.setActionType(readString());
+      trigger.setTriggerBody(readString());
+    }
+
+    private void readPackage() throws IOException {
+      DBSchema owner = readOwner();
+      DBPackage pkg = new DBPackage(readString(), null);
+      pkg.setSchema(owner);
+      owner.receivePackage(pkg);
+      pkg.setSubObjectName(readString());
+      pkg.setObjectId(readString());
+      pkg.setDataObjectId(readString());
+      pkg.setObjectType(readString());
+      pkg.setStatus(readString());
+      int count = readVarInt(section);
+      for (int i = 0; i < count; i++) {
+        DBProcedure procedure = new DBProcedure(readString(), pkg);
+        procedure.setObjectId(readString());
+        procedure.setSubProgramId(readString());
+        procedure.setOverload(readString());
+      }
+    }
+
+    private BigInteger readBigInteger() throws IOException {
+      String value = readString();
+      return (value != null ? new BigInteger(value) : null);
+    }
+
+    private String[] readStrings() throws IOException {
+      String[] result = new String[readVarInt(section)];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = readString();
+      }
+      return result;
+    }
+
+    private String readString() throws IOException {
+      int id = readVarInt(section);
+      if (id == 0) {
+        return null;
+      } else if (toc != null) {
+        return toc.getString(id);
+      } else if (id > strings.size()) {
+        throw new IOException("Undefined string reference: " + id);
+      }
+      return strings.get(id - 1);
+    }
+
+  }
+
+  /** Provides random access to the strings and table details of an indexed snapshot. */
+  private static class TableOfContents {
+
+    private final ByteBuffer buffer;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final int[] detailsOffsets;
+    private final int[][] referrers;
+    private final DBTable[] tables;
+
+    TableOfContents(ByteBuffer buffer) throws IOException {
+      this.buffer = buffer;
+      ByteBuffer toc = buffer.duplicate();
+      toc.position(buffer.getInt(buffer.limit() - 4));
+      if (toc.get() != TABLE_INDEX) {
+        throw new IOException("Table of contents not found");
+      }
+      readVarInt(toc); // section length
+      this.stringOffsets = new int[readVarInt(toc)];
+      for (int i = 0; i < stringOffsets.length; i++) {
+        stringOffsets[i] = toc.getInt();
+      }
+      this.strings = new String[stringOffsets.length];
+      int tableCount = readVarInt(toc);
+      this.detailsOffsets = new int[tableCount];
+      this.referrers = new int[tableCount][];
+      for (int i = 0; i < tableCount; i++) {
+        detailsOffsets[i] = toc.getInt();
+        int referrerCount = readVarInt(toc) - 1;
+        if (referrerCount >= 0) {
+          referrers[i] = new int[referrerCount];
+          for (int j = 0; j < referrerCount; j++) {
+            referrers[i][j] = readVarInt(toc);
+          }
+        }
+      }
+      this.tables = new DBTable[tableCount];
+    }
+
+    String getString(int id) throws IOException {
+      if (id > strings.length) {
+        throw new IOException("Undefined string reference: " + id);
+      }
+      String result = strings[id - 1];
+      if (result == null) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(stringOffsets[id - 1]);
+        byte[] bytes = new byte[readVarInt(in)];
+        in.get(bytes);
+        result = new String(bytes, StandardCharsets.UTF_8);
+        strings[id - 1] = result;
+      }
+      return result;
+    }
+
+    void setTable(int ordinal, DBTable table) throws IOException {
+      if (ordinal >= tables.length) {
+        throw new IOException("Table of contents does not match the snapshot");
+      }
+      tables[ordinal] = table;
+    }
+
+    DBTable getTable(int ordinal) {
+      return tables[ordinal];
+    }
+
+    DataInputStream getDetails(int ordinal) throws IOException {
+      if (detailsOffsets[ordinal] < 0) {
+        return null;
+      }
+      ByteBuffer in = buffer.duplicate();
+      in.position(detailsOffsets[ordinal]);
+      if (in.get() != TABLE_DETAILS) {
+        throw new IOException("Table details not found at offset " + detailsOffsets[ordinal]);
+      }
+      byte[] payload = new byte[readVarInt(in)];
+      in.get(payload);
+      return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+
+    int[] getReferrers(int ordinal) {
+      return referrers[ordinal];
+    }
+  }
+
+  /** Reads the content of a {@link ByteBuffer}. */
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return (buffer.hasRemaining() ? buffer.get() & 0xFF : -1);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public long skip(long n) {
+      int count = (int) Math.min(Math.max(n, 0), buffer.remaining());
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+  private static void scanReferers(Database database) {
+    boolean allFKsImported = true;
+    for (DBTable table : database.getTables()) {
+      if (table.areFKsImported()) {
+        for (DBForeignKeyConstraint fk : table.getForeignKeyConstraints()) {
+          fk.getRefereeTable().receiveReferrer(table);
+        }
+      } else {
+        allFKsImported = false;
+      }
+    }
+    if (allFKsImported) {
+      // the referrers are complete, so tables without referrers need not query them
+      for (DBTable table : database.getTables()) {
+        table.setReferrersImported(true);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.cache;
+
+import com.rapiddweller.jdbacl.model.DBMetaDataExporter;
+import com.rapiddweller.jdbacl.model.DBMetaDataImporter;
+import com.rapiddweller.jdbacl.model.bin.BinaryModelExporter;
+import com.rapiddweller.jdbacl.model.bin.BinaryModelImporter;
+import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
+import com.rapiddweller.jdbacl.model.xml.XMLModelExporter;
+import com.rapiddweller.jdbacl.model.xml.XMLModelImporter;
+
+import java.io.File;
+
+/**
+ * Enumerates the file formats which can be used by the {@link CachingDBImporter}.<br/><br/>
+ * Created: 17.10.2026 15:25:07
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public enum CacheFormat {
+
+  /** Human-readable XML as written by the {@link XMLModelExporter}. */
+  XML(".meta.xml") {
+    @Override
+    public DBMetaDataImporter createImporter(File file, JDBCDBImporter realImporter) {
+      return new XMLModelImporter(file, realImporter);
+    }
+
+    @Override
+    public DBMetaDataExporter createExporter(File file) {
+      return new XMLModelExporter(file);
+    }
+  },
+
+  /** Compact binary snapshot as written by the {@link BinaryModelExporter}. */
+  BINARY(".meta.bin") {
+    @Override
+    public DBMetaDataImporter createImporter(File file, JDBCDBImporter realImporter) {
+      return new BinaryModelImporter(file, realImporter);
+    }
+
+    @Override
+    public DBMetaDataExporter createExporter(File file) {
+      return new BinaryModelExporter(file);
+    }
+  },
+
+  /** Uncompressed binary snapshot with a table of contents, from which table details are loaded on demand. */
+  INDEXED(".meta.idx") {
+    @Override
+    public DBMetaDataImporter createImporter(File file, JDBCDBImporter realImporter) {
+      return new BinaryModelImporter(file, realImporter);
+    }
+
+    @Override
+    public DBMetaDataExporter createExporter(File file) {
+      return new BinaryModelExporter(file, true, false, true);
+    }
+  };
+
+  private final String fileSuffix;
+
+  CacheFormat(String fileSuffix) {
+    this.fileSuffix = fileSuffix;
+  }
+
+  public String getFileSuffix() {
+    return fileSuffix;
+  }
+
+  public abstract DBMetaDataImporter createImporter(File file, JDBCDBImporter realImporter);
+
+  public abstract DBMetaDataExporter createExporter(File file);
+
+}
@@ -25,25 +25,33 @@
 import com.rapiddweller.common.ConfigUtil;
 import com.rapiddweller.common.exception.ConnectFailedException;
 import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.ImportFailedException;
 import com.rapiddweller.common.Period;
 import com.rapiddweller.common.StringUtil;
 import com.rapiddweller.jdbacl.model.DBMetaDataImporter;
 import com.rapiddweller.jdbacl.model.Database;
 import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
-import com.rapiddweller.jdbacl.model.xml.XMLModelExporter;
-import com.rapiddweller.jdbacl.model.xml.XMLModelImporter;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * {@link DBMetaDataImporter} that acts as a proxy to another DBMetaDataImporter,
  * adding the feature of caching its output. The data file is named '&lt;environment&gt;.meta.xml'
- * and expires after 12 hrs.<br/><br/>
+ * (or '&lt;environment&gt;.meta.bin' when using the {@link CacheFormat#BINARY} format).
+ * If the database dialect supports schema fingerprints, a fingerprint of the schema structure
+ * is stored next to the cache file and the cache is used as long as the fingerprint is unchanged.
+ * When it changes and the dialect supports table fingerprints as well, only the changed tables
+ * are reimported. Without fingerprint support, the cache file expires after 12 hrs.<br/><br/>
  * Created: 10.01.2011 14:48:00
  * @author Volker Bergmann
  * @since 0.6.5
@@ -55,31 +63,57 @@ public class CachingDBImporter implements DBMetaDataImporter, Closeable {
   public static final String TIME_TO_LIVE_SYSPROP = "jdbacl.cache.timetolive";
   public static final long DEFAULT_TIME_TO_LIVE = Period.HOUR.getMillis() * 12;
 
-  private static final String CACHE_FILE_SUFFIX = ".meta.xml";
+  public static final String FORMAT_SYSPROP = "jdbacl.cache.format";
+
+  private static final String FINGERPRINT_FILE_SUFFIX = ".fingerprint";
+  private static final String SCHEMA_FINGERPRINT_KEY = "schema";
+  private static final String TABLE_FINGERPRINT_PREFIX = "table.";
 
   /** URL of the connected database. Most data is stored in the {@link #realImporter},
    *  but since if that has been initialized with a connection, its URL is null. */
   protected final String url;
   protected final JDBCDBImporter realImporter;
+  protected CacheFormat format;
+
+  /** The user, catalog and schema identifying the cache file. They are captured on construction,
+   *  since the real importer adapts its catalog and schema names to the database on import. */
+  private final String user;
+  private final String catalog;
+  private final String schema;
 
   public CachingDBImporter(String url, JDBCDBImporter realImporter) {
     this.url = url;
     this.realImporter = realImporter;
+    this.format = getDefaultFormat();
+    this.user = realImporter.getUser();
+    this.catalog = realImporter.getCatalogName();
+    this.schema = realImporter.getSchemaName();
   }
 
   public JDBCDBImporter getRealImporter() {
     return realImporter;
   }
 
+  public CacheFormat getFormat() {
+    return format;
+  }
+
+  public void setFormat(CacheFormat format) {
+    this.format = format;
+  }
+
   public void invalidate() {
     deleteCacheFile(getCacheFile());
   }
 
   public static void deleteCacheFile(String url, String user, String catalog, String schema) {
-    deleteCacheFile(getCacheFile(url, user, catalog, schema));
+    for (CacheFormat format : CacheFormat.values()) {
+      deleteCacheFile(getCacheFile(url, user, catalog, schema, format));
+    }
   }
 
   private static void deleteCacheFile(File file) {
+    FileUtil.deleteIfExists(getFingerprintFile(file));
     FileUtil.deleteIfExists(file);
     if (file.exists()) {
       if (!file.delete()) {
@@ -93,13 +127,26 @@ private static void deleteCacheFile(File file) {
   @Override
   public Database importDatabase() throws ConnectFailedException, ImportFailedException {
     File file = getCacheFile();
-    long now = System.currentTimeMillis();
-    long timeToLive = getTimeToLive();
-    if (file.exists() && (timeToLive < 0 || now - file.lastModified() < timeToLive)) {
-      return readCachedData(file);
-    } else {
-      return importFreshData(file);
+    String fingerprint = realImporter.querySchemaFingerprint();
+    if (file.exists()) {
+      if (fingerprint != null) {
+        Map<String, String> storedFingerprints = readFingerprints(file);
+        if (fingerprint.equals(storedFingerprints.get(SCHEMA_FINGERPRINT_KEY))) {
+          return readCachedData(file);
+        }
+        logger.info("Schema fingerprint of {} has changed", url);
+        Database database = refreshCachedData(file, fingerprint, storedFingerprints);
+        if (database != null) {
+          return database;
+        }
+      } else {
+        long timeToLive = getTimeToLive();
+        if (timeToLive < 0 || System.currentTimeMillis() - file.lastModified() < timeToLive) {
+          return readCachedData(file);
+        }
+      }
     }
+    return importFreshData(file, fingerprint);
   }
 
   private static long getTimeToLive() {
@@ -116,6 +163,11 @@ private static long getTimeToLive() {
     }
   }
 
+  private static CacheFormat getDefaultFormat() {
+    String sysProp = System.getProperty(FORMAT_SYSPROP);
+    return (!StringUtil.isEmpty(sysProp) ? CacheFormat.valueOf(sysProp.trim().toUpperCase()) : CacheFormat.XML);
+  }
+
   @Override
   public void close() throws IOException {
     if (realImporter != null) {
@@ -128,7 +180,7 @@ public void close() throws IOException {
   protected Database readCachedData(File cacheFile) throws ConnectFailedException, ImportFailedException {
     try {
       logger.info("Importing database meta data from cache file {}", cacheFile.getPath());
-      Database database = new XMLModelImporter(cacheFile, realImporter).importDatabase();
+      Database database = format.createImporter(cacheFile, realImporter).importDatabase();
       logger.info("Database meta data import completed");
       return database;
     } catch (Exception e) {
@@ -138,28 +190,138 @@ protected Database readCachedData(File cacheFile) throws ConnectFailedException,
   }
 
   protected Database importFreshData(File file) throws ConnectFailedException, ImportFailedException {
+    return importFreshData(file, realImporter.querySchemaFingerprint());
+  }
+
+  protected Database importFreshData(File file, String fingerprint) throws ConnectFailedException, ImportFailedException {
+    Map<String, String> tableFingerprints = (fingerprint != null ? realImporter.queryTableFingerprints() : null);
     Database database = realImporter.importDatabase();
-    return writeCacheFile(file, database);
+    exportCacheFile(file, database, fingerprint, tableFingerprints);
+    return database;
+  }
+
+  /** Reads the cache file and reimports the tables whose fingerprints have changed.
+   *  @return the updated database or null if an incremental refresh is not possible */
+  protected Database refreshCachedData(File file, String fingerprint, Map<String, String> storedFingerprints) {
+    Map<String, String> storedTableFingerprints = new HashMap<>();
+    for (Map.Entry<String, String> entry : storedFingerprints.entrySet()) {
+      if (entry.getKey().startsWith(TABLE_FINGERPRINT_PREFIX)) {
+        storedTableFingerprints.put(entry.getKey().substring(TABLE_FINGERPRINT_PREFIX.length()), entry.getValue());
+      }
+    }
+    Map<String, String> tableFingerprints = realImporter.queryTableFingerprints();
+    if (tableFingerprints == null || storedTableFingerprints.isEmpty()) {
+      return null;
+    }
+    Set<String> changedTables = new TreeSet<>();
+    for (Map.Entry<String, String> entry : tableFingerprints.entrySet()) {
+      if (!entry.getValue().equals(storedTableFingerprints.get(entry.getKey()))) {
+        changedTables.add(entry.getKey()); // changed or new
+      }
+    }
+    for (String tableName : storedTableFingerprints.keySet()) {
+      if (!tableFingerprints.containsKey(tableName)) {
+        changedTables.add(tableName); // dropped
+      }
+    }
+    try {
+      Database database = format.createImporter(file, realImporter).importDatabase();
+      if (database.isSequencesImported() || database.isTriggersImported()
+          || database.isPackagesImported() || database.isChecksImported()) {
+        return null; // table fingerprints do not cover these, but they may have changed too
+      }
+      logger.info("Refreshing {} changed tables in cache file {}", changedTables.size(), file.getPath());
+      realImporter.refreshTables(database, changedTables);
+      exportCacheFile(file, database, fingerprint, tableFingerprints);
+      return database;
+    } catch (Exception e) {
+      logger.info("Error refreshing cache file, reparsing database", e);
+      return null;
+    }
+  }
+
+  static File getFingerprintFile(File cacheFile) {
+    return new File(cacheFile.getPath() + FINGERPRINT_FILE_SUFFIX);
+  }
+
+  private static Map<String, String> readFingerprints(File cacheFile) {
+    File fingerprintFile = getFingerprintFile(cacheFile);
+    if (!fingerprintFile.exists()) {
+      return new HashMap<>();
+    }
+    try {
+      return IOUtil.readProperties(fingerprintFile.getPath());
+    } catch (Exception e) {
+      logger.warn("Error reading fingerprint file {}: {}", fingerprintFile, e.getMessage());
+      return new HashMap<>();
+    }
+  }
+
+  /** Exports the database to the cache file and stores the fingerprints only if the export succeeded.
+   *  Fingerprints of an older export are deleted first, so they can never vouch for a cache file
+   *  which could not be replaced. */
+  private void exportCacheFile(File file, Database database, String fingerprint,
+                               Map<String, String> tableFingerprints) {
+    FileUtil.deleteIfExists(getFingerprintFile(file));
+    if (exportCacheFile(file, database, format)) {
+      writeFingerprints(file, fingerprint, tableFingerprints);
+    }
+  }
+
+  private static void writeFingerprints(File cacheFile, String fingerprint, Map<String, String> tableFingerprints) {
+    File fingerprintFile = getFingerprintFile(cacheFile);
+    try {
+      if (fingerprint != null && cacheFile.exists()) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(SCHEMA_FINGERPRINT_KEY, fingerprint);
+        if (tableFingerprints != null) {
+          for (Map.Entry<String, String> entry : tableFingerprints.entrySet()) {
+            properties.put(TABLE_FINGERPRINT_PREFIX + entry.getKey(), entry.getValue());
+          }
+        }
+        IOUtil.writeProperties(properties, fingerprintFile.getPath());
+      } else {
+        FileUtil.deleteIfExists(fingerprintFile);
+      }
+    } catch (Exception e) {
+      logger.error("Error writing fingerprint file " + fingerprintFile + ": " + e.getMessage(), e);
+    }
   }
 
   public static Database writeCacheFile(File file, Database database) {
+    return writeCacheFile(file, database, CacheFormat.XML);
+  }
+
+  public static Database writeCacheFile(File file, Database database, CacheFormat format) {
+    exportCacheFile(file, database, format);
+    return database;
+  }
+
+  /** Exports the database to the cache file.
+   *  @return true if the export succeeded, false if it failed and has been logged */
+  private static boolean exportCacheFile(File file, Database database, CacheFormat format) {
     logger.info("Exporting Database meta data of {} to cache file", database.getName());
     try {
       FileUtil.ensureDirectoryExists(file.getParentFile());
-      new XMLModelExporter(file).export(database);
+      format.createExporter(file).export(database);
       logger.debug("Database meta data export completed");
+      return true;
     } catch (Exception e) {
       logger.error("Error writing database meta data file " + ": " + e.getMessage(), e);
+      return false;
     }
-    return database;
   }
 
   public static File getCacheFile(String url, String user, String catalog, String schema) {
-    return new File(getMetaCacheFolder(), getCacheFileName(url, user, catalog, schema));
+    return getCacheFile(url, user, catalog, schema, CacheFormat.XML);
+  }
+
+  public static File getCacheFile(String url, String user, String catalog, String schema, CacheFormat format) {
+    return new File(getMetaCacheFolder(), getCacheFileName(url, user, catalog, schema, format));
   }
 
   protected File getCacheFile() {
-    File cacheFile = new File(getMetaCacheFolder(), getCacheFileName(url, getRealImporter()));
+    File cacheFile = new File(getMetaCacheFolder(), getCacheFileName(url, user, catalog, schema, format));
     return FileUtil.getFileIgnoreCase(cacheFile, false);
   }
 
@@ -167,11 +329,17 @@ private static File getMetaCacheFolder() {
     return new File(ConfigUtil.commonCacheFolder(), "db-meta-data");
   }
 
-  private String getCacheFileName(String url, JDBCDBImporter imp) {
-    return getCacheFileName(url, imp.getUser(), imp.getCatalogName(), imp.getSchemaName());
+  static String getCacheFileName(String url, String user, String catalog, String schema) {
+    return getCacheFileName(url, user, catalog, schema, CacheFormat.XML);
   }
 
-  static String getCacheFileName(String url, String user, String catalog, String schema) {
+  static String getCacheFileName(String url, String user, String catalog, String schema, CacheFormat format) {
+    return getCacheKey(url, user, catalog, schema) + format.getFileSuffix();
+  }
+
+  /** Creates a key which identifies the meta data of a database schema as seen by a user,
+   *  as used for naming the cache files. */
+  public static String getCacheKey(String url, String user, String catalog, String schema) {
     Assert.notNull(url, "url");
     String result = normalize(url);
     if (!StringUtil.isEmpty(user)) {
@@ -183,7 +351,6 @@ static String getCacheFileName(String url, String user, String catalog, String s
     if (!StringUtil.isEmpty(schema)) {
       result += "-sch_" + schema;
     }
-    result += CACHE_FILE_SUFFIX;
     return result.toLowerCase();
   }
 
@@ -0,0 +1,315 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.cache;
+
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.model.DBMetaDataImporter;
+import com.rapiddweller.jdbacl.model.Database;
+import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry which shares {@link Database} meta data among all components of a JVM.
+ * Entries are keyed like the files of the {@link CachingDBImporter} (URL, user, catalog and schema).
+ * A database is imported only once, even if several threads request it concurrently: The first requester
+ * performs the import and the others wait for its result. Each requester obtains a {@link Lease},
+ * which must be closed when the meta data is not needed any more. When more than {@link #getMaxSize()}
+ * databases are registered, the least recently used ones which are not leased are evicted
+ * and their importers are closed.<br/><br/>
+ * Created: 17.10.2026 15:58:32
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class MetaDataRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(MetaDataRegistry.class);
+
+  public static final String MAX_SIZE_SYSPROP = "jdbacl.registry.maxsize";
+  public static final int DEFAULT_MAX_SIZE = 16;
+
+  private static final MetaDataRegistry INSTANCE = new MetaDataRegistry(getDefaultMaxSize());
+
+  private final LinkedHashMap<String, Entry> entries;
+  private int maxSize;
+
+  // construction ----------------------------------------------------------------------------------------------------
+
+  public MetaDataRegistry(int maxSize) {
+    this.entries = new LinkedHashMap<>(16, 0.75f, true); // iterates in access order, eldest first
+    setMaxSize(maxSize);
+  }
+
+  public static MetaDataRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  private static int getDefaultMaxSize() {
+    return Integer.getInteger(MAX_SIZE_SYSPROP, DEFAULT_MAX_SIZE);
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public synchronized int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw ExceptionFactory.getInstance().illegalArgument("maxSize must be positive, but is " + maxSize);
+    }
+    List<DBMetaDataImporter> evicted;
+    synchronized (this) {
+      this.maxSize = maxSize;
+      evicted = evict();
+    }
+    closeImporters(evicted);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized boolean contains(String url, String user, String catalog, String schema) {
+    return entries.containsKey(CachingDBImporter.getCacheKey(url, user, catalog, schema));
+  }
+
+  // lease operations ------------------------------------------------------------------------------------------------
+
+  /** Provides the meta data of a database schema, importing it with a {@link JDBCDBImporter} if necessary. */
+  public Lease acquire(String url, String driver, String user, String password, String catalog, String schema) {
+    return acquire(url, user, catalog, schema, () -> new JDBCDBImporter(url, driver, user, password, catalog, schema));
+  }
+
+  /** Provides the meta data of a database schema. If it is not registered yet, an importer is created
+   *  by the importerFactory and used for the import. The importer is kept open for lazy loading
+   *  until the database is evicted or invalidated. */
+  public Lease acquire(String url, String user, String catalog, String schema,
+                       Supplier<? extends DBMetaDataImporter> importerFactory) {
+    String key = CachingDBImporter.getCacheKey(url, user, catalog, schema);
+    Entry entry;
+    boolean loader = false;
+    List<DBMetaDataImporter> evicted;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry(key);
+        entries.put(key, entry);
+        loader = true;
+      }
+      entry.refCount++;
+      evicted = evict();
+    }
+    closeImporters(evicted);
+    try {
+      if (loader) {
+        load(entry, importerFactory);
+      }
+      return new Lease(entry, entry.await());
+    } catch (RuntimeException | Error e) {
+      release(entry);
+      throw e;
+    }
+  }
+
+  /** Removes a database from the registry, so that it is imported again on the next request.
+   *  Current leases stay valid, the importer is closed when the last of them is closed. */
+  public void invalidate(String url, String user, String catalog, String schema) {
+    DBMetaDataImporter importer = null;
+    synchronized (this) {
+      Entry entry = entries.remove(CachingDBImporter.getCacheKey(url, user, catalog, schema));
+      if (entry == null) {
+        return;
+      }
+      entry.removed = true;
+      if (entry.refCount == 0) {
+        importer = detachImporter(entry);
+      }
+    }
+    IOUtil.close(importer);
+  }
+
+  /** Removes all databases from the registry. */
+  public void invalidateAll() {
+    List<DBMetaDataImporter> unused = new ArrayList<>();
+    synchronized (this) {
+      for (Entry entry : entries.values()) {
+        entry.removed = true;
+        if (entry.refCount == 0) {
+          unused.add(detachImporter(entry));
+        }
+      }
+      entries.clear();
+    }
+    closeImporters(unused);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void load(Entry entry, Supplier<? extends DBMetaDataImporter> importerFactory) {
+    DBMetaDataImporter importer = null;
+    try {
+      logger.debug("Importing meta data for {}", entry.key);
+      importer = importerFactory.get();
+      Database database = importer.importDatabase();
+      boolean removed;
+      synchronized (this) {
+        entry.importer = importer;
+        removed = entry.removed;
+      }
+      entry.future.complete(database);
+      if (removed) {
+        // invalidated during import
+        closeImporterIfUnused(entry);
+      }
+    } catch (Throwable e) {
+      // also for Errors like NoClassDefFoundError, so that waiting threads do not block forever
+      synchronized (this) {
+        if (entries.get(entry.key) == entry) {
+          entries.remove(entry.key);
+        }
+        entry.removed = true;
+      }
+      entry.future.completeExceptionally(e);
+      IOUtil.close(importer);
+      throw e;
+    }
+  }
+
+  private void release(Entry entry) {
+    List<DBMetaDataImporter> evicted;
+    synchronized (this) {
+      entry.refCount--;
+      evicted = evict();
+    }
+    closeImporters(evicted);
+    closeImporterIfUnused(entry);
+  }
+
+  private void closeImporterIfUnused(Entry entry) {
+    DBMetaDataImporter importer = null;
+    synchronized (this) {
+      if (entry.removed && entry.refCount == 0) {
+        importer = detachImporter(entry);
+      }
+    }
+    IOUtil.close(importer);
+  }
+
+  /** Removes the least recently used entries which are neither leased nor being loaded
+   *  until the size limit is met. Must be called while holding the registry's lock. */
+  private List<DBMetaDataImporter> evict() {
+    List<DBMetaDataImporter> evicted = new ArrayList<>();
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (entries.size() > maxSize && iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.refCount == 0 && entry.future.isDone()) {
+        logger.debug("Evicting meta data of {}", entry.key);
+        iterator.remove();
+        entry.removed = true;
+        evicted.add(detachImporter(entry));
+      }
+    }
+    return evicted;
+  }
+
+  /** Takes over an entry's importer for closing it, so that it is closed only once.
+   *  Must be called while holding the registry's lock. */
+  private static DBMetaDataImporter detachImporter(Entry entry) {
+    DBMetaDataImporter importer = entry.importer;
+    entry.importer = null;
+    return importer;
+  }
+
+  private static void closeImporters(List<DBMetaDataImporter> importers) {
+    for (DBMetaDataImporter importer : importers) {
+      IOUtil.close(importer);
+    }
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private static class Entry {
+
+    final String key;
+    final CompletableFuture<Database> future;
+    DBMetaDataImporter importer;
+    int refCount;
+    boolean removed;
+
+    Entry(String key) {
+      this.key = key;
+      this.future = new CompletableFuture<>();
+      this.refCount = 0;
+      this.removed = false;
+    }
+
+    Database await() {
+      try {
+        return future.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw ExceptionFactory.getInstance().importFailed("Meta data import failed for " + key, e.getCause());
+      }
+    }
+  }
+
+  /** Grants access to a registered {@link Database}. It must be closed after use,
+   *  so that the database can be evicted from the registry. */
+  public class Lease implements Closeable {
+
+    private final Entry entry;
+    private final Database database;
+    private boolean closed;
+
+    Lease(Entry entry, Database database) {
+      this.entry = entry;
+      this.database = database;
+      this.closed = false;
+    }
+
+    public Database getDatabase() {
+      return database;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        release(entry);
+      }
+    }
+  }
+
+}
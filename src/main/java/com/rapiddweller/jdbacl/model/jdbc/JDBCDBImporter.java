@@ -60,12 +60,22 @@
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 /**
  * Abstract parent class for JDBC meta data importers.<br/><br/>
@@ -93,6 +103,10 @@ public class JDBCDBImporter implements DBMetaDataImporter {
   ErrorHandler errorHandler;
   TableNameFilter tableNameFilter;
   DatabaseMetaData metaData;
+  boolean prefetch;
+  boolean catalogQueries;
+  boolean compact;
+  int parallelism;
   private VersionNumber databaseProductVersion;
 
   public JDBCDBImporter(String url, String driver, String user, String password, String catalog, String schema) {
@@ -105,6 +119,9 @@ public JDBCDBImporter(String url, String driver, String user, String password, S
     this.tableInclusionPattern = ".*";
     this.connection = null;
     this.connectionOwned = true;
+    this.prefetch = false;
+    this.catalogQueries = true;
+    this.parallelism = 1;
     this.errorHandler = new ErrorHandler(getClass().getName(), Level.error);
     init();
   }
@@ -112,6 +129,9 @@ public JDBCDBImporter(String url, String driver, String user, String password, S
   public JDBCDBImporter(Connection connection, String user, String catalogName, String schemaName) {
     this.connection = connection;
     this.connectionOwned = false;
+    this.prefetch = false;
+    this.catalogQueries = true;
+    this.parallelism = 1;
     this.user = user;
     this.catalogName = catalogName;
     this.schemaName = schemaName;
@@ -180,6 +200,92 @@ public VersionNumber getDatabaseProductVersion() {
     return databaseProductVersion;
   }
 
+  public DatabaseDialect getDialect() {
+    return dialect;
+  }
+
+  /** Queries a hash value which changes whenever the structure of the imported schema changes.
+   *  @return the fingerprint, or null if the database dialect does not support fingerprints
+   *  or the fingerprint query failed
+   *  @see DatabaseDialect#renderSchemaFingerprintQuery(String, String) */
+  public String querySchemaFingerprint() {
+    try {
+      return dialect.querySchemaFingerprint(catalogName, getFingerprintSchemaName(), getConnection());
+    } catch (SQLException e) {
+      logger.warn("Schema fingerprint query failed: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  /** Queries hash values which change whenever the structure of a table in the imported schema changes.
+   *  @return a map of table names to fingerprints, or null if the database dialect does not support
+   *  table fingerprints or the fingerprint query failed
+   *  @see DatabaseDialect#renderTableFingerprintQuery(String, String) */
+  public Map<String, String> queryTableFingerprints() {
+    try {
+      return dialect.queryTableFingerprints(catalogName, getFingerprintSchemaName(), getConnection());
+    } catch (SQLException e) {
+      logger.warn("Table fingerprint query failed: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private String getFingerprintSchemaName() throws SQLException {
+    return (schemaName != null ? schemaName : getConnection().getSchema());
+  }
+
+  public boolean isPrefetch() {
+    return prefetch;
+  }
+
+  /** Activates the prefetch mode, in which the columns, primary keys, indexes and foreign keys
+   *  of all tables are imported with one meta data query per schema and kind
+   *  instead of lazily querying them table by table.
+   *  @param prefetch true for bulk import, false for lazy per-table import */
+  public void setPrefetch(boolean prefetch) {
+    this.prefetch = prefetch;
+  }
+
+  public boolean isCatalogQueries() {
+    return catalogQueries;
+  }
+
+  /** Controls if the bulk import of prefetch mode uses the catalog queries provided by the
+   *  {@link DatabaseDialect} (e.g. on INFORMATION_SCHEMA views) where available,
+   *  which is the default. When set to false, JDBC {@link DatabaseMetaData} calls are used exclusively.
+   *  @param catalogQueries true for using the dialect's catalog queries */
+  public void setCatalogQueries(boolean catalogQueries) {
+    this.catalogQueries = catalogQueries;
+  }
+
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /** Activates the compact model mode, in which the imported identifiers are interned per {@link Database},
+   *  so that the equal column and constraint names of different tables share their storage.
+   *  @param compact true for interning identifiers */
+  public void setCompact(boolean compact) {
+    this.compact = compact;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /** Sets the number of connections to use concurrently for importing table details.
+   *  With a value greater than 1, the columns, primary keys, indexes and foreign keys of all tables
+   *  are imported eagerly, using up to parallelism - 1 additional connections.
+   *  This requires an importer which has been created with url and login data,
+   *  not with a connection.
+   *  @param parallelism the maximum number of connections to use */
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw ExceptionFactory.getInstance().illegalArgument("parallelism must be at least 1, found: " + parallelism);
+    }
+    this.parallelism = parallelism;
+  }
+
   public void setFaultTolerant(boolean faultTolerant) {
     this.errorHandler = new ErrorHandler(getClass().getName(), (faultTolerant ? Level.warn : Level.error));
   }
@@ -315,7 +421,9 @@ public void importSchemas(Database database) throws SQLException {
       if (neededSchemas.contains(declaredSchemaName)
           || (this.schemaName == null && dialect.isDefaultSchema(declaredSchemaName, user))) {
         debug("importing schema {}", StringUtil.quoteIfNotNull(declaredSchemaName));
-        this.schemaName = declaredSchemaName; // take over capitalization used in the DB
+        if (this.schemaName == null || this.schemaName.equalsIgnoreCase(declaredSchemaName)) {
+          this.schemaName = declaredSchemaName; // take over capitalization used in the DB
+        }
         // PostgreSQL and SQL Server do not necessarily tell you the catalog name
         String catalogNameOfSchema = (declaredCatalogName != null ? declaredCatalogName : this.catalogName);
         DBCatalog catalogOfSchema = database.getCatalog(catalogNameOfSchema);
@@ -448,7 +556,9 @@ private TableType tableType(String tableTypeSpec, String tableName) {
   // column import ---------------------------------------------------------------------------------------------------
 
   public void importColumnsOfTable(DBTable table, ColumnReceiver receiver) {
-    importColumns(table.getCatalog(), table.getSchema().getName(), table.getName(), tableNameFilter, receiver, errorHandler);
+    // the table name is used as pattern and may match further tables, e.g. if it contains an underscore
+    Filter<String> tableFilter = (tableName -> table.getName().equals(tableName) && tableNameFilter.accept(tableName));
+    importColumns(table.getCatalog(), table.getSchema().getName(), table.getName(), tableFilter, receiver, errorHandler);
   }
 
   protected void importColumns(DBCatalog catalog, String schemaName, String tablePattern,
@@ -509,25 +619,27 @@ private void importColumn(ResultSet columnSet, DBCatalog catalog, String schemaN
           columnName, sqlType, columnType, columnSize, decimalDigits,
           nullable, comment, defaultValue);
       // determine table
-      DBTable table = catalog.getTable(tableName, false);
+      DBSchema schema = catalog.getSchema(schemaName);
+      DBTable table = (schema != null ? schema.getTable(tableName) : catalog.getTable(tableName, false));
       if (table == null) {
         logger.debug("Ignoring column {}.{}", tableName, columnName);
         return;
       }
-      DBSchema schema = catalog.getSchema(schemaName);
-      if (schema != null) {
-        table = schema.getTable(tableName);
-      }
       // create column
       Integer fractionDigits = (decimalDigits > 0 ? decimalDigits : null);
       DBDataType dataType = DBDataType.getInstance(sqlType, columnType);
-      defaultValue = parseDefaultValue(defaultValue, dataType);
-      receiver.receiveColumn(columnName, dataType, columnSize, fractionDigits, nullable, defaultValue,
+      defaultValue = intern(catalog, parseDefaultValue(defaultValue, dataType));
+      receiver.receiveColumn(intern(catalog, columnName), dataType, columnSize, fractionDigits, nullable, defaultValue,
           comment, table);
       // not used: importVersionColumnInfo(catalogName, table, metaData)
     }
   }
 
+  private String intern(DBCatalog catalog, String name) {
+    Database database = (compact && catalog != null ? catalog.getDatabase() : null);
+    return (database != null ? database.internIdentifier(name) : name);
+  }
+
   private String parseDefaultValue(String defaultValue, DBDataType dataType) {
     if (!StringUtil.isEmpty(defaultValue)) {
       if (!dataType.isAlpha()) {
@@ -560,24 +672,7 @@ public void importPrimaryKeyOfTable(DBTable table, PKReceiver receiver) {
     ResultSet pkset = null;
     try {
       pkset = metaData.getPrimaryKeys(catalogName, table.getSchema().getName(), table.getName());
-      TreeMap<Short, String> pkComponents = new TreeMap<>();
-      String pkName = null;
-      while (pkset.next()) {
-        String tableName = pkset.getString(3);
-        if (!tableName.equals(table.getName())) { // Bug fix for Firebird:
-          continue;                            // When querying X, it returns the pks of XY too
-        }
-
-        String columnName = pkset.getString(4);
-        short keySeq = pkset.getShort(5);
-        pkComponents.put(keySeq, columnName);
-        pkName = pkset.getString(6);
-        logger.debug("found pk column {}, {}, {}", columnName, keySeq, pkName);
-      }
-      if (pkComponents.size() > 0) {
-        String[] columnNames = pkComponents.values().toArray(new String[0]);
-        receiver.receivePK(pkName, dialect.isDeterministicPKName(pkName), columnNames, table);
-      }
+      parsePKSet(pkset, table.getSchema(), table, receiver);
     } catch (SQLException e) {
       errorHandler.handleError("Error importing primary key of table " + table.getName());
     } finally {
@@ -587,6 +682,34 @@ public void importPrimaryKeyOfTable(DBTable table, PKReceiver receiver) {
   }
 
 
+  private void parsePKSet(ResultSet pkset, DBSchema schema, DBTable queriedTable, PKReceiver receiver) throws SQLException {
+    Map<String, TreeMap<Short, String>> pkComponents = new LinkedHashMap<>();
+    Map<String, String> pkNames = new HashMap<>();
+    DBCatalog catalog = (schema != null ? schema.getCatalog() : null);
+    while (pkset.next()) {
+      String tableName = pkset.getString(3);
+      if (queriedTable != null ? !tableName.equals(queriedTable.getName()) // Bug fix for Firebird:
+          : !tableSupported(tableName)) {                                // When querying X, it returns the pks of XY too
+        continue;
+      }
+      String columnName = intern(catalog, pkset.getString(4));
+      short keySeq = pkset.getShort(5);
+      String pkName = intern(catalog, pkset.getString(6));
+      pkComponents.computeIfAbsent(tableName, k -> new TreeMap<>()).put(keySeq, columnName);
+      pkNames.put(tableName, pkName);
+      logger.debug("found pk column {}, {}, {}, {}", tableName, columnName, keySeq, pkName);
+    }
+    for (Map.Entry<String, TreeMap<Short, String>> entry : pkComponents.entrySet()) {
+      DBTable table = (queriedTable != null ? queriedTable : schema.getTable(entry.getKey()));
+      if (table != null) {
+        String pkName = pkNames.get(entry.getKey());
+        String[] columnNames = entry.getValue().values().toArray(new String[0]);
+        receiver.receivePK(pkName, dialect.isDeterministicPKName(pkName), columnNames, table);
+      }
+    }
+  }
+
+
   // index import ----------------------------------------------------------------------------------------------------
 
   public void importIndexesOfTable(DBTable table, boolean uniquesOnly, IndexReceiver receiver) {
@@ -612,6 +735,7 @@ public void importIndexesOfTable(DBTable table, boolean uniquesOnly, IndexReceiv
   public void parseIndexSet(ResultSet indexSet, DBSchema schema, DBTable queriedTable, IndexReceiver receiver) throws SQLException {
     StopWatch watch = new StopWatch("parseIndexSet");
     OrderedNameMap<DBIndexInfo> indexes = new OrderedNameMap<>();
+    DBCatalog catalog = (schema != null ? schema.getCatalog() : null);
     while (indexSet.next()) {
       String indexName = null;
       try {
@@ -621,7 +745,7 @@ public void parseIndexSet(ResultSet indexSet, DBSchema schema, DBTable queriedTa
         }
         boolean unique = !indexSet.getBoolean(4);
         String indexCatalogName = indexSet.getString(5);
-        indexName = indexSet.getString(6);
+        indexName = intern(catalog, indexSet.getString(6));
         short indexType = indexSet.getShort(7);
         // not used:
         // tableIndexStatistic - this identifies table statistics that are returned in conjunction with a table's index descriptions
@@ -633,7 +757,7 @@ public void parseIndexSet(ResultSet indexSet, DBSchema schema, DBTable queriedTa
         if (ordinalPosition == 0) {
           continue; // then indexType (7) is tableIndexStatistic
         }
-        String columnName = indexSet.getString(9);
+        String columnName = intern(catalog, indexSet.getString(9));
         String ascOrDesc = indexSet.getString(10);
         Boolean ascending = isAscending(ascOrDesc);
         int cardinality = indexSet.getInt(11);
@@ -644,11 +768,13 @@ public void parseIndexSet(ResultSet indexSet, DBSchema schema, DBTable queriedTa
             ordinalPosition, columnName, ascOrDesc, cardinality, pages, filterCondition
         );
 
-        DBIndexInfo index = indexes.get(indexName);
+        // index names are not necessarily unique across tables (e.g. MySQL's 'PRIMARY')
+        String indexKey = tableName + '.' + indexName;
+        DBIndexInfo index = indexes.get(indexKey);
         if (index == null) {
           index = new DBIndexInfo(indexName, tableName, indexType, indexCatalogName, unique,
               ordinalPosition, columnName, ascending, cardinality, pages, filterCondition);
-          indexes.put(indexName, index);
+          indexes.put(indexKey, index);
         } else {
           index.addColumn(ordinalPosition, columnName);
         }
@@ -663,8 +789,10 @@ public void parseIndexSet(ResultSet indexSet, DBSchema schema, DBTable queriedTa
   private void mapIndexes(DBSchema schema, DBTable queriedTable, IndexReceiver receiver, OrderedNameMap<DBIndexInfo> indexes) {
     for (DBIndexInfo indexInfo : indexes.values()) {
       DBTable table = (queriedTable != null ? queriedTable : schema.getTable(indexInfo.tableName));
-      boolean deterministicName = dialect.isDeterministicIndexName(indexInfo.name);
-      receiver.receiveIndex(indexInfo, deterministicName, table, schema);
+      if (table != null) {
+        boolean deterministicName = dialect.isDeterministicIndexName(indexInfo.name);
+        receiver.receiveIndex(indexInfo, deterministicName, table, schema);
+      }
     }
   }
 
@@ -680,32 +808,9 @@ public void importImportedKeys(DBTable table, FKReceiver receiver) {
     ResultSet resultSet = null;
     try {
       resultSet = metaData.getImportedKeys(NameUtil.nameOrNull(catalog), NameUtil.nameOrNull(schema), tableName);
-      List<ImportedKey> keyList = new ArrayList<>();
-      Map<String, ImportedKey> keysByName = OrderedNameMap.createCaseIgnorantMap();
-      ImportedKey recent = null;
-      while (resultSet.next()) {
-        ImportedKey cursor = ImportedKey.parse(resultSet, catalog, schema, table);
-        if (cursor == null) {
-          continue;
-        }
-        if (cursor.key_seq == 1) {
-          if (cursor.fk_name != null) {
-            keysByName.put(cursor.fk_name, cursor);
-          }
-          keyList.add(cursor);
-        } else {
-          // additional column for a composite FK with columns defined before
-          if (cursor.fk_name != null) {
-            keysByName.get(cursor.fk_name).addForeignKeyColumn(cursor.fkcolumn_name, cursor.pkcolumn_name);
-          } else { // some systems may not report an fk constraint name
-            Objects.requireNonNull(recent).addForeignKeyColumn(cursor.fkcolumn_name,
-                cursor.pkcolumn_name);
-          }
-        }
-        recent = cursor;
-      }
+      Map<DBTable, List<ImportedKey>> keys = parseImportedKeys(resultSet, catalog, schema, table);
       // build DBForeignKeyConstraint objects from the gathered information
-      buildFKConstraints(keyList, table, receiver);
+      buildFKConstraints(keys.getOrDefault(table, new ArrayList<>()), table, receiver);
     } catch (SQLException e) {
       errorHandler.handleError("Error importing foreign key constraints", e);
     } finally {
@@ -714,6 +819,44 @@ public void importImportedKeys(DBTable table, FKReceiver receiver) {
     watch.stop();
   }
 
+  private Map<DBTable, List<ImportedKey>> parseImportedKeys(
+      ResultSet resultSet, DBCatalog catalog, DBSchema schema, DBTable queriedTable) throws SQLException {
+    Map<DBTable, List<ImportedKey>> keyLists = new LinkedHashMap<>();
+    Map<String, ImportedKey> keysByName = OrderedNameMap.createCaseIgnorantMap();
+    ImportedKey recent = null;
+    while (resultSet.next()) {
+      DBTable table = queriedTable;
+      if (table == null) {
+        String fkTableName = resultSet.getString(7);
+        table = (tableSupported(fkTableName) ? schema.getTable(fkTableName) : null);
+        if (table == null) {
+          continue;
+        }
+      }
+      ImportedKey cursor = ImportedKey.parse(resultSet, catalog, schema, table);
+      if (cursor == null) {
+        continue;
+      }
+      String keyName = table.getName() + '.' + cursor.fk_name;
+      if (cursor.key_seq == 1) {
+        if (cursor.fk_name != null) {
+          keysByName.put(keyName, cursor);
+        }
+        keyLists.computeIfAbsent(table, k -> new ArrayList<>()).add(cursor);
+      } else {
+        // additional column for a composite FK with columns defined before
+        if (cursor.fk_name != null) {
+          keysByName.get(keyName).addForeignKeyColumn(cursor.fkcolumn_name, cursor.pkcolumn_name);
+        } else { // some systems may not report an fk constraint name
+          Objects.requireNonNull(recent).addForeignKeyColumn(cursor.fkcolumn_name,
+              cursor.pkcolumn_name);
+        }
+      }
+      recent = cursor;
+    }
+    return keyLists;
+  }
+
   private void buildFKConstraints(List<ImportedKey> keyList, DBTable table, FKReceiver receiver) {
     for (ImportedKey key : keyList) {
       int n = key.getForeignKeyColumnNames().size();
@@ -731,11 +874,11 @@ private void buildFKConstraints(List<ImportedKey> keyList, DBTable table, FKRece
       String[] columnNames = new String[n];
       String[] refereeColumnNames = new String[n];
       for (int i = 0; i < n; i++) {
-        columnNames[i] = key.getForeignKeyColumnNames().get(i);
-        refereeColumnNames[i] = key.getRefereeColumnNames().get(i);
+        columnNames[i] = intern(catalog, key.getForeignKeyColumnNames().get(i));
+        refereeColumnNames[i] = intern(catalog, key.getRefereeColumnNames().get(i));
       }
       DBForeignKeyConstraint foreignKeyConstraint = new DBForeignKeyConstraint(
-          key.fk_name, dialect.isDeterministicFKName(key.fk_name),
+          intern(catalog, key.fk_name), dialect.isDeterministicFKName(key.fk_name),
           table,
           columnNames,
           pkTable,
@@ -748,13 +891,296 @@ private void buildFKConstraints(List<ImportedKey> keyList, DBTable table, FKRece
   }
 
 
+  // eager table detail import --------------------------------------------------------------------------------------
+
+  /** Eagerly imports the details of all tables if prefetch or parallel mode is configured,
+   *  otherwise leaves them to be imported lazily.
+   *  @param database the database whose tables to populate */
+  public void importTableDetails(Database database) {
+    if (parallelism > 1 && url != null) {
+      importTableDetailsInParallel(database);
+    } else if (prefetch) {
+      prefetchTableDetails(database);
+    } else if (parallelism > 1) {
+      logger.warn("Parallel import requires an importer with url and login data, importing table details lazily");
+    }
+  }
+
+  private void importTableDetailsInParallel(Database database) {
+    logger.info("Importing table details from environment '{}' using {} connections", url, parallelism);
+    StopWatch watch = new StopWatch("importTableDetailsInParallel");
+    // split the work into tasks by schema and, unless prefetching schema-wide, by table range.
+    // Each table is processed by exactly one task, so the model does not need to be locked
+    Queue<Consumer<JDBCDBImporter>> tasks = new ConcurrentLinkedQueue<>();
+    for (DBCatalog catalog : database.getCatalogs()) {
+      for (DBSchema schema : catalog.getSchemas()) {
+        if (prefetch) {
+          tasks.add(worker -> worker.prefetchTableDetails(catalog, schema));
+        } else {
+          List<DBTable> tables = schema.getTables();
+          int chunkSize = Math.max(1, tables.size() / (parallelism * 4));
+          for (int i = 0; i < tables.size(); i += chunkSize) {
+            List<DBTable> chunk = tables.subList(i, Math.min(i + chunkSize, tables.size()));
+            tasks.add(worker -> worker.importDetailsOfTables(chunk));
+          }
+        }
+      }
+    }
+    int workerCount = Math.min(parallelism, tasks.size());
+    ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(workerCount);
+      for (int i = 0; i < workerCount; i++) {
+        boolean useOwnConnection = (i == 0);
+        futures.add(executor.submit(() -> runTasks(tasks, useOwnConnection)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      throw ExceptionFactory.getInstance().importFailed("Error importing table details from " + url, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().importFailed("Interrupted importing table details from " + url, e);
+    } finally {
+      executor.shutdownNow();
+    }
+    watch.stop();
+  }
+
+  private void runTasks(Queue<Consumer<JDBCDBImporter>> tasks, boolean useOwnConnection) {
+    JDBCDBImporter worker = (useOwnConnection ? this : createWorker());
+    try {
+      Consumer<JDBCDBImporter> task;
+      while ((task = tasks.poll()) != null) {
+        task.accept(worker);
+      }
+    } finally {
+      if (worker != this) {
+        worker.close();
+      }
+    }
+  }
+
+  private JDBCDBImporter createWorker() {
+    JDBCDBImporter worker = new JDBCDBImporter(url, driver, user, password, catalogName, schemaName);
+    worker.tableInclusionPattern = this.tableInclusionPattern;
+    worker.tableExclusionPattern = this.tableExclusionPattern;
+    worker.tableNameFilter = this.tableNameFilter;
+    worker.errorHandler = this.errorHandler;
+    worker.catalogQueries = this.catalogQueries;
+    worker.compact = this.compact;
+    return worker;
+  }
+
+  private void importDetailsOfTables(List<DBTable> tables) {
+    DBTable.BulkColReceiver columnReceiver = new DBTable.BulkColReceiver();
+    DBTable.BulkPKRec pkReceiver = new DBTable.BulkPKRec();
+    DBTable.IdxReceiver indexReceiver = new DBTable.IdxReceiver();
+    DBTable.BulkFKRec fkReceiver = new DBTable.BulkFKRec();
+    for (DBTable table : tables) {
+      table.setColumnsImported(true);
+      importColumnsOfTable(table, columnReceiver);
+      table.setPKImported(true);
+      importPrimaryKeyOfTable(table, pkReceiver);
+      table.setIndexesImported(true);
+      importIndexesOfTable(table, false, indexReceiver);
+      table.setFKsImported(true);
+      importImportedKeys(table, fkReceiver);
+    }
+  }
+
+
+  // incremental refresh ---------------------------------------------------------------------------------------------
+
+  /** Brings the given tables of a (cached) model up to date: Tables which do not exist in the database any more
+   *  are removed from the model, existing ones are reimported in place and new ones are added.
+   *  Referrer information of the other tables is adjusted accordingly.
+   *  @param database   the model to update
+   *  @param tableNames the names of the tables in the fingerprint schema which have changed
+   *  @return the tables which have been reimported or added */
+  public List<DBTable> refreshTables(Database database, Collection<String> tableNames) {
+    try {
+      DBSchema schema = database.getSchema(getFingerprintSchemaName());
+      Map<String, String[]> tableInfos = queryTableInfos(schema);
+      List<DBTable> refreshed = new ArrayList<>(tableNames.size());
+      for (String tableName : tableNames) {
+        DBTable table = schema.getTable(tableName);
+        String[] tableInfo = tableInfos.get(tableName);
+        if (table != null) {
+          for (DBTable other : database.getTables()) {
+            other.removeReferrer(table);
+          }
+          if (tableInfo == null) {
+            logger.debug("removing table {}", tableName);
+            schema.removeTable(table);
+            continue;
+          }
+          logger.debug("reimporting table {}", tableName);
+          table.resetDetails();
+        } else if (tableInfo != null) {
+          logger.debug("importing new table {}", tableName);
+          table = new DBTable(tableName, tableType(tableInfo[0], tableName), tableInfo[1], schema, this);
+        } else {
+          continue;
+        }
+        refreshed.add(table);
+      }
+      importDetailsOfTables(refreshed); // this registers the tables as referrers of their referees
+      return refreshed;
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().importFailed("Error refreshing tables " + tableNames, e);
+    }
+  }
+
+  private Map<String, String[]> queryTableInfos(DBSchema schema) throws SQLException {
+    Map<String, String[]> result = new HashMap<>();
+    ResultSet tableSet = metaData.getTables(catalogName, schema.getName(), null, new String[] {"TABLE", "VIEW"});
+    try {
+      while (tableSet.next()) {
+        String tableName = tableSet.getString(3);
+        if (tableSupported(tableName)) {
+          result.put(tableName, new String[] {tableSet.getString(4), tableSet.getString(5)});
+        }
+      }
+    } finally {
+      tableSet.close();
+    }
+    return result;
+  }
+
+
+  // prefetch --------------------------------------------------------------------------------------------------------
+
+  /** Imports the columns, primary keys, indexes and foreign keys of all tables of the database
+   *  with one {@link DatabaseMetaData} call per schema and kind, distributing the results to the tables.
+   *  If a driver does not support schema-wide queries, the affected details are imported table by table.
+   *  @param database the database whose tables to populate */
+  public void prefetchTableDetails(Database database) {
+    logger.info("Prefetching table details from environment '{}'", url);
+    StopWatch watch = new StopWatch("prefetchTableDetails");
+    for (DBCatalog catalog : database.getCatalogs()) {
+      for (DBSchema schema : catalog.getSchemas()) {
+        prefetchTableDetails(catalog, schema);
+      }
+    }
+    watch.stop();
+  }
+
+  private void prefetchTableDetails(DBCatalog catalog, DBSchema schema) {
+    List<DBTable> tables = schema.getTables();
+    if (tables.isEmpty()) {
+      return;
+    }
+    debug("Prefetching details of {} tables in schema {}", tables.size(), StringUtil.quoteIfNotNull(schema.getName()));
+    // columns
+    for (DBTable table : tables) {
+      table.setColumnsImported(true);
+    }
+    DBTable.BulkColReceiver columnReceiver = new DBTable.BulkColReceiver();
+    ResultSet resultSet = executeCatalogQuery(dialect.renderColumnsQuery(catalog.getName(), schema.getName()));
+    if (resultSet != null) {
+      try {
+        while (resultSet.next()) {
+          importColumn(resultSet, catalog, schema.getName(), tableNameFilter, columnReceiver);
+        }
+      } catch (SQLException e) {
+        errorHandler.handleError("Error in parsing columns of schema " + schema.getName(), e);
+      } finally {
+        DBUtil.closeResultSetAndStatement(resultSet);
+      }
+    } else {
+      importColumns(catalog, schema.getName(), null, tableNameFilter, columnReceiver, errorHandler);
+    }
+    // primary keys
+    for (DBTable table : tables) {
+      table.setPKImported(true);
+    }
+    DBTable.BulkPKRec pkReceiver = new DBTable.BulkPKRec();
+    resultSet = null;
+    try {
+      resultSet = queryBulkMetaData(dialect.renderPrimaryKeysQuery(catalog.getName(), schema.getName()),
+          () -> metaData.getPrimaryKeys(catalogName, schema.getName(), null));
+      parsePKSet(resultSet, schema, null, pkReceiver);
+    } catch (SQLException e) {
+      logger.debug("Schema-wide primary key import failed, falling back to table-wise import", e);
+      for (DBTable table : tables) {
+        importPrimaryKeyOfTable(table, pkReceiver);
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+    // indexes
+    for (DBTable table : tables) {
+      table.setIndexesImported(true);
+    }
+    DBTable.IdxReceiver indexReceiver = new DBTable.IdxReceiver();
+    resultSet = null;
+    try {
+      resultSet = queryBulkMetaData(dialect.renderIndexesQuery(catalog.getName(), schema.getName()),
+          () -> metaData.getIndexInfo(catalog.getName(), schema.getName(), null, false, true));
+      parseIndexSet(resultSet, schema, null, indexReceiver);
+    } catch (SQLException e) {
+      logger.debug("Schema-wide index import failed, falling back to table-wise import", e);
+      for (DBTable table : tables) {
+        importIndexesOfTable(table, false, indexReceiver);
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+    // foreign keys
+    for (DBTable table : tables) {
+      table.setFKsImported(true);
+    }
+    DBTable.BulkFKRec fkReceiver = new DBTable.BulkFKRec();
+    resultSet = null;
+    try {
+      resultSet = queryBulkMetaData(dialect.renderImportedKeysQuery(catalog.getName(), schema.getName()),
+          () -> metaData.getImportedKeys(NameUtil.nameOrNull(catalog), schema.getName(), null));
+      for (Map.Entry<DBTable, List<ImportedKey>> entry : parseImportedKeys(resultSet, catalog, schema, null).entrySet()) {
+        buildFKConstraints(entry.getValue(), entry.getKey(), fkReceiver);
+      }
+    } catch (SQLException e) {
+      logger.debug("Schema-wide foreign key import failed, falling back to table-wise import", e);
+      for (DBTable table : tables) {
+        importImportedKeys(table, fkReceiver);
+      }
+    } finally {
+      DBUtil.closeResultSetAndStatement(resultSet);
+    }
+  }
+
+  /** Executes a dialect's catalog query for bulk import or, if there is none or it fails, the JDBC meta data call. */
+  private ResultSet queryBulkMetaData(String catalogQuery, MetaDataCall metaDataCall) throws SQLException {
+    ResultSet resultSet = executeCatalogQuery(catalogQuery);
+    return (resultSet != null ? resultSet : metaDataCall.call());
+  }
+
+  /** Executes a dialect's catalog query if catalog queries are enabled.
+   *  @return the result set or null if the query is null or failed */
+  private ResultSet executeCatalogQuery(String catalogQuery) {
+    if (catalogQuery == null || !catalogQueries) {
+      return null;
+    }
+    try {
+      return DBUtil.executeQuery(catalogQuery, getConnection());
+    } catch (RuntimeException e) {
+      logger.debug("Catalog query failed, falling back to JDBC meta data: {}", catalogQuery, e);
+      return null;
+    }
+  }
+
+  private interface MetaDataCall {
+    ResultSet call() throws SQLException;
+  }
+
+
   // check import ----------------------------------------------------------------------------------------------------
 
   public final void importAllChecks(Database database) {
     logger.info("Importing checks from environment '{}'", url);
     StopWatch watch = new StopWatch("importAllChecks");
     try {
-      database.setChecksImported(true);
       if (dialect instanceof OracleDialect) {
         for (DBCatalog catalog : database.getCatalogs()) {
           for (DBSchema schema : catalog.getSchemas()) {
@@ -762,6 +1188,8 @@ public final void importAllChecks(Database database) {
           }
         }
       }
+      // the flag is set last, since tables read their checks without locking once it is set
+      database.setChecksImported(true);
     } catch (Exception e) {
       throw ExceptionFactory.getInstance().componentInitializationFailed(
           "Error importing checks from " + url, e);
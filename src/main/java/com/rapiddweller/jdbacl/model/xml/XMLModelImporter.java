@@ -28,7 +28,6 @@
 import com.rapiddweller.common.ImportFailedException;
 import com.rapiddweller.common.ParseUtil;
 import com.rapiddweller.common.StringUtil;
-import com.rapiddweller.common.xml.XMLUtil;
 import com.rapiddweller.jdbacl.model.DBCatalog;
 import com.rapiddweller.jdbacl.model.DBCheckConstraint;
 import com.rapiddweller.jdbacl.model.DBColumn;
@@ -50,16 +49,23 @@
 import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
- * Imports a meta data model from an XML file.<br/><br/>
+ * Imports a meta data model from an XML file.
+ * The file is parsed with a StAX reader in a single forward pass, building the model objects
+ * while reading, so no DOM of the document is held in memory. Foreign keys are resolved
+ * at the end of their schema, since they may refer to tables which are defined later.<br/><br/>
  * Created: 28.11.2010 15:18:55
  * @author Volker Bergmann
  * @since 0.6.4
@@ -70,6 +76,7 @@ public class XMLModelImporter implements DBMetaDataImporter {
 
   public static final String AUTO_NAMED = "autoNamed";
   public static final String COLUMN = "column";
+  private static final String COLUMNS = "columns";
 
   private final String uri;
   private final JDBCDBImporter realImporter;
@@ -86,46 +93,59 @@ public XMLModelImporter(String uri, JDBCDBImporter realImporter) {
   @Override
   public Database importDatabase() throws ImportFailedException {
     try (InputStream in = IOUtil.getInputStreamForURI(uri)) {
-      Document doc = XMLUtil.parse(in);
-      return parseDatabase(doc.getDocumentElement());
+      XMLStreamReader reader = createReader(in);
+      try {
+        reader.nextTag();
+        return parseDatabase(reader);
+      } finally {
+        reader.close();
+      }
     } catch (Exception e) {
       throw ExceptionFactory.getInstance().importFailed("Metadata import failed", e);
     }
   }
 
-  private Database parseDatabase(Element e) {
+  private static XMLStreamReader createReader(InputStream in) throws XMLStreamException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory.createXMLStreamReader(in);
+  }
+
+  private Database parseDatabase(XMLStreamReader reader) throws XMLStreamException {
     Database db = new Database(null, realImporter, false);
-    db.setName(e.getAttribute("name"));
-    db.setUser(e.getAttribute("user"));
-    db.setTableInclusionPattern(e.getAttribute("tableInclusionPattern"));
-    db.setTableExclusionPattern(e.getAttribute("tableExclusionPattern"));
+    db.setName(attribute(reader, "name"));
+    db.setUser(attribute(reader, "user"));
+    db.setTableInclusionPattern(attribute(reader, "tableInclusionPattern"));
+    db.setTableExclusionPattern(attribute(reader, "tableExclusionPattern"));
 
-    db.setSequencesImported(XMLUtil.getBooleanAttribute(e, "sequencesImported", true));
-    db.setTriggersImported(XMLUtil.getBooleanAttribute(e, "triggersImported", true));
-    db.setPackagesImported(XMLUtil.getBooleanAttribute(e, "packagesImported", true));
-    db.setChecksImported(XMLUtil.getBooleanAttribute(e, "checksImported", true));
+    db.setSequencesImported(requiredBooleanAttribute(reader, "sequencesImported"));
+    db.setTriggersImported(requiredBooleanAttribute(reader, "triggersImported"));
+    db.setPackagesImported(requiredBooleanAttribute(reader, "packagesImported"));
+    db.setChecksImported(requiredBooleanAttribute(reader, "checksImported"));
 
     // import catalogs
-    for (Element child : XMLUtil.getChildElements(e)) {
-      String childName = child.getNodeName();
+    while (nextChild(reader)) {
+      String childName = reader.getLocalName();
       if ("catalog".equals(childName)) {
-        parseCatalog(child, db);
+        parseCatalog(reader, db);
       } else {
-        throw ExceptionFactory.getInstance().syntaxErrorForXmlElement(
-            "Not an allowed element within <database>", child);
+        throw ExceptionFactory.getInstance().syntaxErrorForXmlDocument(
+            "Not an allowed element within <database>: " + childName, null, uri);
       }
     }
     scanReferers(db);
     return db;
   }
 
-  private void parseCatalog(Element e, Database db) {
-    String name = StringUtil.emptyToNull(e.getAttribute("name"));
+  private void parseCatalog(XMLStreamReader reader, Database db) throws XMLStreamException {
+    String name = StringUtil.emptyToNull(attribute(reader, "name"));
     DBCatalog catalog = new DBCatalog(name, db);
-    for (Element child : XMLUtil.getChildElements(e)) {
-      String childName = child.getNodeName();
+    while (nextChild(reader)) {
+      String childName = reader.getLocalName();
       if ("schema".equals(childName)) {
-        parseSchema(child, catalog);
+        parseSchema(reader, catalog);
       } else {
         throw ExceptionFactory.getInstance().programmerUnsupported(
             "Not an allowed element within <catalog>: " + childName);
@@ -133,166 +153,118 @@ private void parseCatalog(Element e, Database db) {
     }
   }
 
-  private void parseSchema(Element e, DBCatalog catalog) {
-    String name = e.getAttribute("name");
+  private void parseSchema(XMLStreamReader reader, DBCatalog catalog) throws XMLStreamException {
+    String name = attribute(reader, "name");
     DBSchema schema = new DBSchema(name, catalog);
-    Element[] children = XMLUtil.getChildElements(e);
-
-    // First parse elements without details in order to have all referenced tables available after
-    for (Element child : children) {
-      String childName = child.getNodeName();
-      if ("table".equals(childName)) {
-        parseTableName(child, schema);
-      } else if (!"sequence".equals(childName) && !"trigger".equals(childName) && !"package".equals(childName)) {
-        throw ExceptionFactory.getInstance().programmerUnsupported(
-            "Not an allowed element within <schema>: " + childName);
-      }
-    }
-
-    // finally parse the details of each db object and resolve references
-    for (Element child : children) {
-      String childName = child.getNodeName();
+    // foreign keys may refer to tables further down in the document, so they are resolved at the end of the schema
+    List<FKSpec> fkSpecs = new ArrayList<>();
+    while (nextChild(reader)) {
+      String childName = reader.getLocalName();
       if ("table".equals(childName)) {
-        parseTableStructure(child, schema);
+        parseTable(reader, schema, fkSpecs);
       } else if ("sequence".equals(childName)) {
-        parseSequence(child, schema);
+        parseSequence(reader, schema);
       } else if ("trigger".equals(childName)) {
-        parseTrigger(child, schema);
+        parseTrigger(reader, schema);
       } else if ("package".equals(childName)) {
-        parsePackage(child, schema);
+        parsePackage(reader, schema);
       } else {
         throw ExceptionFactory.getInstance().programmerUnsupported(
             "Not an allowed element within <schema>: " + childName);
       }
     }
+    for (FKSpec fkSpec : fkSpecs) {
+      fkSpec.resolve(schema);
+    }
   }
 
-  private static void parseTableName(Element e, DBSchema schema) {
-    String name = e.getAttribute("name");
-    String typeSpec = e.getAttribute("type");
+  private void parseTable(XMLStreamReader reader, DBSchema schema, List<FKSpec> fkSpecs) throws XMLStreamException {
+    String name = attribute(reader, "name");
+    String typeSpec = attribute(reader, "type");
     TableType type = (StringUtil.isEmpty(typeSpec) ? TableType.TABLE : TableType.valueOf(typeSpec));
-    new DBTable(name, type, null, schema, schema.getDatabase().getImporter());
-  }
-
-  private void parseTableStructure(Element e, DBSchema schema) {
-    String name = e.getAttribute("name");
-    DBTable table = schema.getTable(name);
-    boolean columnsImported = XMLUtil.getBooleanAttributeWithDefault(e, "columnsImported", true);
-    table.setColumnsImported(columnsImported);
-    boolean pkImported = XMLUtil.getBooleanAttributeWithDefault(e, "pkImported", true);
-    table.setPKImported(pkImported);
-    boolean fksImported = XMLUtil.getBooleanAttributeWithDefault(e, "fksImported", true);
-    table.setFKsImported(fksImported);
-    boolean indexesImported = XMLUtil.getBooleanAttributeWithDefault(e, "indexesImported", true);
-    table.setIndexesImported(indexesImported);
-    boolean checksImported = XMLUtil.getBooleanAttributeWithDefault(e, "checksImported", true);
-    table.setChecksImported(checksImported);
-    for (Element child : XMLUtil.getChildElements(e)) {
-      String childName = child.getNodeName();
+    DBTable table = new DBTable(name, type, null, schema, schema.getDatabase().getImporter());
+    table.setColumnsImported(booleanAttribute(reader, "columnsImported", true));
+    table.setPKImported(booleanAttribute(reader, "pkImported", true));
+    table.setFKsImported(booleanAttribute(reader, "fksImported", true));
+    table.setIndexesImported(booleanAttribute(reader, "indexesImported", true));
+    table.setChecksImported(booleanAttribute(reader, "checksImported", true));
+    while (nextChild(reader)) {
+      String childName = reader.getLocalName();
       if (COLUMN.equals(childName)) {
-        parseColumn(child, table);
+        parseColumn(reader, table);
       } else if ("pk".equals(childName)) {
-        parsePK(child, table);
+        parsePK(reader, table);
       } else if ("uk".equals(childName)) {
-        parseUK(child, table);
+        parseUK(reader, table);
       } else if ("fk".equals(childName)) {
-        parseFK(child, table, schema);
+        fkSpecs.add(parseFK(reader, table));
       } else if ("check".equals(childName)) {
-        parseCheck(child, table);
+        parseCheck(reader, table);
       } else if ("index".equals(childName)) {
-        parseIndex(child, table);
+        parseIndex(reader, table);
       } else {
         throw ExceptionFactory.getInstance().programmerUnsupported(
-            "Not an allowed element within <table>: " + XMLUtil.format(child));
+            "Not an allowed element within <table>: " + childName);
       }
     }
   }
 
-  private static void parseColumn(Element e, DBTable table) {
-    String name = e.getAttribute("name");
-    String typeAndSizeSpec = e.getAttribute("type");
-    int jdbcType = Integer.parseInt(e.getAttribute("jdbcType"));
+  private static void parseColumn(XMLStreamReader reader, DBTable table) throws XMLStreamException {
+    String name = attribute(reader, "name");
+    String typeAndSizeSpec = attribute(reader, "type");
+    int jdbcType = Integer.parseInt(attribute(reader, "jdbcType"));
     DBColumn column = new DBColumn(name, table, jdbcType, typeAndSizeSpec);
-    String defaultValue = e.getAttribute("default");
+    String defaultValue = attribute(reader, "default");
     if (!StringUtil.isEmpty(defaultValue)) {
       column.setDefaultValue(defaultValue);
     }
-    String nullableSpec = e.getAttribute("nullable");
+    String nullableSpec = attribute(reader, "nullable");
     boolean nullable = (!"false".equals(nullableSpec));
     column.setNullable(nullable);
+    skipElement(reader);
   }
 
-  private void parsePK(Element e, DBTable table) {
-    boolean autoNamed = false;
-    if (e.getAttribute(AUTO_NAMED) != null) {
-      autoNamed = Boolean.parseBoolean(e.getAttribute(AUTO_NAMED));
-    }
-    new DBPrimaryKeyConstraint(table, e.getAttribute("name"), autoNamed, parseColumnNames(e));
+  private static void parsePK(XMLStreamReader reader, DBTable table) throws XMLStreamException {
+    String name = attribute(reader, "name");
+    boolean autoNamed = Boolean.parseBoolean(attribute(reader, AUTO_NAMED));
+    new DBPrimaryKeyConstraint(table, name, autoNamed, parseColumnNames(reader, null));
   }
 
-  private void parseUK(Element e, DBTable table) {
-    boolean autoNamed = false;
-    if (e.getAttribute(AUTO_NAMED) != null) {
-      autoNamed = Boolean.parseBoolean(e.getAttribute(AUTO_NAMED));
-    }
-    new DBUniqueConstraint(table, e.getAttribute("name"), autoNamed, parseColumnNames(e));
+  private static void parseUK(XMLStreamReader reader, DBTable table) throws XMLStreamException {
+    String name = attribute(reader, "name");
+    boolean autoNamed = Boolean.parseBoolean(attribute(reader, AUTO_NAMED));
+    new DBUniqueConstraint(table, name, autoNamed, parseColumnNames(reader, null));
   }
 
-  private static void parseFK(Element e, DBTable owner, DBSchema schema) {
-    String name = e.getAttribute("name");
-    String refereeTableName = e.getAttribute("refereeTable");
-    DBTable refereeTable = schema.getTable(refereeTableName);
-    Assert.notNull(refereeTable, "refereeTable");
-    String colAttr = e.getAttribute(COLUMN);
-    String[] columnNames = null;
-    String[] refereeColumnNames = null;
-    if (!StringUtil.isEmpty(colAttr)) {
-      columnNames = new String[] {colAttr};
-      refereeColumnNames = new String[] {e.getAttribute("refereeColumn")};
-    } else {
-      Element colsElement = XMLUtil.getChildElement(e, false, true, "columns");
-      Element[] colElements = XMLUtil.getChildElements(colsElement, false, COLUMN);
-      for (Element colElement : colElements) {
-        columnNames = ArrayUtil.append(colElement.getAttribute("name"), columnNames);
-        refereeColumnNames = ArrayUtil.append(colElement.getAttribute("refereeColumn"), refereeColumnNames);
-      }
-    }
-    boolean autoNamed = false;
-    if (e.getAttribute(AUTO_NAMED) != null) {
-      autoNamed = Boolean.parseBoolean(e.getAttribute(AUTO_NAMED));
-    }
-    DBForeignKeyConstraint fk = new DBForeignKeyConstraint(name, autoNamed, owner, columnNames, refereeTable, refereeColumnNames);
-    // parse rules
-    String updateRule = XMLUtil.getAttribute(e, "updateRule", false);
-    if (!StringUtil.isEmpty(updateRule)) {
-      fk.setUpdateRule(FKChangeRule.valueOf(updateRule));
-    }
-    String deleteRule = XMLUtil.getAttribute(e, "deleteRule", false);
-    if (!StringUtil.isEmpty(deleteRule)) {
-      fk.setDeleteRule(FKChangeRule.valueOf(deleteRule));
-    }
+  private static FKSpec parseFK(XMLStreamReader reader, DBTable owner) throws XMLStreamException {
+    FKSpec spec = new FKSpec(owner);
+    spec.name = attribute(reader, "name");
+    spec.refereeTableName = attribute(reader, "refereeTable");
+    spec.autoNamed = Boolean.parseBoolean(attribute(reader, AUTO_NAMED));
+    spec.updateRule = StringUtil.emptyToNull(attribute(reader, "updateRule"));
+    spec.deleteRule = StringUtil.emptyToNull(attribute(reader, "deleteRule"));
+    List<String> refereeColumnNames = new ArrayList<>();
+    spec.columnNames = parseColumnNames(reader, refereeColumnNames);
+    spec.refereeColumnNames = refereeColumnNames.toArray(new String[0]);
+    return spec;
   }
 
-  private static void parseCheck(Element e, DBTable table) {
+  private static void parseCheck(XMLStreamReader reader, DBTable table) throws XMLStreamException {
     try {
       table.getCatalog().getDatabase().setChecksImported(true);
-      boolean autoNamed = false;
-      if (e.getAttribute(AUTO_NAMED) != null) {
-        autoNamed = Boolean.parseBoolean(e.getAttribute(AUTO_NAMED));
-      }
-      new DBCheckConstraint(e.getAttribute("name"), autoNamed, table, e.getAttribute("definition"));
+      boolean autoNamed = Boolean.parseBoolean(attribute(reader, AUTO_NAMED));
+      new DBCheckConstraint(attribute(reader, "name"), autoNamed, table, attribute(reader, "definition"));
     } catch (Exception ex) {
       logger.error("Error parsing check constraint", ex);
     }
+    skipElement(reader);
   }
 
-  private void parseIndex(Element e, DBTable table) {
-    String name = e.getAttribute("name");
-    String uniqueSpec = e.getAttribute("unique");
-    boolean unique = ("true".equals(uniqueSpec));
-    String nameDeterministicSpec = e.getAttribute("nameDeterministic");
-    boolean nameDeterministic = (nameDeterministicSpec == null || "true".equals(nameDeterministicSpec));
-    String[] columnNames = parseColumnNames(e);
+  private static void parseIndex(XMLStreamReader reader, DBTable table) throws XMLStreamException {
+    String name = attribute(reader, "name");
+    boolean unique = ("true".equals(attribute(reader, "unique")));
+    boolean nameDeterministic = ("true".equals(attribute(reader, "nameDeterministic")));
+    String[] columnNames = parseColumnNames(reader, null);
     if (unique) {
       new DBUniqueIndex(name, nameDeterministic, table.getUniqueConstraint(columnNames));
     } else {
@@ -300,16 +272,34 @@ private void parseIndex(Element e, DBTable table) {
     }
   }
 
-  public String[] parseColumnNames(Element e) {
-    String colAttr = e.getAttribute(COLUMN);
+  /** Parses the column names of a constraint or index, either from its 'column' attribute
+   *  or from the &lt;column&gt; elements of its nested &lt;columns&gt; element, and consumes the element.
+   *  If a list for the referee columns is provided, it receives the columns' 'refereeColumn' attributes. */
+  private static String[] parseColumnNames(XMLStreamReader reader, List<String> refereeColumnNames)
+      throws XMLStreamException {
+    String colAttr = attribute(reader, COLUMN);
     String[] columnNames = null;
     if (!StringUtil.isEmpty(colAttr)) {
       columnNames = new String[] {colAttr};
+      if (refereeColumnNames != null) {
+        refereeColumnNames.add(attribute(reader, "refereeColumn"));
+      }
+      skipElement(reader);
     } else {
-      Element colsElement = XMLUtil.getChildElement(e, false, true, "columns");
-      Element[] colElements = XMLUtil.getChildElements(colsElement, false, COLUMN);
-      for (Element colElement : colElements) {
-        columnNames = ArrayUtil.append(colElement.getAttribute("name"), columnNames);
+      while (nextChild(reader)) {
+        if (COLUMNS.equals(reader.getLocalName())) {
+          while (nextChild(reader)) {
+            if (COLUMN.equals(reader.getLocalName())) {
+              columnNames = ArrayUtil.append(attribute(reader, "name"), columnNames);
+              if (refereeColumnNames != null) {
+                refereeColumnNames.add(attribute(reader, "refereeColumn"));
+              }
+            }
+            skipElement(reader);
+          }
+        } else {
+          skipElement(reader);
+        }
       }
     }
     return columnNames;
@@ -329,139 +319,142 @@ private static void scanReferers(Database database) {
     }
   }
 
-  private static void parseSequence(Element e, DBSchema schema) {
-    DBSequence sequence = new DBSequence(e.getAttribute("name"), schema);
-    String start = e.getAttribute("start");
+  private static void parseSequence(XMLStreamReader reader, DBSchema schema) throws XMLStreamException {
+    DBSequence sequence = new DBSequence(attribute(reader, "name"), schema);
+    String start = attribute(reader, "start");
     if (!StringUtil.isEmpty(start)) {
       sequence.setStart(new BigInteger(start));
     }
-    String increment = e.getAttribute("increment");
+    String increment = attribute(reader, "increment");
     if (!StringUtil.isEmpty(increment)) {
       sequence.setIncrement(new BigInteger(increment));
     }
-    String maxValue = e.getAttribute("maxValue");
+    String maxValue = attribute(reader, "maxValue");
     if (!StringUtil.isEmpty(maxValue)) {
       sequence.setMaxValue(new BigInteger(maxValue));
     }
-    String minValue = e.getAttribute("minValue");
+    String minValue = attribute(reader, "minValue");
     if (!StringUtil.isEmpty(minValue)) {
       sequence.setMinValue(new BigInteger(minValue));
     }
-    String cycle = e.getAttribute("cycle");
+    String cycle = attribute(reader, "cycle");
     if (!StringUtil.isEmpty(cycle)) {
       sequence.setCycle(ParseUtil.parseBoolean(cycle));
     }
-    String cache = e.getAttribute("cache");
+    String cache = attribute(reader, "cache");
     if (!StringUtil.isEmpty(cache)) {
       sequence.setCache(Long.parseLong(cache));
     }
-    String order = e.getAttribute("order");
+    String order = attribute(reader, "order");
     if (!StringUtil.isEmpty(order)) {
       sequence.setOrder(ParseUtil.parseBoolean(order));
     }
+    skipElement(reader);
   }
 
-  private static void parseTrigger(Element e, DBSchema schema) {
-    DBTrigger trigger = new DBTrigger(e.getAttribute("name"), null);
+  private static void parseTrigger(XMLStreamReader reader, DBSchema schema) throws XMLStreamException {
+    DBTrigger trigger = new DBTrigger(attribute(reader, "name"), null);
     schema.receiveTrigger(trigger);
     trigger.setOwner(schema);
-    String triggerType = e.getAttribute("triggerType");
+    String triggerType = attribute(reader, "triggerType");
     if (!StringUtil.isEmpty(triggerType)) {
       trigger.setTriggerType(triggerType);
     }
-    String triggeringEvent = e.getAttribute("triggeringEvent");
+    String triggeringEvent = attribute(reader, "triggeringEvent");
     if (!StringUtil.isEmpty(triggeringEvent)) {
       trigger.setTriggeringEvent(triggeringEvent);
     }
-    String tableOwner = e.getAttribute("tableOwner");
+    String tableOwner = attribute(reader, "tableOwner");
     if (!StringUtil.isEmpty(tableOwner)) {
       trigger.setTableOwner(tableOwner);
     }
-    String baseObjectType = e.getAttribute("baseObjectType");
+    String baseObjectType = attribute(reader, "baseObjectType");
     if (!StringUtil.isEmpty(baseObjectType)) {
       trigger.setBaseObjectType(baseObjectType);
     }
-    String tableName = e.getAttribute("tableName");
+    String tableName = attribute(reader, "tableName");
     if (!StringUtil.isEmpty(tableName)) {
       trigger.setTableName(tableName);
     }
-    String columnName = e.getAttribute("columnName");
+    String columnName = attribute(reader, "columnName");
     if (!StringUtil.isEmpty(columnName)) {
       trigger.setColumnName(columnName);
     }
-    String referencingNames = e.getAttribute("referencingNames");
+    String referencingNames = attribute(reader, "referencingNames");
     if (!StringUtil.isEmpty(referencingNames)) {
       trigger.setReferencingNames(referencingNames);
     }
-    String whenClause = e.getAttribute("whenClause");
+    String whenClause = attribute(reader, "whenClause");
     if (!StringUtil.isEmpty(whenClause)) {
       trigger.setWhenClause(whenClause);
     }
-    String status = e.getAttribute("status");
+    String status = attribute(reader, "status");
     if (!StringUtil.isEmpty(status)) {
       trigger.setStatus(status);
     }
-    String description = e.getAttribute("description");
+    String description = attribute(reader, "description");
     if (!StringUtil.isEmpty(description)) {
       trigger.setDescription(description);
     }
-    String actionType = e.getAttribute("actionType");
+    String actionType = attribute(reader, "actionType");
     if (!StringUtil.isEmpty(actionType)) {
       trigger.setActionType(actionType);
     }
-    String triggerBody = e.getAttribute("triggerBody");
+    String triggerBody = attribute(reader, "triggerBody");
     if (!StringUtil.isEmpty(triggerBody)) {
       trigger.setTriggerBody(triggerBody);
     }
+    skipElement(reader);
   }
 
-  private static void parsePackage(Element e, DBSchema schema) {
-    DBPackage pkg = new DBPackage(e.getAttribute("name"), null);
+  private static void parsePackage(XMLStreamReader reader, DBSchema schema) throws XMLStreamException {
+    DBPackage pkg = new DBPackage(attribute(reader, "name"), null);
     pkg.setSchema(schema);
     schema.receivePackage(pkg);
-    String subObjectName = e.getAttribute("subObjectName");
+    String subObjectName = attribute(reader, "subObjectName");
     if (!StringUtil.isEmpty(subObjectName)) {
       pkg.setSubObjectName(subObjectName);
     }
-    String objectId = e.getAttribute("objectId");
+    String objectId = attribute(reader, "objectId");
     if (!StringUtil.isEmpty(objectId)) {
       pkg.setObjectId(objectId);
     }
-    String dataObjectId = e.getAttribute("dataObjectId");
+    String dataObjectId = attribute(reader, "dataObjectId");
     if (!StringUtil.isEmpty(dataObjectId)) {
       pkg.setDataObjectId(dataObjectId);
     }
-    String objectType = e.getAttribute("objectType");
+    String objectType = attribute(reader, "objectType");
     if (!StringUtil.isEmpty(objectType)) {
       pkg.setObjectType(objectType);
     }
-    String status = e.getAttribute("status");
+    String status = attribute(reader, "status");
     if (!StringUtil.isEmpty(status)) {
       pkg.setStatus(status);
     }
-    parsePackageProcedures(e, pkg);
+    parsePackageProcedures(reader, pkg);
   }
 
-  private static void parsePackageProcedures(Element pkgElement, DBPackage pkg) {
-    for (Element e : XMLUtil.getChildElements(pkgElement)) {
-      String nodeName = e.getNodeName();
+  private static void parsePackageProcedures(XMLStreamReader reader, DBPackage pkg) throws XMLStreamException {
+    while (nextChild(reader)) {
+      String nodeName = reader.getLocalName();
       if ("procedure".equals(nodeName)) {
-        DBProcedure procedure = new DBProcedure(e.getAttribute("name"), pkg);
-        String objectId = e.getAttribute("objectId");
+        DBProcedure procedure = new DBProcedure(attribute(reader, "name"), pkg);
+        String objectId = attribute(reader, "objectId");
         if (!StringUtil.isEmpty(objectId)) {
           procedure.setObjectId(objectId);
         }
-        String subProgramId = e.getAttribute("subProgramId");
+        String subProgramId = attribute(reader, "subProgramId");
         if (!StringUtil.isEmpty(subProgramId)) {
           procedure.setSubProgramId(subProgramId);
         }
-        String overload = e.getAttribute("overload");
+        String overload = attribute(reader, "overload");
         if (!StringUtil.isEmpty(overload)) {
           procedure.setOverload(overload);
         }
+        skipElement(reader);
       } else {
         throw ExceptionFactory.getInstance().programmerUnsupported(
-            "Illegal child element of <package>: " + XMLUtil.format(e));
+            "Illegal child element of <package>: " + nodeName);
       }
     }
   }
@@ -471,4 +464,77 @@ public void close() {
     // nothing special to do
   }
 
+  // StAX helpers ----------------------------------------------------------------------------------------------------
+
+  /** Advances to the next child of the current element.
+   *  @return true if the reader is positioned at the start of a child element,
+   *      false if it reached the end of the current element */
+  private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+    return (reader.nextTag() == XMLStreamConstants.START_ELEMENT);
+  }
+
+  /** Consumes the rest of the current element including all of its descendants. */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /** Returns the value of an attribute of the current element or an empty string if the attribute is not defined,
+   *  which is what a DOM provides. */
+  private static String attribute(XMLStreamReader reader, String name) {
+    String value = reader.getAttributeValue(null, name);
+    return (value != null ? value : "");
+  }
+
+  private static boolean booleanAttribute(XMLStreamReader reader, String name, boolean defaultValue) {
+    String value = attribute(reader, name);
+    return (StringUtil.isEmpty(value) ? defaultValue : Boolean.parseBoolean(value));
+  }
+
+  private boolean requiredBooleanAttribute(XMLStreamReader reader, String name) {
+    String value = attribute(reader, name);
+    if (StringUtil.isEmpty(value)) {
+      throw ExceptionFactory.getInstance().syntaxErrorForXmlDocument(
+          "Missing attribute '" + name + "' in <" + reader.getLocalName() + ">", null, uri);
+    }
+    return ParseUtil.parseBoolean(value);
+  }
+
+  /** Holds the definition of a foreign key constraint until its referee table is available. */
+  private static class FKSpec {
+
+    private final DBTable owner;
+    private String name;
+    private boolean autoNamed;
+    private String[] columnNames;
+    private String refereeTableName;
+    private String[] refereeColumnNames;
+    private String updateRule;
+    private String deleteRule;
+
+    FKSpec(DBTable owner) {
+      this.owner = owner;
+    }
+
+    void resolve(DBSchema schema) {
+      DBTable refereeTable = schema.getTable(refereeTableName);
+      Assert.notNull(refereeTable, "refereeTable");
+      DBForeignKeyConstraint fk = new DBForeignKeyConstraint(
+          name, autoNamed, owner, columnNames, refereeTable, refereeColumnNames);
+      if (updateRule != null) {
+        fk.setUpdateRule(FKChangeRule.valueOf(updateRule));
+      }
+      if (deleteRule != null) {
+        fk.setDeleteRule(FKChangeRule.valueOf(deleteRule));
+      }
+    }
+  }
+
 }
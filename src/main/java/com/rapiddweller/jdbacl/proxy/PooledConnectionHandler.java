@@ -32,6 +32,7 @@
 import com.rapiddweller.common.debug.ResourceMonitor;
 import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.StatementCache;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
@@ -73,6 +74,7 @@ public class PooledConnectionHandler implements InvocationHandler {
 
   // construction ----------------------------------------------------------------------------------------------------
   private final List<ConnectionEventListener> listeners;
+  private StatementCache statementCache;
   private boolean closed;
 
   // InvocationHandler implementation --------------------------------------------------------------------------------
@@ -167,6 +169,7 @@ public void close() throws SQLException {
       return;
     }
     try {
+      closeStatementCache();
       realConnection.close();
       listeners.clear();
       openConnectionCount.decrementAndGet();
@@ -187,6 +190,26 @@ public Connection getConnection() {
     return realConnection;
   }
 
+  /** @return the cache of prepared statements of this connection, which is created on first use */
+  public synchronized StatementCache getStatementCache() {
+    if (statementCache == null) {
+      if (closed) {
+        throw ExceptionFactory.getInstance().illegalOperation("Connection #" + id + " is closed");
+      }
+      statementCache = new StatementCache(realConnection, readOnly, StatementCache.DEFAULT_CAPACITY);
+    }
+    return statementCache;
+  }
+
+  private synchronized void closeStatementCache() {
+    if (statementCache != null) {
+      if (jdbcLogger.isDebugEnabled()) {
+        jdbcLogger.debug("Closing statement cache of connection #{}: {}", id, statementCache);
+      }
+      statementCache.close();
+    }
+  }
+
   public void addConnectionEventListener(ConnectionEventListener listener) {
     listeners.add(listener);
   }
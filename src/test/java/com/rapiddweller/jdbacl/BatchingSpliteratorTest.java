@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.dialect.HSQLUtil;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link BatchingSpliterator}.<br/><br/>
+ * Created: 17.10.2026 17:35:24
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class BatchingSpliteratorTest {
+
+  @Test
+  public void testSplitSingleSource() {
+    BatchingSpliterator<Integer> spliterator = new BatchingSpliterator<>(range(0, 25), 10);
+    Spliterator<Integer> batch1 = spliterator.trySplit();
+    assertEquals(10, batch1.estimateSize());
+    Spliterator<Integer> batch2 = spliterator.trySplit();
+    assertEquals(10, batch2.estimateSize());
+    List<Integer> rest = new ArrayList<>();
+    spliterator.forEachRemaining(rest::add);
+    assertEquals(Arrays.asList(20, 21, 22, 23, 24), rest);
+    assertNull(spliterator.trySplit());
+    assertFalse(spliterator.tryAdvance(i -> { }));
+  }
+
+  @Test
+  public void testSplitSources() {
+    BatchingSpliterator<Integer> spliterator = new BatchingSpliterator<>(
+        Arrays.asList(range(0, 3), range(3, 6), range(6, 9)), 10);
+    Spliterator<Integer> prefix = spliterator.trySplit();
+    List<Integer> first = new ArrayList<>();
+    prefix.forEachRemaining(first::add);
+    assertEquals(Arrays.asList(0, 1, 2), first);
+    List<Integer> rest = new ArrayList<>();
+    spliterator.forEachRemaining(rest::add);
+    assertEquals(Arrays.asList(3, 4, 5, 6, 7, 8), rest);
+  }
+
+  @Test
+  public void testParallelStream() {
+    List<Iterator<Integer>> sources = Arrays.asList(range(0, 5000), range(5000, 7000), range(7000, 10000));
+    List<Integer> result = BatchingSpliterator.stream(sources, 100).parallel().map(i -> i * 2)
+        .collect(Collectors.toList());
+    assertEquals(IntStream.range(0, 10000).map(i -> i * 2).boxed().collect(Collectors.toList()), result);
+  }
+
+  @Test
+  public void testQueryResults() throws Exception {
+    Connection connection = HSQLUtil.connectInMemoryDB(getClass().getSimpleName());
+    try {
+      DBUtil.executeUpdate("create table T_STREAM (id int)", connection);
+      for (int i = 0; i < 3000; i++) {
+        DBUtil.executeUpdate("insert into T_STREAM values (" + i + ")", connection);
+      }
+      long sum;
+      try (Stream<Object[]> rows = DBUtil.streamQueryResults("select id, id from T_STREAM", connection)) {
+        sum = rows.parallel().mapToLong(row -> ((Number) row[0]).longValue()).sum();
+      }
+      assertEquals(2999L * 3000 / 2, sum);
+      // closing a partially consumed stream closes the statement
+      Stream<Object[]> rows = DBUtil.streamQueryResults("select id, id from T_STREAM", connection);
+      assertTrue(rows.findFirst().isPresent());
+      rows.close();
+      DBUtil.executeUpdate("drop table T_STREAM", connection);
+    } finally {
+      DBUtil.close(connection);
+    }
+  }
+
+  private static Iterator<Integer> range(int from, int to) {
+    return IntStream.range(from, to).iterator();
+  }
+
+}
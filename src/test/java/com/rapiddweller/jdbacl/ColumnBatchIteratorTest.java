@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.ColumnBatch.VectorType;
+import com.rapiddweller.jdbacl.dialect.HSQLUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ColumnBatchIterator} and the {@link ColumnBatch}.<br/><br/>
+ * Created: 17.10.2026 17:26:54
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class ColumnBatchIteratorTest {
+
+  private static final String QUERY = "select id, amount, name, price from T_BATCH order by id";
+
+  private Connection connection;
+
+  @Before
+  public void setUp() throws Exception {
+    connection = HSQLUtil.connectInMemoryDB(getClass().getSimpleName());
+    DBUtil.executeUpdate("create table T_BATCH (id bigint, amount double, name varchar(10), price decimal(8,2))",
+        connection);
+    for (int i = 1; i <= 5; i++) {
+      String amount = (i == 3 ? "null" : String.valueOf(i * 1.5));
+      String name = (i == 4 ? "null" : "'N" + i + "'");
+      DBUtil.executeUpdate("insert into T_BATCH values (" + i + ", " + amount + ", " + name + ", " + i + ".25)",
+          connection);
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table T_BATCH", connection);
+    DBUtil.close(connection);
+  }
+
+  @Test
+  public void testBatches() {
+    try (ColumnBatchIterator iterator = DBUtil.iterateColumnBatches(QUERY, connection, 2)) {
+      assertTrue(iterator.hasNext());
+      ColumnBatch batch = iterator.next();
+      assertEquals(2, batch.size());
+      assertEquals(4, batch.getColumnCount());
+      assertEquals(VectorType.LONG, batch.getType(0));
+      assertEquals(VectorType.DOUBLE, batch.getType(1));
+      assertEquals(VectorType.STRING, batch.getType(2));
+      assertEquals(VectorType.OBJECT, batch.getType(3));
+      assertEquals(1L, batch.getLongVector(0)[0]);
+      assertEquals(2L, batch.getLong(0, 1));
+      assertEquals(3., batch.getDoubleVector(1)[1], 0.);
+      assertEquals("N1", batch.getStringVector(2)[0]);
+      assertEquals(new BigDecimal("2.25"), batch.getObject(3, 1));
+      assertEquals(2.25, batch.getDouble(3, 1), 0.);
+      // the batch instance is reused
+      ColumnBatch batch2 = iterator.next();
+      assertSame(batch, batch2);
+      assertEquals(2, batch.size());
+      assertEquals(3L, batch.getLong(0, 0));
+      assertTrue(batch.isNull(1, 0));
+      assertNull(batch.getObject(1, 0));
+      assertEquals(0., batch.getDouble(1, 0), 0.);
+      assertFalse(batch.isNull(2, 0));
+      assertTrue(batch.isNull(2, 1));
+      assertNull(batch.getString(2, 1));
+      // the last batch is incomplete
+      assertTrue(iterator.hasNext());
+      iterator.next();
+      assertEquals(1, batch.size());
+      assertEquals(5L, batch.getLong(0, 0));
+      assertFalse(batch.isNull(1, 0));
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testEmptyResult() {
+    try (ColumnBatchIterator iterator = DBUtil.iterateColumnBatches(
+        "select id from T_BATCH where id < 0", connection, 10)) {
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testNullBitmap() {
+    try (ColumnBatchIterator iterator = DBUtil.iterateColumnBatches(QUERY, connection, 100)) {
+      ColumnBatch batch = iterator.next();
+      assertEquals(5, batch.size());
+      assertEquals(1L << 2, batch.getNullBitmap(1)[0]);
+      assertEquals(1L << 3, batch.getNullBitmap(2)[0]);
+      assertEquals(0L, batch.getNullBitmap(0)[0]);
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testWrongVectorType() {
+    try (ColumnBatchIterator iterator = DBUtil.iterateColumnBatches(QUERY, connection, 10)) {
+      iterator.next().getLongVector(2);
+    }
+  }
+
+  @Test
+  public void testVectorTypeOf() {
+    assertEquals(VectorType.LONG, ColumnBatch.vectorTypeOf(Types.INTEGER, 10, 0));
+    assertEquals(VectorType.LONG, ColumnBatch.vectorTypeOf(Types.DECIMAL, 18, 0));
+    assertEquals(VectorType.OBJECT, ColumnBatch.vectorTypeOf(Types.DECIMAL, 19, 0));
+    assertEquals(VectorType.OBJECT, ColumnBatch.vectorTypeOf(Types.NUMERIC, 8, 2));
+    assertEquals(VectorType.DOUBLE, ColumnBatch.vectorTypeOf(Types.FLOAT, 0, 0));
+    assertEquals(VectorType.STRING, ColumnBatch.vectorTypeOf(Types.VARCHAR, 10, 0));
+    assertEquals(VectorType.OBJECT, ColumnBatch.vectorTypeOf(Types.TIMESTAMP, 0, 0));
+  }
+
+}
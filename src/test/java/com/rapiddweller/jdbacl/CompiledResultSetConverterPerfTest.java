@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.jdbacl.dialect.H2Util;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the throughput of the {@link CompiledResultSetConverter} with the generic {@link ResultSetConverter}
+ * on a larger H2 result set. It is not part of the unit tests, but run by the Maven profile 'perf':
+ * <code>mvn test -Pperf</code>. ContiPerf reports the timings in target/contiperf-report.<br/><br/>
+ * Created: 17.10.2026 18:25:05
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class CompiledResultSetConverterPerfTest {
+
+  private static final int ROW_COUNT = 50000;
+  private static final String QUERY = "select * from CRC_PERF order by ID";
+
+  private static Connection connection;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  @BeforeClass
+  public static void setUpDatabase() throws Exception {
+    connection = H2Util.connectInMemoryDB(CompiledResultSetConverterPerfTest.class.getSimpleName());
+    DBUtil.executeUpdate("create table CRC_PERF (ID int not null primary key, BIG bigint, DBL double, " +
+        "DEC decimal(10,2), TXT varchar(20), TS timestamp, DT date, FLAG boolean, SML smallint)", connection);
+    DBUtil.executeUpdate("insert into CRC_PERF (ID, BIG, DBL, DEC, TXT, TS, DT, FLAG, SML) " +
+        "select X, X * 1000, X / 3.0, X, 'T' || X, current_timestamp, current_date, mod(X, 2) = 0, 1 " +
+        "from system_range(1, " + ROW_COUNT + ")", connection);
+  }
+
+  @AfterClass
+  public static void tearDownDatabase() throws Exception {
+    DBUtil.executeUpdate("drop table CRC_PERF", connection);
+    DBUtil.close(connection);
+  }
+
+  @Test
+  @PerfTest(duration = 10000, warmUp = 3000)
+  public void testGeneric() throws Exception {
+    scan(new ResultSetConverter<>(Object[].class, false));
+  }
+
+  @Test
+  @PerfTest(duration = 10000, warmUp = 3000)
+  public void testCompiled() throws Exception {
+    scan(new CompiledResultSetConverter<>(Object[].class, false));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static void scan(ResultSetConverter<Object[]> converter) throws Exception {
+    try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(QUERY)) {
+      int count = 0;
+      while (resultSet.next()) {
+        if (converter.convert(resultSet).length > 0) {
+          count++;
+        }
+      }
+      assertEquals(ROW_COUNT, count);
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.jdbacl.dialect.H2Util;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link CompiledResultSetConverter} against the generic {@link ResultSetConverter}
+ * on an H2 in-memory database.<br/><br/>
+ * Created: 17.10.2026 17:44:46
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class CompiledResultSetConverterTest {
+
+  private static final String QUERY = "select * from CRC_T order by ID";
+
+  private Connection connection;
+
+  @Before
+  public void setUp() throws Exception {
+    connection = H2Util.connectInMemoryDB(getClass().getSimpleName());
+    DBUtil.executeUpdate("create table CRC_T (ID int not null primary key, BIG bigint, DBL double, " +
+        "DEC decimal(10,2), TXT varchar(20), TS timestamp, DT date, FLAG boolean, SML smallint)", connection);
+    DBUtil.executeUpdate("insert into CRC_T values (1, 12345678901, 1.5, 12.34, 'Alice', " +
+        "timestamp '2026-10-18 04:07:48', date '2026-10-18', true, 7)", connection);
+    DBUtil.executeUpdate("insert into CRC_T values (2, 0, 0, 0, '', null, null, false, 0)", connection);
+    DBUtil.executeUpdate("insert into CRC_T (ID) values (3)", connection);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table CRC_T", connection);
+    DBUtil.close(connection);
+  }
+
+  @Test
+  public void testSameValuesAsGetObject() throws Exception {
+    CompiledResultSetConverter<Object[]> converter = new CompiledResultSetConverter<>(Object[].class, false);
+    try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(QUERY)) {
+      int count = 0;
+      while (resultSet.next()) {
+        Object[] expected = (Object[]) ResultSetConverter.convert(resultSet, false);
+        assertArrayEquals(expected, converter.convert(resultSet));
+        count++;
+      }
+      assertEquals(3, count);
+    }
+  }
+
+  @Test
+  public void testNulls() throws Exception {
+    List<Object[]> rows = DBUtil.query(QUERY, connection);
+    Object[] row = rows.get(2);
+    assertEquals(3, row[0]);
+    for (int i = 1; i < row.length; i++) {
+      assertNull(row[i]);
+    }
+    assertEquals(0L, rows.get(1)[1]);
+    assertEquals(Boolean.FALSE, rows.get(1)[7]);
+    assertEquals(new BigDecimal("12.34"), rows.get(0)[3]);
+  }
+
+  @Test
+  public void testSimplifying() throws Exception {
+    CompiledResultSetConverter<Object> converter = new CompiledResultSetConverter<>(Object.class, true);
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select TXT from CRC_T where ID = 1")) {
+      resultSet.next();
+      assertEquals("Alice", converter.convert(resultSet));
+    }
+  }
+
+  @Test
+  public void testRecompilation() throws Exception {
+    ArrayResultSetIterator iterator = new ArrayResultSetIterator(connection, "select ID, TXT from CRC_T order by ID");
+    assertArrayEquals(new Object[] {1, "Alice"}, iterator.next());
+    IOUtil.close(iterator);
+    // a new result set with different columns
+    Object[] row = DBUtil.querySingleRow("select TXT, ID from CRC_T where ID = 1", connection);
+    assertArrayEquals(new Object[] {"Alice", 1}, row);
+  }
+
+  @Test
+  public void testReaderSelection() {
+    assertNotSame(CompiledResultSetConverter.OBJECT_READER,
+        CompiledResultSetConverter.readerFor(Types.BIGINT, Long.class.getName()));
+    // specialized readers are only used if the driver's getObject() returns the same type
+    assertSame(CompiledResultSetConverter.OBJECT_READER,
+        CompiledResultSetConverter.readerFor(Types.BIGINT, BigDecimal.class.getName()));
+    assertSame(CompiledResultSetConverter.OBJECT_READER,
+        CompiledResultSetConverter.readerFor(Types.TIMESTAMP, null));
+    assertSame(CompiledResultSetConverter.OBJECT_READER,
+        CompiledResultSetConverter.readerFor(Types.BLOB, "java.sql.Blob"));
+  }
+
+}
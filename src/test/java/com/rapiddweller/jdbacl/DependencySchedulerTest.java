@@ -0,0 +1,211 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.model.DBCatalog;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBPrimaryKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBSchema;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.Database;
+import com.rapiddweller.jdbacl.model.TableType;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link DependencyScheduler}.<br/><br/>
+ * Created: 17.10.2026 17:16:57
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class DependencySchedulerTest {
+
+  @Test
+  public void testEmpty() {
+    DBSchema schema = createSchema();
+    assertTrue(DependencyScheduler.run(schema, 2, table -> fail("No table expected")).isEmpty());
+  }
+
+  @Test
+  public void testDependencies() {
+    DBSchema schema = createSchema();
+    DBTable a = createTable("A", schema);
+    DBTable b = createTable("B", schema);
+    DBTable c = createTable("C", schema);
+    DBTable d = createTable("D", schema);
+    DBTable e = createTable("E", schema);
+    reference(b, a, false);
+    reference(c, b, false);
+    reference(c, d, true);
+    reference(e, a, false);
+    reference(e, e, true);
+    RecordingTask task = new RecordingTask();
+    List<DBForeignKeyConstraint> deferred = DependencyScheduler.run(schema, 4, task);
+    assertTrue(deferred.isEmpty());
+    assertEquals(5, task.finished.size());
+    task.assertFinishedBefore(a, b);
+    task.assertFinishedBefore(b, c);
+    task.assertFinishedBefore(d, c);
+    task.assertFinishedBefore(a, e);
+    assertTrue(task.updates.isEmpty());
+  }
+
+  @Test
+  public void testCycleBrokenAtNullableFK() {
+    DBSchema schema = createSchema();
+    DBTable order = createTable("ORDERS", schema);
+    DBTable item = createTable("ITEM", schema);
+    DBTable article = createTable("ARTICLE", schema);
+    reference(item, order, false);
+    reference(item, article, false);
+    DBForeignKeyConstraint lastItem = reference(order, item, true);
+    RecordingTask task = new RecordingTask();
+    List<DBForeignKeyConstraint> deferred = DependencyScheduler.run(schema, 3, task);
+    assertEquals(Collections.singletonList(lastItem), deferred);
+    task.assertFinishedBefore(order, item);
+    task.assertFinishedBefore(article, item);
+    assertEquals(1, task.updates.size());
+    assertEquals(Collections.singletonList(lastItem), task.updates.get(order));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCycleOfRequiredFKs() {
+    DBSchema schema = createSchema();
+    DBTable x = createTable("X", schema);
+    DBTable y = createTable("Y", schema);
+    reference(x, y, false);
+    reference(y, x, false);
+    DependencyScheduler.run(schema, 2, table -> fail("No table must be processed"));
+  }
+
+  @Test
+  public void testFailure() {
+    DBSchema schema = createSchema();
+    DBTable a = createTable("A", schema);
+    DBTable b = createTable("B", schema);
+    createTable("C", schema);
+    reference(b, a, false);
+    Set<String> processed = ConcurrentHashMap.newKeySet();
+    try {
+      DependencyScheduler.run(schema, 2, table -> {
+        processed.add(table.getName());
+        if (table == a) {
+          throw new IllegalStateException("test");
+        }
+      });
+      fail("Exception expected");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().contains("A"));
+    }
+    assertFalse(processed.contains("B"));
+  }
+
+  @Test
+  public void testWideSchema() {
+    DBSchema schema = createSchema();
+    List<DBTable> tables = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      DBTable table = createTable("T" + i, schema);
+      if (i > 0) {
+        reference(table, tables.get((i - 1) / 2), false);
+      }
+      tables.add(table);
+    }
+    RecordingTask task = new RecordingTask();
+    DependencyScheduler.run(schema, 8, task);
+    assertEquals(200, task.finished.size());
+    for (int i = 1; i < tables.size(); i++) {
+      task.assertFinishedBefore(tables.get((i - 1) / 2), tables.get(i));
+    }
+    assertTrue(task.maxConcurrency.get() >= 1);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  static DBSchema createSchema() {
+    Database db = new Database("db", "hsql", "1.5.8", new Date());
+    DBCatalog catalog = new DBCatalog(null, db);
+    return new DBSchema("public", catalog);
+  }
+
+  static DBTable createTable(String name, DBSchema schema) {
+    DBTable table = new DBTable(name, TableType.TABLE, schema);
+    new DBColumn("ID", table, Types.INTEGER, "int");
+    new DBPrimaryKeyConstraint(table, name + "_PK", false, "ID");
+    return table;
+  }
+
+  static DBForeignKeyConstraint reference(DBTable owner, DBTable referee, boolean nullable) {
+    String columnName = "REF_" + referee.getName();
+    DBColumn column = new DBColumn(columnName, owner, Types.INTEGER, "int");
+    column.setNullable(nullable);
+    return new DBForeignKeyConstraint(owner.getName() + "_" + columnName + "_FK", false, owner,
+        new String[] {columnName}, referee, new String[] {"ID"});
+  }
+
+  static class RecordingTask implements DependencyScheduler.TableTask {
+
+    final AtomicInteger clock = new AtomicInteger();
+    final Map<DBTable, Integer> started = new ConcurrentHashMap<>();
+    final Map<DBTable, Integer> finished = new ConcurrentHashMap<>();
+    final Map<DBTable, List<DBForeignKeyConstraint>> updates = new ConcurrentHashMap<>();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxConcurrency = new AtomicInteger();
+
+    @Override
+    public void process(DBTable table) throws Exception {
+      started.put(table, clock.incrementAndGet());
+      int current = running.incrementAndGet();
+      maxConcurrency.accumulateAndGet(current, Math::max);
+      Thread.sleep(1);
+      running.decrementAndGet();
+      finished.put(table, clock.incrementAndGet());
+    }
+
+    @Override
+    public void update(DBTable table, List<DBForeignKeyConstraint> deferredForeignKeys) {
+      assertEquals(finished.size(), started.size());
+      updates.put(table, deferredForeignKeys);
+    }
+
+    void assertFinishedBefore(DBTable provider, DBTable dependent) {
+      assertTrue(provider.getName() + " must be finished before " + dependent.getName() + " starts",
+          finished.get(provider) < started.get(dependent));
+    }
+  }
+
+}
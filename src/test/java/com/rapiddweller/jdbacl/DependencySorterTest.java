@@ -0,0 +1,167 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBSchema;
+import com.rapiddweller.jdbacl.model.DBTable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.rapiddweller.jdbacl.DependencySchedulerTest.createSchema;
+import static com.rapiddweller.jdbacl.DependencySchedulerTest.createTable;
+import static com.rapiddweller.jdbacl.DependencySchedulerTest.reference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link DependencySorter}.<br/><br/>
+ * Created: 17.10.2026 17:20:13
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class DependencySorterTest {
+
+  @Test
+  public void testEmpty() {
+    DependencyOrder order = DependencySorter.sort(createSchema());
+    assertTrue(order.getTables().isEmpty());
+    assertTrue(order.isAcyclic());
+    assertTrue(order.getBrokenForeignKeys().isEmpty());
+  }
+
+  @Test
+  public void testAcyclic() {
+    DBSchema schema = createSchema();
+    DBTable c = createTable("C", schema);
+    DBTable b = createTable("B", schema);
+    DBTable a = createTable("A", schema);
+    DBTable d = createTable("D", schema);
+    reference(c, b, false);
+    reference(b, a, true);
+    reference(d, d, false);
+    DependencyOrder order = DependencySorter.sort(schema);
+    assertEquals(Arrays.asList(a, b, c, d), order.getTables());
+    assertTrue(order.isAcyclic());
+    assertTrue(order.getBrokenForeignKeys().isEmpty());
+    assertEquals(order.getTables(), DBUtil.dependencyOrderedTables(schema));
+  }
+
+  @Test
+  public void testCycleBrokenAtNullableFK() {
+    DBSchema schema = createSchema();
+    DBTable order = createTable("ORDERS", schema);
+    DBTable item = createTable("ITEM", schema);
+    DBTable customer = createTable("CUSTOMER", schema);
+    reference(order, customer, false);
+    reference(item, order, false);
+    DBForeignKeyConstraint lastItem = reference(order, item, true);
+    DependencyOrder result = DependencySorter.sort(schema);
+    assertEquals(Arrays.asList(customer, order, item), result.getTables());
+    assertEquals(Collections.singletonList(Arrays.asList(order, item)), result.getCycles());
+    assertEquals(Collections.singletonList(lastItem), result.getBrokenForeignKeys());
+    assertTrue(result.getBrokenMandatoryForeignKeys().isEmpty());
+    assertFalse(result.isAcyclic());
+  }
+
+  @Test
+  public void testOnlyNecessaryFKsBroken() {
+    // X -> Y -> Z -> X with all references nullable: breaking one of them resolves the cycle
+    DBSchema schema = createSchema();
+    DBTable x = createTable("X", schema);
+    DBTable y = createTable("Y", schema);
+    DBTable z = createTable("Z", schema);
+    reference(x, y, true);
+    reference(y, z, true);
+    reference(z, x, true);
+    DependencyOrder order = DependencySorter.sort(schema);
+    assertEquals(3, order.getTables().size());
+    assertEquals(1, order.getBrokenForeignKeys().size());
+  }
+
+  @Test
+  public void testMandatoryCycle() {
+    DBSchema schema = createSchema();
+    DBTable x = createTable("X", schema);
+    DBTable y = createTable("Y", schema);
+    reference(x, y, false);
+    reference(y, x, false);
+    DependencyOrder order = DependencySorter.sort(schema);
+    assertEquals(2, order.getTables().size());
+    assertEquals(1, order.getBrokenMandatoryForeignKeys().size());
+    assertEquals(order.getBrokenForeignKeys(), order.getBrokenMandatoryForeignKeys());
+  }
+
+  @Test
+  public void testIncrementalAdd() {
+    DBSchema schema = createSchema();
+    DBSchema other = createSchema();
+    DBTable a = createTable("A", schema);
+    DBTable b = createTable("B", schema);
+    DBTable x = createTable("X", schema);
+    DBTable f = createTable("F", other);
+    DBTable root = createTable("ROOT", other);
+    reference(b, a, false);
+    reference(x, f, false);
+    reference(f, a, false);
+    reference(a, root, false);
+    DependencySorter sorter = new DependencySorter(schema);
+    assertEquals(Arrays.asList(a, b, x), sorter.sort().getTables());
+    // a table which is not referenced is appended
+    DBTable c = createTable("C", other);
+    reference(c, b, false);
+    assertEquals(Arrays.asList(a, b, x, c), sorter.add(c).getTables());
+    // a table without references is prepended
+    assertEquals(Arrays.asList(root, a, b, x, c), sorter.add(root).getTables());
+    // a table which is referencing and referenced requires sorting again
+    List<DBTable> tables = sorter.add(f).getTables();
+    assertTrue(tables.indexOf(a) < tables.indexOf(f));
+    assertTrue(tables.indexOf(f) < tables.indexOf(x));
+    assertEquals(6, tables.size());
+    // adding a known table does not change anything
+    assertEquals(tables, sorter.add(a).getTables());
+  }
+
+  @Test
+  public void testLongChain() {
+    DBSchema schema = createSchema();
+    int n = 10000;
+    DBTable[] tables = new DBTable[n];
+    for (int i = n - 1; i >= 0; i--) {
+      tables[i] = createTable("T" + i, schema);
+    }
+    for (int i = 1; i < n; i++) {
+      reference(tables[i], tables[i - 1], false);
+    }
+    reference(tables[0], tables[n - 1], true);
+    DependencyOrder order = DependencySorter.sort(schema);
+    assertEquals(Arrays.asList(tables), order.getTables());
+    assertEquals(1, order.getCycles().size());
+    assertEquals(n, order.getCycles().get(0).size());
+    assertEquals(1, order.getBrokenForeignKeys().size());
+  }
+
+}
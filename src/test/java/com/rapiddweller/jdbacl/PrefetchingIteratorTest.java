@@ -0,0 +1,158 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.jdbacl.dialect.HSQLUtil;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link PrefetchingIterator}.<br/><br/>
+ * Created: 17.10.2026 17:28:27
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class PrefetchingIteratorTest {
+
+  @Test
+  public void testOrder() {
+    CountingIterator source = new CountingIterator(1000, -1);
+    List<Integer> result = new ArrayList<>();
+    try (PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source, 7, 3)) {
+      while (iterator.hasNext()) {
+        result.add(iterator.next());
+      }
+      assertFalse(iterator.hasNext());
+    }
+    assertEquals(1000, result.size());
+    for (int i = 0; i < result.size(); i++) {
+      assertEquals(i, result.get(i).intValue());
+    }
+    assertTrue(source.closed);
+  }
+
+  @Test
+  public void testEmpty() {
+    CountingIterator source = new CountingIterator(0, -1);
+    PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source);
+    assertFalse(iterator.hasNext());
+    assertTrue(source.closed);
+  }
+
+  @Test
+  public void testFailure() {
+    CountingIterator source = new CountingIterator(100, 42);
+    PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source, 10, 2);
+    int count = 0;
+    try {
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+      fail("Exception expected");
+    } catch (IllegalStateException e) {
+      assertEquals("failure at 42", e.getMessage());
+    }
+    assertEquals(42, count);
+    assertTrue(source.closed);
+  }
+
+  @Test
+  public void testBackpressureAndEarlyClose() throws Exception {
+    CountingIterator source = new CountingIterator(100000, -1);
+    PrefetchingIterator<Integer> iterator = new PrefetchingIterator<>(source, 10, 2);
+    assertEquals(0, iterator.next().intValue());
+    Thread.sleep(200);
+    // the consumed batch, two queued batches and one batch being filled
+    assertTrue(source.count.get() <= 40);
+    iterator.close();
+    assertTrue(source.closed);
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void testQuery() throws Exception {
+    Connection connection = HSQLUtil.connectInMemoryDB(getClass().getSimpleName());
+    try {
+      DBUtil.executeUpdate("create table T_PREFETCH (id int, name varchar(10))", connection);
+      for (int i = 0; i < 25; i++) {
+        DBUtil.executeUpdate("insert into T_PREFETCH values (" + i + ", 'N" + i + "')", connection);
+      }
+      int count = 0;
+      try (HeavyweightIterator<Object[]> iterator = DBUtil.prefetchQueryResults(
+          "select id, name from T_PREFETCH order by id", connection, 4)) {
+        while (iterator.hasNext()) {
+          assertArrayEquals(new Object[] {count, "N" + count}, iterator.next());
+          count++;
+        }
+      }
+      assertEquals(25, count);
+      DBUtil.executeUpdate("drop table T_PREFETCH", connection);
+    } finally {
+      DBUtil.close(connection);
+    }
+  }
+
+  static class CountingIterator implements HeavyweightIterator<Integer> {
+
+    final int size;
+    final int failureIndex;
+    final AtomicInteger count = new AtomicInteger();
+    volatile boolean closed;
+
+    CountingIterator(int size, int failureIndex) {
+      this.size = size;
+      this.failureIndex = failureIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return count.get() < size;
+    }
+
+    @Override
+    public Integer next() {
+      int value = count.getAndIncrement();
+      if (value == failureIndex) {
+        throw new IllegalStateException("failure at " + value);
+      }
+      return value;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl;
+
+import com.rapiddweller.jdbacl.dialect.H2Dialect;
+import com.rapiddweller.jdbacl.dialect.H2Util;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBPrimaryKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link StatementCache} and the DBUtil methods which use it.<br/><br/>
+ * Created: 17.10.2026 17:42:53
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class StatementCacheTest {
+
+  private Connection connection;
+  private StatementCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    connection = H2Util.connectInMemoryDB(getClass().getSimpleName());
+    DBUtil.executeUpdate("create table SC_T (ID int not null primary key, NAME varchar(10))", connection);
+    for (int i = 0; i < 5; i++) {
+      DBUtil.executeUpdate("insert into SC_T values (" + i + ", 'N" + i + "')", connection);
+    }
+    cache = DBUtil.getStatementCache(connection);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table SC_T", connection);
+    DBUtil.close(connection);
+  }
+
+  @Test
+  public void testParameterizedQueries() throws Exception {
+    assertNotNull(cache);
+    assertSame(cache, DBUtil.getStatementCache(connection));
+    for (int i = 0; i < 5; i++) {
+      assertEquals("N" + i, DBUtil.queryScalar("select NAME from SC_T where ID = ?", connection, i));
+    }
+    assertEquals(1, cache.getMissCount());
+    assertEquals(4, cache.getHitCount());
+    assertEquals(3L, (long) DBUtil.queryLong("select count(*) from SC_T where ID >= ?", connection, 2));
+    List<Object[]> rows = DBUtil.query("select ID from SC_T where ID < ? order by ID", connection, 2);
+    assertEquals(2, rows.size());
+    assertEquals(3, cache.getMissCount());
+    assertEquals(3, cache.size());
+  }
+
+  @Test
+  public void testQueryByPK() {
+    DBTable table = new DBTable("SC_T");
+    new DBColumn("ID", table, Types.INTEGER, "int");
+    new DBColumn("NAME", table, Types.VARCHAR, "varchar");
+    new DBPrimaryKeyConstraint(table, "SC_T_PK", false, "ID");
+    H2Dialect dialect = new H2Dialect();
+    assertEquals("N1", table.queryByPK(1, connection, dialect).getCellValue("NAME"));
+    assertEquals("N3", table.queryByPK(3, connection, dialect).getCellValue("NAME"));
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testConcurrentUse() throws Exception {
+    String sql = "select NAME from SC_T where ID = ?";
+    PreparedStatement s1 = cache.acquire(sql);
+    PreparedStatement s2 = cache.acquire(sql);
+    assertNotSame(s1, s2);
+    cache.release(sql, s1);
+    cache.release(sql, s2);
+    assertEquals(1, cache.size());
+    assertTrue(s2.isClosed());
+    assertSame(s1, cache.acquire(sql));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    StatementCache small = new StatementCache(connection, false, 2);
+    PreparedStatement first = acquireAndRelease(small, "select 1 from SC_T");
+    acquireAndRelease(small, "select 2 from SC_T");
+    acquireAndRelease(small, "select 1 from SC_T");
+    PreparedStatement third = acquireAndRelease(small, "select 3 from SC_T");
+    assertEquals(2, small.size());
+    assertEquals(1, small.getEvictionCount());
+    // 'select 2' was the least recently used one
+    assertSame(first, small.acquire("select 1 from SC_T"));
+    assertEquals(3, small.getMissCount());
+    small.close();
+    assertTrue(third.isClosed());
+    // statements in use are closed when they are released after the cache was closed
+    small.release("select 1 from SC_T", first);
+    assertTrue(first.isClosed());
+  }
+
+  @Test
+  public void testCloseWithConnection() throws Exception {
+    PreparedStatement statement = acquireAndRelease(cache, "select NAME from SC_T");
+    assertEquals(1, cache.size());
+    connection.close();
+    assertEquals(0, cache.size());
+    assertTrue(statement.isClosed());
+    // the in-memory database was dropped with its last connection, so tearDown() needs a new one
+    connection = H2Util.connectInMemoryDB(getClass().getSimpleName());
+    DBUtil.executeUpdate("create table SC_T (ID int)", connection);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static PreparedStatement acquireAndRelease(StatementCache cache, String sql) throws Exception {
+    PreparedStatement statement = cache.acquire(sql);
+    cache.release(sql, statement);
+    return statement;
+  }
+
+}
@@ -41,6 +41,8 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -130,6 +132,27 @@ protected void testSequencesOnline(String databaseId) throws Exception {
     }
   }
 
+  protected void checkSchemaFingerprint(Connection connection, String schema) throws Exception {
+    String tableName = getClass().getSimpleName() + "_FP";
+    DBUtil.executeUpdate("create table " + tableName + " (id int not null, primary key (id))", connection);
+    try {
+      String fingerprint1 = dialect.querySchemaFingerprint(null, schema, connection);
+      assertNotNull(fingerprint1);
+      assertEquals(fingerprint1, dialect.querySchemaFingerprint(null, schema, connection));
+      DBUtil.executeUpdate("alter table " + tableName + " add column name varchar(10)", connection);
+      String fingerprint2 = dialect.querySchemaFingerprint(null, schema, connection);
+      assertNotEquals(fingerprint1, fingerprint2);
+      DBUtil.executeUpdate("create index " + tableName + "_IDX on " + tableName + " (name)", connection);
+      String fingerprint3 = dialect.querySchemaFingerprint(null, schema, connection);
+      assertNotEquals(fingerprint2, fingerprint3);
+      // a rename which keeps the name length
+      DBUtil.executeUpdate("alter table " + tableName + " alter column name rename to nick", connection);
+      assertNotEquals(fingerprint3, dialect.querySchemaFingerprint(null, schema, connection));
+    } finally {
+      DBUtil.executeUpdate("drop table " + tableName, connection);
+    }
+  }
+
   protected DBSequence createConfiguredSequence() {
     DBSequence seq = new DBSequence("my_seq", null);
     seq.setStart(new BigInteger("10"));
@@ -184,6 +184,12 @@ public void testSetNextSequenceValue() throws Exception {
     }
   }
 
+  @Test
+  public void testSchemaFingerprint() throws Exception {
+    Connection connection = H2Util.connectInMemoryDB(getClass().getSimpleName());
+    checkSchemaFingerprint(connection, H2Util.DEFAULT_SCHEMA);
+  }
+
   @Test
   public void testSetSequenceValue() {
     assertEquals("alter sequence Sequence Name restart with 42",
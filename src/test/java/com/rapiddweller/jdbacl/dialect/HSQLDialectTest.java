@@ -162,6 +162,12 @@ public void testSequencesOnline() throws Exception {
     testSequencesOnline("hsqlmem");
   }
 
+  @Test
+  public void testSchemaFingerprint() throws Exception {
+    Connection connection = HSQLUtil.connectInMemoryDB(getClass().getSimpleName());
+    checkSchemaFingerprint(connection, HSQLUtil.DEFAULT_SCHEMA);
+  }
+
   @Test
   public void testSetSequenceValue() throws Exception {
     Connection connection = HSQLUtil.connectInMemoryDB(getClass().getSimpleName());
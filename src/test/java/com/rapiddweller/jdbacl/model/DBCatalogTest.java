@@ -190,6 +190,22 @@ public void testGetTable3() {
     dbCatalog.getTable("Name", true);
   }
 
+  /**
+   * Test case-insensitive and qualified table lookup.
+   */
+  @Test
+  public void testGetTable4() {
+    DBCatalog dbCatalog = new DBCatalog("cat");
+    DBSchema schema = new DBSchema("sch", dbCatalog);
+    DBTable table = new DBTable("TAB", TableType.TABLE, schema);
+    assertSame(table, dbCatalog.getTable("tab", true));
+    assertSame(table, dbCatalog.getTable("SCH.tab", true));
+    assertSame(table, dbCatalog.getTable("cat.sch.TAB", true));
+    dbCatalog.removeTable("tab");
+    assertNull(dbCatalog.getTable("TAB", false));
+    assertTrue(dbCatalog.getTables().isEmpty());
+  }
+
   /**
    * Test get sequences.
    */
@@ -352,6 +352,18 @@ public void testAddUkConstraint() {
     assertFalse(dbColumn.isUnique());
   }
 
+  /**
+   * Test that the uk constraint list of a new column can be modified.
+   */
+  @Test
+  public void testGetUkConstraints_modifiable() {
+    DBColumn dbColumn = new DBColumn("Name", new DBTable("Name"), DBDataType.getInstance("BLOB"));
+    DBUniqueConstraint uk = new DBUniqueConstraint(new DBTable("Name"), "Name", true, "Name");
+    dbColumn.getUkConstraints().add(uk);
+    assertEquals(1, dbColumn.getUkConstraints().size());
+    assertSame(uk, dbColumn.getUkConstraints().get(0));
+  }
+
   /**
    * Test is nullable.
    */
@@ -2,6 +2,11 @@
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -194,5 +199,52 @@ public void testToString2() {
     dbRow.withTable(new DBTable("Name"));
     assertEquals("Name[]", dbRow.toString());
   }
-}
 
+  /**
+   * Test rows with a shared layout.
+   */
+  @Test
+  public void testSharedLayout() {
+    DBTable referee = new DBTable("REFEREE");
+    DBTable table = new DBTable("TAB");
+    new DBPrimaryKeyConstraint(table, "TAB_PK", true, "ID");
+    DBForeignKeyConstraint fk = new DBForeignKeyConstraint("TAB_FK", true, table, "REF", referee, "ID");
+    DBRowLayout layout = DBRowLayout.of(table, new String[] {"ID", "NAME", "REF"});
+    DBRow row1 = new DBRow(table, layout, new Object[] {1, "Alice", 10});
+    DBRow row2 = new DBRow(table, layout, new Object[] {2, "Bob", 20});
+    assertSame(layout, row1.getLayout());
+    assertEquals(1, row1.getPKValue());
+    assertArrayEquals(new Object[] {2}, row2.getPKValues());
+    assertEquals(10, row1.getFKValue(fk));
+    assertArrayEquals(new Object[] {20}, row2.getFKComponents(fk));
+    assertEquals("Alice", row1.getCellValue("name"));
+    assertEquals("Bob", row2.getCells().get("Name"));
+    assertEquals("TAB[1, Alice, 10]", row1.toString());
+    // adding a column detaches the row from the shared layout
+    row1.setCellValue("EXTRA", "x");
+    assertEquals("x", row1.getCellValue("extra"));
+    assertNull(row2.getCellValue("EXTRA"));
+    assertEquals(3, layout.size());
+    assertEquals(1, row1.getPKValue());
+    // updating an existing column keeps the layout
+    row2.getCells().put("NAME", "Charly");
+    assertEquals("Charly", row2.getCellValue("NAME"));
+    assertSame(layout, row2.getLayout());
+  }
+
+  /**
+   * Test the cell map view.
+   */
+  @Test
+  public void testGetCells() {
+    DBRow row = new DBRow(new DBTable("Name"));
+    row.setCellValue("A", 1);
+    row.setCellValue("b", 2);
+    row.setCellValue("a", 3);
+    Map<String, Object> cells = row.getCells();
+    assertEquals(2, cells.size());
+    assertEquals(3, cells.get("A"));
+    assertTrue(cells.containsKey("B"));
+    assertEquals(Arrays.asList("A", "b"), new ArrayList<>(cells.keySet()));
+  }
+}
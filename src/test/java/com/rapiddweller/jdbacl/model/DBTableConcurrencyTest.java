@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Stress test for the lazy import of {@link DBTable} details by concurrent threads on a shared model.<br/><br/>
+ * Created: 17.10.2026 17:08:53
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class DBTableConcurrencyTest {
+
+  private static final String URL = "jdbc:h2:mem:concurrentimport";
+  private static final String DRIVER = "org.h2.Driver";
+  private static final String USER = "sa";
+  private static final String PASSWORD = null;
+
+  private static final int TABLE_COUNT = 8;
+  private static final int THREAD_COUNT = 64;
+  private static final int ROUNDS = 5;
+
+  @Test
+  public void testConcurrentLazyImport() throws Exception {
+    try (Connection connection = DBUtil.connect(URL, DRIVER, USER, PASSWORD, false)) {
+      for (int i = 0; i < TABLE_COUNT; i++) {
+        DBUtil.executeUpdate("create table T" + i + " (ID int not null, PARENT_ID int, NAME varchar(30), " +
+            "constraint T" + i + "_PK primary key (ID), constraint T" + i + "_UK unique (NAME)" +
+            (i > 0 ? ", constraint T" + i + "_FK foreign key (PARENT_ID) references T" + (i - 1) + " (ID)" : "") +
+            ")", connection);
+      }
+      for (int round = 0; round < ROUNDS; round++) {
+        CountingImporter importer = new CountingImporter();
+        try {
+          Database db = new Database("h2", importer, true);
+          DBCatalog catalog = db.getCatalog(null);
+          DBSchema schema = (catalog != null ? catalog.getSchema("PUBLIC") : db.getSchema("PUBLIC"));
+          List<DBTable> tables = schema.getTables();
+          assertEquals(TABLE_COUNT, tables.size());
+          readConcurrently(tables);
+          for (Map.Entry<String, AtomicInteger> entry : importer.imports.entrySet()) {
+            assertEquals(entry.getKey(), 1, entry.getValue().get());
+          }
+        } finally {
+          importer.close();
+        }
+      }
+    }
+  }
+
+  private static void readConcurrently(List<DBTable> tables) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>(THREAD_COUNT);
+      for (int i = 0; i < THREAD_COUNT; i++) {
+        List<DBTable> order = new ArrayList<>(tables);
+        Collections.shuffle(order);
+        int variant = i;
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (DBTable table : order) {
+            checkTable(table, variant);
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Accesses the details of a table in different orders, so that the threads compete for different components. */
+  private static void checkTable(DBTable table, int variant) {
+    int index = Integer.parseInt(table.getName().substring(1));
+    switch (variant % 4) {
+      case 0:
+        checkReferrers(table, index);
+        checkForeignKeys(table, index);
+        checkIndexes(table);
+        checkColumns(table);
+        break;
+      case 1:
+        checkIndexes(table);
+        checkForeignKeys(table, index);
+        checkColumns(table);
+        checkReferrers(table, index);
+        break;
+      case 2:
+        checkForeignKeys(table, index);
+        checkColumns(table);
+        checkReferrers(table, index);
+        checkIndexes(table);
+        break;
+      default:
+        checkColumns(table);
+        checkReferrers(table, index);
+        checkIndexes(table);
+        checkForeignKeys(table, index);
+    }
+  }
+
+  private static void checkColumns(DBTable table) {
+    assertArrayEquals(new String[] {"ID", "PARENT_ID", "NAME"}, table.getColumnNames());
+    assertArrayEquals(new String[] {"ID"}, table.getPKColumnNames());
+  }
+
+  private static void checkIndexes(DBTable table) {
+    assertNotNull(table.getUniqueConstraint(new String[] {"NAME"}));
+    assertTrue(table.getIndexes().size() >= 2);
+  }
+
+  private static void checkForeignKeys(DBTable table, int index) {
+    assertEquals(index > 0 ? 1 : 0, table.getForeignKeyConstraints().size());
+  }
+
+  private static void checkReferrers(DBTable table, int index) {
+    assertEquals(index < TABLE_COUNT - 1 ? 1 : 0, table.getReferrers().size());
+  }
+
+  /** Counts the imports of each component of each table. */
+  static class CountingImporter extends JDBCDBImporter {
+
+    final Map<String, AtomicInteger> imports = new ConcurrentHashMap<>();
+
+    CountingImporter() {
+      super(URL, DRIVER, USER, PASSWORD, null, null);
+    }
+
+    @Override
+    public void importColumnsOfTable(DBTable table, ColumnReceiver receiver) {
+      count("columns", table);
+      super.importColumnsOfTable(table, receiver);
+    }
+
+    @Override
+    public void importPrimaryKeyOfTable(DBTable table, PKReceiver receiver) {
+      count("pk", table);
+      super.importPrimaryKeyOfTable(table, receiver);
+    }
+
+    @Override
+    public void importIndexesOfTable(DBTable table, boolean uniquesOnly, IndexReceiver receiver) {
+      count("indexes", table);
+      super.importIndexesOfTable(table, uniquesOnly, receiver);
+    }
+
+    @Override
+    public void importImportedKeys(DBTable table, FKReceiver receiver) {
+      count("fks", table);
+      super.importImportedKeys(table, receiver);
+    }
+
+    @Override
+    public void importRefererTables(DBTable table, ReferrerReceiver receiver) {
+      count("referrers", table);
+      super.importRefererTables(table, receiver);
+    }
+
+    private void count(String component, DBTable table) {
+      imports.computeIfAbsent(component + " of " + table.getName(), k -> new AtomicInteger()).incrementAndGet();
+    }
+  }
+
+}
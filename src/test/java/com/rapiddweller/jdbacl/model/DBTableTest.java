@@ -989,6 +989,32 @@ public void testGetReferrers5() {
     assertEquals(1, dbTable.getReferrers().size());
   }
 
+  /**
+   * Test that referrers are derived from the foreign keys of the catalog and follow foreign key changes.
+   */
+  @Test
+  public void testGetReferrers_derivedFromForeignKeys() {
+    DBSchema schema = new DBSchema("s", new DBCatalog("c"));
+    DBTable parent = new DBTable("parent", TableType.TABLE, schema);
+    DBTable child1 = new DBTable("child1", TableType.TABLE, schema);
+    DBTable child2 = new DBTable("child2", TableType.TABLE, schema);
+    DBForeignKeyConstraint fk1 = new DBForeignKeyConstraint("fk1", true, child1, "parent_id", parent, "id");
+    new DBForeignKeyConstraint("fk2", true, child2, "parent_id", parent, "id");
+    assertEquals(2, parent.getReferrers().size());
+    assertTrue(child1.getReferrers().isEmpty());
+    // an added foreign key registers its table as referrer
+    DBTable child3 = new DBTable("child3", TableType.TABLE, schema);
+    new DBForeignKeyConstraint("fk3", true, child3, "parent_id", parent, "id");
+    assertTrue(parent.getReferrers().contains(child3));
+    // a removed foreign key unregisters its table unless there is another foreign key to the same referee
+    DBForeignKeyConstraint fk1b = new DBForeignKeyConstraint("fk1b", true, child1, "parent2_id", parent, "id");
+    child1.removeForeignKeyConstraint(fk1);
+    assertTrue(parent.getReferrers().contains(child1));
+    child1.removeForeignKeyConstraint(fk1b);
+    assertFalse(parent.getReferrers().contains(child1));
+    assertEquals(2, parent.getReferrers().size());
+  }
+
   /**
    * Test add referrer.
    */
@@ -6,6 +6,7 @@
 import org.junit.rules.ExpectedException;
 
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -296,5 +297,120 @@ public void testSetChecksImported() {
     createTestModelResult.setChecksImported(true);
     assertTrue(createTestModelResult.isChecksImported());
   }
-}
 
+  /**
+   * Test table lookup by plain and qualified names.
+   */
+  @Test
+  public void testGetTable_qualified() {
+    Database db = new Database("db", null, false);
+    DBCatalog catalog = new DBCatalog("cat", db);
+    DBSchema schema1 = new DBSchema("S1", catalog);
+    DBSchema schema2 = new DBSchema("S2", catalog);
+    DBTable t1 = new DBTable("T", TableType.TABLE, schema1);
+    DBTable t2 = new DBTable("T", TableType.TABLE, schema2);
+    assertSame(t1, db.getTable("t", false));
+    assertSame(t1, db.getTable("s1.T", false));
+    assertSame(t2, db.getTable("S2.t", false));
+    assertSame(t2, db.getTable("CAT.S2.T", false));
+    assertNull(db.getTable("cat.S3.T", false));
+    assertSame(schema2, db.getSchema("cat.s2"));
+    schema1.removeTable(t1);
+    assertSame(t2, db.getTable("T", false));
+    assertNull(db.getTable("S1.T", false));
+  }
+
+  /**
+   * Test that the index follows schemas and catalogs which are added after their tables.
+   */
+  @Test
+  public void testGetTable_lateRegistration() {
+    DBSchema schema = new DBSchema("S");
+    DBTable table = new DBTable("T", TableType.TABLE, schema);
+    DBCatalog catalog = new DBCatalog("C");
+    catalog.addSchema(schema);
+    Database db = new Database("db", null, false);
+    db.addCatalog(catalog);
+    assertSame(table, db.getTable("c.s.t", true));
+    db.removeCatalog(catalog);
+    assertNull(db.getTable("T", false));
+    assertTrue(db.getTables().isEmpty());
+  }
+
+  /**
+   * Test that the cached table list is updated when the model changes.
+   */
+  @Test
+  public void testGetTables_cached() {
+    Database db = AbstractModelTest.createTestModel();
+    List<DBTable> tables = db.getTables();
+    assertEquals(tables, db.getTables());
+    DBTable table5 = new DBTable("table5", TableType.TABLE, db.getSchema("public"));
+    List<DBTable> updated = db.getTables();
+    assertEquals(5, updated.size());
+    assertSame(table5, updated.get(4));
+    db.removeTable("TABLE5");
+    assertEquals(4, db.getTables().size());
+    assertNull(db.getTable("table5", false));
+  }
+
+  /**
+   * Test that modifying a returned table list does not affect the model.
+   */
+  @Test
+  public void testGetTables_copy() {
+    Database db = AbstractModelTest.createTestModel();
+    db.getTables().clear();
+    assertEquals(4, db.getTables().size());
+    assertTrue(db.getTables(false).isEmpty());
+    db.getTables(false).add(db.getTable("table1"));
+    assertEquals(4, db.getCatalogs().get(0).getTables().size());
+  }
+
+  /**
+   * Test that the unmodifiable table list is cached until the next structural change.
+   */
+  @Test
+  public void testGetUnmodifiableTables() {
+    Database db = AbstractModelTest.createTestModel();
+    List<DBTable> tables = db.getUnmodifiableTables();
+    assertEquals(4, tables.size());
+    assertSame(tables, db.getUnmodifiableTables());
+    assertSame(db.getCatalogs().get(0).getUnmodifiableTables(), db.getCatalogs().get(0).getUnmodifiableTables());
+    new DBTable("table5", TableType.TABLE, db.getSchema("public"));
+    assertEquals(5, db.getUnmodifiableTables().size());
+    assertEquals(5, db.getCatalogs().get(0).getUnmodifiableTables().size());
+    thrown.expect(UnsupportedOperationException.class);
+    db.getUnmodifiableTables().clear();
+  }
+
+  /**
+   * Test sequence lookup.
+   */
+  @Test
+  public void testGetSequence() {
+    Database db = AbstractModelTest.createTestModel();
+    DBSequence sequence = new DBSequence("seq1", db.getSchema("public"));
+    assertSame(sequence, db.getSequence("SEQ1", true));
+    assertSame(sequence, db.getSequence("public.seq1", true));
+    assertNull(db.getSequence("seq2", false));
+  }
+
+  /**
+   * Test that identifiers are interned only in compact mode.
+   */
+  @Test
+  public void testInternIdentifier() {
+    Database db = AbstractModelTest.createTestModel();
+    String name = new String("ID");
+    assertFalse(db.isCompact());
+    assertSame(name, db.internIdentifier(name));
+    String copy = new String("ID");
+    assertSame(copy, db.internIdentifier(copy));
+    db.setCompact(true);
+    assertSame(name, db.internIdentifier(name));
+    assertSame(name, db.internIdentifier(new String("ID")));
+    assertNull(db.internIdentifier(null));
+  }
+
+}
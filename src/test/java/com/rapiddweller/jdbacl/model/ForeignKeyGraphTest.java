@@ -0,0 +1,176 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ForeignKeyGraph}.<br/><br/>
+ * Created: 17.10.2026 17:22:39
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class ForeignKeyGraphTest {
+
+  private Database db;
+  private DBSchema schema;
+  private DBTable a;
+  private DBTable b;
+  private DBTable c;
+  private DBTable d;
+  private DBTable e;
+  private DBForeignKeyConstraint ab;
+  private DBForeignKeyConstraint ac;
+  private DBForeignKeyConstraint bd;
+  private DBForeignKeyConstraint cd;
+  private DBForeignKeyConstraint ae;
+  private DBForeignKeyConstraint ed;
+
+  /** Creates the references A -> B -> D, A -> C -> D and A -> E -> D. */
+  @Before
+  public void setUp() {
+    db = new Database("db", "hsql", "1.5.8", new Date());
+    schema = new DBSchema("public", new DBCatalog(null, db));
+    a = createTable("A");
+    b = createTable("B");
+    c = createTable("C");
+    d = createTable("D");
+    e = createTable("E");
+    ab = reference(a, b);
+    ac = reference(a, c);
+    bd = reference(b, d);
+    cd = reference(c, d);
+    ae = reference(a, e);
+    ed = reference(e, d);
+  }
+
+  @Test
+  public void testStructure() {
+    ForeignKeyGraph graph = db.getForeignKeyGraph();
+    assertEquals(5, graph.getTableCount());
+    assertEquals(6, graph.getForeignKeyCount());
+    assertEquals(Arrays.asList(ab, ac, ae), graph.getForeignKeys(a));
+    assertEquals(Arrays.asList(bd, cd, ed), graph.getReferringForeignKeys(d));
+    assertEquals(Arrays.asList(b, c, e), graph.getReferrers(d));
+    assertTrue(graph.getReferrers(a).isEmpty());
+    assertSame(c, graph.getTable(graph.ordinalOf(c)));
+    assertEquals(-1, graph.ordinalOf(new DBTable("X")));
+  }
+
+  @Test
+  public void testShortestPath() {
+    ForeignKeyGraph graph = db.getForeignKeyGraph();
+    assertEquals(Arrays.asList(ab, bd), graph.shortestPath(a, d).getEdges());
+    assertEquals(Collections.singletonList(ac), graph.shortestPath(a, c).getEdges());
+    assertEquals("A", graph.shortestPath(a, d).getStartTable());
+    assertEquals("D", graph.shortestPath(a, d).getTargetTable());
+    assertTrue(graph.shortestPath(b, b).getEdges().isEmpty());
+    assertNull(graph.shortestPath(d, a));
+    assertTrue(graph.isReachable(a, d));
+    assertFalse(graph.isReachable(d, a));
+  }
+
+  @Test
+  public void testShortestPaths() {
+    ForeignKeyGraph graph = db.getForeignKeyGraph();
+    List<ForeignKeyPath> paths = graph.shortestPaths(a, d, 2);
+    assertEquals(2, paths.size());
+    assertEquals(Arrays.asList(ab, bd), paths.get(0).getEdges());
+    assertEquals(Arrays.asList(ac, cd), paths.get(1).getEdges());
+    // more paths than exist
+    paths = graph.shortestPaths(a, d, 5);
+    assertEquals(3, paths.size());
+    assertEquals(Arrays.asList(ae, ed), paths.get(2).getEdges());
+    // answered from the cache
+    assertEquals(1, graph.shortestPaths(a, d, 1).size());
+    assertTrue(graph.shortestPaths(d, a, 3).isEmpty());
+  }
+
+  @Test
+  public void testLongerAlternative() {
+    DBTable f = createTable("F");
+    DBForeignKeyConstraint bf = reference(b, f);
+    DBForeignKeyConstraint fd = reference(f, d, "REF_D2");
+    List<ForeignKeyPath> paths = db.getForeignKeyGraph().shortestPaths(a, d, 4);
+    assertEquals(4, paths.size());
+    assertEquals(Arrays.asList(ab, bf, fd), paths.get(3).getEdges());
+  }
+
+  @Test
+  public void testCacheInvalidation() {
+    ForeignKeyGraph graph = db.getForeignKeyGraph();
+    assertSame(graph, db.getForeignKeyGraph());
+    DBForeignKeyConstraint da = reference(d, a);
+    ForeignKeyGraph graph2 = db.getForeignKeyGraph();
+    assertNotSame(graph, graph2);
+    assertEquals(Collections.singletonList(da), graph2.shortestPath(d, a).getEdges());
+    DBTable f = createTable("F");
+    ForeignKeyGraph graph3 = db.getForeignKeyGraph();
+    assertNotSame(graph2, graph3);
+    assertEquals(6, graph3.getTableCount());
+    assertNull(graph3.shortestPath(a, f));
+  }
+
+  @Test
+  public void testTestModel() {
+    Database model = AbstractModelTest.createTestModel();
+    ForeignKeyGraph graph = model.getForeignKeyGraph();
+    assertEquals(4, graph.getTableCount());
+    assertEquals(2, graph.getForeignKeyCount());
+    ForeignKeyPath path = graph.shortestPath(model.getTable("table4"), model.getTable("table3"));
+    assertEquals("table4(ref4_1, ref4_2) -> table3(id3_1, id3_2)", path.toString());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private DBTable createTable(String name) {
+    DBTable table = new DBTable(name, TableType.TABLE, schema);
+    new DBColumn("ID", table, Types.INTEGER, "int");
+    new DBPrimaryKeyConstraint(table, name + "_PK", false, "ID");
+    return table;
+  }
+
+  private static DBForeignKeyConstraint reference(DBTable owner, DBTable referee) {
+    return reference(owner, referee, "REF_" + referee.getName());
+  }
+
+  private static DBForeignKeyConstraint reference(DBTable owner, DBTable referee, String columnName) {
+    new DBColumn(columnName, owner, Types.INTEGER, "int");
+    return new DBForeignKeyConstraint(owner.getName() + "_" + columnName + "_FK", false, owner,
+        new String[] {columnName}, referee, new String[] {"ID"});
+  }
+
+}
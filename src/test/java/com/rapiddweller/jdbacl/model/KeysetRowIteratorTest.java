@@ -0,0 +1,178 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.dialect.H2Dialect;
+import com.rapiddweller.jdbacl.dialect.HSQL2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link KeysetRowIterator} on H2 and HSQLDB in-memory databases.<br/><br/>
+ * Created: 17.10.2026 17:37:11
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+@RunWith(Parameterized.class)
+public class KeysetRowIteratorTest {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> engines() {
+    return Arrays.asList(new Object[] {QueryTestDatabase.H2}, new Object[] {QueryTestDatabase.HSQL});
+  }
+
+  private final String engine;
+  private QueryTestDatabase db;
+  private DatabaseDialect dialect;
+  private Connection connection;
+  private DBTable table;
+  private DBTable noPKTable;
+
+  public KeysetRowIteratorTest(String engine) {
+    this.engine = engine;
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    db = QueryTestDatabase.connect(engine, getClass().getSimpleName());
+    dialect = db.getDialect();
+    connection = db.getConnection();
+    table = db.createGroupSeqTable("KS_T", 25, 3);
+    noPKTable = db.createMessageTable("KS_LOG", 25);
+  }
+
+  @After
+  public void tearDown() {
+    db.close();
+  }
+
+  @Test
+  public void testKeyset() {
+    KeysetRowIterator iterator = table.pagedRows(10, null, connection, dialect);
+    assertTrue(iterator.isKeyset());
+    List<DBRow> rows = readAll(iterator);
+    assertEquals(25, rows.size());
+    assertArrayEquals(new Object[] {"G0", 0}, rows.get(0).getPKValues());
+    assertArrayEquals(new Object[] {"G0", 3}, rows.get(1).getPKValues());
+    assertArrayEquals(new Object[] {"G1", 1}, rows.get(9).getPKValues());
+    assertArrayEquals(new Object[] {"G2", 23}, rows.get(24).getPKValues());
+    assertEquals(25, iterator.getResumeToken().getRowCount());
+  }
+
+  @Test
+  public void testChunkSizeDividesRowCount() {
+    assertEquals(25, readAll(table.pagedRows(5, null, connection, dialect)).size());
+  }
+
+  @Test
+  public void testResume() {
+    KeysetRowIterator iterator = table.pagedRows(4, null, connection, dialect);
+    List<DBRow> expected = readAll(table.pagedRows(100, null, connection, dialect));
+    for (int i = 0; i < 13; i++) {
+      iterator.next();
+    }
+    KeysetRowIterator.ResumeToken token = iterator.getResumeToken();
+    iterator.close();
+    assertFalse(iterator.hasNext());
+    assertEquals(13, token.getRowCount());
+    assertArrayEquals(expected.get(12).getPKValues(), token.getLastKey());
+    List<DBRow> rest = readAll(table.pagedRows(4, token, connection, dialect));
+    assertEquals(12, rest.size());
+    assertArrayEquals(expected.get(13).getPKValues(), rest.get(0).getPKValues());
+  }
+
+  @Test
+  public void testRownumFallback() {
+    KeysetRowIterator iterator = noPKTable.pagedRows(10, null, connection, dialect);
+    assertFalse(iterator.isKeyset());
+    for (int i = 0; i < 12; i++) {
+      assertEquals("M" + (char) ('A' + i), iterator.next().getCellValue("MSG"));
+    }
+    KeysetRowIterator.ResumeToken token = iterator.getResumeToken();
+    iterator.close();
+    List<DBRow> rest = readAll(noPKTable.pagedRows(10, token, connection, dialect));
+    assertEquals(13, rest.size());
+    assertEquals("MM", rest.get(0).getCellValue("MSG"));
+  }
+
+  @Test
+  public void testDialectFallback() {
+    KeysetRowIterator iterator = table.pagedRows(10, null, connection, dialectWithoutKeysetPattern());
+    assertFalse(iterator.isKeyset());
+    List<DBRow> rows = readAll(iterator);
+    assertEquals(25, rows.size());
+    assertArrayEquals(new Object[] {"G0", 0}, rows.get(0).getPKValues());
+    assertArrayEquals(new Object[] {"G2", 23}, rows.get(24).getPKValues());
+  }
+
+  @Test
+  public void testRenderKeysetQuery() {
+    String[] keys = {"GRP", "SEQ"};
+    assertEquals("SELECT * FROM KS_T ORDER BY GRP, SEQ LIMIT 10", dialect.renderKeysetQuery("KS_T", keys, false, 10));
+    assertEquals("SELECT * FROM KS_T WHERE GRP > ? OR (GRP = ? AND (SEQ > ?)) ORDER BY GRP, SEQ LIMIT 10",
+        dialect.renderKeysetQuery("KS_T", keys, true, 10));
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private DatabaseDialect dialectWithoutKeysetPattern() {
+    if (QueryTestDatabase.H2.equals(engine)) {
+      return new H2Dialect() {
+        @Override
+        public String renderRowLimitClause(int rowCount) {
+          return null;
+        }
+      };
+    } else {
+      return new HSQL2Dialect() {
+        @Override
+        public String renderRowLimitClause(int rowCount) {
+          return null;
+        }
+      };
+    }
+  }
+
+  private static List<DBRow> readAll(KeysetRowIterator iterator) {
+    List<DBRow> rows = new ArrayList<>();
+    while (iterator.hasNext()) {
+      rows.add(iterator.next());
+    }
+    return rows;
+  }
+
+}
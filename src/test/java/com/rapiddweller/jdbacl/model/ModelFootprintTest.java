@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ModelFootprint}.<br/><br/>
+ * Created: 17.10.2026 17:14:30
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class ModelFootprintTest {
+
+  @Test
+  public void testTestModel() {
+    ModelFootprint footprint = ModelFootprint.of(AbstractModelTest.createTestModel());
+    assertEquals(4, footprint.getTableCount());
+    assertEquals(11, footprint.getColumnCount());
+    assertTrue(footprint.getStringBytes() > 0);
+    assertTrue(footprint.getBytes() > footprint.getStringBytes());
+    assertEquals(footprint.getBytes() / 4, footprint.getBytesPerTable());
+  }
+
+  @Test
+  public void testCompact() {
+    ModelFootprint plain = ModelFootprint.of(createModel(false));
+    ModelFootprint compact = ModelFootprint.of(createModel(true));
+    assertEquals(plain.getColumnCount(), compact.getColumnCount());
+    assertTrue(compact.getStringBytes() < plain.getStringBytes());
+    assertTrue(compact.getBytes() < plain.getBytes());
+  }
+
+  /** Creates tables with equal column names, which are distinct String objects as provided by a JDBC driver. */
+  private static Database createModel(boolean compact) {
+    Database db = new Database("db", "hsql", "2.5", new Date());
+    db.setCompact(compact);
+    DBSchema schema = new DBSchema("public", new DBCatalog(null, db));
+    for (int i = 0; i < 10; i++) {
+      DBTable table = new DBTable("table" + i, TableType.TABLE, schema);
+      for (String name : new String[] {"ID", "NAME", "DESCRIPTION", "CREATED_AT", "UPDATED_AT"}) {
+        new DBColumn(db.internIdentifier(new String(name)), table, DBDataType.getInstance(Types.VARCHAR, "VARCHAR"));
+      }
+    }
+    return db;
+  }
+
+}
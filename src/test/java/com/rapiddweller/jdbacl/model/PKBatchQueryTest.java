@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.dialect.H2Dialect;
+import com.rapiddweller.jdbacl.dialect.HSQL2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PKBatchQuery} on H2 and HSQLDB in-memory databases.<br/><br/>
+ * Created: 17.10.2026 17:40:35
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+@RunWith(Parameterized.class)
+public class PKBatchQueryTest {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> engines() {
+    return Arrays.asList(new Object[] {QueryTestDatabase.H2}, new Object[] {QueryTestDatabase.HSQL});
+  }
+
+  private final String engine;
+  private QueryTestDatabase db;
+  private DatabaseDialect dialect;
+  private Connection connection;
+  private DBTable single;
+  private DBTable composite;
+
+  public PKBatchQueryTest(String engine) {
+    this.engine = engine;
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    db = QueryTestDatabase.connect(engine, getClass().getSimpleName());
+    dialect = db.getDialect();
+    connection = db.getConnection();
+    single = db.createIdNameTable("PKB_S", 25, 0, 1);
+    composite = db.createGroupSeqTable("PKB_C", 25, 3);
+  }
+
+  @After
+  public void tearDown() {
+    db.close();
+  }
+
+  @Test
+  public void testSingleColumnPK() {
+    // Long keys for an int column, a missing key and a duplicate
+    List<Object> pks = Arrays.asList(7L, 99L, 3L, 7L);
+    Map<Object, DBRow> rows = single.queryByPKs(pks, connection, dialect);
+    assertEquals(Arrays.asList(7L, 3L), new ArrayList<>(rows.keySet()));
+    assertEquals("N7", rows.get(7L).getCellValue("NAME"));
+    assertEquals("N3", rows.get(3L).getCellValue("NAME"));
+  }
+
+  @Test
+  public void testChunking() {
+    List<Object> pks = new ArrayList<>();
+    for (int i = 24; i >= 0; i--) {
+      pks.add(i);
+    }
+    Map<Object, DBRow> rows = single.queryByPKs(pks, 4, connection, dialect);
+    assertEquals(25, rows.size());
+    assertEquals(pks, new ArrayList<>(rows.keySet()));
+    for (Map.Entry<Object, DBRow> entry : rows.entrySet()) {
+      assertEquals("N" + entry.getKey(), entry.getValue().getCellValue("NAME"));
+    }
+  }
+
+  @Test
+  public void testCompositePKWithRowValues() {
+    checkCompositePK(dialect);
+  }
+
+  @Test
+  public void testCompositePKWithOrChain() {
+    checkCompositePK(dialectWithoutRowValueInList());
+  }
+
+  @Test
+  public void testEmpty() {
+    assertTrue(single.queryByPKs(Collections.emptyList(), connection, dialect).isEmpty());
+  }
+
+  @Test
+  public void testRenderQuery() {
+    assertEquals("SELECT * FROM PKB_S WHERE ID IN (?, ?)",
+        PKBatchQuery.renderQuery(single, single.getPKColumnNames(), 2, dialect));
+    assertEquals("SELECT * FROM PKB_C WHERE (GRP, SEQ) IN ((?, ?), (?, ?))",
+        PKBatchQuery.renderQuery(composite, composite.getPKColumnNames(), 2, dialect));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void checkCompositePK(DatabaseDialect dialect) {
+    Object[] pk1 = new Object[] {"G1", 4};
+    Object[] pk2 = new Object[] {"G2", 4};
+    Object[] pk3 = new Object[] {"G2", 23L};
+    Map<Object, DBRow> rows = composite.queryByPKs(Arrays.asList(pk1, pk2, pk3), 2, connection, dialect);
+    assertEquals(2, rows.size());
+    assertEquals(4, rows.get(pk1).getCellValue("SEQ"));
+    assertEquals(23, rows.get(pk3).getCellValue("SEQ"));
+  }
+
+  private DatabaseDialect dialectWithoutRowValueInList() {
+    if (QueryTestDatabase.H2.equals(engine)) {
+      return new H2Dialect() {
+        @Override
+        public boolean supportsRowValueInList() {
+          return false;
+        }
+      };
+    } else {
+      return new HSQL2Dialect() {
+        @Override
+        public boolean supportsRowValueInList() {
+          return false;
+        }
+      };
+    }
+  }
+
+}
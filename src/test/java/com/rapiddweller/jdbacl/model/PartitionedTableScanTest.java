@@ -0,0 +1,236 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.HeavyweightIterator;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.dialect.H2Dialect;
+import com.rapiddweller.jdbacl.dialect.HSQL2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link PartitionedTableScan} on H2 and HSQLDB in-memory databases.<br/><br/>
+ * Created: 17.10.2026 17:31:19
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+@RunWith(Parameterized.class)
+public class PartitionedTableScanTest {
+
+  private static final int ROW_COUNT = 1000;
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> engines() {
+    return Arrays.asList(new Object[] {QueryTestDatabase.H2}, new Object[] {QueryTestDatabase.HSQL});
+  }
+
+  private final String engine;
+  private QueryTestDatabase db;
+  private Supplier<Connection> connectionSupplier;
+  private DatabaseDialect dialect;
+  private Connection connection;
+  private DBTable numTable;
+  private DBTable codeTable;
+
+  public PartitionedTableScanTest(String engine) {
+    this.engine = engine;
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    db = QueryTestDatabase.connect(engine, getClass().getSimpleName());
+    connectionSupplier = db.getConnectionSupplier();
+    dialect = db.getDialect();
+    connection = db.getConnection();
+    numTable = db.createIdNameTable("NUM_T", ROW_COUNT, -500, 3);
+    codeTable = db.createGroupSeqTable("CODE_T", ROW_COUNT, 7);
+  }
+
+  @After
+  public void tearDown() {
+    db.close();
+  }
+
+  @Test
+  public void testNumericRanges() throws Exception {
+    PartitionedTableScan scan = numTable.partitionedScan(4, connectionSupplier, dialect);
+    assertEquals(4, scan.getPartitionClauses().size());
+    assertCoveredOnce(scan, "ID");
+  }
+
+  @Test
+  public void testQuantiles() throws Exception {
+    PartitionedTableScan scan = codeTable.partitionedScan(5, connectionSupplier, dialect);
+    assertEquals(5, scan.getPartitionClauses().size());
+    assertCoveredOnce(scan, "SEQ");
+  }
+
+  @Test
+  public void testQuantilesWithoutRowNumber() throws Exception {
+    PartitionedTableScan scan = codeTable.partitionedScan(5, connectionSupplier, dialectWithoutRowNumberWindow());
+    assertEquals(codeTable.partitionedScan(5, connectionSupplier, dialect).getPartitionClauses(),
+        scan.getPartitionClauses());
+    assertCoveredOnce(scan, "SEQ");
+  }
+
+  @Test
+  public void testRenderQuantileQuery() {
+    assertEquals("SELECT GRP, SEQ FROM (SELECT GRP, SEQ, ROW_NUMBER() OVER (ORDER BY GRP, SEQ) AS ROW_NUM " +
+        "FROM CODE_T) ROW_NUMBERS WHERE ROW_NUM IN (201, 401) ORDER BY ROW_NUM",
+        PartitionedTableScan.renderQuantileQuery("CODE_T", "GRP, SEQ", Arrays.asList(200L, 400L)));
+  }
+
+  @Test
+  public void testMorePartitionsThanRows() throws Exception {
+    DBUtil.executeUpdate("delete from CODE_T where SEQ > 1", connection);
+    PartitionedTableScan scan = codeTable.partitionedScan(8, connectionSupplier, dialect);
+    assertEquals(2, scan.getPartitionClauses().size());
+    assertEquals(2, collect(scan.openPartitions(), "SEQ").size());
+  }
+
+  @Test
+  public void testOrdered() throws Exception {
+    List<Integer> ids = new ArrayList<>();
+    try (HeavyweightIterator<DBRow> iterator = numTable.partitionedScan(3, connectionSupplier, dialect).ordered()) {
+      while (iterator.hasNext()) {
+        ids.add((Integer) iterator.next().getCellValue("ID"));
+      }
+    }
+    assertEquals(ROW_COUNT, ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      assertEquals(i * 3 - 500, ids.get(i).intValue());
+    }
+  }
+
+  @Test
+  public void testForEachParallel() {
+    Map<Object, AtomicInteger> counts = new ConcurrentHashMap<>();
+    codeTable.partitionedScan(4, connectionSupplier, dialect).forEachParallel(
+        row -> counts.computeIfAbsent(row.getCellValue("SEQ"), k -> new AtomicInteger()).incrementAndGet());
+    assertEquals(ROW_COUNT, counts.size());
+    for (AtomicInteger count : counts.values()) {
+      assertEquals(1, count.get());
+    }
+  }
+
+  @Test
+  public void testParallelStream() {
+    try (Stream<DBRow> rows = codeTable.partitionedScan(4, connectionSupplier, dialect).stream()) {
+      Map<Object, Long> counts = rows.parallel().collect(
+          Collectors.groupingByConcurrent(row -> row.getCellValue("SEQ"), Collectors.counting()));
+      assertEquals(ROW_COUNT, counts.size());
+      assertTrue(counts.values().stream().allMatch(count -> count == 1));
+    }
+  }
+
+  @Test
+  public void testOrderedCompositeKey() throws Exception {
+    List<DBRow> rows = new ArrayList<>();
+    try (HeavyweightIterator<DBRow> iterator = codeTable.partitionedScan(3, connectionSupplier, dialect).ordered()) {
+      while (iterator.hasNext()) {
+        rows.add(iterator.next());
+      }
+    }
+    assertEquals(ROW_COUNT, rows.size());
+    assertEquals("G0", rows.get(0).getCellValue("GRP"));
+    assertEquals(0, rows.get(0).getCellValue("SEQ"));
+    assertEquals("G0", rows.get(1).getCellValue("GRP"));
+    assertEquals(7, rows.get(1).getCellValue("SEQ"));
+    assertEquals("G6", rows.get(ROW_COUNT - 1).getCellValue("GRP"));
+    assertEquals(993, rows.get(ROW_COUNT - 1).getCellValue("SEQ")); // the greatest SEQ of group G6
+  }
+
+  @Test
+  public void testForEachParallelFailure() {
+    try {
+      numTable.partitionedScan(4, connectionSupplier, dialect).forEachParallel(row -> {
+        throw new IllegalStateException("test");
+      });
+      fail("Exception expected");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage().contains("NUM_T"));
+    }
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private DatabaseDialect dialectWithoutRowNumberWindow() {
+    if (QueryTestDatabase.H2.equals(engine)) {
+      return new H2Dialect() {
+        @Override
+        public boolean supportsRowNumberWindow() {
+          return false;
+        }
+      };
+    } else {
+      return new HSQL2Dialect();
+    }
+  }
+
+  private static void assertCoveredOnce(PartitionedTableScan scan, String column) throws Exception {
+    List<HeavyweightIterator<DBRow>> partitions = scan.openPartitions();
+    assertEquals(scan.getPartitionClauses().size(), partitions.size());
+    Map<Object, Integer> counts = collect(partitions, column);
+    assertEquals(ROW_COUNT, counts.size());
+    for (Integer count : counts.values()) {
+      assertEquals(1, count.intValue());
+    }
+  }
+
+  private static Map<Object, Integer> collect(List<HeavyweightIterator<DBRow>> partitions, String column)
+      throws Exception {
+    Map<Object, Integer> counts = new ConcurrentHashMap<>();
+    for (HeavyweightIterator<DBRow> partition : partitions) {
+      int size = 0;
+      try (HeavyweightIterator<DBRow> iterator = partition) {
+        while (iterator.hasNext()) {
+          counts.merge(iterator.next().getCellValue(column), 1, Integer::sum);
+          size++;
+        }
+      }
+      assertTrue("Empty partition", size > 0);
+    }
+    return counts;
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.dialect.H2Dialect;
+import com.rapiddweller.jdbacl.dialect.H2Util;
+import com.rapiddweller.jdbacl.dialect.HSQL2Dialect;
+import com.rapiddweller.jdbacl.dialect.HSQLUtil;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Creates and fills tables in an H2 or HSQLDB in-memory database for testing queries
+ * and provides their models. {@link #close()} drops the tables and closes the connection.<br/><br/>
+ * Created: 17.10.2026 17:58:53
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class QueryTestDatabase implements Closeable {
+
+  public static final String H2 = "h2";
+  public static final String HSQL = "hsql";
+
+  private final Supplier<Connection> connectionSupplier;
+  private final DatabaseDialect dialect;
+  private final Connection connection;
+  private final List<DBTable> tables;
+
+  private QueryTestDatabase(Supplier<Connection> connectionSupplier, DatabaseDialect dialect) {
+    this.connectionSupplier = connectionSupplier;
+    this.dialect = dialect;
+    this.connection = connectionSupplier.get();
+    this.tables = new ArrayList<>();
+  }
+
+  /** Connects an in-memory database of the given engine, {@link #H2} or {@link #HSQL}. */
+  public static QueryTestDatabase connect(String engine, String dbName) {
+    if (H2.equals(engine)) {
+      return new QueryTestDatabase(() -> H2Util.connectInMemoryDB(dbName), new H2Dialect());
+    } else if (HSQL.equals(engine)) {
+      return new QueryTestDatabase(() -> HSQLUtil.connectInMemoryDB(dbName), new HSQL2Dialect());
+    } else {
+      throw ExceptionFactory.getInstance().illegalArgument("Unsupported engine: " + engine);
+    }
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public Connection getConnection() {
+    return connection;
+  }
+
+  /** @return a supplier of additional connections to the same database */
+  public Supplier<Connection> getConnectionSupplier() {
+    return connectionSupplier;
+  }
+
+  public DatabaseDialect getDialect() {
+    return dialect;
+  }
+
+  // table creation --------------------------------------------------------------------------------------------------
+
+  /** Creates a table with the integer primary key ID and the column NAME,
+   *  containing the rows (firstId + i * step, 'N' + i) for i in [0, rowCount[. */
+  public DBTable createIdNameTable(String name, int rowCount, int firstId, int step) throws SQLException {
+    DBUtil.executeUpdate("create table " + name + " (ID int not null, NAME varchar(10), primary key (ID))",
+        connection);
+    try (PreparedStatement insert = connection.prepareStatement("insert into " + name + " values (?, ?)")) {
+      for (int i = 0; i < rowCount; i++) {
+        insert.setInt(1, firstId + i * step);
+        insert.setString(2, "N" + i);
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    DBTable table = register(new DBTable(name));
+    new DBColumn("ID", table, Types.INTEGER, "int");
+    new DBColumn("NAME", table, Types.VARCHAR, "varchar");
+    new DBPrimaryKeyConstraint(table, name + "_PK", false, "ID");
+    return table;
+  }
+
+  /** Creates a table with the composite primary key (GRP, SEQ),
+   *  containing the rows ('G' + (i % groupCount), i) for i in [0, rowCount[. */
+  public DBTable createGroupSeqTable(String name, int rowCount, int groupCount) throws SQLException {
+    DBUtil.executeUpdate("create table " + name + " (GRP varchar(5) not null, SEQ int not null, " +
+        "primary key (GRP, SEQ))", connection);
+    try (PreparedStatement insert = connection.prepareStatement("insert into " + name + " values (?, ?)")) {
+      for (int i = 0; i < rowCount; i++) {
+        insert.setString(1, "G" + (i % groupCount));
+        insert.setInt(2, i);
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    DBTable table = register(new DBTable(name));
+    new DBColumn("GRP", table, Types.VARCHAR, "varchar");
+    new DBColumn("SEQ", table, Types.INTEGER, "int");
+    new DBPrimaryKeyConstraint(table, name + "_PK", false, "GRP", "SEQ");
+    return table;
+  }
+
+  /** Creates a table without primary key with the columns MSG and SEQ,
+   *  containing the rows ('M' + ('A' + i), i) for i in [0, rowCount[. */
+  public DBTable createMessageTable(String name, int rowCount) throws SQLException {
+    DBUtil.executeUpdate("create table " + name + " (MSG varchar(10), SEQ int)", connection);
+    try (PreparedStatement insert = connection.prepareStatement("insert into " + name + " values (?, ?)")) {
+      for (int i = 0; i < rowCount; i++) {
+        insert.setString(1, "M" + (char) ('A' + i));
+        insert.setInt(2, i);
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    DBTable table = register(new DBTable(name));
+    new DBColumn("MSG", table, Types.VARCHAR, "varchar");
+    new DBColumn("SEQ", table, Types.INTEGER, "int");
+    return table;
+  }
+
+  private DBTable register(DBTable table) {
+    tables.add(table);
+    return table;
+  }
+
+  // Closeable interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public void close() {
+    try {
+      for (DBTable table : tables) {
+        DBUtil.executeUpdate("drop table " + table.getName(), connection);
+      }
+    } catch (SQLException e) {
+      throw ExceptionFactory.getInstance().operationFailed("Dropping test tables failed", e);
+    } finally {
+      tables.clear();
+      DBUtil.close(connection);
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link StructureCache}.<br/><br/>
+ * Created: 17.10.2026 18:19:12
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class StructureCacheTest {
+
+  @Test
+  public void testCaching() {
+    AtomicInteger builds = new AtomicInteger();
+    StructureCache<Integer> cache = new StructureCache<>(builds::incrementAndGet);
+    assertEquals(1, cache.get().intValue());
+    assertEquals(1, cache.get().intValue());
+    cache.invalidate();
+    assertEquals(2, cache.get().intValue());
+    assertEquals(2, cache.get().intValue());
+  }
+
+  @Test
+  public void testChangeDuringBuild() {
+    AtomicInteger builds = new AtomicInteger();
+    AtomicReference<StructureCache<Integer>> cacheRef = new AtomicReference<>();
+    StructureCache<Integer> cache = new StructureCache<>(() -> {
+      int build = builds.incrementAndGet();
+      if (build == 1) {
+        cacheRef.get().invalidate(); // simulates a concurrent structural change
+      }
+      return build;
+    });
+    cacheRef.set(cache);
+    assertEquals(1, cache.get().intValue());
+    // the value built before the change must not be served
+    assertEquals(2, cache.get().intValue());
+    assertEquals(2, cache.get().intValue());
+  }
+
+}
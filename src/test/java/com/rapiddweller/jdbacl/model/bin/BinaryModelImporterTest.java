@@ -0,0 +1,154 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.bin;
+
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.jdbacl.model.AbstractModelTest;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.jdbacl.model.Database;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link BinaryModelExporter} and the {@link BinaryModelImporter}.<br/><br/>
+ * Created: 17.10.2026 15:25:07
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class BinaryModelImporterTest extends AbstractModelTest {
+
+  @Test
+  public void testRoundTrip_compressed() throws Exception {
+    checkRoundTrip(new File("target", getClass().getSimpleName() + "-compressed.meta.bin"), true);
+  }
+
+  @Test
+  public void testRoundTrip_uncompressed() throws Exception {
+    checkRoundTrip(new File("target", getClass().getSimpleName() + "-uncompressed.meta.bin"), false);
+  }
+
+  @Test
+  public void testRoundTrip_indexed() throws Exception {
+    File file = new File("target", getClass().getSimpleName() + "-indexed.meta.idx");
+    checkRoundTrip(file, new BinaryModelExporter(file, false, false, true));
+  }
+
+  @Test
+  public void testVersion() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryModelExporter(new File("target", "unused.meta.bin")).export(createTestModel(), out);
+    byte[] bytes = out.toByteArray();
+    assertEquals(BinaryModelFormat.VERSION, ((bytes[4] & 0xFF) << 8) | (bytes[5] & 0xFF));
+    assertEquals(2, BinaryModelFormat.VERSION);
+    // a snapshot of a later version is rejected
+    ByteArrayOutputStream later = new ByteArrayOutputStream();
+    DataOutputStream header = new DataOutputStream(later);
+    header.writeInt(BinaryModelFormat.MAGIC);
+    header.writeShort(BinaryModelFormat.VERSION + 1);
+    header.writeByte(0);
+    try {
+      new BinaryModelImporter(null, null).importDatabase(new ByteArrayInputStream(later.toByteArray()));
+      fail("IOException expected");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("version"));
+    }
+  }
+
+  @Test
+  public void testLazyDetails() throws Exception {
+    File file = new File("target", getClass().getSimpleName() + "-lazy.meta.idx");
+    new BinaryModelExporter(file, false, false, true).export(createTestModel());
+    BinaryModelImporter importer = new BinaryModelImporter(file, null);
+    try {
+      Database db = importer.importDatabase();
+      assertEquals(4, db.getTables().size());
+      for (DBTable table : db.getTables()) {
+        assertFalse(table.areDetailsLoaded());
+      }
+      // accessing a table decodes only its own details
+      DBTable table2 = db.getTable("table2");
+      assertEquals(2, table2.getColumns().size());
+      assertTrue(table2.areDetailsLoaded());
+      DBTable table1 = table2.getForeignKeyConstraints().iterator().next().getRefereeTable();
+      assertSame(db.getTable("table1"), table1);
+      assertFalse(table1.areDetailsLoaded());
+      assertFalse(db.getTable("table3").areDetailsLoaded());
+      // referrers are provided by the table of contents
+      assertTrue(table1.getReferrers().contains(table2));
+      assertTrue(table2.getReferrers().isEmpty());
+      // the mapped snapshot can be replaced by a new version of itself
+      new BinaryModelExporter(file, true, false, true).export(db);
+      assertTrue(createTestModel().isIdentical(new BinaryModelImporter(file, null).importDatabase()));
+    } finally {
+      IOUtil.close(importer);
+    }
+  }
+
+  @Test
+  public void testColumnWithoutType() throws Exception {
+    File file = new File("target", getClass().getSimpleName() + "-untyped.meta.bin");
+    Database db = createTestModel();
+    new DBColumn("untyped", db.getTable("table1"), null);
+    new BinaryModelExporter(file, false, false).export(db);
+    BinaryModelImporter importer = new BinaryModelImporter(file, null);
+    try {
+      DBTable table1 = importer.importDatabase().getTable("table1");
+      DBColumn column = table1.getColumn("untyped");
+      assertNull(column.getType());
+      assertEquals("INT", table1.getColumn("id1").getType().getName());
+    } finally {
+      IOUtil.close(importer);
+    }
+  }
+
+  private static void checkRoundTrip(File file, boolean compressed) throws Exception {
+    checkRoundTrip(file, new BinaryModelExporter(file, false, compressed));
+  }
+
+  private static void checkRoundTrip(File file, BinaryModelExporter exporter) throws Exception {
+    Database expected = createTestModel();
+    exporter.export(expected);
+    BinaryModelImporter importer = new BinaryModelImporter(file, null);
+    try {
+      Database actual = importer.importDatabase();
+      assertNotNull(actual);
+      assertTrue(expected.isIdentical(actual));
+    } finally {
+      IOUtil.close(importer);
+    }
+  }
+
+}
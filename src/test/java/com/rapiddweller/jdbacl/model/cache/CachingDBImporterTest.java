@@ -24,6 +24,7 @@
 import com.rapiddweller.common.FileUtil;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
 import com.rapiddweller.jdbacl.model.DBTable;
 import com.rapiddweller.jdbacl.model.Database;
 import com.rapiddweller.jdbacl.model.jdbc.AbstractJDBCDBImporterTest;
@@ -35,6 +36,10 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link CachingDBImporter}.<br/><br/>
@@ -48,6 +53,20 @@ public class CachingDBImporterTest extends AbstractJDBCDBImporterTest {
 
   @Test
   public void testLazyImport() throws Exception {
+    checkLazyImport(CacheFormat.XML);
+  }
+
+  @Test
+  public void testLazyImport_binary() throws Exception {
+    checkLazyImport(CacheFormat.BINARY);
+  }
+
+  @Test
+  public void testLazyImport_indexed() throws Exception {
+    checkLazyImport(CacheFormat.INDEXED);
+  }
+
+  private static void checkLazyImport(CacheFormat format) throws Exception {
     // given a database which has not been cached yet
     Connection connection = DBUtil.connect(URL, DRIVER, USER, PASSWORD, false);
     DBUtil.executeUpdate("create table " + TEST_TABLE_NAME + " ( id int, primary key (id))", connection);
@@ -55,6 +74,7 @@ public void testLazyImport() throws Exception {
     CachingDBImporter importer = null;
     try {
       importer = new CachingDBImporter(URL, realImporter);
+      importer.setFormat(format);
       File cacheFile = importer.getCacheFile();
       FileUtil.deleteIfExists(cacheFile);
       // when importing the database without accessing the indexes...
@@ -73,12 +93,116 @@ public void testLazyImport() throws Exception {
     }
   }
 
+  @Test
+  public void testFingerprintValidation() throws Exception {
+    // given a cached database
+    Connection connection = DBUtil.connect(URL, DRIVER, USER, PASSWORD, false);
+    DBUtil.executeUpdate("create table " + TEST_TABLE_NAME + " ( id int, primary key (id))", connection);
+    JDBCDBImporter realImporter = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, SCHEMA);
+    CachingDBImporter importer = null;
+    try {
+      importer = new CachingDBImporter(URL, realImporter);
+      File cacheFile = importer.getCacheFile();
+      FileUtil.deleteIfExists(cacheFile);
+      Database db1 = importer.importDatabase();
+      assertEquals(1, db1.getTable(TEST_TABLE_NAME).getColumns().size());
+      assertTrue(CachingDBImporter.getFingerprintFile(cacheFile).exists());
+      // when the schema changes within the cache's time to live...
+      DBUtil.executeUpdate("alter table " + TEST_TABLE_NAME + " add column name varchar(10)", connection);
+      Database db2 = importer.importDatabase();
+      // ...then the change must be detected and imported
+      assertEquals(2, db2.getTable(TEST_TABLE_NAME).getColumns().size());
+    } finally {
+      DBUtil.executeUpdate("drop table " + TEST_TABLE_NAME, connection);
+      IOUtil.close(importer);
+    }
+  }
+
+  @Test
+  public void testFailedExport() throws Exception {
+    // given a cached database
+    Connection connection = DBUtil.connect(URL, DRIVER, USER, PASSWORD, false);
+    DBUtil.executeUpdate("create table " + TEST_TABLE_NAME + " ( id int, primary key (id))", connection);
+    JDBCDBImporter realImporter = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, SCHEMA);
+    CachingDBImporter importer = null;
+    File cacheFile = null;
+    try {
+      importer = new CachingDBImporter(URL, realImporter);
+      cacheFile = importer.getCacheFile();
+      FileUtil.deleteIfExists(cacheFile);
+      importer.importDatabase();
+      File fingerprintFile = CachingDBImporter.getFingerprintFile(cacheFile);
+      assertTrue(fingerprintFile.exists());
+      // when the schema changes and the cache file cannot be replaced...
+      DBUtil.executeUpdate("alter table " + TEST_TABLE_NAME + " add column name varchar(10)", connection);
+      FileUtil.deleteIfExists(cacheFile);
+      assertTrue(cacheFile.mkdir());
+      Database db = importer.importDatabase();
+      // ...then the fresh model is returned, but no fingerprints vouch for the cache file
+      assertEquals(2, db.getTable(TEST_TABLE_NAME).getColumns().size());
+      assertFalse(fingerprintFile.exists());
+    } finally {
+      DBUtil.executeUpdate("drop table " + TEST_TABLE_NAME, connection);
+      IOUtil.close(importer);
+      if (cacheFile != null && cacheFile.isDirectory()) {
+        FileUtil.deleteDirectory(cacheFile);
+      }
+    }
+  }
+
+  @Test
+  public void testIncrementalRefresh() throws Exception {
+    // given a cached database with three tables
+    Connection connection = DBUtil.connect(URL, DRIVER, USER, PASSWORD, false);
+    DBUtil.executeUpdate("create table INC_A ( id int, primary key (id))", connection);
+    DBUtil.executeUpdate("create table INC_B ( id int, primary key (id))", connection);
+    DBUtil.executeUpdate("create table INC_C ( id int, primary key (id))", connection);
+    JDBCDBImporter realImporter = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, SCHEMA);
+    CachingDBImporter importer = null;
+    try {
+      importer = new CachingDBImporter(URL, realImporter);
+      File cacheFile = importer.getCacheFile();
+      FileUtil.deleteIfExists(cacheFile);
+      Database db1 = importer.importDatabase();
+      assertNotNull(db1.getTable("INC_C", false));
+      // when one table is altered, one dropped and one created...
+      DBUtil.executeUpdate("alter table INC_B add column a_id int", connection);
+      DBUtil.executeUpdate("alter table INC_B add constraint INC_B_A_FK foreign key (a_id) references INC_A (id)",
+          connection);
+      DBUtil.executeUpdate("drop table INC_C", connection);
+      DBUtil.executeUpdate("create table INC_D ( id int, primary key (id))", connection);
+      Database db2 = importer.importDatabase();
+      // ...then only these tables are updated
+      DBTable a = db2.getTable("INC_A");
+      assertFalse(a.areIndexesImported());
+      DBTable b = db2.getTable("INC_B");
+      assertTrue(b.areColumnsImported());
+      assertEquals(2, b.getColumns().size());
+      DBForeignKeyConstraint fk = b.getForeignKeyConstraint("A_ID");
+      assertSame(a, fk.getRefereeTable());
+      assertNull(db2.getTable("INC_C", false));
+      assertTrue(db2.getTable("INC_D").areColumnsImported());
+      // and the refreshed model is cached
+      Database db3 = importer.importDatabase();
+      assertEquals(2, db3.getTable("INC_B").getColumns().size());
+      assertNull(db3.getTable("INC_C", false));
+      assertNotNull(db3.getTable("INC_D", false));
+    } finally {
+      DBUtil.executeUpdate("drop table INC_B", connection);
+      DBUtil.executeUpdate("drop table INC_A", connection);
+      DBUtil.executeUpdate("drop table INC_D", connection);
+      IOUtil.close(importer);
+    }
+  }
+
   @Test
   public void testGetCacheFileName() {
     assertEquals("jdbc_hsqldb_mem_mydb_9001-usr_sa-cat_topcat-sch_public.meta.xml",
         CachingDBImporter.getCacheFileName("jdbc:hsqldb:mem:mydb:9001", "sa", "TOPCAT", "PUBLIC"));
     assertEquals("jdbc_hsqldb_mem_mydb_9001-usr_sa.meta.xml", CachingDBImporter.getCacheFileName(
         "jdbc:hsqldb:mem:mydb:9001", "sa", null, null));
+    assertEquals("jdbc_hsqldb_mem_mydb_9001-usr_sa.meta.bin", CachingDBImporter.getCacheFileName(
+        "jdbc:hsqldb:mem:mydb:9001", "sa", null, null, CacheFormat.BINARY));
   }
 
 }
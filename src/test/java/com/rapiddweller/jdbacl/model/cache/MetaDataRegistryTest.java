@@ -0,0 +1,236 @@
+/*
+ * (c) Copyright 2010-2021 by Volker Bergmann. All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, is permitted under the terms of the
+ * GNU General Public License (GPL).
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * WITHOUT A WARRANTY OF ANY KIND. ALL EXPRESS OR IMPLIED CONDITIONS,
+ * REPRESENTATIONS AND WARRANTIES, INCLUDING ANY IMPLIED WARRANTY OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE
+ * HEREBY EXCLUDED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.rapiddweller.jdbacl.model.cache;
+
+import com.rapiddweller.jdbacl.model.AbstractModelTest;
+import com.rapiddweller.jdbacl.model.DBMetaDataImporter;
+import com.rapiddweller.jdbacl.model.Database;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link MetaDataRegistry}.<br/><br/>
+ * Created: 17.10.2026 15:58:32
+ * @author Volker Bergmann
+ * @since 1.1.17
+ */
+public class MetaDataRegistryTest {
+
+  private static final String URL = "jdbc:test:registry";
+
+  @Test
+  public void testSingleFlight() throws Exception {
+    MetaDataRegistry registry = new MetaDataRegistry(4);
+    CountDownLatch importStarted = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+    TestImporter importer = new TestImporter(importStarted, proceed);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<MetaDataRegistry.Lease>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> registry.acquire(URL, "user", null, "PUBLIC", () -> importer)));
+      }
+      assertTrue(importStarted.await(10, TimeUnit.SECONDS));
+      proceed.countDown();
+      Database database = null;
+      for (Future<MetaDataRegistry.Lease> future : futures) {
+        MetaDataRegistry.Lease lease = future.get(10, TimeUnit.SECONDS);
+        if (database == null) {
+          database = lease.getDatabase();
+        }
+        assertSame(database, lease.getDatabase());
+        lease.close();
+      }
+      assertEquals(1, importer.imports.get());
+      assertEquals(0, importer.closes.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testLruEviction() {
+    MetaDataRegistry registry = new MetaDataRegistry(2);
+    TestImporter importer1 = new TestImporter();
+    TestImporter importer2 = new TestImporter();
+    TestImporter importer3 = new TestImporter();
+    registry.acquire(URL, "u1", null, null, () -> importer1).close();
+    registry.acquire(URL, "u2", null, null, () -> importer2).close();
+    registry.acquire(URL, "u1", null, null, () -> importer1).close(); // makes u2 the least recently used
+    registry.acquire(URL, "u3", null, null, () -> importer3).close();
+    assertEquals(2, registry.size());
+    assertTrue(registry.contains(URL, "u1", null, null));
+    assertFalse(registry.contains(URL, "u2", null, null));
+    assertEquals(1, importer2.closes.get());
+    assertEquals(0, importer1.closes.get());
+    assertEquals(1, importer1.imports.get());
+  }
+
+  @Test
+  public void testLeasedEntriesAreNotEvicted() {
+    MetaDataRegistry registry = new MetaDataRegistry(1);
+    TestImporter importer1 = new TestImporter();
+    TestImporter importer2 = new TestImporter();
+    MetaDataRegistry.Lease lease1 = registry.acquire(URL, "u1", null, null, () -> importer1);
+    MetaDataRegistry.Lease lease2 = registry.acquire(URL, "u2", null, null, () -> importer2);
+    assertEquals(2, registry.size());
+    lease1.close();
+    assertEquals(1, registry.size());
+    assertEquals(1, importer1.closes.get());
+    lease2.close();
+    assertTrue(registry.contains(URL, "u2", null, null));
+    assertEquals(0, importer2.closes.get());
+  }
+
+  @Test
+  public void testInvalidate() {
+    MetaDataRegistry registry = new MetaDataRegistry(4);
+    TestImporter importer = new TestImporter();
+    MetaDataRegistry.Lease lease = registry.acquire(URL, "user", "cat", "sch", () -> importer);
+    registry.invalidate(URL, "user", "cat", "sch");
+    assertFalse(registry.contains(URL, "user", "cat", "sch"));
+    assertEquals(0, importer.closes.get()); // still leased
+    MetaDataRegistry.Lease lease2 = registry.acquire(URL, "user", "cat", "sch", () -> importer);
+    assertNotSame(lease.getDatabase(), lease2.getDatabase());
+    assertEquals(2, importer.imports.get());
+    lease.close();
+    assertEquals(1, importer.closes.get());
+    lease2.close();
+  }
+
+  @Test
+  public void testFailedImport() {
+    MetaDataRegistry registry = new MetaDataRegistry(4);
+    try {
+      registry.acquire(URL, "user", null, null, () -> {
+        throw new IllegalStateException("connection refused");
+      });
+      fail("exception expected");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    assertEquals(0, registry.size());
+    TestImporter importer = new TestImporter();
+    registry.acquire(URL, "user", null, null, () -> importer).close();
+    assertEquals(1, importer.imports.get());
+  }
+
+  @Test
+  public void testErrorInImport() throws Exception {
+    MetaDataRegistry registry = new MetaDataRegistry(4);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<?> loader = executor.submit(() -> registry.acquire(URL, "user", null, null, () -> {
+        started.countDown();
+        awaitQuietly(proceed);
+        throw new NoClassDefFoundError("org/example/Driver");
+      }));
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      Future<?> waiter = executor.submit(() -> registry.acquire(URL, "user", null, null, TestImporter::new).close());
+      Thread.sleep(200); // give the waiter time to wait for the import
+      proceed.countDown();
+      try {
+        loader.get(10, TimeUnit.SECONDS);
+        fail("exception expected");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof NoClassDefFoundError);
+      }
+      // the waiter fails with the import or, if it came late, imports anew, but it must not block forever
+      try {
+        waiter.get(10, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        // expected if it waited for the failed import
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    // the failed entry does not block later requests
+    registry.acquire(URL, "user", null, null, TestImporter::new).close();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static class TestImporter implements DBMetaDataImporter {
+
+    final AtomicInteger imports = new AtomicInteger();
+    final AtomicInteger closes = new AtomicInteger();
+    private final CountDownLatch started;
+    private final CountDownLatch proceed;
+
+    TestImporter() {
+      this(new CountDownLatch(1), new CountDownLatch(0));
+    }
+
+    TestImporter(CountDownLatch started, CountDownLatch proceed) {
+      this.started = started;
+      this.proceed = proceed;
+    }
+
+    @Override
+    public Database importDatabase() {
+      imports.incrementAndGet();
+      started.countDown();
+      try {
+        proceed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return new TestModel().create();
+    }
+
+    @Override
+    public void close() {
+      closes.incrementAndGet();
+    }
+  }
+
+  static class TestModel extends AbstractModelTest {
+    Database create() {
+      return createTestModel();
+    }
+  }
+
+}
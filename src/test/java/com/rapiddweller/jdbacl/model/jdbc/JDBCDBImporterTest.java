@@ -21,6 +21,10 @@
 
 package com.rapiddweller.jdbacl.model.jdbc;
 
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.model.DBColumn;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
+import com.rapiddweller.jdbacl.model.DBIndex;
 import com.rapiddweller.jdbacl.model.DBSchema;
 import com.rapiddweller.jdbacl.model.DBSequence;
 import com.rapiddweller.jdbacl.model.DBTable;
@@ -29,10 +33,24 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link JDBCDBImporter}.<br/><br/>
@@ -51,6 +69,7 @@ public void setUp() throws Exception {
 
   @After
   public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop sequence seq1", connection);
     dropDatabaseTables(connection);
   }
 
@@ -70,6 +89,270 @@ public void testImportDatabase_H2() {
     checkImports(true, true, true, db);
   }
 
+  @Test
+  public void testImportDatabase_prefetch() throws Exception {
+    JDBCDBImporter importer = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, null);
+    importer.setPrefetch(true);
+    checkEagerImport(importer);
+  }
+
+  @Test
+  public void testImportDatabase_prefetchMetaDataCalls() throws Exception {
+    // the dialect's catalog queries replace the meta data calls
+    Map<String, Integer> calls = countTableDetailCalls(true, true);
+    assertEquals(Integer.valueOf(0), calls.get("getColumns"));
+    assertEquals(Integer.valueOf(0), calls.get("getPrimaryKeys"));
+    assertEquals(Integer.valueOf(0), calls.get("getIndexInfo"));
+    assertEquals(Integer.valueOf(0), calls.get("getImportedKeys"));
+    // without them, the columns are imported by one schema-wide call, but HSQLDB rejects schema-wide calls
+    // for primary keys, indexes and foreign keys, so they fall back to one call per table
+    calls = countTableDetailCalls(true, false);
+    assertEquals(Integer.valueOf(1), calls.get("getColumns"));
+    assertEquals(Integer.valueOf(3), calls.get("getPrimaryKeys"));
+    assertEquals(Integer.valueOf(3), calls.get("getIndexInfo"));
+    assertEquals(Integer.valueOf(3), calls.get("getImportedKeys"));
+  }
+
+  @Test
+  public void testImportDatabase_tableWiseMetaDataCalls() throws Exception {
+    Map<String, Integer> calls = countTableDetailCalls(false, false);
+    assertEquals(Integer.valueOf(2), calls.get("getColumns"));
+    assertEquals(Integer.valueOf(2), calls.get("getPrimaryKeys"));
+    assertEquals(Integer.valueOf(2), calls.get("getIndexInfo"));
+    assertEquals(Integer.valueOf(2), calls.get("getImportedKeys"));
+  }
+
+  /** Imports all details of the tables T1 and T2 and counts the calls of the {@link DatabaseMetaData} methods
+   *  which import table details. */
+  private Map<String, Integer> countTableDetailCalls(boolean prefetch, boolean catalogQueries) throws SQLException {
+    Map<String, Integer> calls = new ConcurrentHashMap<>();
+    for (String method : new String[] {"getColumns", "getPrimaryKeys", "getIndexInfo", "getImportedKeys"}) {
+      calls.put(method, 0);
+    }
+    JDBCDBImporter importer = new JDBCDBImporter(countingConnection(calls), USER, CATALOG, null);
+    importer.setPrefetch(prefetch);
+    importer.setCatalogQueries(catalogQueries);
+    createReferrerTable();
+    try {
+      DBSchema schema = checkSchema(new Database("hsql", importer, true));
+      for (DBTable table : schema.getTables()) {
+        assertTrue(table.getColumns().size() > 0);
+        assertEquals(1, table.getPrimaryKeyConstraint().getColumnNames().length);
+        table.getIndexes();
+        table.getForeignKeyConstraints();
+      }
+      assertEquals(1, schema.getTable("T2").getForeignKeyConstraints().size());
+    } finally {
+      importer.close();
+      DBUtil.executeUpdate("drop table T2", connection);
+    }
+    return calls;
+  }
+
+  private Connection countingConnection(Map<String, Integer> calls) {
+    ClassLoader classLoader = getClass().getClassLoader();
+    return (Connection) Proxy.newProxyInstance(classLoader, new Class[] {Connection.class},
+        (proxy, method, args) -> {
+          Object result = invoke(method, connection, args);
+          if ("getMetaData".equals(method.getName())) {
+            DatabaseMetaData metaData = (DatabaseMetaData) result;
+            return Proxy.newProxyInstance(classLoader, new Class[] {DatabaseMetaData.class},
+                (metaProxy, metaMethod, metaArgs) -> {
+                  calls.merge(metaMethod.getName(), 1, Integer::sum);
+                  return invoke(metaMethod, metaData, metaArgs);
+                });
+          }
+          return result;
+        });
+  }
+
+  private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Test
+  public void testImportDatabase_parallel() throws Exception {
+    JDBCDBImporter importer = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, null);
+    importer.setParallelism(3);
+    checkEagerImport(importer);
+  }
+
+  @Test
+  public void testImportDatabase_parallelPrefetch() throws Exception {
+    JDBCDBImporter importer = new JDBCDBImporter(URL, DRIVER, USER, PASSWORD, CATALOG, null);
+    importer.setPrefetch(true);
+    importer.setParallelism(2);
+    checkEagerImport(importer);
+  }
+
+  @Test
+  public void testImportDatabase_catalogQueries_hsql() throws Exception {
+    DBUtil.executeUpdate("create table T2 (ID int not null, T1_ID int, " +
+        "constraint T2_PK primary key (ID), constraint T2_T1_FK foreign key (T1_ID) references T1 (ID))", connection);
+    try {
+      checkCatalogQueryImport(URL, DRIVER);
+    } finally {
+      DBUtil.executeUpdate("drop table T2", connection);
+    }
+  }
+
+  @Test
+  public void testImportDatabase_catalogQueries_h2() throws Exception {
+    String url = "jdbc:h2:mem:catalogqueries";
+    String driver = "org.h2.Driver";
+    try (Connection h2 = DBUtil.connect(url, driver, USER, PASSWORD, false)) {
+      DBUtil.executeUpdate("create table T1 (ID int generated by default as identity not null, " +
+          "NAME varchar(30) default 'x' not null, PRICE decimal(10,2), CREATED timestamp(3), BIRTH date, " +
+          "ACTIVE boolean, AMOUNT double, CODE char(3), IMAGE blob, REMARK clob, " +
+          "constraint T1_PK primary key (ID), constraint T1_UK unique (NAME, PRICE))", h2);
+      DBUtil.executeUpdate("create table T2 (ID int not null, KIND varchar(10) not null, " +
+          "constraint T2_PK primary key (KIND, ID))", h2);
+      DBUtil.executeUpdate("create table T3 (ID int not null, T1_ID int, T2_KIND varchar(10), T2_ID int, " +
+          "constraint T3_T1_FK foreign key (T1_ID) references T1 (ID) on delete cascade, " +
+          "constraint T3_T2_FK foreign key (T2_KIND, T2_ID) references T2 (KIND, ID))", h2);
+      DBUtil.executeUpdate("create index T3_IDX on T3 (T1_ID desc, T2_KIND)", h2);
+      checkCatalogQueryImport(url, driver);
+    }
+  }
+
+  /** Verifies that the prefetch import yields the same model with the dialect's catalog queries
+   *  as with JDBC meta data calls. */
+  private static void checkCatalogQueryImport(String url, String driver) {
+    DBSchema expected = checkSchema(importPrefetched(url, driver, false));
+    DBSchema actual = checkSchema(importPrefetched(url, driver, true));
+    assertEquals(expected.getTables().size(), actual.getTables().size());
+    for (DBTable expectedTable : expected.getTables()) {
+      DBTable actualTable = actual.getTable(expectedTable.getName());
+      assertArrayEquals(expectedTable.getColumnNames(), actualTable.getColumnNames());
+      for (DBColumn expectedColumn : expectedTable.getColumns()) {
+        DBColumn actualColumn = actualTable.getColumn(expectedColumn.getName());
+        assertTrue(actualColumn.toString(), expectedColumn.isIdentical(actualColumn));
+      }
+      assertArrayEquals(expectedTable.getPKColumnNames(), actualTable.getPKColumnNames());
+      assertEquals(expectedTable.getUniqueConstraints(false).size(), actualTable.getUniqueConstraints(false).size());
+      assertEquals(expectedTable.getIndexes().size(), actualTable.getIndexes().size());
+      for (DBIndex expectedIndex : expectedTable.getIndexes()) {
+        DBIndex actualIndex = actualTable.getIndex(expectedIndex.getName());
+        assertTrue(expectedIndex.toString(), expectedIndex.isIdentical(actualIndex));
+      }
+      assertEquals(expectedTable.getForeignKeyConstraints().size(), actualTable.getForeignKeyConstraints().size());
+      for (DBForeignKeyConstraint expectedFK : expectedTable.getForeignKeyConstraints()) {
+        DBForeignKeyConstraint actualFK = actualTable.getForeignKeyConstraint(expectedFK.getColumnNames());
+        assertTrue(expectedFK.toString(), expectedFK.isIdentical(actualFK));
+        assertEquals(expectedFK.getDeleteRule(), actualFK.getDeleteRule());
+      }
+    }
+  }
+
+  private static Database importPrefetched(String url, String driver, boolean catalogQueries) {
+    JDBCDBImporter importer = new JDBCDBImporter(url, driver, USER, PASSWORD, CATALOG, null);
+    importer.setPrefetch(true);
+    importer.setCatalogQueries(catalogQueries);
+    try {
+      return new Database("test", importer, true);
+    } finally {
+      importer.close();
+    }
+  }
+
+  @Test
+  public void testReferrers_prefetch() throws Exception {
+    ReferrerCountingImporter importer = new ReferrerCountingImporter();
+    importer.setPrefetch(true);
+    createReferrerTable();
+    try {
+      DBSchema schema = checkSchema(new Database("hsql", importer, true));
+      DBTable t1 = schema.getTable("T1");
+      DBTable t2 = schema.getTable("T2");
+      assertEquals(Arrays.asList(t1, t2), DBUtil.dependencyOrderedTables(schema));
+      assertEquals(Collections.singleton(t2), new HashSet<>(t1.getReferrers()));
+      assertTrue(t2.getReferrers().isEmpty());
+      assertEquals(0, importer.exportedKeyQueries);
+    } finally {
+      importer.close();
+      DBUtil.executeUpdate("drop table T2", connection);
+    }
+  }
+
+  @Test
+  public void testReferrers_lazy() throws Exception {
+    ReferrerCountingImporter importer = new ReferrerCountingImporter();
+    createReferrerTable();
+    try {
+      DBSchema schema = checkSchema(new Database("hsql", importer, true));
+      DBTable t1 = schema.getTable("T1");
+      DBTable t2 = schema.getTable("T2");
+      // the foreign keys of T2 are unknown, so the database is queried
+      assertEquals(Collections.singleton(t2), new HashSet<>(t1.getReferrers()));
+      assertEquals(1, importer.exportedKeyQueries);
+      // the dependency analysis imports all foreign keys, so the remaining referrers are derived from them
+      assertEquals(Arrays.asList(t1, t2), DBUtil.dependencyOrderedTables(schema));
+      assertTrue(t2.getReferrers().isEmpty());
+      assertEquals(1, importer.exportedKeyQueries);
+    } finally {
+      importer.close();
+      DBUtil.executeUpdate("drop table T2", connection);
+    }
+  }
+
+  private void createReferrerTable() throws SQLException {
+    DBUtil.executeUpdate("create table T2 (ID int not null, T1_ID int, " +
+        "constraint T2_PK primary key (ID), constraint T2_T1_FK foreign key (T1_ID) references T1 (ID))", connection);
+  }
+
+  /** Counts the queries for exported keys, which are needed only if the foreign keys have not been imported. */
+  static class ReferrerCountingImporter extends JDBCDBImporter {
+
+    int exportedKeyQueries;
+
+    ReferrerCountingImporter() {
+      super(URL, DRIVER, USER, PASSWORD, CATALOG, null);
+    }
+
+    @Override
+    public void importRefererTables(DBTable table, ReferrerReceiver receiver) {
+      exportedKeyQueries++;
+      super.importRefererTables(table, receiver);
+    }
+  }
+
+  private void checkEagerImport(JDBCDBImporter importer) throws SQLException {
+    DBUtil.executeUpdate("create table T2 (ID int not null, T1_ID int, " +
+        "constraint T2_PK primary key (ID), constraint T2_T1_FK foreign key (T1_ID) references T1 (ID))", connection);
+    try {
+      Database db = new Database("hsql", importer, true);
+      DBSchema schema = checkSchema(db);
+      assertEquals(2, schema.getTables().size());
+      DBTable t1 = schema.getTable("T1");
+      DBTable t2 = schema.getTable("T2");
+      for (DBTable table : schema.getTables()) {
+        assertTrue(table.areColumnsImported());
+        assertTrue(table.isPKImported());
+        assertTrue(table.areIndexesImported());
+        assertTrue(table.areFKsImported());
+      }
+      assertArrayEquals(new String[] {"ID", "NAMESPACE", "NAME", "NICKNAME"}, t1.getColumnNames());
+      assertArrayEquals(new String[] {"ID"}, t1.getPKColumnNames());
+      checkIndexes(t1);
+      assertTrue(t1.getForeignKeyConstraints().isEmpty());
+      assertArrayEquals(new String[] {"ID", "T1_ID"}, t2.getColumnNames());
+      assertArrayEquals(new String[] {"ID"}, t2.getPKColumnNames());
+      Set<DBForeignKeyConstraint> fks = t2.getForeignKeyConstraints();
+      assertEquals(1, fks.size());
+      DBForeignKeyConstraint fk = fks.iterator().next();
+      assertEquals("T2_T1_FK", fk.getName());
+      assertSame(t1, fk.getRefereeTable());
+      assertArrayEquals(new String[] {"T1_ID"}, fk.getColumnNames());
+    } finally {
+      importer.close();
+      DBUtil.executeUpdate("drop table T2", connection);
+    }
+  }
+
   private static void checkSequences(DBSchema schema) {
     List<DBSequence> sequences = schema.getSequences(true);
     assertEquals(1, sequences.size());
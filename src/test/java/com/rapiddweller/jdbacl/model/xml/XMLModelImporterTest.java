@@ -24,9 +24,12 @@
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.tree.TreeLogger;
 import com.rapiddweller.jdbacl.model.AbstractModelTest;
+import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
 import com.rapiddweller.jdbacl.model.DBSequence;
+import com.rapiddweller.jdbacl.model.DBTable;
 import com.rapiddweller.jdbacl.model.DBTreeModel;
 import com.rapiddweller.jdbacl.model.Database;
+import com.rapiddweller.jdbacl.model.FKChangeRule;
 import com.rapiddweller.jdbacl.model.jdbc.JDBCDBImporter;
 import org.junit.After;
 import org.junit.Before;
@@ -35,9 +38,11 @@
 import java.math.BigInteger;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -90,4 +95,26 @@ public void testOnline() {
     }
   }
 
+  @Test
+  public void testForwardReference() {
+    XMLModelImporter importer = new XMLModelImporter(
+        "com/rapiddweller/jdbacl/model/xml/testmodel-forward-fk.xml", null);
+    try {
+      Database db = importer.importDatabase();
+      DBTable child = db.getTable("child");
+      DBTable parent = db.getTable("parent");
+      assertEquals(1, child.getForeignKeyConstraints().size());
+      DBForeignKeyConstraint fk = child.getForeignKeyConstraints().iterator().next();
+      assertSame(parent, fk.getRefereeTable());
+      assertArrayEquals(new String[] {"parent_id1", "parent_id2"}, fk.getColumnNames());
+      assertArrayEquals(new String[] {"id1", "id2"}, fk.getRefereeColumnNames());
+      assertEquals(FKChangeRule.CASCADE, fk.getDeleteRule());
+      assertTrue(parent.getReferrers().contains(child));
+      assertFalse(child.getColumn("id").isNullable());
+      assertEquals(BigInteger.valueOf(1000), db.getSequence("seq1", true).getStart());
+    } finally {
+      IOUtil.close(importer);
+    }
+  }
+
 }